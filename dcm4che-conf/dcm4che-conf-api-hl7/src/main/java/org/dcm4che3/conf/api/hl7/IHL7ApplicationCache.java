@@ -1,6 +1,7 @@
 package org.dcm4che3.conf.api.hl7;
 
 import org.dcm4che3.conf.api.ConfigurationException;
+import org.dcm4che3.net.Device;
 import org.dcm4che3.net.hl7.HL7Application;
 
 public interface IHL7ApplicationCache {
@@ -9,6 +10,16 @@ public interface IHL7ApplicationCache {
 
     void setStaleTimeout(int staleTimeout);
 
+    int getNegativeStaleTimeout();
+
+    void setNegativeStaleTimeout(int negativeStaleTimeout);
+
+    int getMaxSize();
+
+    void setMaxSize(int maxSize);
+
+    void setDevice(Device device);
+
     void clear();
 
     HL7Application get(String name) throws ConfigurationException;
@@ -38,26 +38,63 @@
 
 package org.dcm4che3.conf.api;
 
-import java.util.HashMap;
+import org.dcm4che3.net.Device;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
+ * Thread-safe cache of configuration objects.
+ * <p>
+ * Concurrent requests for the same missing or stale key only trigger one invocation of {@link #find}, on which the
+ * other requests wait. If a {@linkplain #setRefreshExecutor refresh executor} or a {@linkplain #setDevice device}
+ * providing its scheduled executor is set, stale entries are returned immediately and refreshed in background.
+ * Entries for not found keys may be kept for a different period than found entries by
+ * {@link #setNegativeStaleTimeout}. If a {@linkplain #setMaxSize maximal size} is set, the least recently accessed
+ * entries are evicted on exceeding it.
+ *
  * @author Gunter Zeilinger <gunterze@gmail.com>
  */
 public abstract class ConfigurationCache<C,T> {
 
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigurationCache.class);
+
     private static final class CacheEntry<T> {
         final T value;
         final long fetchTime;
+        final AtomicBoolean refreshing = new AtomicBoolean();
         CacheEntry(T value, long fetchTime) {
             this.value = value;
             this.fetchTime = fetchTime;
         }
     }
 
-    private final HashMap<String, CacheEntry<T>> cache =
-            new HashMap<String, CacheEntry<T>>();
+    // access ordered, guarded by itself
+    private final LinkedHashMap<String, CacheEntry<T>> cache =
+            new LinkedHashMap<String, CacheEntry<T>>(16, 0.75f, true);
+    private final ConcurrentHashMap<String, FutureTask<CacheEntry<T>>> loading =
+            new ConcurrentHashMap<String, FutureTask<CacheEntry<T>>>();
     private final C conf;
-    private long staleTimeout;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private volatile long staleTimeout;
+    private volatile long negativeStaleTimeout = -1L;
+    private volatile int maxSize;
+    private volatile Executor refreshExecutor;
+    private volatile Device device;
 
     public ConfigurationCache(C conf) {
         if (conf == null)
@@ -73,25 +110,232 @@ public abstract class ConfigurationCache<C,T> {
         this.staleTimeout = staleTimeout * 1000L;
     }
 
+    /**
+     * Returns the period in s after which entries for not found keys are refreshed. {@code -1} indicates that
+     * the {@linkplain #getStaleTimeout stale timeout} also applies to entries for not found keys.
+     *
+     * @return period in s after which entries for not found keys are refreshed, {@code 0} = never, or {@code -1}
+     */
+    public int getNegativeStaleTimeout() {
+        return negativeStaleTimeout < 0 ? -1 : (int) (negativeStaleTimeout / 1000);
+    }
+
+    public void setNegativeStaleTimeout(int negativeStaleTimeout) {
+        this.negativeStaleTimeout = negativeStaleTimeout < 0 ? -1L : negativeStaleTimeout * 1000L;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximal number of cached entries. On exceeding it, the least recently accessed entries are evicted.
+     *
+     * @param maxSize maximal number of cached entries, {@code 0} = unlimited
+     */
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 0)
+            throw new IllegalArgumentException("maxSize: " + maxSize);
+        this.maxSize = maxSize;
+        synchronized (cache) {
+            evictLeastRecentlyAccessed();
+        }
+    }
+
+    public Executor getRefreshExecutor() {
+        return refreshExecutor;
+    }
+
+    /**
+     * Sets the executor used to refresh stale entries in background. If no executor is set, stale entries are
+     * refreshed synchronously by {@link #get}.
+     *
+     * @param refreshExecutor executor used to refresh stale entries or {@code null}
+     */
+    public void setRefreshExecutor(Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    public Device getDevice() {
+        return device;
+    }
+
+    /**
+     * Sets the device, by which {@linkplain Device#getScheduledExecutor scheduled executor} stale entries are
+     * refreshed in background, if no {@linkplain #setRefreshExecutor refresh executor} is set. The scheduled
+     * executor is looked up on each refresh, so it may be set on the device after this method was invoked.
+     *
+     * @param device device providing the executor used to refresh stale entries or {@code null}
+     */
+    public void setDevice(Device device) {
+        this.device = device;
+    }
+
+    private Executor refreshExecutor() {
+        Executor executor = refreshExecutor;
+        if (executor != null)
+            return executor;
+        Device device = this.device;
+        return device != null ? device.getScheduledExecutor() : null;
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    public long getRefreshCount() {
+        return refreshCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public void resetStatistics() {
+        hitCount.reset();
+        missCount.reset();
+        loadCount.reset();
+        refreshCount.reset();
+        evictionCount.reset();
+    }
+
     public void clear() {
-        cache.clear();
+        synchronized (cache) {
+            cache.clear();
+        }
     }
 
+    public void remove(String key) {
+        synchronized (cache) {
+            cache.remove(key);
+        }
+    }
 
     public T get(String key) throws ConfigurationException {
         long now = System.currentTimeMillis();
-        CacheEntry<T> entry = cache.get(key);
-        if (entry == null 
-                || (staleTimeout != 0 && now > entry.fetchTime + staleTimeout)) {
-            T value = null;
+        CacheEntry<T> entry;
+        synchronized (cache) {
+            entry = cache.get(key);
+        }
+        if (entry == null) {
+            missCount.increment();
+            return load(key).value;
+        }
+        if (!isStale(entry, now)) {
+            hitCount.increment();
+            return entry.value;
+        }
+        Executor executor = refreshExecutor();
+        if (executor != null) {
+            hitCount.increment();
+            refreshAsync(key, entry, executor);
+            return entry.value;
+        }
+        missCount.increment();
+        return load(key).value;
+    }
+
+    private boolean isStale(CacheEntry<T> entry, long now) {
+        long timeout = entry.value == null && negativeStaleTimeout >= 0 ? negativeStaleTimeout : staleTimeout;
+        return timeout != 0 && now > entry.fetchTime + timeout;
+    }
+
+    private void refreshAsync(final String key, final CacheEntry<T> entry, Executor executor) {
+        if (!entry.refreshing.compareAndSet(false, true))
+            return;
+
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        load(key);
+                        refreshCount.increment();
+                    } catch (Exception e) {
+                        LOG.warn("Failed to refresh cached configuration of {}:\n", key, e);
+                        entry.refreshing.set(false);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+            LOG.info("Failed to schedule refresh of cached configuration of {}:\n", key, e);
+        }
+    }
+
+    private CacheEntry<T> load(final String key) throws ConfigurationException {
+        FutureTask<CacheEntry<T>> task = new FutureTask<CacheEntry<T>>(new Callable<CacheEntry<T>>() {
+            @Override
+            public CacheEntry<T> call() throws Exception {
+                return fetch(key);
+            }
+        });
+        FutureTask<CacheEntry<T>> prev = loading.putIfAbsent(key, task);
+        if (prev == null) {
             try {
-                value = find(conf, key);
-            } catch (ConfigurationNotFoundException e) {
+                task.run();
+            } finally {
+                loading.remove(key, task);
             }
-            entry = new CacheEntry<T>(value, now);
+        } else {
+            task = prev;
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigurationException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ConfigurationException)
+                throw (ConfigurationException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new ConfigurationException(cause);
+        }
+    }
+
+    private CacheEntry<T> fetch(String key) throws ConfigurationException {
+        T value = null;
+        try {
+            value = find(conf, key);
+        } catch (ConfigurationNotFoundException e) {
+        }
+        loadCount.increment();
+        CacheEntry<T> entry = new CacheEntry<T>(value, System.currentTimeMillis());
+        synchronized (cache) {
             cache.put(key, entry);
+            evictLeastRecentlyAccessed();
+        }
+        return entry;
+    }
+
+    private void evictLeastRecentlyAccessed() {
+        int maxSize = this.maxSize;
+        if (maxSize > 0) {
+            Iterator<CacheEntry<T>> iter = cache.values().iterator();
+            while (cache.size() > maxSize) {
+                iter.next();
+                iter.remove();
+                evictionCount.increment();
+            }
         }
-        return entry.value;
     }
 
     protected abstract T find(C conf, String key)
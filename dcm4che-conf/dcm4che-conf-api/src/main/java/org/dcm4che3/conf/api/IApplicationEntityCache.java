@@ -1,6 +1,7 @@
 package org.dcm4che3.conf.api;
 
 import org.dcm4che3.net.ApplicationEntity;
+import org.dcm4che3.net.Device;
 
 public interface IApplicationEntityCache {
 
@@ -8,6 +9,16 @@ public interface IApplicationEntityCache {
 
     void setStaleTimeout(int staleTimeout);
 
+    int getNegativeStaleTimeout();
+
+    void setNegativeStaleTimeout(int negativeStaleTimeout);
+
+    int getMaxSize();
+
+    void setMaxSize(int maxSize);
+
+    void setDevice(Device device);
+
     void clear();
 
     ApplicationEntity get(String aet) throws ConfigurationException;
@@ -52,6 +52,16 @@ public interface IDeviceCache {
 
     void setStaleTimeout(int staleTimeout);
 
+    int getNegativeStaleTimeout();
+
+    void setNegativeStaleTimeout(int negativeStaleTimeout);
+
+    int getMaxSize();
+
+    void setMaxSize(int maxSize);
+
+    void setDevice(Device device);
+
     void clear();
 
     Device get(String deviceName) throws ConfigurationException;
@@ -41,6 +41,7 @@
 
 package org.dcm4che3.conf.api;
 
+import org.dcm4che3.net.Device;
 import org.dcm4che3.net.WebApplication;
 
 /**
@@ -52,6 +53,16 @@ public interface IWebApplicationCache {
 
     void setStaleTimeout(int staleTimeout);
 
+    int getNegativeStaleTimeout();
+
+    void setNegativeStaleTimeout(int negativeStaleTimeout);
+
+    int getMaxSize();
+
+    void setMaxSize(int maxSize);
+
+    void setDevice(Device device);
+
     void clear();
 
     WebApplication get(String aet) throws ConfigurationException;
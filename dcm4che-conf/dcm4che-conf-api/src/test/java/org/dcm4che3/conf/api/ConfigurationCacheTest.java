@@ -0,0 +1,220 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.conf.api;
+
+import org.dcm4che3.net.Device;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class ConfigurationCacheTest {
+
+    private static class Config {
+        final Map<String, String> values = new ConcurrentHashMap<>();
+        final AtomicInteger finds = new AtomicInteger();
+        volatile CountDownLatch block;
+    }
+
+    private static class Cache extends ConfigurationCache<Config, String> {
+        Cache(Config conf) {
+            super(conf);
+        }
+
+        @Override
+        protected String find(Config conf, String key) throws ConfigurationException {
+            conf.finds.incrementAndGet();
+            CountDownLatch block = conf.block;
+            if (block != null)
+                try {
+                    block.await();
+                } catch (InterruptedException e) {
+                    throw new ConfigurationException(e);
+                }
+            String value = conf.values.get(key);
+            if (value == null)
+                throw new ConfigurationNotFoundException(key);
+            return value;
+        }
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        final Config conf = new Config();
+        conf.values.put("A", "a");
+        conf.block = new CountDownLatch(1);
+        final Cache cache = new Cache(conf);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[4];
+            for (int i = 0; i < futures.length; i++)
+                futures[i] = executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        return cache.get("A");
+                    }
+                });
+            Thread.sleep(100);
+            conf.block.countDown();
+            for (Future<?> future : futures)
+                assertEquals("a", future.get(1, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, conf.finds.get());
+        assertEquals(1, cache.getLoadCount());
+    }
+
+    @Test
+    public void testNegativeStaleTimeout() throws Exception {
+        Config conf = new Config();
+        Cache cache = new Cache(conf);
+        cache.setNegativeStaleTimeout(1);
+        assertNull(cache.get("A"));
+        conf.values.put("A", "a");
+        assertNull(cache.get("A"));
+        assertEquals(1, cache.getHitCount());
+        Thread.sleep(1100);
+        assertEquals("a", cache.get("A"));
+        assertEquals("a", cache.get("A"));
+        assertEquals(2, conf.finds.get());
+    }
+
+    @Test
+    public void testRefreshInBackground() throws Exception {
+        Config conf = new Config();
+        conf.values.put("A", "a");
+        Cache cache = new Cache(conf);
+        cache.setStaleTimeout(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        cache.setRefreshExecutor(executor);
+        try {
+            assertEquals("a", cache.get("A"));
+            conf.values.put("A", "b");
+            Thread.sleep(1100);
+            assertEquals("a", cache.get("A"));
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+            assertEquals("b", cache.get("A"));
+            assertEquals(1, cache.getRefreshCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRefreshByScheduledExecutorOfDevice() throws Exception {
+        Config conf = new Config();
+        conf.values.put("A", "a");
+        Cache cache = new Cache(conf);
+        cache.setStaleTimeout(1);
+        Device device = new Device("test");
+        cache.setDevice(device);
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            assertEquals("a", cache.get("A"));
+            conf.values.put("A", "b");
+            Thread.sleep(1100);
+            // the scheduled executor may be set on the device after the cache
+            device.setScheduledExecutor(executor);
+            assertEquals("a", cache.get("A"));
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+            assertEquals("b", cache.get("A"));
+            assertEquals(1, cache.getRefreshCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testReduceMaxSize() throws Exception {
+        Config conf = new Config();
+        conf.values.put("A", "a");
+        conf.values.put("B", "b");
+        conf.values.put("C", "c");
+        Cache cache = new Cache(conf);
+        cache.get("A");
+        cache.get("B");
+        cache.get("C");
+        cache.get("A");
+        cache.setMaxSize(1);
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals("a", cache.get("A"));
+        assertEquals(3, conf.finds.get());
+    }
+
+    @Test
+    public void testEvictLeastRecentlyAccessed() throws Exception {
+        Config conf = new Config();
+        conf.values.put("A", "a");
+        conf.values.put("B", "b");
+        conf.values.put("C", "c");
+        Cache cache = new Cache(conf);
+        cache.setMaxSize(2);
+        cache.get("A");
+        cache.get("B");
+        cache.get("A");
+        cache.get("C");
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        cache.get("A");
+        assertEquals(3, conf.finds.get());
+        cache.get("B");
+        assertEquals(4, conf.finds.get());
+    }
+}
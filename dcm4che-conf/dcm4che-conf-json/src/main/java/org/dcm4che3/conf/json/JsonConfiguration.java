@@ -192,6 +192,7 @@ public class JsonConfiguration {
             gen.writeStartObject("dcmDevice");
             writer.writeNotDef("dcmRoleSelectionNegotiationLenient", device.isRoleSelectionNegotiationLenient(), false);
             writer.writeNotDef("dcmLimitOpenAssociations", device.getLimitOpenAssociations(), 0);
+            writer.writeNotDef("dcmVirtualThreads", device.isVirtualThreads(), false);
             writer.writeNotEmpty("dcmLimitAssociationsInitiatedBy", device.getLimitAssociationsInitiatedBy());
             writer.writeNotNullOrDef("dcmTrustStoreURL", device.getTrustStoreURL(), null);
             writer.writeNotNullOrDef("dcmTrustStoreType", device.getTrustStoreType(), null);
@@ -312,6 +313,9 @@ public class JsonConfiguration {
                             case "dcmLimitOpenAssociations":
                                 device.setLimitOpenAssociations(reader.intValue());
                                 break;
+                            case "dcmVirtualThreads":
+                                device.setVirtualThreads(reader.booleanValue());
+                                break;
                             case "dcmLimitAssociationsInitiatedBy":
                                 device.setLimitAssociationsInitiatedBy(reader.stringArray());
                                 break;
@@ -429,6 +433,7 @@ public class JsonConfiguration {
             writer.writeNotDef("dcmRetrieveTimeoutTotal",
                     conn.isRetrieveTimeoutTotal(), false);
             writer.writeNotDef("dcmIdleTimeout", conn.getIdleTimeout(), Connection.NO_TIMEOUT);
+            writer.writeNotDef("dcmNioTransport", conn.isNioTransport(), false);
             writer.writeNotDef("dcmAATimeout",
                     conn.getAbortTimeout(), Connection.DEF_ABORT_TIMEOUT);
             writer.writeNotDef("dcmTCPCloseDelay",
@@ -533,6 +538,9 @@ public class JsonConfiguration {
                             case "dcmIdleTimeout":
                                 conn.setIdleTimeout(reader.intValue());
                                 break;
+                            case "dcmNioTransport":
+                                conn.setNioTransport(reader.booleanValue());
+                                break;
                             case "dcmAATimeout":
                                 conn.setAbortTimeout(reader.intValue());
                                 break;
@@ -1021,6 +1021,7 @@ public final class LdapDicomConfiguration implements DicomConfiguration {
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmRoleSelectionNegotiationLenient",
                 device.isRoleSelectionNegotiationLenient(), false);
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmLimitOpenAssociations", device.getLimitOpenAssociations(), 0);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmVirtualThreads", device.isVirtualThreads(), false);
         LdapUtils.storeNotEmpty(ldapObj, attrs, "dcmLimitAssociationsInitiatedBy",
                 device.getLimitAssociationsInitiatedBy());
         LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmTrustStoreURL", device.getTrustStoreURL(), null);
@@ -1076,6 +1077,7 @@ public final class LdapDicomConfiguration implements DicomConfiguration {
                 conn.isRetrieveTimeoutTotal(), false);
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmIdleTimeout",
                 conn.getIdleTimeout(), Connection.NO_TIMEOUT);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmNioTransport", conn.isNioTransport(), false);
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmAATimeout",
                 conn.getAbortTimeout(), Connection.DEF_ABORT_TIMEOUT);
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmTCPCloseDelay",
@@ -1477,6 +1479,8 @@ public final class LdapDicomConfiguration implements DicomConfiguration {
                 LdapUtils.booleanValue(attrs.get("dcmRoleSelectionNegotiationLenient"), false));
         device.setLimitOpenAssociations(
                 LdapUtils.intValue(attrs.get("dcmLimitOpenAssociations"), 0));
+        device.setVirtualThreads(
+                LdapUtils.booleanValue(attrs.get("dcmVirtualThreads"), false));
         device.setLimitAssociationsInitiatedBy(
                 LdapUtils.stringArray(attrs.get("dcmLimitAssociationsInitiatedBy")));
         device.setTrustStoreURL(LdapUtils.stringValue(attrs.get("dcmTrustStoreURL"), null));
@@ -1560,6 +1564,7 @@ public final class LdapDicomConfiguration implements DicomConfiguration {
         conn.setRetrieveTimeoutTotal(LdapUtils.booleanValue(attrs.get("dcmRetrieveTimeoutTotal"), false));
         conn.setIdleTimeout(LdapUtils.intValue(attrs.get("dcmIdleTimeout"),
                 Connection.NO_TIMEOUT));
+        conn.setNioTransport(LdapUtils.booleanValue(attrs.get("dcmNioTransport"), false));
         conn.setAbortTimeout(LdapUtils.intValue(attrs.get("dcmAATimeout"),
                 Connection.DEF_ABORT_TIMEOUT));
         conn.setSocketCloseDelay(LdapUtils.intValue(attrs.get("dcmTCPCloseDelay"),
@@ -1819,6 +1824,10 @@ public final class LdapDicomConfiguration implements DicomConfiguration {
         LdapUtils.storeDiffObject(ldapObj, mods, "dcmLimitOpenAssociations",
                 a.getLimitOpenAssociations(),
                 b.getLimitOpenAssociations(), null);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmVirtualThreads",
+                a.isVirtualThreads(),
+                b.isVirtualThreads(),
+                false);
         LdapUtils.storeDiff(ldapObj, mods, "dcmLimitAssociationsInitiatedBy",
                 a.getLimitAssociationsInitiatedBy(),
                 b.getLimitAssociationsInitiatedBy());
@@ -1929,6 +1938,10 @@ public final class LdapDicomConfiguration implements DicomConfiguration {
                 a.getIdleTimeout(),
                 b.getIdleTimeout(),
                 Connection.NO_TIMEOUT);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmNioTransport",
+                a.isNioTransport(),
+                b.isNioTransport(),
+                false);
         LdapUtils.storeDiff(ldapObj, mods, "dcmAATimeout",
                 a.getAbortTimeout(),
                 b.getAbortTimeout(),
@@ -42,6 +42,8 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -78,6 +80,14 @@ public class Attributes implements Serializable {
         default void endSequence() {};
     }
 
+    public interface Editor {
+        /**
+         * Returns the value to which the attribute shall be set: {@code value} to keep the attribute unchanged,
+         * another value to replace it, or {@code null} to remove the attribute.
+         */
+        Object edit(Attributes attrs, int tag, VR vr, Object value);
+    }
+
     public static abstract class ItemPointerVisitor implements SequenceVisitor {
         protected final List<ItemPointer> itemPointers = new ArrayList<>(4);
         @Override
@@ -121,6 +131,7 @@ public class Attributes implements Serializable {
     private Map<String, Object> properties;
     private TimeZone defaultTimeZone;
     private volatile boolean readOnly;
+    private transient volatile boolean lazy;
 
     public Attributes() {
         this(false, INIT_CAPACITY);
@@ -282,6 +293,7 @@ public class Attributes implements Serializable {
     }
 
     private void toggleEndian() {
+        ensureLoaded();
         for (int i = 0; i < size; i++) {
             Object value = values[i];
             if (value instanceof byte[]) {
@@ -345,6 +357,7 @@ public class Attributes implements Serializable {
     }
 
     public void trimToSize(boolean recursive) {
+        ensureLoaded();
         ensureModifiable();
         int oldCapacity = tags.length;
         if (size < oldCapacity) {
@@ -362,9 +375,21 @@ public class Attributes implements Serializable {
     }
 
     public void internalizeStringValues(boolean decode) {
+        internalizeStringValues(decode, null);
+    }
+
+    /**
+     * Replaces string values by canonical instances returned by the specified {@link StringInterner}, or by
+     * {@link String#intern()}, if {@code interner} is {@code null}.
+     *
+     * @param decode   decode string values not yet decoded
+     * @param interner table of canonical instances or {@code null}
+     */
+    public void internalizeStringValues(boolean decode, StringInterner interner) {
+        ensureLoaded();
         ensureModifiable();
         SpecificCharacterSet cs = getSpecificCharacterSet();
-        for (int i = 0; i < values.length; i++) {
+        for (int i = 0; i < size; i++) {
             VR vr = vrs[i];
             Object value = values[i];
             if (vr.isStringType()) {
@@ -374,19 +399,25 @@ public class Attributes implements Serializable {
                     value = vr.toStrings((byte[]) value, bigEndian, cs);
                 }
                 if (value instanceof String)
-                    values[i] = ((String) value).intern();
+                    values[i] = intern((String) value, interner);
                 else if (value instanceof String[]) {
                     String[] ss = (String[]) value;
                     for (int j = 0; j < ss.length; j++)
-                        ss[j] = ss[j].intern();
+                        ss[j] = intern(ss[j], interner);
+                    values[i] = ss;
                 }
             } else if (value instanceof Sequence)
                 for (Attributes item : (Sequence) value)
-                    item.internalizeStringValues(decode);
+                    item.internalizeStringValues(decode, interner);
         }
     }
 
+    private static String intern(String s, StringInterner interner) {
+        return interner != null ? interner.intern(s) : s.intern();
+    }
+
     private void decodeStringValuesUsingSpecificCharacterSet() {
+        ensureLoaded();
         Object value;
         VR vr;
         SpecificCharacterSet cs = getSpecificCharacterSet();
@@ -536,8 +567,76 @@ public class Attributes implements Serializable {
         return creatorTag;
     }
 
+    /**
+     * Returns a data set with the Data Elements encoded in the specified buffer from its current position up to
+     * its limit. Only tag, VR, offset and length of each Data Element are recorded; values - inclusive the
+     * Items of Sequences - are decoded on first access. The byte order of the buffer specifies the byte order of
+     * the encoding. The content of the buffer must not be modified as long as the returned data set is in use.
+     * Any operation accessing all Data Elements - like {@link #writeTo}, {@link #addAll} or {@link #toString} -
+     * decodes all values of the data set.
+     * <p>
+     * Values are decoded and stored into the data set under its lock until all values are decoded, so a lazy
+     * parsed data set - once safely published - may be read by several threads concurrently, as long as it is
+     * not modified, e.g. after {@link #setReadOnly()}.
+     *
+     * @param buf        buffer containing the encoded data set, e.g. a memory mapped file
+     * @param explicitVR if the data set is encoded with Explicit VR
+     * @return lazy parsed data set
+     * @throws IOException if the encoded Data Element headers are not valid
+     */
+    public static Attributes parseLazy(ByteBuffer buf, boolean explicitVR) throws IOException {
+        boolean bigEndian = buf.order() == ByteOrder.BIG_ENDIAN;
+        Attributes attrs = new Attributes(bigEndian);
+        LazyValue.parse(attrs, buf.asReadOnlyBuffer().order(buf.order()), buf.position(), buf.limit(), explicitVR);
+        return attrs;
+    }
+
+    void setLazyValue(int tag, VR vr, LazyValue value) {
+        set(null, tag, vr, value);
+        lazy = true;
+    }
+
+    private Object valueAt(int index) {
+        return lazy ? lazyValueAt(index) : values[index];
+    }
+
+    private synchronized Object lazyValueAt(int index) {
+        Object value = values[index];
+        return value instanceof LazyValue ? decodeLazyValue(index, (LazyValue) value) : value;
+    }
+
+    private Object decodeLazyValue(int index, LazyValue lazyValue) {
+        Object value;
+        try {
+            value = lazyValue.decode(this, tags[index], vrs[index]);
+        } catch (IOException e) {
+            LOG.info("Failed to decode {} {}: {}", TagUtils.toString(tags[index]), vrs[index], e.getMessage());
+            value = Value.NULL;
+        }
+        if (readOnly) {
+            if (value instanceof Sequence)
+                ((Sequence) value).setReadOnly();
+            else if (value instanceof Fragments)
+                ((Fragments) value).setReadOnly();
+        }
+        return values[index] = value;
+    }
+
+    private void ensureLoaded() {
+        if (lazy) {
+            synchronized (this) {
+                if (lazy) {
+                    for (int i = 0; i < size; i++)
+                        lazyValueAt(i);
+                    // volatile write publishes the decoded values to threads not acquiring the lock
+                    lazy = false;
+                }
+            }
+        }
+    }
+
     private Object decodeStringValue(int index) {
-        Object value = loadBulkData(vrs[index], values[index]);
+        Object value = loadBulkData(vrs[index], valueAt(index));
         return decodeStringValue(index, value);
     }
 
@@ -553,7 +652,7 @@ public class Attributes implements Serializable {
     }
 
     private Object loadAndStoreBulkData(int index) {
-        return values[index] = loadBulkData(vrs[index], values[index]);
+        return values[index] = loadBulkData(vrs[index], valueAt(index));
     }
 
     private Object loadBulkData(VR vr, Object value) {
@@ -574,7 +673,7 @@ public class Attributes implements Serializable {
     }
 
     private double[] decodeDSValue(int index) {
-        Object value = index < 0 ? Value.NULL : values[index];
+        Object value = index < 0 ? Value.NULL : valueAt(index);
         if (value == Value.NULL)
             return ByteUtils.EMPTY_DOUBLES;
 
@@ -607,7 +706,7 @@ public class Attributes implements Serializable {
     }
 
     private long[] decodeISValue(int index) {
-        Object value = index < 0 ? Value.NULL : values[index];
+        Object value = index < 0 ? Value.NULL : valueAt(index);
         if (value == Value.NULL)
             return ByteUtils.EMPTY_LONGS;
 
@@ -644,7 +743,7 @@ public class Attributes implements Serializable {
         if (vr == null || vr == prev)
             return prev;
 
-        Object value = values[index];
+        Object value = valueAt(index);
         if (!(value == Value.NULL
                 || value instanceof byte[]
                 || vr.isStringType() 
@@ -730,7 +829,7 @@ public class Attributes implements Serializable {
         
         if (vr != null)
             vr.vr = vrs[index];
-        return values[index];
+        return valueAt(index);
     }
 
     public VR getVR(int tag) {
@@ -765,7 +864,7 @@ public class Attributes implements Serializable {
         if (vr != VR.SQ && vr != VR.UN)
             return null;
 
-        Object value = values[index];
+        Object value = valueAt(index);
         if (value instanceof Sequence)
             return (Sequence) value;
 
@@ -791,7 +890,7 @@ public class Attributes implements Serializable {
         if (index < 0)
             return null;
         
-        Object value = values[index];
+        Object value = valueAt(index);
         VR vr = vrs[index];
         
         try {
@@ -868,7 +967,7 @@ public class Attributes implements Serializable {
         if (index < 0)
             return defVal;
 
-        Object value = values[index];
+        Object value = valueAt(index);
         if (value == Value.NULL)
             return defVal;
 
@@ -897,13 +996,26 @@ public class Attributes implements Serializable {
     }
 
     public String[] getStrings(String privateCreator, int tag, VR vr) {
+        Object value = getStringValue(privateCreator, tag, vr);
+        return value == Value.NULL ? StringUtils.EMPTY_STRING
+                : value != null ? toStrings(value)
+                : null;
+    }
+
+    /**
+     * Returns the decoded value as {@code String} or {@code String[]}, without wrapping a single value in an array.
+     *
+     * @return decoded value, {@link Value#NULL} if the value is empty, or {@code null} if the attribute is not
+     * contained or cannot be accessed as string
+     */
+    Object getStringValue(String privateCreator, int tag, VR vr) {
         int index = indexOf(privateCreator, tag);
         if (index < 0)
             return null;
 
-        Object value = values[index];
+        Object value = valueAt(index);
         if (value == Value.NULL)
-            return StringUtils.EMPTY_STRING;
+            return Value.NULL;
 
         vr = updateVR(index, vr);
 
@@ -912,10 +1024,10 @@ public class Attributes implements Serializable {
             value = decodeStringValue(index, value);
         }
         if (value == Value.NULL)
-            return StringUtils.EMPTY_STRING;
+            return Value.NULL;
         try {
-            return toStrings(vr.toStrings(value, bigEndian,
-                    getSpecificCharacterSet(vr)));
+            return vr.toStrings(value, bigEndian,
+                    getSpecificCharacterSet(vr));
         } catch (UnsupportedOperationException e) {
             LOG.info("Attempt to access {} {} as string", TagUtils.toString(tag), vr);
             return null;
@@ -953,7 +1065,7 @@ public class Attributes implements Serializable {
         if (index < 0)
             return defVal;
 
-        Object value = values[index];
+        Object value = valueAt(index);
         if (value == Value.NULL)
             return defVal;
 
@@ -987,7 +1099,7 @@ public class Attributes implements Serializable {
         if (index < 0)
             return null;
 
-        Object value = values[index];
+        Object value = valueAt(index);
         if (value == Value.NULL)
             return ByteUtils.EMPTY_INTS;
 
@@ -1033,7 +1145,7 @@ public class Attributes implements Serializable {
         if (index < 0)
             return defVal;
 
-        Object value = values[index];
+        Object value = valueAt(index);
         if (value == Value.NULL)
             return defVal;
 
@@ -1067,7 +1179,7 @@ public class Attributes implements Serializable {
         if (index < 0)
             return null;
 
-        Object value = values[index];
+        Object value = valueAt(index);
         if (value == Value.NULL)
             return ByteUtils.EMPTY_LONGS;
 
@@ -1113,7 +1225,7 @@ public class Attributes implements Serializable {
         if (index < 0)
             return defVal;
 
-        Object value = values[index];
+        Object value = valueAt(index);
         if (value == Value.NULL)
             return defVal;
 
@@ -1147,7 +1259,7 @@ public class Attributes implements Serializable {
         if (index < 0)
             return null;
 
-        Object value = values[index];
+        Object value = valueAt(index);
         if (value == Value.NULL)
             return ByteUtils.EMPTY_FLOATS;
 
@@ -1193,7 +1305,7 @@ public class Attributes implements Serializable {
         if (index < 0)
             return defVal;
 
-        Object value = values[index];
+        Object value = valueAt(index);
         if (value == Value.NULL)
             return defVal;
 
@@ -1227,7 +1339,7 @@ public class Attributes implements Serializable {
         if (index < 0)
             return null;
 
-        Object value = values[index];
+        Object value = valueAt(index);
         if (value == Value.NULL)
             return ByteUtils.EMPTY_DOUBLES;
 
@@ -1293,7 +1405,7 @@ public class Attributes implements Serializable {
         if (index < 0)
             return defVal;
 
-        Object value = values[index];
+        Object value = valueAt(index);
         if (value == Value.NULL)
             return defVal;
 
@@ -1438,7 +1550,7 @@ public class Attributes implements Serializable {
         if (index < 0)
             return defVal;
 
-        Object value = values[index];
+        Object value = valueAt(index);
         if (value == Value.NULL)
             return defVal;
 
@@ -1571,7 +1683,7 @@ public class Attributes implements Serializable {
         if (index < 0)
             return null;
 
-        Object value = values[index];
+        Object value = valueAt(index);
         if (value == Value.NULL)
             return DateUtils.EMPTY_DATES;
 
@@ -1663,7 +1775,7 @@ public class Attributes implements Serializable {
         if (index < 0)
             return defVal;
 
-        Object value = values[index];
+        Object value = valueAt(index);
         if (value == Value.NULL)
             return defVal;
 
@@ -1686,8 +1798,11 @@ public class Attributes implements Serializable {
     }
 
     private DateRange toDateRange(String s, VR vr) {
+        return toDateRange(s, vr, getTimeZone());
+    }
+
+    static DateRange toDateRange(String s, VR vr, TimeZone tz) {
         String[] range = splitRange(s);
-        TimeZone tz = getTimeZone();
         DatePrecision precision = new DatePrecision();
         Date start = range[0] == null ? null
                 : vr.toDate(range[0], tz, 0, false, null, precision);
@@ -1696,7 +1811,7 @@ public class Attributes implements Serializable {
         return new DateRange(start, end);
     }
 
-    private static String[] splitRange(String s) {
+    static String[] splitRange(String s) {
         String[] range = new String[2];
         int delim = s.indexOf('-');
         if (delim == -1)
@@ -1902,6 +2017,7 @@ public class Attributes implements Serializable {
     }
 
     private void updateTimezone(TimeZone from, TimeZone to) {
+        ensureLoaded();
         if (from.hasSameRules(to))
             return;
 
@@ -2075,7 +2191,7 @@ public class Attributes implements Serializable {
         if (index < 0)
             return null;
 
-        Object value = values[index];
+        Object value = valueAt(index);
         if (value instanceof Sequence) {
             for (Attributes attrs : ((Sequence) value)) {
                     attrs.setParent(null, null, 0);
@@ -2307,7 +2423,7 @@ public class Attributes implements Serializable {
         Sequence seq;
         int index = indexOf(tag);
         if (index >= 0) {
-            Object oldValue = values[index];
+            Object oldValue = valueAt(index);
             if (oldValue instanceof Sequence)
                 seq = (Sequence) oldValue;
             else
@@ -2360,7 +2476,7 @@ public class Attributes implements Serializable {
     private Object set(int tag, VR vr, Object value) {
         int index = indexForInsertOf(tag);
         if (index >= 0) {
-            Object oldValue = values[index];
+            Object oldValue = valueAt(index);
             vrs[index] = vr;
             values[index] = value;
             return oldValue;
@@ -2409,7 +2525,7 @@ public class Attributes implements Serializable {
             return false;
 
         VR vr = other.vrs[index];
-        Object value = other.values[index];
+        Object value = other.valueAt(index);
         if (!getSpecificCharacterSet().contains(other.getSpecificCharacterSet())
                 && containsNonASCIIStringValues(value, vr)) {
             if (!(getSpecificCharacterSet()).isUTF8()) {
@@ -2511,6 +2627,8 @@ public class Attributes implements Serializable {
     }
 
     public void supplementEmpty(Attributes selection) {
+        ensureLoaded();
+        selection.ensureLoaded();
         ensureModifiable();
         final int[] otherTags = selection.tags;
         final VR[] otherVRs = selection.vrs;
@@ -2534,6 +2652,8 @@ public class Attributes implements Serializable {
     private boolean add(Attributes other, int[] include, int[] exclude, int fromIndex, int toIndex,
                         Attributes selection, UpdatePolicy updatePolicy, boolean mergeOriginalAttributesSequence,
                         boolean simulate, Attributes modified) {
+        ensureLoaded();
+        other.ensureLoaded();
         if (updatePolicy == UpdatePolicy.REPLACE)
             throw new IllegalArgumentException("updatePolicy:" + updatePolicy);
 
@@ -2670,6 +2790,7 @@ public class Attributes implements Serializable {
 
     private boolean containsNonASCIIStringValues(int[] include, int[] exclude, int fromIndex, int toIndex,
             Attributes selection) {
+        ensureLoaded();
         for (int i = 0; i < size; i++) {
             int tag = tags[i];
             Object val = values[i];
@@ -2961,8 +3082,8 @@ public class Attributes implements Serializable {
                                     : v1.equals(v2));
         }
 
-        Object v1 = index < 0 ? Value.NULL : values[index];
-        Object v2 = otherIndex < 0 ? Value.NULL : other.values[otherIndex];
+        Object v1 = index < 0 ? Value.NULL : valueAt(index);
+        Object v2 = otherIndex < 0 ? Value.NULL : other.valueAt(otherIndex);
         if (v1 instanceof byte[]) {
             if (v2 instanceof byte[] && ((byte[]) v1).length == ((byte[]) v2).length) {
                 if (bigEndian != other.bigEndian)
@@ -3058,6 +3179,7 @@ public class Attributes implements Serializable {
     }
 
     private int appendAttributes(int limit, int maxWidth, StringBuilder sb, String prefix, int start, int end) {
+        ensureLoaded();
         int lines = 0;
         int creatorTag = 0;
         String privateCreator = null;
@@ -3124,6 +3246,7 @@ public class Attributes implements Serializable {
 
     private int calcLength(DicomEncodingOptions encOpts, boolean explicitVR,
             SpecificCharacterSet cs, int[] groupLengths) {
+        ensureLoaded();
         int len, totlen = 0;
         int groupLengthTag = -1;
         int groupLengthIndex = -1;
@@ -3230,6 +3353,7 @@ public class Attributes implements Serializable {
 
     private void writeTo(DicomOutputStream out, SpecificCharacterSet cs,
             int start, int end, int groupLengthIndex) throws IOException {
+        ensureLoaded();
         boolean groupLength = groupLengths != null;
         int groupLengthTag = -1;
         for (int i = start; i < end; i++) {
@@ -3271,6 +3395,7 @@ public class Attributes implements Serializable {
 
     private boolean accept(Visitor visitor, boolean visitNestedDatasets,
             int start, int end) throws Exception {
+        ensureLoaded();
         for (int i = start; i < end; i++) {
             if (!visitor.visit(this, tags[i], vrs[i], values[i]))
                 return false;
@@ -3397,6 +3522,7 @@ public class Attributes implements Serializable {
 
     public boolean matches(Attributes keys, boolean ignorePNCase,
             boolean matchNoValue) {
+        keys.ensureLoaded();
         int[] keyTags = keys.tags;
         VR[] keyVrs = keys.vrs;
         Object[] keyValues = keys.values;
@@ -3578,7 +3704,7 @@ public class Attributes implements Serializable {
             }
             return;
         }
-        Object value = values[index];
+        Object value = valueAt(index);
         if (isEmpty(value)) {
             if (el.type == IOD.DataElementType.TYPE_1) {
                 result.addMissingAttributeValue(el);
@@ -3765,6 +3891,8 @@ public class Attributes implements Serializable {
      * @return result data set.
      */
     public Attributes getModified(Attributes other, Attributes result) {
+        ensureLoaded();
+        other.ensureLoaded();
         if (result == null)
             result = new Attributes(other.size);
         int creatorTag = -1;
@@ -3830,6 +3958,8 @@ public class Attributes implements Serializable {
      *         the specified other data set.
      */
     public Attributes getRemovedOrModified(Attributes other) {
+        ensureLoaded();
+        other.ensureLoaded();
         Attributes modified = new Attributes(size);
         int creatorTag = -1;
         int prevCreatorTag = -1;
@@ -3892,13 +4022,15 @@ public class Attributes implements Serializable {
     }
 
     public int diff(Attributes other, int[] selection, Attributes diff, boolean onlyModified) {
+        ensureLoaded();
+        other.ensureLoaded();
         int count = 0;
         for (int tag : selection) {
             int index = indexOf(tag);
             int otherIndex = other.indexOf(tag);
             if (!equalValues(other, index, otherIndex)) {
                 if (diff != null) {
-                    Object value = index < 0 ? Value.NULL : values[index];
+                    Object value = index < 0 ? Value.NULL : valueAt(index);
                     if (!onlyModified || value != Value.NULL) {
                         if (value instanceof Sequence) {
                             diff.set(null, tag, (Sequence) value, null);
@@ -3947,6 +4079,7 @@ public class Attributes implements Serializable {
     }
 
     public int removeAllBulkData(boolean containsBulkData) {
+        ensureLoaded();
         ensureModifiable();
         int removed = 0;
         for (int i = 0; i < size; i++) {
@@ -3987,6 +4120,7 @@ public class Attributes implements Serializable {
     }
 
     public boolean containsBulkData() {
+        ensureLoaded();
         for (int i = 0; i < size; i++) {
             Object value = values[i];
             if (isBulkData(value) || containsBulkData(value)) {
@@ -4111,28 +4245,87 @@ public class Attributes implements Serializable {
     }
 
     public void replaceUIDSelected(int... selection) {
+        replaceUIDSelected(null, selection);
+    }
+
+    /**
+     * Replaces the values of the selected UID attributes by UIDs remapped by {@code remapper}.
+     *
+     * @param remapper  memoizing remapper or {@code null} to remap each UID by {@link UIDUtils#remapUID(String)}
+     * @param selection sorted tags of the attributes to replace
+     */
+    public void replaceUIDSelected(UIDRemapper remapper, int... selection) {
         ensureModifiable();
         for (int i = 0; i < size; i++) {
             if (Arrays.binarySearch(selection, tags[i]) >= 0
                     && values[i] != Value.NULL) {
-                values[i] = replaceUIDs(decodeStringValue(i));
+                values[i] = replaceUIDs(decodeStringValue(i), remapper);
             }
         }
     }
 
-    private Object replaceUIDs(Object val) {
+    private static Object replaceUIDs(Object val, UIDRemapper remapper) {
         if (val instanceof String) {
-            return UIDUtils.remapUID((String) val);
+            return remapUID((String) val, remapper);
         }
         if (val instanceof String[]) {
             String[] ss = (String[]) val;
             for (int i = 0; i < ss.length; i++) {
-                ss[i] = UIDUtils.remapUID(ss[i]);
+                ss[i] = remapUID(ss[i], remapper);
             }
         }
         return val;
     }
 
+    private static String remapUID(String uid, UIDRemapper remapper) {
+        return remapper != null ? remapper.remap(uid) : UIDUtils.remapUID(uid);
+    }
+
+    /**
+     * Removes or replaces attributes as decided by {@link Editor#edit} in one pass over this instance.
+     * Attributes in nested datasets are not passed to the editor; the editor may invoke this method
+     * on the items of sequences to edit them also. The editor must not access other attributes of this
+     * instance, which may be already moved.
+     *
+     * @param editor decides about removal or replacement of each attribute
+     * @return number of removed attributes
+     */
+    public int edit(Editor editor) {
+        ensureModifiable();
+        int size1 = 0;
+        for (int i = 0; i < size; i++) {
+            int tag = tags[i];
+            VR vr = vrs[i];
+            Object value = valueAt(i);
+            Object newValue = editor.edit(this, tag, vr, value);
+            if (newValue == null) {
+                if (value instanceof Sequence) {
+                    for (Attributes item : (Sequence) value)
+                        item.setParent(null, null, 0);
+                }
+                if (tag == Tag.SpecificCharacterSet) {
+                    containsSpecificCharacterSet = false;
+                    cs = null;
+                } else if (tag == Tag.TimezoneOffsetFromUTC) {
+                    containsTimezoneOffsetFromUTC = false;
+                    tz = null;
+                }
+                continue;
+            }
+            tags[size1] = tag;
+            vrs[size1] = vr;
+            values[size1++] = newValue;
+        }
+        int removed = size - size1;
+        if (removed > 0) {
+            Arrays.fill(tags, size1, size, 0);
+            Arrays.fill(vrs, size1, size, null);
+            Arrays.fill(values, size1, size, null);
+            size = size1;
+        }
+        return removed;
+    }
+
     public int removeCurveData() {
         ensureModifiable();
         return removeRepeatingGroup(0x50000000);
@@ -40,6 +40,7 @@ package org.dcm4che3.data;
 
 import org.dcm4che3.io.DicomEncodingOptions;
 import org.dcm4che3.io.DicomOutputStream;
+import org.dcm4che3.util.ByteBufferInputStream;
 import org.dcm4che3.util.ByteUtils;
 import org.dcm4che3.util.StreamUtils;
 import org.dcm4che3.util.StringUtils;
@@ -48,6 +49,7 @@ import java.io.*;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
 
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
@@ -63,6 +65,7 @@ public class BulkData implements Value, Serializable {
     private boolean bigEndian;
     private long offset = 0;
     private long length = -1;
+    private transient ByteBuffer buffer;
 
     public BulkData(String uuid, String uri, boolean bigEndian) {
         this.uuid = uuid;
@@ -78,7 +81,22 @@ public class BulkData implements Value, Serializable {
         this.length = length;
         this.bigEndian = bigEndian;
     }
-    
+
+    /**
+     * Creates Bulk Data referencing a region of a file, whose content is also accessible by the specified buffer -
+     * typically a slice of a memory mapped file. The content is read from the buffer, without opening the file
+     * again. On deserialization, the reference to the buffer is lost and the content is read from the file.
+     *
+     * @param uri       URI of the file
+     * @param offset    offset of the region in the file
+     * @param buffer    read-only buffer with the content of the region
+     * @param bigEndian if the content is big endian encoded
+     */
+    public BulkData(String uri, long offset, ByteBuffer buffer, boolean bigEndian) {
+        this(uri, offset, buffer.remaining(), bigEndian);
+        this.buffer = buffer;
+    }
+
     public String getUUID() {
         return uuid;
     }
@@ -89,6 +107,7 @@ public class BulkData implements Value, Serializable {
 
     public void setURI(String uri) {
         this.uri = uri;
+        this.buffer = null;
         this.offset = 0;
         this.length = -1;
         this.uriPathEnd = 0;
@@ -125,6 +144,16 @@ public class BulkData implements Value, Serializable {
         return offset;
     }
 
+    /**
+     * Returns a read-only view of the buffer with the content of the Bulk Data, if it was created from a memory
+     * mapped file, or {@code null}.
+     *
+     * @return read-only view of the buffer with the content or {@code null}
+     */
+    public ByteBuffer getByteBuffer() {
+        return buffer != null ? buffer.asReadOnlyBuffer() : null;
+    }
+
     @Override
     public boolean isEmpty() {
         return length == 0;
@@ -158,7 +187,10 @@ public class BulkData implements Value, Serializable {
     public InputStream openStream() throws IOException {
         if (uri == null)
             throw new IllegalStateException("uri: null");
- 
+
+        if (buffer != null)
+            return new ByteBufferInputStream(buffer.duplicate());
+
         if (!uri.startsWith("file:"))
             return new URL(uri).openStream();
 
@@ -190,9 +222,16 @@ public class BulkData implements Value, Serializable {
         if (intLength == 0)
             return ByteUtils.EMPTY_BYTES;
 
+        byte[] b = new byte[intLength];
+        if (buffer != null) {
+            buffer.duplicate().get(b);
+            if (this.bigEndian != bigEndian) {
+                vr.toggleEndian(b, false);
+            }
+            return b;
+        }
         InputStream in = openStream();
         try {
-            byte[] b = new byte[intLength];
             StreamUtils.readFully(in, b, 0, b.length);
             if (this.bigEndian != bigEndian) {
                 vr.toggleEndian(b, false);
@@ -283,6 +322,7 @@ public class BulkData implements Value, Serializable {
 
     public void setOffset(long offset) {
         this.offset = offset;
+        this.buffer = null;
         this.uri = this.uri.substring(0, this.uriPathEnd)+"?offset="+offset+"&length="+length;
     }
 
@@ -291,6 +331,7 @@ public class BulkData implements Value, Serializable {
             throw new IllegalArgumentException("BulkData length limited to -1..2^32-2 but was "+length);
         }
         this.length = length;
+        this.buffer = null;
         this.uri = this.uri.substring(0, this.uriPathEnd)+"?offset="+this.offset+"&length="+length;
     }
 
@@ -0,0 +1,370 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.data;
+
+import org.dcm4che3.io.DicomEncodingOptions;
+import org.dcm4che3.io.DicomOutputStream;
+import org.dcm4che3.io.DicomStreamException;
+import org.dcm4che3.util.ByteUtils;
+import org.dcm4che3.util.SafeBuffer;
+import org.dcm4che3.util.TagUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Placeholder for the not yet decoded value of a Data Element of a lazy parsed
+ * {@link Attributes}, referring the encoded value in a {@link ByteBuffer}.
+ * <p>
+ * On first access, values of Sequences are decoded to a {@link Sequence} with
+ * lazy parsed Items, encapsulated values to {@link Fragments} and all other
+ * values to {@code byte[]}.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+final class LazyValue implements Value {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LazyValue.class);
+    private static final int UNDEFINED_LENGTH = -1;
+
+    private final ByteBuffer buf;
+    private final int offset;
+    private final int end;
+    private final boolean undefinedLength;
+    private final boolean explicitVR;
+
+    private LazyValue(ByteBuffer buf, int offset, int end, boolean undefinedLength, boolean explicitVR) {
+        this.buf = buf;
+        this.offset = offset;
+        this.end = end;
+        this.undefinedLength = undefinedLength;
+        this.explicitVR = explicitVR;
+    }
+
+    /**
+     * Index Data Elements encoded in {@code buf} from {@code pos} up to {@code end} or up to an Item
+     * Delimitation Item into {@code attrs}, without decoding their values.
+     *
+     * @return position after the last indexed Data Element or after the Item Delimitation Item
+     */
+    static int parse(Attributes attrs, ByteBuffer buf, int pos, int end, boolean explicitVR)
+            throws IOException {
+        while (pos < end) {
+            checkAvailable(buf, pos, 8, end);
+            int tag = tagAt(buf, pos);
+            if (tag == Tag.ItemDelimitationItem)
+                return pos + 8;
+
+            VR vr;
+            int length;
+            int encodedVR = 0;
+            if (explicitVR && tag != Tag.Item && tag != Tag.SequenceDelimitationItem) {
+                encodedVR = ((buf.get(pos + 4) & 0xff) << 8) | (buf.get(pos + 5) & 0xff);
+                vr = VR.valueOf(encodedVR);
+                if (vr == null)
+                    vr = ElementDictionary.getStandardElementDictionary().vrOf(tag);
+                if (vr.headerLength() == 8) {
+                    length = buf.getShort(pos + 6) & 0xffff;
+                    pos += 8;
+                } else {
+                    checkAvailable(buf, pos, 12, end);
+                    length = buf.getInt(pos + 8);
+                    pos += 12;
+                }
+            } else {
+                vr = VR.UN;
+                length = buf.getInt(pos + 4);
+                pos += 8;
+            }
+            if (tag == Tag.Item || tag == Tag.SequenceDelimitationItem) {
+                LOG.warn("Unexpected attribute {} #{} @ {}", TagUtils.toString(tag), length, pos - 8);
+                pos = skip(buf, pos, length, end);
+                continue;
+            }
+            boolean itemsExplicitVR = explicitVR;
+            if (vr == VR.UN) {
+                if (!explicitVR)
+                    vr = implicitVR(attrs, tag);
+                if (vr == VR.UN && length == UNDEFINED_LENGTH) {
+                    // assumes UN with undefined length are SQ
+                    vr = VR.SQ;
+                    itemsExplicitVR = explicitVR && (encodedVR != 0x554e || probeExplicitVR(buf, pos, end));
+                }
+            }
+            if (length == UNDEFINED_LENGTH) {
+                int valueEnd = skipItems(buf, pos, end, vr == VR.SQ ? itemsExplicitVR : explicitVR);
+                attrs.setLazyValue(tag, vr,
+                        new LazyValue(buf, pos, valueEnd - 8, true, itemsExplicitVR));
+                pos = valueEnd;
+            } else {
+                int valueEnd = skip(buf, pos, length, end);
+                if (!TagUtils.isGroupLength(tag)) {
+                    if (length == 0)
+                        attrs.setNull(tag, vr);
+                    else
+                        attrs.setLazyValue(tag, vr,
+                                new LazyValue(buf, pos, valueEnd, false, itemsExplicitVR));
+                }
+                pos = valueEnd;
+            }
+        }
+        return pos;
+    }
+
+    private static VR implicitVR(Attributes attrs, int tag) {
+        switch (tag) {
+            case Tag.SmallestValidPixelValue:
+            case Tag.LargestValidPixelValue:
+            case Tag.SmallestImagePixelValue:
+            case Tag.LargestImagePixelValue:
+            case Tag.SmallestPixelValueInSeries:
+            case Tag.LargestPixelValueInSeries:
+            case Tag.SmallestImagePixelValueInPlane:
+            case Tag.LargestImagePixelValueInPlane:
+            case Tag.PixelPaddingValue:
+            case Tag.PixelPaddingRangeLimit:
+            case Tag.GrayLookupTableDescriptor:
+            case Tag.RedPaletteColorLookupTableDescriptor:
+            case Tag.GreenPaletteColorLookupTableDescriptor:
+            case Tag.BluePaletteColorLookupTableDescriptor:
+            case Tag.LargeRedPaletteColorLookupTableDescriptor:
+            case Tag.LargeGreenPaletteColorLookupTableDescriptor:
+            case Tag.LargeBluePaletteColorLookupTableDescriptor:
+            case Tag.RealWorldValueLastValueMapped:
+            case Tag.RealWorldValueFirstValueMapped:
+            case Tag.HistogramFirstBinValue:
+            case Tag.HistogramLastBinValue:
+                return attrs.getRoot().getInt(Tag.PixelRepresentation, 0) == 0 ? VR.US : VR.SS;
+        }
+        return ElementDictionary.vrOf(tag, attrs.getPrivateCreator(tag));
+    }
+
+    private static boolean probeExplicitVR(ByteBuffer buf, int pos, int end) {
+        return pos + 14 <= end
+                && VR.valueOf(((buf.get(pos + 12) & 0xff) << 8) | (buf.get(pos + 13) & 0xff)) != null;
+    }
+
+    /**
+     * Skip Items of a Sequence or of encapsulated Pixel Data with undefined length.
+     *
+     * @return position after the Sequence Delimitation Item
+     */
+    private static int skipItems(ByteBuffer buf, int pos, int end, boolean explicitVR) throws IOException {
+        for (;;) {
+            checkAvailable(buf, pos, 8, end);
+            int tag = tagAt(buf, pos);
+            int length = buf.getInt(pos + 4);
+            pos += 8;
+            if (tag == Tag.SequenceDelimitationItem)
+                return pos;
+            if (tag != Tag.Item)
+                throw new DicomStreamException("Unexpected attribute " + TagUtils.toString(tag)
+                        + " #" + length + " @ " + (pos - 8));
+            pos = length == UNDEFINED_LENGTH
+                    ? skipItemValue(buf, pos, end, explicitVR)
+                    : skip(buf, pos, length, end);
+        }
+    }
+
+    /**
+     * Skip Data Elements of an Item with undefined length.
+     *
+     * @return position after the Item Delimitation Item
+     */
+    private static int skipItemValue(ByteBuffer buf, int pos, int end, boolean explicitVR) throws IOException {
+        for (;;) {
+            checkAvailable(buf, pos, 8, end);
+            int tag = tagAt(buf, pos);
+            if (tag == Tag.ItemDelimitationItem)
+                return pos + 8;
+            int length;
+            boolean itemsExplicitVR = explicitVR;
+            if (explicitVR) {
+                int encodedVR = ((buf.get(pos + 4) & 0xff) << 8) | (buf.get(pos + 5) & 0xff);
+                VR vr = VR.valueOf(encodedVR);
+                if (vr == null)
+                    vr = ElementDictionary.getStandardElementDictionary().vrOf(tag);
+                if (vr.headerLength() == 8) {
+                    length = buf.getShort(pos + 6) & 0xffff;
+                    pos += 8;
+                } else {
+                    checkAvailable(buf, pos, 12, end);
+                    length = buf.getInt(pos + 8);
+                    pos += 12;
+                }
+                if (encodedVR == 0x554e && length == UNDEFINED_LENGTH)
+                    itemsExplicitVR = probeExplicitVR(buf, pos, end);
+            } else {
+                length = buf.getInt(pos + 4);
+                pos += 8;
+            }
+            pos = length == UNDEFINED_LENGTH
+                    ? skipItems(buf, pos, end, itemsExplicitVR)
+                    : skip(buf, pos, length, end);
+        }
+    }
+
+    private static int tagAt(ByteBuffer buf, int pos) {
+        return ((buf.getShort(pos) & 0xffff) << 16) | (buf.getShort(pos + 2) & 0xffff);
+    }
+
+    private static void checkAvailable(ByteBuffer buf, int pos, int n, int end) throws IOException {
+        if (pos + n > end)
+            throw new DicomStreamException("Unexpected end of data @ " + pos);
+    }
+
+    private static int skip(ByteBuffer buf, int pos, int length, int end) throws IOException {
+        if (length < 0 || length > end - pos)
+            throw new DicomStreamException("Value length " + (length & 0xffffffffL)
+                    + " exceeds available data @ " + pos);
+        return pos + length;
+    }
+
+    /**
+     * Decode the referred value as Data Element of {@code attrs}.
+     *
+     * @return the decoded value
+     */
+    Object decode(Attributes attrs, int tag, VR vr) throws IOException {
+        if (vr == VR.SQ)
+            return decodeSequence(attrs, tag);
+        if (undefinedLength)
+            return decodeFragments(attrs, vr);
+        return toBytes(vr, attrs.bigEndian());
+    }
+
+    private Object decodeSequence(Attributes attrs, int tag) throws IOException {
+        ByteBuffer buf = explicitVR || this.buf.order() == ByteOrder.LITTLE_ENDIAN
+                ? this.buf
+                : this.buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        Sequence seq = new Sequence(attrs, null, tag, 10);
+        boolean bigEndian = attrs.bigEndian();
+        int pos = offset;
+        while (pos < end) {
+            int itemTag = tagAt(buf, pos);
+            int length = buf.getInt(pos + 4);
+            pos += 8;
+            if (itemTag != Tag.Item) {
+                pos = skip(buf, pos, length, end);
+                continue;
+            }
+            Attributes item = new Attributes(bigEndian);
+            item.setItemPosition(pos - 8);
+            seq.add(item);
+            pos = length == UNDEFINED_LENGTH
+                    ? parse(item, buf, pos, end, explicitVR)
+                    : parse(item, buf, pos, skip(buf, pos, length, end), explicitVR);
+        }
+        if (seq.isEmpty())
+            return Value.NULL;
+        seq.trimToSize();
+        return seq;
+    }
+
+    private Object decodeFragments(Attributes attrs, VR vr) throws IOException {
+        Fragments frags = new Fragments(vr, attrs.bigEndian(), 10);
+        int pos = offset;
+        while (pos < end) {
+            int length = buf.getInt(pos + 4);
+            pos += 8;
+            int fragEnd = skip(buf, pos, length, end);
+            frags.add(copy(pos, fragEnd, vr, attrs.bigEndian()));
+            pos = fragEnd;
+        }
+        if (frags.isEmpty())
+            return Value.NULL;
+        frags.trimToSize();
+        return frags;
+    }
+
+    private byte[] copy(int from, int to, VR vr, boolean bigEndian) {
+        if (from == to)
+            return ByteUtils.EMPTY_BYTES;
+        byte[] b = new byte[to - from];
+        ByteBuffer src = buf.duplicate();
+        SafeBuffer.position(src, from);
+        src.get(b);
+        if (bigEndian != (buf.order() == ByteOrder.BIG_ENDIAN))
+            vr.toggleEndian(b, false);
+        return b;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return offset == end;
+    }
+
+    @Override
+    public byte[] toBytes(VR vr, boolean bigEndian) throws IOException {
+        if (vr == VR.SQ || undefinedLength)
+            throw new UnsupportedOperationException();
+        return copy(offset, end, vr, bigEndian);
+    }
+
+    @Override
+    public void writeTo(DicomOutputStream out, VR vr) throws IOException {
+        out.write(toBytes(vr, out.isBigEndian()));
+        if (((end - offset) & 1) != 0)
+            out.write(vr.paddingByte());
+    }
+
+    @Override
+    public int calcLength(DicomEncodingOptions encOpts, boolean explicitVR, VR vr) {
+        return getEncodedLength(encOpts, explicitVR, vr);
+    }
+
+    @Override
+    public int getEncodedLength(DicomEncodingOptions encOpts, boolean explicitVR, VR vr) {
+        if (vr == VR.SQ || undefinedLength)
+            throw new UnsupportedOperationException();
+        return (end - offset + 1) & ~1;
+    }
+
+    @Override
+    public String toString() {
+        return "LazyValue[offset=" + offset + ", length=" + (end - offset) + ']';
+    }
+}
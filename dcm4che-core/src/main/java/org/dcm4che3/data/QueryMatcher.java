@@ -0,0 +1,395 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.data;
+
+import org.dcm4che3.util.StringUtils;
+import org.dcm4che3.util.TagUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.TimeZone;
+import java.util.regex.Pattern;
+
+/**
+ * Matches Data Sets against query keys, like {@link Attributes#matches(Attributes, boolean, boolean)}, but
+ * interprets the keys only once on construction: wildcard values are compiled to {@link Pattern}s - or to
+ * prefix comparisons for values with one trailing {@code *} -, lists of values to hash sets, Person Name values
+ * are normalized, date/time ranges are parsed and matchers for nested Sequence items are created in advance.
+ * So filtering of many candidate records - e.g. of a DICOMDIR - by one query does not re-parse the keys
+ * for each record.
+ * <p>
+ * Instances are immutable and may be shared between threads.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public final class QueryMatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueryMatcher.class);
+
+    private static final int[] DAYS_OF_MONTH = { 31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31 };
+
+    private final KeyMatcher[] keyMatchers;
+
+    /**
+     * Compiles the specified query keys.
+     *
+     * @param keys         query keys
+     * @param ignorePNCase if Person Name values shall be matched case-insensitive
+     * @param matchNoValue if attributes without value in the matched Data Set shall match any key value
+     */
+    public QueryMatcher(Attributes keys, boolean ignorePNCase, boolean matchNoValue) {
+        List<KeyMatcher> list = new ArrayList<>(keys.size());
+        for (int tag : keys.tags()) {
+            if (TagUtils.isPrivateCreator(tag))
+                continue;
+
+            String privateCreator = TagUtils.isPrivateGroup(tag)
+                    ? keys.getString(TagUtils.creatorTagOf(tag), null)
+                    : null;
+            Object keyValue = keys.getValue(privateCreator, tag);
+            if (keyValue instanceof Value && ((Value) keyValue).isEmpty())
+                continue;
+
+            VR vr = keys.getVR(privateCreator, tag);
+            if (vr.isStringType()) {
+                list.add(new StringKeyMatcher(privateCreator, tag, vr, matchNoValue,
+                        keys.getStrings(privateCreator, tag, null), ignorePNCase && vr == VR.PN));
+            } else if (keyValue instanceof Sequence) {
+                Sequence keySeq = (Sequence) keyValue;
+                int n = keySeq.size();
+                if (n > 1)
+                    LOG.info("Matching Key {} with VR: SQ contains {} Items - only consider first Item",
+                            TagUtils.toString(tag), n);
+                Attributes item = keySeq.get(0);
+                if (!item.isEmpty())
+                    list.add(new SequenceKeyMatcher(privateCreator, tag, matchNoValue,
+                            new QueryMatcher(item, ignorePNCase, matchNoValue)));
+            } else {
+                LOG.info("Matching Key {} with VR: {} not supported", TagUtils.toString(tag), vr);
+            }
+        }
+        this.keyMatchers = list.toArray(new KeyMatcher[0]);
+    }
+
+    /**
+     * Returns if the specified Data Set matches the compiled query keys.
+     *
+     * @param attrs Data Set to match
+     * @return {@code true} if the Data Set matches all compiled query keys
+     */
+    public boolean matches(Attributes attrs) {
+        for (KeyMatcher keyMatcher : keyMatchers)
+            if (!keyMatcher.matches(attrs))
+                return false;
+        return true;
+    }
+
+    private static abstract class KeyMatcher {
+        final String privateCreator;
+        final int tag;
+        final boolean matchNoValue;
+
+        KeyMatcher(String privateCreator, int tag, boolean matchNoValue) {
+            this.privateCreator = privateCreator;
+            this.tag = tag;
+            this.matchNoValue = matchNoValue;
+        }
+
+        abstract boolean matches(Attributes attrs);
+    }
+
+    private static final class SequenceKeyMatcher extends KeyMatcher {
+        final QueryMatcher itemMatcher;
+
+        SequenceKeyMatcher(String privateCreator, int tag, boolean matchNoValue, QueryMatcher itemMatcher) {
+            super(privateCreator, tag, matchNoValue);
+            this.itemMatcher = itemMatcher;
+        }
+
+        @Override
+        boolean matches(Attributes attrs) {
+            Object value = attrs.getValue(privateCreator, tag);
+            if (value == null || value instanceof Value && ((Value) value).isEmpty())
+                return matchNoValue;
+
+            if (value instanceof Sequence)
+                for (Attributes item : (Sequence) value)
+                    if (itemMatcher.matches(item))
+                        return true;
+            return false;
+        }
+    }
+
+    private static final class StringKeyMatcher extends KeyMatcher {
+        final VR vr;
+        final HashSet<String> values;
+        final ValueMatcher[] valueMatchers;
+
+        StringKeyMatcher(String privateCreator, int tag, VR vr, boolean matchNoValue, String[] keyVals,
+                boolean ignoreCase) {
+            super(privateCreator, tag, matchNoValue);
+            this.vr = vr;
+            HashSet<String> values = new HashSet<>();
+            List<ValueMatcher> valueMatchers = new ArrayList<>();
+            for (String keyVal : keyVals) {
+                boolean dateRange = false;
+                switch (vr) {
+                    case PN:
+                        // consistent with Attributes.matches(), which only considers the first value of PN keys
+                        keyVal = new PersonName(keyVals[0]).toString();
+                        break;
+                    case DA:
+                    case DT:
+                    case TM:
+                        dateRange = true;
+                        break;
+                }
+                if (StringUtils.containsWildCard(keyVal))
+                    valueMatchers.add(wildcardMatcher(keyVal, ignoreCase));
+                else if (dateRange)
+                    valueMatchers.add(new DateRangeMatcher(keyVal, vr));
+                else if (ignoreCase)
+                    valueMatchers.add(new EqualsIgnoreCaseMatcher(keyVal));
+                else
+                    values.add(keyVal);
+            }
+            this.values = values.isEmpty() ? null : values;
+            this.valueMatchers = valueMatchers.toArray(new ValueMatcher[0]);
+        }
+
+        @Override
+        boolean matches(Attributes attrs) {
+            Object value = attrs.getStringValue(privateCreator, tag, null);
+            if (value == null || value == Value.NULL)
+                return matchNoValue;
+
+            if (value instanceof String)
+                return matchesValue(attrs, (String) value);
+
+            for (String val : (String[]) value)
+                if (val == null ? matchNoValue : matchesValue(attrs, val))
+                    return true;
+            return false;
+        }
+
+        private boolean matchesValue(Attributes attrs, String val) {
+            if (vr == VR.PN && !isNormalizedPersonName(val))
+                val = new PersonName(val).toString();
+            if (values != null && values.contains(val))
+                return true;
+            for (ValueMatcher valueMatcher : valueMatchers)
+                if (valueMatcher.matches(attrs, val))
+                    return true;
+            return false;
+        }
+    }
+
+    private static ValueMatcher wildcardMatcher(String keyVal, boolean ignoreCase) {
+        int len = keyVal.length();
+        return keyVal.indexOf('*') == len - 1 && keyVal.indexOf('?') < 0
+                ? new PrefixMatcher(keyVal.substring(0, len - 1), ignoreCase)
+                : new PatternMatcher(StringUtils.compilePattern(keyVal, ignoreCase));
+    }
+
+    /**
+     * Returns if {@code new PersonName(s).toString()} would return {@code s}, so the normalization can be skipped.
+     */
+    static boolean isNormalizedPersonName(String s) {
+        int len = s.length();
+        if (len == 0)
+            return true;
+        if (s.charAt(0) <= ' ' || s.charAt(len - 1) <= ' ')
+            return false;
+        int groups = 1;
+        int components = 1;
+        for (int i = 0; i < len; i++) {
+            char ch = s.charAt(i);
+            if (ch != '^' && ch != '=')
+                continue;
+            if (i + 1 == len || s.charAt(i - (i > 0 ? 1 : 0)) <= ' ' || s.charAt(i + 1) <= ' ')
+                return false;
+            if (ch == '=') {
+                if (++groups > 3)
+                    return false;
+                components = 1;
+            } else {
+                if (++components > 5 || s.charAt(i + 1) == '=')
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private interface ValueMatcher {
+        boolean matches(Attributes attrs, String val);
+    }
+
+    private static final class EqualsIgnoreCaseMatcher implements ValueMatcher {
+        final String keyVal;
+
+        EqualsIgnoreCaseMatcher(String keyVal) {
+            this.keyVal = keyVal;
+        }
+
+        @Override
+        public boolean matches(Attributes attrs, String val) {
+            return keyVal.equalsIgnoreCase(val);
+        }
+    }
+
+    private static final class PrefixMatcher implements ValueMatcher {
+        final String prefix;
+        final boolean ignoreCase;
+
+        PrefixMatcher(String prefix, boolean ignoreCase) {
+            this.prefix = prefix;
+            this.ignoreCase = ignoreCase;
+        }
+
+        @Override
+        public boolean matches(Attributes attrs, String val) {
+            int len = prefix.length();
+            if (val.length() < len)
+                return false;
+            for (int i = 0; i < len; i++) {
+                char ch1 = prefix.charAt(i);
+                char ch2 = val.charAt(i);
+                // same as Pattern.CASE_INSENSITIVE without Pattern.UNICODE_CASE, which only folds US-ASCII
+                if (ch1 != ch2 && !(ignoreCase && isASCIILetter(ch1) && (ch1 | 0x20) == (ch2 | 0x20)))
+                    return false;
+            }
+            return true;
+        }
+
+        private static boolean isASCIILetter(char ch) {
+            return ch >= 'A' && ch <= 'Z' || ch >= 'a' && ch <= 'z';
+        }
+    }
+
+    private static final class PatternMatcher implements ValueMatcher {
+        final Pattern pattern;
+
+        PatternMatcher(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        public boolean matches(Attributes attrs, String val) {
+            return pattern.matcher(val).matches();
+        }
+    }
+
+    private static final class DateRangeMatcher implements ValueMatcher {
+        final String keyVal;
+        final VR vr;
+        final int daStart;
+        final int daEnd;
+        volatile ParsedDateRange parsed;
+
+        DateRangeMatcher(String keyVal, VR vr) {
+            this.keyVal = keyVal;
+            this.vr = vr;
+            String[] range = vr == VR.DA ? Attributes.splitRange(keyVal) : null;
+            int daStart = range != null ? parseDA(range[0], 0) : -1;
+            int daEnd = range != null ? parseDA(range[1], Integer.MAX_VALUE) : -1;
+            boolean daRange = daStart >= 0 && daEnd >= 0;
+            this.daStart = daRange ? daStart : -1;
+            this.daEnd = daRange ? daEnd : -1;
+        }
+
+        @Override
+        public boolean matches(Attributes attrs, String val) {
+            if (daStart >= 0) {
+                int da = parseDA(val, -1);
+                if (da >= 0)
+                    return daStart <= da && da <= daEnd;
+            }
+            TimeZone tz = attrs.getTimeZone();
+            ParsedDateRange parsed = this.parsed;
+            if (parsed == null || !Objects.equals(parsed.tz, tz))
+                this.parsed = parsed = new ParsedDateRange(tz, Attributes.toDateRange(keyVal, vr, tz));
+            return parsed.range.contains(vr.toDate(val, tz, 0, false, null, new DatePrecision()));
+        }
+    }
+
+    private static final class ParsedDateRange {
+        final TimeZone tz;
+        final DateRange range;
+
+        ParsedDateRange(TimeZone tz, DateRange range) {
+            this.tz = tz;
+            this.range = range;
+        }
+    }
+
+    /**
+     * Parses valid DA values of format YYYYMMDD to an int with the same order as the dates.
+     *
+     * @return YYYYMMDD as int, {@code defVal} if {@code s} is {@code null}, or {@code -1} if {@code s} is not a
+     * valid DA value of format YYYYMMDD
+     */
+    private static int parseDA(String s, int defVal) {
+        if (s == null)
+            return defVal;
+        if (s.length() != 8)
+            return -1;
+        int val = 0;
+        for (int i = 0; i < 8; i++) {
+            char ch = s.charAt(i);
+            if (ch < '0' || ch > '9')
+                return -1;
+            val = val * 10 + (ch - '0');
+        }
+        int year = val / 10000;
+        int month = val / 100 % 100;
+        int day = val % 100;
+        if (month < 1 || month > 12 || day < 1 || day > DAYS_OF_MONTH[month - 1]
+                || month == 2 && day == 29 && !(year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)))
+            return -1;
+        return val;
+    }
+}
@@ -64,6 +64,8 @@ public class SpecificCharacterSet {
     private static SpecificCharacterSet DEFAULT = ASCII;
     private static final ThreadLocal<SoftReference<Encoder>> cachedEncoder1 = new ThreadLocal<SoftReference<Encoder>>();
     private static final ThreadLocal<SoftReference<Encoder>> cachedEncoder2 = new ThreadLocal<SoftReference<Encoder>>();
+    private static final ThreadLocal<SoftReference<Decoder[]>> cachedDecoders =
+            new ThreadLocal<SoftReference<Decoder[]>>();
 
     protected final Codec[] codecs;
     protected final String[] dicomCodes;
@@ -219,11 +221,7 @@ public class SpecificCharacterSet {
         }
 
         public String decode(byte[] b, int off, int len) {
-            try {
-                return new String(b, off, len, charsetName());
-            } catch (UnsupportedEncodingException e) {
-                throw new AssertionError(e);
-            }
+            return decoder(this).decode(b, off, len);
         }
 
         public boolean containsASCII() {
@@ -316,6 +314,71 @@ public class SpecificCharacterSet {
         }
     }
 
+    /**
+     * Per thread cached decoder of one {@link Codec}. Values containing only ASCII characters - or any characters
+     * for ISO-8859-1 - are converted to {@code String}s directly, without invoking the charset decoder.
+     */
+    private static final class Decoder {
+        private static final int MAX_CACHED_CHARS = 8192;
+        final String charsetName;
+        final CharsetDecoder decoder;
+        final boolean latin1;
+        final boolean asciiCompatible;
+        private char[] chars;
+
+        Decoder(String charsetName) {
+            Charset charset = Charset.forName(charsetName);
+            this.charsetName = charsetName;
+            this.decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.latin1 = charset.equals(StandardCharsets.ISO_8859_1);
+            this.asciiCompatible = latin1 || isAsciiCompatible(charset);
+        }
+
+        private static boolean isAsciiCompatible(Charset charset) {
+            byte[] ascii = new byte[128];
+            for (int i = 0; i < ascii.length; i++)
+                ascii[i] = (byte) i;
+            String s = new String(ascii, charset);
+            if (s.length() != ascii.length)
+                return false;
+            for (int i = 0; i < ascii.length; i++)
+                if (s.charAt(i) != i)
+                    return false;
+            return true;
+        }
+
+        @SuppressWarnings("deprecation")
+        String decode(byte[] b, int off, int len) {
+            if (latin1 || asciiCompatible && isASCII(b, off, len))
+                return new String(b, 0, off, len);
+
+            int maxChars = (int) (len * (double) decoder.maxCharsPerByte()) + 1;
+            char[] buf = chars;
+            if (buf == null || buf.length < maxChars) {
+                buf = new char[maxChars];
+                if (maxChars <= MAX_CACHED_CHARS)
+                    chars = buf;
+            }
+            CharBuffer cb = CharBuffer.wrap(buf);
+            decoder.reset();
+            CoderResult cr = decoder.decode(ByteBuffer.wrap(b, off, len), cb, true);
+            if (cr.isUnderflow())
+                cr = decoder.flush(cb);
+            if (!cr.isUnderflow())
+                return new String(b, off, len, decoder.charset());
+            return new String(buf, 0, cb.position());
+        }
+
+        private static boolean isASCII(byte[] b, int off, int len) {
+            for (int i = off, end = off + len; i < end; i++)
+                if (b[i] < 0)
+                    return false;
+            return true;
+        }
+    }
+
     private static final class ISO2022 extends SpecificCharacterSet {
 
         private ISO2022(Codec[] charsetInfos, String... codes) {
@@ -776,6 +839,18 @@ public class SpecificCharacterSet {
         return enc;
     }
 
+    private static Decoder decoder(Codec codec) {
+        SoftReference<Decoder[]> sr;
+        Decoder[] decs;
+        if ((sr = cachedDecoders.get()) == null || (decs = sr.get()) == null)
+            cachedDecoders.set(new SoftReference<Decoder[]>(decs = new Decoder[Codec.values().length]));
+        Decoder dec = decs[codec.ordinal()];
+        String charsetName = codec.charsetName();
+        if (dec == null || !dec.charsetName.equals(charsetName))
+            decs[codec.ordinal()] = dec = new Decoder(charsetName);
+        return dec;
+    }
+
     protected SpecificCharacterSet(Codec[] codecs, String... codes) {
         this.codecs = codecs;
         this.dicomCodes = codes;
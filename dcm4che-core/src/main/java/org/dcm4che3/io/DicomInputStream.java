@@ -228,6 +228,32 @@ public class DicomInputStream extends FilterInputStream
         }
     }
 
+    /**
+     * Create a new DicomInputStream reading the given file through memory mapped windows of the file
+     * (see {@link MappedFileInputStream}).
+     *
+     * Skipping of values and {@link #setPosition} does not read the skipped bytes. With
+     * {@link IncludeBulkData#URI}, bulk data values are returned as {@link BulkData} referencing a slice of the
+     * memory mapped file (see {@link BulkData#getByteBuffer()}), so their content is neither copied into heap
+     * memory nor read again from the file on access.
+     *
+     * @param file file to read
+     * @return new DicomInputStream
+     * @throws IOException if there is a problem mapping or reading the given file
+     */
+    public static DicomInputStream createMapped(File file) throws IOException {
+        MappedFileInputStream in = new MappedFileInputStream(file);
+        DicomInputStream dicomInputStream;
+        try {
+            dicomInputStream = new DicomInputStream(in);
+        } catch (IOException e) {
+            SafeClose.close(in);
+            throw e;
+        }
+        dicomInputStream.setURI(file.toURI().toString());
+        return dicomInputStream;
+    }
+
     private static InputStream ensureMarkSupported(InputStream in) {
         return in.markSupported() ? in : new BufferedInputStream(in);
     }
@@ -441,7 +467,16 @@ public class DicomInputStream extends FilterInputStream
         return pos;
     }
 
+    /**
+     * Sets the position returned by {@link #getPosition()}. If this stream was created by {@link #createMapped},
+     * the next read will also start at the specified position in the file. Otherwise the underlying stream has to be
+     * positioned by the caller.
+     *
+     * @param pos new position
+     */
     public void setPosition(long pos) {
+        if (super.in instanceof MappedFileInputStream)
+            ((MappedFileInputStream) super.in).seek(pos);
         this.pos = pos;
     }
 
@@ -842,7 +877,11 @@ public class DicomInputStream extends FilterInputStream
     @Override
     public BulkData createBulkData(DicomInputStream dis) throws IOException {
             BulkData bulkData;
-        if (uri != null && !(super.in instanceof InflaterInputStream)) {
+        if (uri != null && super.in instanceof MappedFileInputStream && length <= Integer.MAX_VALUE) {
+            bulkData = new BulkData(uri, pos,
+                    ((MappedFileInputStream) super.in).slice(pos, (int) length), bigEndian);
+            skipFully(length);
+        } else if (uri != null && !(super.in instanceof InflaterInputStream)) {
             bulkData = new BulkData(uri, pos, length, bigEndian);
             skipFully(length);
         } else {
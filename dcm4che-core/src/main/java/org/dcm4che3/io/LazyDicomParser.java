@@ -0,0 +1,278 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.io;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.ElementDictionary;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.util.ByteBufferInputStream;
+import org.dcm4che3.util.SafeBuffer;
+import org.dcm4che3.util.StreamUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Parses DICOM Part 10 files or Data Sets from a {@link ByteBuffer} - in
+ * particular from memory mapped files - into lazy parsed {@link Attributes},
+ * which only decode values on first access.
+ * <p>
+ * Deflated Data Sets are inflated into heap memory before they are parsed.
+ * Memory mapping of files is limited to files of less than 2 GiB.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ * @see Attributes#parseLazy
+ */
+public class LazyDicomParser {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LazyDicomParser.class);
+
+    private static final int ZLIB_HEADER = 0x789c;
+
+    private final ByteBuffer buf;
+    private final Attributes fmi;
+    private final String tsuid;
+    private final int datasetPosition;
+
+    /**
+     * Creates a parser for a DICOM Part 10 file - with or without preamble - in the specified buffer, starting at
+     * its current position. If the buffer does not contain a File Meta Information, the Transfer Syntax of the
+     * Data Set is guessed from its first Data Element.
+     *
+     * @param buf buffer containing the DICOM Part 10 file or Data Set
+     * @throws IOException if the buffer does not contain a DICOM Part 10 file nor a Data Set
+     */
+    public LazyDicomParser(ByteBuffer buf) throws IOException {
+        this.buf = buf.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        int pos = buf.position();
+        if (isDICM(this.buf, pos + 128))
+            pos += 132;
+        else if (isDICM(this.buf, pos))
+            pos += 4;
+        else {
+            this.fmi = null;
+            this.tsuid = guessTransferSyntax(this.buf, pos);
+            this.datasetPosition = pos;
+            return;
+        }
+        int fmiEnd = fileMetaInformationEnd(this.buf, pos);
+        this.fmi = parseLazy(this.buf, pos, fmiEnd, true);
+        String tsuid = fmi.getString(Tag.TransferSyntaxUID, null);
+        if (tsuid == null) {
+            LOG.warn("Missing Transfer Syntax (0002,0010) - assume Explicit VR Little Endian");
+            tsuid = UID.ExplicitVRLittleEndian;
+        }
+        this.tsuid = tsuid;
+        this.datasetPosition = fmiEnd;
+    }
+
+    /**
+     * Creates a parser for a Data Set without File Meta Information in the specified buffer, starting at its
+     * current position.
+     *
+     * @param buf   buffer containing the Data Set
+     * @param tsuid Transfer Syntax UID of the encoded Data Set
+     */
+    public LazyDicomParser(ByteBuffer buf, String tsuid) {
+        this.buf = buf.asReadOnlyBuffer();
+        this.fmi = null;
+        this.tsuid = tsuid;
+        this.datasetPosition = buf.position();
+    }
+
+    /**
+     * Creates a parser for the DICOM Part 10 file, which is mapped into memory.
+     *
+     * @param path path of the DICOM Part 10 file
+     * @return parser for the memory mapped file
+     */
+    public static LazyDicomParser open(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new LazyDicomParser(map(ch));
+        }
+    }
+
+    /**
+     * Creates a parser for the DICOM Part 10 file, which is mapped into memory. The file may be closed after
+     * return of this method.
+     *
+     * @param raf DICOM Part 10 file
+     * @return parser for the memory mapped file
+     */
+    public static LazyDicomParser open(RandomAccessFile raf) throws IOException {
+        return new LazyDicomParser(map(raf.getChannel()));
+    }
+
+    private static ByteBuffer map(FileChannel ch) throws IOException {
+        long size = ch.size();
+        if (size > Integer.MAX_VALUE)
+            throw new IOException("File size " + size + " exceeds maximal size of memory mapped files");
+        return ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    public final Attributes getFileMetaInformation() {
+        return fmi;
+    }
+
+    public final String getTransferSyntax() {
+        return tsuid;
+    }
+
+    /**
+     * Parses the Data Set. Values are only decoded on first access.
+     *
+     * @return lazy parsed Data Set
+     */
+    public Attributes readDataset() throws IOException {
+        if (isDeflated(tsuid))
+            return parseLazy(inflate(), 0, -1, true);
+        return parseLazy(buf.duplicate().order(tsuid.equals(UID.ExplicitVRBigEndian)
+                        ? ByteOrder.BIG_ENDIAN
+                        : ByteOrder.LITTLE_ENDIAN),
+                datasetPosition, buf.limit(), !tsuid.equals(UID.ImplicitVRLittleEndian));
+    }
+
+    private static Attributes parseLazy(ByteBuffer buf, int pos, int end, boolean explicitVR) throws IOException {
+        ByteBuffer dup = buf.duplicate().order(buf.order());
+        if (end >= 0)
+            SafeBuffer.limit(dup, end);
+        SafeBuffer.position(dup, pos);
+        return Attributes.parseLazy(dup, explicitVR);
+    }
+
+    private ByteBuffer inflate() throws IOException {
+        ByteBuffer src = buf.duplicate();
+        SafeBuffer.position(src, datasetPosition);
+        boolean zlibHeader = src.remaining() >= 2
+                && ((src.get(datasetPosition) & 0xff) << 8 | (src.get(datasetPosition + 1) & 0xff)) == ZLIB_HEADER;
+        if (zlibHeader)
+            LOG.warn("Deflated DICOM Stream with ZLIB Header");
+        Inflater inflater = new Inflater(!zlibHeader);
+        try (InputStream in = new InflaterInputStream(new ByteBufferInputStream(src), inflater)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(src.remaining() * 2);
+            StreamUtils.copy(in, out);
+            return ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static boolean isDeflated(String tsuid) {
+        return tsuid.equals(UID.DeflatedExplicitVRLittleEndian)
+                || tsuid.equals(UID.JPIPReferencedDeflate)
+                || tsuid.equals(UID.JPIPHTJ2KReferencedDeflate);
+    }
+
+    private static boolean isDICM(ByteBuffer buf, int pos) {
+        return pos + 6 <= buf.limit()
+                && buf.get(pos) == 'D'
+                && buf.get(pos + 1) == 'I'
+                && buf.get(pos + 2) == 'C'
+                && buf.get(pos + 3) == 'M'
+                && buf.get(pos + 4) == 2
+                && buf.get(pos + 5) == 0;
+    }
+
+    private static String guessTransferSyntax(ByteBuffer buf, int pos) throws IOException {
+        if (pos + 8 <= buf.limit()) {
+            if (guessExplicitVR(buf, pos, false))
+                return UID.ExplicitVRLittleEndian;
+            if (guessExplicitVR(buf, pos, true))
+                return UID.ExplicitVRBigEndian;
+            int len = buf.getInt(pos + 4);
+            if (ElementDictionary.vrOf(tagAt(buf, pos, false), null) != VR.UN && len >= 0 && pos + 8 + len <= buf.limit())
+                return UID.ImplicitVRLittleEndian;
+        }
+        throw new DicomStreamException("Not a DICOM Stream");
+    }
+
+    private static boolean guessExplicitVR(ByteBuffer buf, int pos, boolean bigEndian) {
+        VR vr = ElementDictionary.vrOf(tagAt(buf, pos, bigEndian), null);
+        return vr != VR.UN && (((buf.get(pos + 4) & 0xff) << 8) | (buf.get(pos + 5) & 0xff)) == vr.code();
+    }
+
+    private static int tagAt(ByteBuffer buf, int pos, boolean bigEndian) {
+        // buf is always little endian
+        return bigEndian
+                ? Integer.reverseBytes(buf.getInt(pos))
+                : buf.getShort(pos) << 16 | buf.getShort(pos + 2) & 0xffff;
+    }
+
+    private static int fileMetaInformationEnd(ByteBuffer buf, int pos) throws IOException {
+        int limit = buf.limit();
+        while (pos + 8 <= limit && buf.getShort(pos) == 2) {
+            int vrCode = ((buf.get(pos + 4) & 0xff) << 8) | (buf.get(pos + 5) & 0xff);
+            if (buf.getShort(pos + 2) == 0 && vrCode == 0x554c && buf.getShort(pos + 6) == 4 && pos + 12 <= limit)
+                return pos + 12 + buf.getInt(pos + 8);
+            switch (vrCode) {
+                case 0x4f42: // OB
+                case 0x4f57: // OW
+                case 0x554e: // UN
+                case 0x5351: // SQ
+                case 0x5554: // UT
+                    if (pos + 12 > limit)
+                        throw new DicomStreamException("Invalid File Meta Information");
+                    pos += 12 + buf.getInt(pos + 8);
+                    break;
+                default:
+                    pos += 8 + (buf.getShort(pos + 6) & 0xffff);
+            }
+        }
+        if (pos > limit)
+            throw new DicomStreamException("Invalid File Meta Information");
+        return pos;
+    }
+}
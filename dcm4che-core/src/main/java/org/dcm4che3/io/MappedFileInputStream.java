@@ -0,0 +1,228 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.io;
+
+import org.dcm4che3.util.SafeBuffer;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Input stream reading a file through memory mapped windows of the file, so files of any size can be read without
+ * copying data through intermediate heap buffers nor invoking a system call per read. In contrast to
+ * {@link java.io.FileInputStream}, the stream supports {@link #mark}/{@link #reset}, skipping without reading the
+ * skipped bytes and random access by {@link #seek}. Regions of the file can be accessed as read-only
+ * {@link ByteBuffer} by {@link #slice}, e.g. to reference large binary values without loading them into heap memory.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class MappedFileInputStream extends InputStream {
+
+    /** Default size of mapped windows: 256 MiB */
+    public static final int DEF_WINDOW_SIZE = 0x10000000;
+
+    private final FileChannel channel;
+    private final long length;
+    private final int windowSize;
+    private ByteBuffer window;
+    private long windowPos;
+    private long pos;
+    private long markPos;
+
+    public MappedFileInputStream(File file) throws IOException {
+        this(file.toPath(), DEF_WINDOW_SIZE);
+    }
+
+    public MappedFileInputStream(Path path) throws IOException {
+        this(path, DEF_WINDOW_SIZE);
+    }
+
+    public MappedFileInputStream(Path path, int windowSize) throws IOException {
+        if (windowSize <= 0)
+            throw new IllegalArgumentException("windowSize: " + windowSize);
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.length = channel.size();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Returns the length of the file.
+     *
+     * @return length of the file
+     */
+    public final long length() {
+        return length;
+    }
+
+    /**
+     * Returns the current position in the file.
+     *
+     * @return current position in the file
+     */
+    public final long position() {
+        return pos;
+    }
+
+    /**
+     * Sets the position in the file, from which the next byte will be read. The position may exceed the length of
+     * the file, in which case following reads will signal end of file.
+     *
+     * @param pos new position in the file
+     */
+    public void seek(long pos) {
+        if (pos < 0)
+            throw new IllegalArgumentException("pos: " + pos);
+        this.pos = pos;
+    }
+
+    /**
+     * Returns the specified region of the file as read-only buffer, without copying its content. The current
+     * position of the stream is not changed.
+     *
+     * @param offset offset of the region in the file
+     * @param len    length of the region
+     * @return read-only buffer referencing the specified region of the file
+     * @throws EOFException if the region exceeds the length of the file
+     * @throws IOException  if the mapping of the region fails
+     */
+    public ByteBuffer slice(long offset, int len) throws IOException {
+        if (offset < 0 || len < 0)
+            throw new IllegalArgumentException("offset: " + offset + ", len: " + len);
+        if (offset + len > length)
+            throw new EOFException("Region " + offset + "+" + len + " exceeds file length " + length);
+        if (window != null && offset >= windowPos && offset + len <= windowPos + window.limit()) {
+            ByteBuffer dup = window.duplicate();
+            SafeBuffer.position(dup, (int) (offset - windowPos));
+            SafeBuffer.limit(dup, (int) (offset - windowPos) + len);
+            return dup.slice();
+        }
+        return map(offset, len);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureWindow())
+            return -1;
+        int b = window.get((int) (pos - windowPos)) & 0xff;
+        pos++;
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off)
+            throw new IndexOutOfBoundsException();
+        if (len == 0)
+            return 0;
+        if (!ensureWindow())
+            return -1;
+        int winOff = (int) (pos - windowPos);
+        int n = Math.min(len, window.limit() - winOff);
+        ByteBuffer dup = window.duplicate();
+        SafeBuffer.position(dup, winOff);
+        dup.get(b, off, n);
+        pos += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) {
+        if (n <= 0)
+            return 0;
+        long skip = Math.min(n, Math.max(0L, length - pos));
+        pos += skip;
+        return skip;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0L, length - pos));
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        markPos = pos;
+    }
+
+    @Override
+    public synchronized void reset() {
+        pos = markPos;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private boolean ensureWindow() throws IOException {
+        if (pos >= length)
+            return false;
+        if (window == null || pos < windowPos || pos >= windowPos + window.limit()) {
+            window = map(pos, (int) Math.min(windowSize, length - pos));
+            windowPos = pos;
+        }
+        return true;
+    }
+
+    private MappedByteBuffer map(long offset, int len) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, len);
+    }
+}
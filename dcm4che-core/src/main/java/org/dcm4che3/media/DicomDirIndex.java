@@ -0,0 +1,334 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.media;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.util.IntHashMap;
+
+/**
+ * In-memory index of the directory records of a DICOMDIR, mapping Patient ID, Study, Series and SOP Instance UID,
+ * Study Date and Modality to the offsets of the directory records, together with the offset of the parent
+ * record of each indexed Study, Series and Instance record.
+ * <p>
+ * Built by {@link DicomDirReader#buildIndex()} and kept up to date by {@link DicomDirWriter} on adding and
+ * deleting records. Lookups only select candidate records: callers still have to check if a record is in use
+ * and matches the query keys.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public final class DicomDirIndex {
+
+    private static final int[] EMPTY = {};
+
+    private final HashMap<String, Object> patients = new HashMap<>();
+    private final HashMap<String, Object> studies = new HashMap<>();
+    private final HashMap<String, Object> series = new HashMap<>();
+    private final HashMap<String, Object> instances = new HashMap<>();
+    private final HashMap<String, Object> modalities = new HashMap<>();
+    private final TreeMap<String, Object> studyDates = new TreeMap<>();
+    private final IntHashMap<Integer> parents = new IntHashMap<>();
+    private final Offsets undatedStudies = new Offsets();
+
+    DicomDirIndex() {
+    }
+
+    /**
+     * Returns the number of indexed directory records.
+     *
+     * @return number of indexed directory records
+     */
+    public synchronized int size() {
+        return parents.size() + count(patients);
+    }
+
+    /**
+     * Returns the offset of the parent record of the directory record at the specified offset.
+     *
+     * @param offset offset of an indexed Study, Series or Instance record
+     * @return offset of the parent record or {@code 0}, if the record is not indexed
+     */
+    public synchronized int getParentOffset(int offset) {
+        Integer parent = parents.get(offset);
+        return parent != null ? parent : 0;
+    }
+
+    public synchronized int[] findPatientRecords(String... patientIDs) {
+        return find(patients, patientIDs);
+    }
+
+    public synchronized int[] findStudyRecords(String... studyIUIDs) {
+        return find(studies, studyIUIDs);
+    }
+
+    public synchronized int[] findSeriesRecords(String... seriesIUIDs) {
+        return find(series, seriesIUIDs);
+    }
+
+    public synchronized int[] findInstanceRecords(String... sopIUIDs) {
+        return find(instances, sopIUIDs);
+    }
+
+    public synchronized int[] findSeriesRecordsByModality(String... modalities) {
+        return find(this.modalities, modalities);
+    }
+
+    /**
+     * Returns offsets of Study records with a Study Date in the specified range.
+     *
+     * @param fromDate       lower bound in format {@code YYYYMMDD} or {@code null}
+     * @param toDate         upper bound in format {@code YYYYMMDD} or {@code null}
+     * @param includeUndated if Study records without or with an invalid Study Date shall be included
+     * @return offsets of Study records in ascending order
+     */
+    public synchronized int[] findStudyRecordsByDate(String fromDate, String toDate, boolean includeUndated) {
+        NavigableMap<String, Object> range = studyDates;
+        if (fromDate != null && toDate != null && fromDate.compareTo(toDate) > 0)
+            range = new TreeMap<>();
+        else {
+            if (fromDate != null)
+                range = range.tailMap(fromDate, true);
+            if (toDate != null)
+                range = range.headMap(toDate, true);
+        }
+        Offsets result = new Offsets();
+        if (includeUndated)
+            result.addAll(undatedStudies);
+        for (Object value : range.values())
+            result.addAll(value);
+        return result.toSortedArray();
+    }
+
+    synchronized void add(Attributes rec, int parentOffset) {
+        int offset = (int) rec.getItemPosition();
+        String iuid = rec.getString(Tag.ReferencedSOPInstanceUIDInFile);
+        if (iuid != null) {
+            put(instances, iuid, offset);
+            parents.put(offset, parentOffset);
+            return;
+        }
+        String type = rec.getString(Tag.DirectoryRecordType);
+        if ("PATIENT".equals(type)) {
+            String pid = rec.getString(Tag.PatientID);
+            if (pid != null)
+                put(patients, pid, offset);
+        } else if ("STUDY".equals(type)) {
+            String suid = rec.getString(Tag.StudyInstanceUID);
+            if (suid != null)
+                put(studies, suid, offset);
+            String date = studyDate(rec);
+            if (date != null)
+                put(studyDates, date, offset);
+            else
+                undatedStudies.add(offset);
+            parents.put(offset, parentOffset);
+        } else if ("SERIES".equals(type)) {
+            String suid = rec.getString(Tag.SeriesInstanceUID);
+            if (suid != null)
+                put(series, suid, offset);
+            String modality = rec.getString(Tag.Modality);
+            if (modality != null)
+                put(modalities, modality, offset);
+            parents.put(offset, parentOffset);
+        }
+    }
+
+    synchronized void remove(Attributes rec) {
+        int offset = (int) rec.getItemPosition();
+        String iuid = rec.getString(Tag.ReferencedSOPInstanceUIDInFile);
+        if (iuid != null) {
+            remove(instances, iuid, offset);
+            parents.remove(offset);
+            return;
+        }
+        String type = rec.getString(Tag.DirectoryRecordType);
+        if ("PATIENT".equals(type)) {
+            remove(patients, rec.getString(Tag.PatientID), offset);
+        } else if ("STUDY".equals(type)) {
+            remove(studies, rec.getString(Tag.StudyInstanceUID), offset);
+            String date = studyDate(rec);
+            if (date != null)
+                remove(studyDates, date, offset);
+            else
+                undatedStudies.remove(offset);
+            parents.remove(offset);
+        } else if ("SERIES".equals(type)) {
+            remove(series, rec.getString(Tag.SeriesInstanceUID), offset);
+            remove(modalities, rec.getString(Tag.Modality), offset);
+            parents.remove(offset);
+        }
+    }
+
+    synchronized void clear() {
+        patients.clear();
+        studies.clear();
+        series.clear();
+        instances.clear();
+        modalities.clear();
+        studyDates.clear();
+        parents.clear();
+        undatedStudies.size = 0;
+    }
+
+    private static String studyDate(Attributes rec) {
+        String s = rec.getString(Tag.StudyDate);
+        if (s == null)
+            return null;
+
+        if (s.length() == 10 && s.charAt(4) == '.' && s.charAt(7) == '.') // ACR-NEMA format YYYY.MM.DD
+            s = s.substring(0, 4) + s.substring(5, 7) + s.substring(8);
+        return isDate(s) ? s : null;
+    }
+
+    /**
+     * Checks if the specified value can be used as bound of a Study Date range passed to
+     * {@link #findStudyRecordsByDate}.
+     *
+     * @param s value to check
+     * @return {@code true} if the value consists of 8 digits
+     */
+    public static boolean isDate(String s) {
+        if (s.length() != 8)
+            return false;
+
+        for (int i = 0; i < 8; i++) {
+            char ch = s.charAt(i);
+            if (ch < '0' || ch > '9')
+                return false;
+        }
+        return true;
+    }
+
+    private static int count(Map<String, Object> map) {
+        int count = 0;
+        for (Object value : map.values())
+            count += value instanceof Integer ? 1 : ((Offsets) value).size;
+        return count;
+    }
+
+    private static int[] find(Map<String, Object> map, String... keys) {
+        Offsets result = new Offsets();
+        if (keys != null)
+            for (String key : keys)
+                result.addAll(map.get(key));
+        return result.toSortedArray();
+    }
+
+    private static void put(Map<String, Object> map, String key, int offset) {
+        Object value = map.get(key);
+        if (value == null)
+            map.put(key, offset);
+        else if (value instanceof Integer)
+            map.put(key, new Offsets((Integer) value, offset));
+        else
+            ((Offsets) value).add(offset);
+    }
+
+    private static void remove(Map<String, Object> map, String key, int offset) {
+        if (key == null)
+            return;
+
+        Object value = map.get(key);
+        if (value instanceof Integer) {
+            if ((Integer) value == offset)
+                map.remove(key);
+        } else if (value != null) {
+            Offsets offsets = (Offsets) value;
+            offsets.remove(offset);
+            if (offsets.size == 1)
+                map.put(key, offsets.offsets[0]);
+        }
+    }
+
+    private static final class Offsets {
+        int[] offsets;
+        int size;
+
+        Offsets() {
+            offsets = EMPTY;
+        }
+
+        Offsets(int offset1, int offset2) {
+            offsets = new int[]{ offset1, offset2, 0, 0 };
+            size = 2;
+        }
+
+        void add(int offset) {
+            if (size == offsets.length)
+                offsets = Arrays.copyOf(offsets, Math.max(4, size << 1));
+            offsets[size++] = offset;
+        }
+
+        void remove(int offset) {
+            for (int i = 0; i < size; i++)
+                if (offsets[i] == offset) {
+                    System.arraycopy(offsets, i + 1, offsets, i, --size - i);
+                    return;
+                }
+        }
+
+        void addAll(Object value) {
+            if (value instanceof Integer)
+                add((Integer) value);
+            else if (value != null) {
+                Offsets other = (Offsets) value;
+                if (size + other.size > offsets.length)
+                    offsets = Arrays.copyOf(offsets, Math.max(size + other.size, size << 1));
+                System.arraycopy(other.offsets, 0, offsets, size, other.size);
+                size += other.size;
+            }
+        }
+
+        int[] toSortedArray() {
+            int[] a = Arrays.copyOf(offsets, size);
+            Arrays.sort(a);
+            return a;
+        }
+    }
+}
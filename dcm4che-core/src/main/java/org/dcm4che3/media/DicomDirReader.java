@@ -45,6 +45,7 @@ import java.io.RandomAccessFile;
 
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.QueryMatcher;
 import org.dcm4che3.data.VR;
 import org.dcm4che3.io.DicomInputStream;
 import org.dcm4che3.io.RAFInputStreamAdapter;
@@ -57,12 +58,15 @@ import org.dcm4che3.util.StringUtils;
  */
 public class DicomDirReader implements Closeable {
 
+    private static final Attributes NOT_RESOLVED = new Attributes(0);
+
     protected final File file;
     protected final RandomAccessFile raf;
     protected final DicomInputStream in;
     protected final Attributes fmi;
     protected final Attributes fsInfo;
     protected final IntHashMap<Attributes> cache = new IntHashMap<Attributes>();
+    protected volatile DicomDirIndex index;
 
     public DicomDirReader(File file) throws IOException {
         this(file, "r");
@@ -170,6 +174,66 @@ public class DicomDirReader implements Closeable {
         cache.clear();
     }
 
+    /**
+     * Returns the in-memory index of the directory records, if it was built by {@link #buildIndex()}.
+     *
+     * @return index of the directory records or {@code null}
+     */
+    public DicomDirIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Builds an in-memory index of all directory records in use, which is used by subsequent lookups of
+     * Patient, Study, Series and Instance records by their (unique) keys to avoid scanning the chains of
+     * sibling records. Reads all directory records into the record cache.
+     *
+     * @return index of the directory records
+     * @throws IOException if the directory records could not be read
+     */
+    public synchronized DicomDirIndex buildIndex() throws IOException {
+        DicomDirIndex index = this.index;
+        if (index == null)
+            index = new DicomDirIndex();
+        else
+            index.clear();
+        addToIndex(index, getOffsetOfFirstRootDirectoryRecord(), 0);
+        this.index = index;
+        return index;
+    }
+
+    private void addToIndex(DicomDirIndex index, int offset, int parentOffset) throws IOException {
+        while (offset != 0) {
+            Attributes rec = readRecord(offset);
+            if (inUse(rec)) {
+                index.add(rec, parentOffset);
+                addToIndex(index, rec.getInt(Tag.OffsetOfReferencedLowerLevelDirectoryEntity, 0), offset);
+            }
+            offset = rec.getInt(Tag.OffsetOfTheNextDirectoryRecord, 0);
+        }
+    }
+
+    public Attributes readDirectoryRecord(int offset) throws IOException {
+        return readRecord(offset);
+    }
+
+    /**
+     * Returns the parent record of the specified Study, Series or Instance record, resolved by the in-memory
+     * index of the directory records.
+     *
+     * @param rec Study, Series or Instance record
+     * @return parent record or {@code null}, if the specified record is not indexed
+     * @throws IOException if the parent record could not be read
+     * @throws IllegalStateException if no index was built
+     */
+    public Attributes readParentDirectoryRecord(Attributes rec) throws IOException {
+        DicomDirIndex index = this.index;
+        if (index == null)
+            throw new IllegalStateException("No index of directory records");
+
+        return readRecord(index.getParentOffset((int) rec.getItemPosition()));
+    }
+
     public Attributes readFirstRootDirectoryRecord() throws IOException {
         return readRecord(getOffsetOfFirstRootDirectoryRecord());
     }
@@ -209,8 +273,12 @@ public class DicomDirReader implements Closeable {
     public Attributes findRootDirectoryRecord(Attributes keys, boolean ignorePrivate,
             boolean ignoreCaseOfPN, boolean matchNoValue)
             throws IOException {
-        return findRecordInUse(getOffsetOfFirstRootDirectoryRecord(), ignorePrivate,
-                keys, ignoreCaseOfPN, matchNoValue);
+        return findRootDirectoryRecord(matcher(keys, ignoreCaseOfPN, matchNoValue), ignorePrivate);
+    }
+
+    public Attributes findRootDirectoryRecord(QueryMatcher matcher, boolean ignorePrivate)
+            throws IOException {
+        return findRecordInUse(getOffsetOfFirstRootDirectoryRecord(), ignorePrivate, matcher);
     }
 
     public Attributes findRootDirectoryRecord(boolean ignorePrivate, Attributes keys,
@@ -225,9 +293,13 @@ public class DicomDirReader implements Closeable {
 
     public Attributes findNextDirectoryRecord(Attributes rec, boolean ignorePrivate,
             Attributes keys, boolean ignoreCaseOfPN, boolean matchNoValue) throws IOException {
+        return findNextDirectoryRecord(rec, ignorePrivate, matcher(keys, ignoreCaseOfPN, matchNoValue));
+    }
+
+    public Attributes findNextDirectoryRecord(Attributes rec, boolean ignorePrivate, QueryMatcher matcher)
+            throws IOException {
         return findRecordInUse(
-                rec.getInt(Tag.OffsetOfTheNextDirectoryRecord, 0), ignorePrivate,
-                keys, ignoreCaseOfPN, matchNoValue);
+                rec.getInt(Tag.OffsetOfTheNextDirectoryRecord, 0), ignorePrivate, matcher);
     }
 
     public Attributes findLowerDirectoryRecordInUse(Attributes rec, boolean ignorePrivate)
@@ -238,12 +310,54 @@ public class DicomDirReader implements Closeable {
     public Attributes findLowerDirectoryRecord(Attributes rec, boolean ignorePrivate,
             Attributes keys, boolean ignoreCaseOfPN, boolean matchNoValue)
             throws IOException {
+        return findLowerDirectoryRecord(rec, ignorePrivate, matcher(keys, ignoreCaseOfPN, matchNoValue));
+    }
+
+    public Attributes findLowerDirectoryRecord(Attributes rec, boolean ignorePrivate, QueryMatcher matcher)
+            throws IOException {
         return findRecordInUse(
-                rec.getInt(Tag.OffsetOfReferencedLowerLevelDirectoryEntity, 0), ignorePrivate,
-                keys, ignoreCaseOfPN, matchNoValue);
+                rec.getInt(Tag.OffsetOfReferencedLowerLevelDirectoryEntity, 0), ignorePrivate, matcher);
+    }
+
+    /**
+     * Compiles the record keys of the specified type from the specified query keys, so they can be matched against
+     * several directory records by {@link #findRootDirectoryRecord(QueryMatcher, boolean)},
+     * {@link #findNextDirectoryRecord(Attributes, boolean, QueryMatcher)} or
+     * {@link #findLowerDirectoryRecord(Attributes, boolean, QueryMatcher)}, without interpreting the keys again.
+     *
+     * @param type           PATIENT, STUDY or SERIES
+     * @param keys           query keys
+     * @param recFact        specifies the keys of directory records of the specified type
+     * @param ignoreCaseOfPN if Person Name values shall be matched case-insensitive
+     * @param matchNoValue   if attributes without value in the directory records shall match any key value
+     * @return compiled record keys
+     */
+    public QueryMatcher compileRecordKeys(RecordType type, Attributes keys, RecordFactory recFact,
+            boolean ignoreCaseOfPN, boolean matchNoValue) {
+        return new QueryMatcher(keys(type, keys, recFact), ignoreCaseOfPN, matchNoValue);
+    }
+
+    /**
+     * Compiles the record keys of composite instances from the specified query keys.
+     *
+     * @see #compileRecordKeys(RecordType, Attributes, RecordFactory, boolean, boolean)
+     */
+    public QueryMatcher compileInstanceRecordKeys(Attributes keys, RecordFactory recFact,
+            boolean ignoreCaseOfPN, boolean matchNoValue) {
+        return new QueryMatcher(keys(keys, recFact), ignoreCaseOfPN, matchNoValue);
+    }
+
+    private static QueryMatcher matcher(Attributes keys, boolean ignoreCaseOfPN, boolean matchNoValue) {
+        return keys != null ? new QueryMatcher(keys, ignoreCaseOfPN, matchNoValue) : null;
     }
 
     public Attributes findPatientRecord(String... ids) throws IOException {
+        DicomDirIndex index = this.index;
+        if (index != null && isSingleValue(ids)) {
+            Attributes rec = findIndexedRecord(index, index.findPatientRecords(ids), null, false);
+            if (rec != NOT_RESOLVED)
+                return rec;
+        }
         return findRootDirectoryRecord(false,
                 pk("PATIENT", Tag.PatientID, VR.LO, ids), false, false);
     }
@@ -255,6 +369,10 @@ public class DicomDirReader implements Closeable {
     }
 
     public Attributes findNextPatientRecord(Attributes patRec, String... ids) throws IOException {
+        DicomDirIndex index = this.index;
+        if (index != null && isSingleValue(ids) && isOnlyIndexed(patRec, index.findPatientRecords(ids)))
+            return null;
+
         return findNextDirectoryRecord(patRec, false,
                 pk("PATIENT", Tag.PatientID, VR.LO, ids), false, false);
     }
@@ -267,6 +385,12 @@ public class DicomDirReader implements Closeable {
 
     public Attributes findStudyRecord(Attributes patRec, String... iuids)
             throws IOException {
+        DicomDirIndex index = this.index;
+        if (index != null && isSingleValue(iuids)) {
+            Attributes rec = findIndexedRecord(index, index.findStudyRecords(iuids), patRec, false);
+            if (rec != NOT_RESOLVED)
+                return rec;
+        }
         return findLowerDirectoryRecord(patRec, false,
                 pk("STUDY", Tag.StudyInstanceUID, VR.UI, iuids),
                 false, false);
@@ -280,6 +404,10 @@ public class DicomDirReader implements Closeable {
 
     public Attributes findNextStudyRecord(Attributes studyRec, String... iuids)
             throws IOException {
+        DicomDirIndex index = this.index;
+        if (index != null && isSingleValue(iuids) && isOnlyIndexed(studyRec, index.findStudyRecords(iuids)))
+            return null;
+
         return findNextDirectoryRecord(studyRec, false,
                 pk("STUDY", Tag.StudyInstanceUID, VR.UI, iuids),
                 false, false);
@@ -293,6 +421,12 @@ public class DicomDirReader implements Closeable {
 
     public Attributes findSeriesRecord(Attributes studyRec, String... iuids)
             throws IOException {
+        DicomDirIndex index = this.index;
+        if (index != null && isSingleValue(iuids)) {
+            Attributes rec = findIndexedRecord(index, index.findSeriesRecords(iuids), studyRec, false);
+            if (rec != NOT_RESOLVED)
+                return rec;
+        }
         return findLowerDirectoryRecord(studyRec, false, 
                 pk("SERIES", Tag.SeriesInstanceUID, VR.UI, iuids),
                 false, false);
@@ -306,6 +440,10 @@ public class DicomDirReader implements Closeable {
 
     public Attributes findNextSeriesRecord(Attributes seriesRec, String... iuids)
             throws IOException {
+        DicomDirIndex index = this.index;
+        if (index != null && isSingleValue(iuids) && isOnlyIndexed(seriesRec, index.findSeriesRecords(iuids)))
+            return null;
+
         return findNextDirectoryRecord(seriesRec, false, 
                 pk("SERIES", Tag.SeriesInstanceUID, VR.UI, iuids),
                 false, false);
@@ -319,6 +457,12 @@ public class DicomDirReader implements Closeable {
 
     public Attributes findLowerInstanceRecord(Attributes seriesRec, boolean ignorePrivate,
             String... iuids) throws IOException {
+        DicomDirIndex index = this.index;
+        if (index != null && isSingleValue(iuids)) {
+            Attributes rec = findIndexedRecord(index, index.findInstanceRecords(iuids), seriesRec, ignorePrivate);
+            if (rec != NOT_RESOLVED)
+                return rec;
+        }
         return findLowerDirectoryRecord(seriesRec, ignorePrivate, pk(iuids), false, false);
     }
 
@@ -330,6 +474,10 @@ public class DicomDirReader implements Closeable {
 
     public Attributes findNextInstanceRecord(Attributes instRec, boolean ignorePrivate,
             String... iuids) throws IOException {
+        DicomDirIndex index = this.index;
+        if (index != null && isSingleValue(iuids) && isOnlyIndexed(instRec, index.findInstanceRecords(iuids)))
+            return null;
+
         return findNextDirectoryRecord(instRec, ignorePrivate, pk(iuids), false, false);
     }
 
@@ -344,6 +492,33 @@ public class DicomDirReader implements Closeable {
         return findRootDirectoryRecord(ignorePrivate, pk(iuids), false, false);
     }
 
+    private static boolean isSingleValue(String[] ids) {
+        return ids != null && ids.length == 1;
+    }
+
+    /**
+     * Returns the only record in use at the specified offsets - and not private, if {@code ignorePrivate} - if it
+     * is a child of the specified parent record, or {@link #NOT_RESOLVED} if there are several candidate records,
+     * which have to be matched in the order of the chain of sibling records.
+     */
+    private Attributes findIndexedRecord(DicomDirIndex index, int[] offsets, Attributes parentRec,
+            boolean ignorePrivate) throws IOException {
+        switch (offsets.length) {
+            case 0:
+                return null;
+            case 1:
+                Attributes rec = readRecord(offsets[0]);
+                return rec != null && inUse(rec) && !(ignorePrivate && isPrivate(rec)) && (parentRec == null
+                        || index.getParentOffset(offsets[0]) == (int) parentRec.getItemPosition())
+                        ? rec : null;
+        }
+        return NOT_RESOLVED;
+    }
+
+    private static boolean isOnlyIndexed(Attributes rec, int[] offsets) {
+        return offsets.length == 0 || offsets.length == 1 && offsets[0] == (int) rec.getItemPosition();
+    }
+
     private Attributes pk(String type, int tag, VR vr, String... ids) {
         Attributes pk = new Attributes(2);
         pk.setString(Tag.DirectoryRecordType, VR.CS, type);
@@ -379,13 +554,12 @@ public class DicomDirReader implements Closeable {
         return keys;
     }
 
-    private Attributes findRecordInUse(int offset, boolean ignorePrivate, Attributes keys,
-            boolean ignoreCaseOfPN, boolean matchNoValue)
+    private Attributes findRecordInUse(int offset, boolean ignorePrivate, QueryMatcher matcher)
             throws IOException {
         while (offset != 0) {
             Attributes item = readRecord(offset);
             if (inUse(item) && !(ignorePrivate && isPrivate(item))
-                    && (keys == null || item.matches(keys, ignoreCaseOfPN, matchNoValue)))
+                    && (matcher == null || matcher.matches(item)))
                 return item;
             offset = item.getInt(Tag.OffsetOfTheNextDirectoryRecord, 0);
         }
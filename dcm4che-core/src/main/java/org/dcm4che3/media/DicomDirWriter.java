@@ -180,6 +180,8 @@ public class DicomDirWriter extends DicomDirReader {
             addRecord(Tag.OffsetOfTheNextDirectoryRecord, lastRootRecord, rec);
         }
         setOffsetOfLastRootDirectoryRecord((int) rec.getItemPosition());
+        if (index != null)
+            index.add(rec, 0);
         return rec;
     }
 
@@ -196,6 +198,8 @@ public class DicomDirWriter extends DicomDirReader {
                     parentRec, rec);
 
         lastChildRecords.put(parentRec, rec);
+        if (index != null)
+            index.add(rec, (int) parentRec.getItemPosition());
         return rec;
     }
  
@@ -228,6 +232,8 @@ public class DicomDirWriter extends DicomDirReader {
 
         rec.setInt(Tag.RecordInUseFlag, VR.US, INACTIVE);
         markAsDirty(rec);
+        if (index != null)
+            index.remove(rec);
         return true;
     }
 
@@ -249,6 +255,8 @@ public class DicomDirWriter extends DicomDirReader {
             writeFileSetConsistencyFlag(NO_KNOWN_INCONSISTENCIES);
             rollbackLen = -1;
         }
+        if (index != null)
+            buildIndex();
     }
 
     public void clearCache() {
@@ -0,0 +1,105 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded table of canonical {@code String} instances, for de-duplication of repetitive attribute values - like
+ * Modality, Institution Name or code values - without filling the JVM wide string pool used by
+ * {@link String#intern()}.
+ *
+ * <p> If the table is full, or the string exceeds the maximal length, the string is returned unchanged.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class StringInterner {
+
+    private final ConcurrentHashMap<String, String> table = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final int maxLength;
+
+    /**
+     * @param maxSize   maximal number of strings in the table
+     * @param maxLength maximal length of strings added to the table
+     */
+    public StringInterner(int maxSize, int maxLength) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("maxSize: " + maxSize);
+        if (maxLength < 0)
+            throw new IllegalArgumentException("maxLength: " + maxLength);
+        this.maxSize = maxSize;
+        this.maxLength = maxLength;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public String intern(String s) {
+        if (s == null || s.length() > maxLength)
+            return s;
+
+        String prev = table.get(s);
+        if (prev != null)
+            return prev;
+
+        if (table.size() >= maxSize)
+            return s;
+
+        prev = table.putIfAbsent(s, s);
+        return prev != null ? prev : s;
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    public void clear() {
+        table.clear();
+    }
+}
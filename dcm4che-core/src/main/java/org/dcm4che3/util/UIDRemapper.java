@@ -0,0 +1,116 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.util;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, thread-safe cache of UIDs remapped by {@link UIDUtils#remapUID(String, String)}, to avoid calculating
+ * the MD5 digest again and again for UIDs referenced by many instances - like Study, Series or Frame of Reference
+ * UIDs.
+ *
+ * <p> The scope of the cache is explicit: create one instance per study, per job or per de-identification
+ * profile and discard or {@link #clear()} it afterwards. If the cache is full, it is cleared before the next UID
+ * is added, so the UIDs of the current study get cached again after a few instances.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class UIDRemapper {
+
+    private final ConcurrentHashMap<String, String> cache = new ConcurrentHashMap<>();
+    private final String root;
+    private final int maxSize;
+
+    /**
+     * Creates a remapper using the UID root of {@link UIDUtils#getRoot()} at time of invocation.
+     *
+     * @param maxSize maximal number of cached UIDs
+     */
+    public UIDRemapper(int maxSize) {
+        this(UIDUtils.getRoot(), maxSize);
+    }
+
+    /**
+     * @param root    UID root of remapped UIDs
+     * @param maxSize maximal number of cached UIDs
+     */
+    public UIDRemapper(String root, int maxSize) {
+        UIDUtils.checkRoot(Objects.requireNonNull(root));
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("maxSize: " + maxSize);
+        this.root = root;
+        this.maxSize = maxSize;
+    }
+
+    public String getRoot() {
+        return root;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the same value as {@code UIDUtils.remapUID(uid, getRoot())}.
+     */
+    public String remap(String uid) {
+        String remapped = cache.get(uid);
+        if (remapped != null)
+            return remapped;
+
+        remapped = UIDUtils.remapUIDUnchecked(uid, root);
+        if (cache.size() >= maxSize)
+            cache.clear();
+        cache.put(uid, remapped);
+        return remapped;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+}
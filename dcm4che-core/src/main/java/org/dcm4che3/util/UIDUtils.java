@@ -39,8 +39,9 @@
 package org.dcm4che3.util;
 
 import java.lang.reflect.Field;
-import java.math.BigInteger;
 import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.UUID;
@@ -65,6 +66,21 @@ public class UIDUtils {
 
     private static final Charset ASCII = Charset.forName("US-ASCII");
 
+    private static final long TEN_POW_9 = 1_000_000_000L;
+
+    /**
+     * Maximal number of decimal digits of an unsigned 128-bit value.
+     */
+    private static final int MAX_UUID_DIGITS = 39;
+
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new InternalError("MD5 not supported", e);
+        }
+    });
+
     private static String root = UUID_ROOT;
 
     public static final String getRoot() {
@@ -76,7 +92,7 @@ public class UIDUtils {
         UIDUtils.root = root;
     }
 
-    private static void checkRoot(String root) {
+    static void checkRoot(String root) {
         if (root.length() > 24)
             throw new IllegalArgumentException("root length > 24");
         if (!isValid(root))
@@ -123,26 +139,76 @@ public class UIDUtils {
         return nameBasedUID(uid.getBytes(ASCII), root);
     }
 
+    /**
+     * Same as {@link #remapUID(String, String)}, without validation of the root.
+     */
+    static String remapUIDUnchecked(String uid, String root) {
+        return nameBasedUID(uid.getBytes(ASCII), root);
+    }
+
     private static String randomUID(String root) {
-        return toUID(root, UUID.randomUUID());
+        UUID uuid = UUID.randomUUID();
+        return toUID(root, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
     }
 
+    /**
+     * Same as {@code toUID(root, UUID.nameUUIDFromBytes(name))}, but reusing the MD5 digest of the current
+     * thread.
+     */
     private static String nameBasedUID(byte[] name, String root) {
-        return toUID(root, UUID.nameUUIDFromBytes(name));
+        byte[] md5 = MD5.get().digest(name);
+        md5[6] = (byte) ((md5[6] & 0x0f) | 0x30); // version 3
+        md5[8] = (byte) ((md5[8] & 0x3f) | 0x80); // IETF variant
+        return toUID(root, ByteUtils.bytesToLongBE(md5, 0), ByteUtils.bytesToLongBE(md5, 8));
     }
 
-    private static String toUID(String root, UUID uuid) {
-        byte[] b17 = new byte[17];
-        ByteUtils.longToBytesBE(uuid.getMostSignificantBits(), b17, 1);
-        ByteUtils.longToBytesBE(uuid.getLeastSignificantBits(), b17, 9);
-        String uuidStr = new BigInteger(b17).toString();
+    private static String toUID(String root, long msb, long lsb) {
         int rootlen = root.length();
-        int uuidlen = uuidStr.length();
-        char[] cs = new char[rootlen + uuidlen + 1];
-        root.getChars(0, rootlen, cs, 0);
-        cs[rootlen] = '.';
-        uuidStr.getChars(0, uuidlen, cs, rootlen + 1);
-        return new String(cs);
+        char[] cs = new char[rootlen + 1 + MAX_UUID_DIGITS];
+        int start = formatUnsigned128(msb, lsb, cs, cs.length) - rootlen - 1;
+        root.getChars(0, rootlen, cs, start);
+        cs[start + rootlen] = '.';
+        return new String(cs, start, cs.length - start);
+    }
+
+    /**
+     * Writes the decimal representation of the unsigned 128-bit value {@code hi:lo} into {@code cs}, ending
+     * before index {@code end}, without allocating a {@code BigInteger}. The value is divided by 10<sup>9</sup>
+     * as four 32-bit limbs, so each partial dividend fits into a {@code long}.
+     *
+     * @return index of the first written digit
+     */
+    static int formatUnsigned128(long hi, long lo, char[] cs, int end) {
+        long l0 = hi >>> 32;
+        long l1 = hi & 0xffffffffL;
+        long l2 = lo >>> 32;
+        long l3 = lo & 0xffffffffL;
+        int pos = end;
+        boolean last;
+        do {
+            long r = l0;
+            l0 = r / TEN_POW_9;
+            r = (r - l0 * TEN_POW_9) << 32 | l1;
+            l1 = r / TEN_POW_9;
+            r = (r - l1 * TEN_POW_9) << 32 | l2;
+            l2 = r / TEN_POW_9;
+            r = (r - l2 * TEN_POW_9) << 32 | l3;
+            l3 = r / TEN_POW_9;
+            int chunk = (int) (r - l3 * TEN_POW_9);
+            last = (l0 | l1 | l2 | l3) == 0;
+            if (last) {
+                do {
+                    cs[--pos] = (char) ('0' + chunk % 10);
+                    chunk /= 10;
+                } while (chunk != 0);
+            } else {
+                for (int i = 0; i < 9; i++) {
+                    cs[--pos] = (char) ('0' + chunk % 10);
+                    chunk /= 10;
+                }
+            }
+        } while (!last);
+        return pos;
     }
 
     public static StringBuilder promptTo(String uid, StringBuilder sb) {
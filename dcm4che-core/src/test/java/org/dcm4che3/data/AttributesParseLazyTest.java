@@ -0,0 +1,124 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.data;
+
+import org.dcm4che3.io.DicomOutputStream;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class AttributesParseLazyTest {
+
+    private static final int THREADS = 8;
+    private static final int ITEMS = 20;
+
+    private static Attributes createDataset() {
+        Attributes attrs = new Attributes();
+        attrs.setString(Tag.PatientName, VR.PN, "Doe^John");
+        attrs.setString(Tag.PatientID, VR.LO, "4711");
+        Sequence seq = attrs.newSequence(Tag.ReferencedImageSequence, ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            Attributes item = new Attributes();
+            item.setString(Tag.ReferencedSOPClassUID, VR.UI, "1.2.3");
+            item.setString(Tag.ReferencedSOPInstanceUID, VR.UI, "1.2.3." + i);
+            seq.add(item);
+        }
+        return attrs;
+    }
+
+    private static ByteBuffer encode(Attributes attrs) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(out, UID.ExplicitVRLittleEndian)) {
+            dos.writeDataset(null, attrs);
+        }
+        return ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Test
+    public void testParseLazy() throws Exception {
+        Attributes attrs = createDataset();
+        Attributes parsed = Attributes.parseLazy(encode(attrs), true);
+        assertEquals("Doe^John", parsed.getString(Tag.PatientName));
+        assertEquals(attrs, parsed);
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final Attributes parsed = Attributes.parseLazy(encode(createDataset()), true);
+        parsed.setReadOnly();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Sequence>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++)
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    Sequence seq = parsed.getSequence(Tag.ReferencedImageSequence);
+                    for (int j = 0; j < ITEMS; j++)
+                        assertEquals("1.2.3." + j, seq.get(j).getString(Tag.ReferencedSOPInstanceUID));
+                    return seq;
+                }));
+            start.countDown();
+            Sequence seq = futures.get(0).get();
+            assertTrue(seq.get(0).isReadOnly());
+            for (Future<Sequence> future : futures)
+                assertSame("Sequence decoded more than once", seq, future.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -43,6 +43,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
 import org.dcm4che3.util.ByteUtils;
+import org.dcm4che3.util.StringInterner;
 import org.dcm4che3.util.StringUtils;
 import org.junit.Test;
 
@@ -51,6 +52,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -329,6 +331,31 @@ public class AttributesTest {
         assertEquals(6, original.size());
     }
 
+    @Test
+    public void testEdit() {
+        Attributes a = new Attributes();
+        a.setString(Tag.PatientName, VR.PN, "Simpson^Homer");
+        a.setString(Tag.PatientID, VR.LO, "PID");
+        a.setString(Tag.StudyDescription, VR.LO, "Study");
+        a.setString(Tag.StudyInstanceUID, VR.UI, "1.2.3");
+        a.setString(Tag.TimezoneOffsetFromUTC, VR.SH, "+0100");
+        assertEquals(3, a.edit((attrs, tag, vr, value) -> {
+            switch (tag) {
+                case Tag.StudyDescription:
+                case Tag.TimezoneOffsetFromUTC:
+                case Tag.StudyInstanceUID:
+                    return null;
+                case Tag.PatientName:
+                    return "REMOVED";
+            }
+            return value;
+        }));
+        assertEquals(2, a.size());
+        assertEquals("REMOVED", a.getString(Tag.PatientName));
+        assertEquals("PID", a.getString(Tag.PatientID));
+        assertFalse(a.containsTimezoneOffsetFromUTC());
+    }
+
     @Test
     public void testSetString() {
         String[] MODALITIES_IN_STUDY = { "CT", "MR", "PR" };
@@ -850,4 +877,26 @@ public class AttributesTest {
         assertTrue("Attributes should keep the element tag for PrivateCreatorC",
                 filtered.contains(0x00991201));
     }
+
+    @Test
+    public void testInternalizeStringValues() {
+        StringInterner interner = new StringInterner(100, 64);
+        Attributes attrs1 = createImageTypeAndModality();
+        Attributes attrs2 = createImageTypeAndModality();
+        attrs1.internalizeStringValues(true, interner);
+        attrs2.internalizeStringValues(true, interner);
+        assertSame(attrs1.getString(Tag.Modality), attrs2.getString(Tag.Modality));
+        String[] imageType1 = attrs1.getStrings(Tag.ImageType);
+        String[] imageType2 = attrs2.getStrings(Tag.ImageType);
+        assertArrayEquals(new String[]{ "ORIGINAL", "PRIMARY" }, imageType1);
+        assertSame(imageType1[1], imageType2[1]);
+        assertEquals(3, interner.size());
+    }
+
+    private static Attributes createImageTypeAndModality() {
+        Attributes attrs = new Attributes(3);
+        attrs.setBytes(Tag.ImageType, VR.CS, "ORIGINAL\\PRIMARY".getBytes(StandardCharsets.US_ASCII));
+        attrs.setBytes(Tag.Modality, VR.CS, "CT".getBytes(StandardCharsets.US_ASCII));
+        return attrs;
+    }
 }
@@ -0,0 +1,136 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares matching of C-FIND keys against a set of study records by
+ * {@link Attributes#matches(Attributes, boolean, boolean)}, which interprets
+ * the keys on each call, with a {@link QueryMatcher} compiled once per query.
+ * <p>
+ * Not executed by the unit tests; run by
+ * <pre>
+ * mvn -pl dcm4che-core test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.dcm4che3.data.QueryMatcherBenchmark
+ * </pre>
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryMatcherBenchmark {
+
+    private static final String[] NAMES = {
+            "Simpson^Homer", "Simpson^Marge", "Flanders^Ned", "Szyslak^Moe", "Burns^Montgomery"
+    };
+    private static final String[] MODALITIES = { "CT", "MR", "US", "CR", "DX" };
+
+    private Attributes[] records;
+    private Attributes keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        records = new Attributes[1000];
+        for (int i = 0; i < records.length; i++) {
+            Attributes rec = new Attributes();
+            rec.setString(Tag.PatientName, VR.PN, NAMES[i % NAMES.length] + '^' + i);
+            rec.setString(Tag.PatientID, VR.LO, "PID-" + i);
+            rec.setString(Tag.StudyDate, VR.DA, String.format("2020%02d%02d", 1 + i % 12, 1 + i % 28));
+            rec.setString(Tag.StudyTime, VR.TM, String.format("%02d%02d00", i % 24, i % 60));
+            rec.setString(Tag.StudyInstanceUID, VR.UI, "1.2.40.0.13.1." + i);
+            rec.setString(Tag.ModalitiesInStudy, VR.CS, MODALITIES[i % MODALITIES.length]);
+            records[i] = rec;
+        }
+        keys = new Attributes();
+        keys.setString(Tag.PatientName, VR.PN, "SIMPSON*");
+        keys.setString(Tag.StudyDate, VR.DA, "20200301-20200930");
+        keys.setString(Tag.ModalitiesInStudy, VR.CS, "CT", "MR");
+        keys.setNull(Tag.PatientID, VR.LO);
+        keys.setNull(Tag.StudyInstanceUID, VR.UI);
+    }
+
+    @Benchmark
+    public int attributesMatches() {
+        int count = 0;
+        for (Attributes rec : records)
+            if (rec.matches(keys, true, false))
+                count++;
+        return count;
+    }
+
+    @Benchmark
+    public int queryMatcher() {
+        QueryMatcher matcher = new QueryMatcher(keys, true, false);
+        int count = 0;
+        for (Attributes rec : records)
+            if (matcher.matches(rec))
+                count++;
+        return count;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(QueryMatcherBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.data;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class QueryMatcherTest {
+
+    private static Attributes record(String patName, String studyDate, String modality, String... seriesUIDs) {
+        Attributes attrs = new Attributes();
+        attrs.setString(Tag.PatientName, VR.PN, patName);
+        attrs.setString(Tag.StudyDate, VR.DA, studyDate);
+        attrs.setString(Tag.ModalitiesInStudy, VR.CS, modality);
+        Sequence seq = attrs.newSequence(Tag.ReferencedSeriesSequence, seriesUIDs.length);
+        for (String uid : seriesUIDs) {
+            Attributes item = new Attributes(1);
+            item.setString(Tag.SeriesInstanceUID, VR.UI, uid);
+            seq.add(item);
+        }
+        return attrs;
+    }
+
+    private static final Attributes[] RECORDS = {
+            record("Simpson^Homer", "20200115", "CT", "1.2.3.1", "1.2.3.2"),
+            record("simpson^bart^^^", "20191231", "MR", "1.2.3.3"),
+            record("Flanders^Ned", "20200301", "CT"),
+            record("Simpson^Marge=シンプソン^マージ", "2020.01.20", "US", "1.2.3.4"),
+            record(null, null, null),
+    };
+
+    private static void assertSameAsAttributesMatches(Attributes keys) {
+        for (boolean ignorePNCase : new boolean[]{ false, true })
+            for (boolean matchNoValue : new boolean[]{ false, true }) {
+                QueryMatcher matcher = new QueryMatcher(keys, ignorePNCase, matchNoValue);
+                for (Attributes rec : RECORDS)
+                    assertEquals(keys + " ~ " + rec,
+                            rec.matches(keys, ignorePNCase, matchNoValue), matcher.matches(rec));
+            }
+    }
+
+    private static Attributes keys(int tag, VR vr, String... values) {
+        Attributes keys = new Attributes();
+        keys.setString(tag, vr, values);
+        return keys;
+    }
+
+    @Test
+    public void testPersonName() {
+        assertSameAsAttributesMatches(keys(Tag.PatientName, VR.PN, "Simpson^Homer"));
+        assertSameAsAttributesMatches(keys(Tag.PatientName, VR.PN, "SIMPSON^BART"));
+        assertSameAsAttributesMatches(keys(Tag.PatientName, VR.PN, "SIMPSON*"));
+        assertSameAsAttributesMatches(keys(Tag.PatientName, VR.PN, "S?mpson^*"));
+        assertSameAsAttributesMatches(keys(Tag.PatientName, VR.PN, "Simpson^Marge=シンプソン^マージ"));
+    }
+
+    @Test
+    public void testDateRange() {
+        assertSameAsAttributesMatches(keys(Tag.StudyDate, VR.DA, "20200115"));
+        assertSameAsAttributesMatches(keys(Tag.StudyDate, VR.DA, "20200101-20200229"));
+        assertSameAsAttributesMatches(keys(Tag.StudyDate, VR.DA, "-20200115"));
+        assertSameAsAttributesMatches(keys(Tag.StudyDate, VR.DA, "20200116-"));
+    }
+
+    @Test
+    public void testValueList() {
+        assertSameAsAttributesMatches(keys(Tag.ModalitiesInStudy, VR.CS, "CT", "US"));
+        assertSameAsAttributesMatches(keys(Tag.ModalitiesInStudy, VR.CS, "M?"));
+    }
+
+    @Test
+    public void testSequence() {
+        Attributes keys = new Attributes();
+        keys.newSequence(Tag.ReferencedSeriesSequence, 1)
+                .add(keys(Tag.SeriesInstanceUID, VR.UI, "1.2.3.2", "1.2.3.4"));
+        assertSameAsAttributesMatches(keys);
+    }
+
+    @Test
+    public void testCombined() {
+        Attributes keys = keys(Tag.PatientName, VR.PN, "simpson*");
+        keys.setString(Tag.StudyDate, VR.DA, "20200101-");
+        keys.setString(Tag.ModalitiesInStudy, VR.CS, "CT");
+        assertSameAsAttributesMatches(keys);
+        assertTrue(new QueryMatcher(keys, true, false).matches(RECORDS[0]));
+        assertFalse(new QueryMatcher(keys, false, false).matches(RECORDS[0]));
+    }
+
+    @Test
+    public void testIsNormalizedPersonName() {
+        for (String s : new String[]{ "", "Doe", "Doe^John", "^John", "Doe^^^Jr", "=Kana", "A==B", "A=^B",
+                "Doe^John^", "Doe^ John", " Doe", "Doe^=X", "Doe=", "A=^=B", "Van Der Berg^Jo" })
+            assertEquals(s, new PersonName(s).toString().equals(s), QueryMatcher.isNormalizedPersonName(s));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding of Person Name values by {@link SpecificCharacterSet#decode(byte[], String)} for the
+ * default character repertoire, ISO-8859-1, UTF-8 and ISO 2022 with Japanese escape sequences.
+ * <p>
+ * Not executed by the unit tests; run by
+ * <pre>
+ * mvn -pl dcm4che-core test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.dcm4che3.data.SpecificCharacterSetBenchmark
+ * </pre>
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecificCharacterSetBenchmark {
+
+    private static final String PN_DELIMS = "^=\\";
+
+    private SpecificCharacterSet ascii;
+    private SpecificCharacterSet latin1;
+    private SpecificCharacterSet utf8;
+    private SpecificCharacterSet iso2022;
+    private byte[] asciiName;
+    private byte[] latin1Name;
+    private byte[] utf8Name;
+    private byte[] iso2022Name;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ascii = SpecificCharacterSet.ASCII;
+        latin1 = SpecificCharacterSet.valueOf("ISO_IR 100");
+        utf8 = SpecificCharacterSet.valueOf("ISO_IR 192");
+        iso2022 = SpecificCharacterSet.valueOf("", "ISO 2022 IR 87");
+        asciiName = "Simpson^Homer^Jay".getBytes(StandardCharsets.US_ASCII);
+        latin1Name = "Buc^Jérôme".getBytes(StandardCharsets.ISO_8859_1);
+        utf8Name = "Wang^XiaoDong=王^小東=".getBytes(StandardCharsets.UTF_8);
+        iso2022Name = iso2022.encode("Yamada^Tarou=山田^太郎", PN_DELIMS);
+    }
+
+    @Benchmark
+    public String decodeASCII() {
+        return ascii.decode(asciiName, PN_DELIMS);
+    }
+
+    @Benchmark
+    public String decodeLatin1() {
+        return latin1.decode(latin1Name, PN_DELIMS);
+    }
+
+    @Benchmark
+    public String decodeUTF8() {
+        return utf8.decode(utf8Name, PN_DELIMS);
+    }
+
+    @Benchmark
+    public String decodeISO2022() {
+        return iso2022.decode(iso2022Name, PN_DELIMS);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(SpecificCharacterSetBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
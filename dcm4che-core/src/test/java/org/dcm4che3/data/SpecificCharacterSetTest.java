@@ -43,6 +43,8 @@ import static org.junit.Assert.*;
 
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
  */
@@ -557,4 +559,29 @@ public class SpecificCharacterSetTest {
             SpecificCharacterSet.resetCharsetNameMappings();
         }
     }
+
+    @Test
+    public void testDecodeLatin1AllBytes() {
+        byte[] b = new byte[256];
+        for (int i = 0; i < b.length; i++)
+            b[i] = (byte) i;
+        assertEquals(new String(b, StandardCharsets.ISO_8859_1), iso8859_1().decode(b, PN_DELIMS));
+    }
+
+    @Test
+    public void testDecodeASCIIWithUTF8() {
+        assertEquals("Wang^XiaoDong", utf8().decode("Wang^XiaoDong".getBytes(StandardCharsets.US_ASCII), PN_DELIMS));
+    }
+
+    @Test
+    public void testDecodeMalformedUTF8() {
+        byte[] b = { 'A', (byte) 0xc3, 'B', (byte) 0xff };
+        assertEquals(new String(b, StandardCharsets.UTF_8), utf8().decode(b, PN_DELIMS));
+    }
+
+    @Test
+    public void testDecodeNonASCIIWithASCII() {
+        byte[] b = { 'A', (byte) 0xe9 };
+        assertEquals(new String(b, StandardCharsets.US_ASCII), SpecificCharacterSet.ASCII.decode(b, PN_DELIMS));
+    }
 }
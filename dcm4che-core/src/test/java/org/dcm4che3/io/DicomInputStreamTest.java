@@ -113,6 +113,39 @@ public class DicomInputStreamTest {
         }
     }
 
+    @Test
+    public void testMappedBulkData() throws Exception {
+        Attributes expected = readFrom("US-PAL-8-10x-echo", IncludeBulkData.YES);
+        Attributes attrs;
+        try (DicomInputStream in = DicomInputStream.createMapped(new File("target/test-data/US-PAL-8-10x-echo"))) {
+            in.setIncludeBulkData(IncludeBulkData.URI);
+            attrs = in.readDataset();
+        }
+        Fragments expectedFragments = (Fragments) expected.getValue(Tag.PixelData);
+        Fragments fragments = (Fragments) attrs.getValue(Tag.PixelData);
+        assertEquals(expectedFragments.size(), fragments.size());
+        for (int i = 1; i < fragments.size(); i++) {
+            BulkData fragment = (BulkData) fragments.get(i);
+            assertNotNull(fragment.getByteBuffer());
+            assertArrayEquals((byte[]) expectedFragments.get(i), fragment.toBytes(VR.OB, false));
+        }
+    }
+
+    @Test
+    public void testMappedSetPosition() throws Exception {
+        try (DicomInputStream in = DicomInputStream.createMapped(new File("target/test-data/DICOMDIR"))) {
+            Attributes fmi = in.readFileMetaInformation();
+            long dirRecordSeqPos = in.getPosition();
+            Attributes attrs = in.readDataset();
+            int offset = attrs.getInt(Tag.OffsetOfTheFirstDirectoryRecordOfTheRootDirectoryEntity, 0);
+            in.setPosition(offset);
+            assertEquals(attrs.getNestedDataset(Tag.DirectoryRecordSequence), in.readItem());
+            in.setPosition(dirRecordSeqPos);
+            assertEquals(attrs, in.readDataset());
+            assertNotNull(fmi);
+        }
+    }
+
     @Test
     public void testNoPreambleDataContainsDICMatByte128() throws Exception {
         Attributes attrs = readFrom("no_preamble_dicm_in_data", IncludeBulkData.NO);
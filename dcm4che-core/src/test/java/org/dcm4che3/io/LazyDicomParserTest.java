@@ -0,0 +1,139 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.io;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Fragments;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class LazyDicomParserTest {
+
+    @Test
+    public void testDataFragments() throws Exception {
+        Attributes attrs = assertEqualsEagerParsed("US-PAL-8-10x-echo");
+        Object pixeldata = attrs.getValue(Tag.PixelData);
+        assertTrue(pixeldata instanceof Fragments);
+        assertEquals(11, ((Fragments) pixeldata).size());
+    }
+
+    @Test
+    public void testImplicitVR() throws Exception {
+        Attributes attrs = assertEqualsEagerParsed("OT-PAL-8-face");
+        assertEquals(1, attrs.getInt(Tag.SamplesPerPixel, 0));
+    }
+
+    @Test
+    public void testBigEndian() throws Exception {
+        Attributes attrs = assertEqualsEagerParsed("US-RGB-8-epicard");
+        assertEquals(3, attrs.getInt(Tag.SamplesPerPixel, 0));
+    }
+
+    @Test
+    public void testDeflated() throws Exception {
+        Attributes attrs = assertEqualsEagerParsed("report_dfl");
+        Sequence seq = attrs.getSequence(Tag.ContentSequence);
+        assertEquals(5, seq.size());
+    }
+
+    @Test
+    public void testDICOMDIR() throws Exception {
+        Attributes attrs = assertEqualsEagerParsed("DICOMDIR");
+        assertEquals(44, attrs.getSequence(Tag.DirectoryRecordSequence).size());
+    }
+
+    @Test
+    public void testDecodeOnAccess() throws Exception {
+        LazyDicomParser parser = LazyDicomParser.open(Paths.get("target/test-data/DICOMDIR"));
+        assertEquals(UID.MediaStorageDirectoryStorage,
+                parser.getFileMetaInformation().getString(Tag.MediaStorageSOPClassUID));
+        Attributes attrs = parser.readDataset();
+        Attributes rec = attrs.getNestedDataset(Tag.DirectoryRecordSequence, 43);
+        assertNotNull(rec);
+        assertNotNull(rec.getString(Tag.DirectoryRecordType));
+        assertEquals(VR.SQ, attrs.getVR(Tag.DirectoryRecordSequence));
+    }
+
+    @Test
+    public void testDatasetWithoutFileMetaInformation() throws Exception {
+        Attributes expected = new Attributes();
+        expected.setString(Tag.PatientName, VR.PN, "Simpson^Homer");
+        expected.setInt(Tag.Rows, VR.US, 512);
+        expected.newSequence(Tag.ReferencedSeriesSequence, 1).add(new Attributes());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(out, UID.ImplicitVRLittleEndian)) {
+            dos.writeDataset(null, expected);
+        }
+        Attributes attrs = new LazyDicomParser(
+                ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN), UID.ImplicitVRLittleEndian)
+                .readDataset();
+        assertEquals("Simpson^Homer", attrs.getString(Tag.PatientName));
+        assertEquals(expected, attrs);
+    }
+
+    private static Attributes assertEqualsEagerParsed(String name) throws Exception {
+        File file = new File("target/test-data/" + name);
+        Attributes expected;
+        try (DicomInputStream in = new DicomInputStream(file)) {
+            in.setIncludeBulkData(DicomInputStream.IncludeBulkData.YES);
+            expected = in.readDataset();
+        }
+        Attributes attrs = LazyDicomParser.open(file.toPath()).readDataset();
+        assertEquals(expected, attrs);
+        return attrs;
+    }
+}
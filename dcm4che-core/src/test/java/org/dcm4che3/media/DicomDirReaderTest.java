@@ -6,6 +6,8 @@ import java.io.File;
 import java.io.IOException;
 
 import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.VR;
 import org.dcm4che3.media.DicomDirReader;
 import org.junit.Test;
 
@@ -50,4 +52,123 @@ public class DicomDirReaderTest {
         }
         return count;
     }
+
+    @Test
+    public void testIndex() throws Exception {
+        DicomDirReader r = new DicomDirReader(toFile("DICOMDIR"));
+        try {
+            DicomDirIndex index = r.buildIndex();
+            assertEquals(44, index.size());
+            for (Attributes patRec = r.findPatientRecord(); patRec != null;
+                    patRec = r.findNextPatientRecord(patRec)) {
+                assertArrayEquals(new int[]{ offset(patRec) },
+                        index.findPatientRecords(patRec.getString(Tag.PatientID)));
+                for (Attributes studyRec = r.findStudyRecord(patRec); studyRec != null;
+                        studyRec = r.findNextStudyRecord(studyRec)) {
+                    String suid = studyRec.getString(Tag.StudyInstanceUID);
+                    assertArrayEquals(new int[]{ offset(studyRec) }, index.findStudyRecords(suid));
+                    assertSame(studyRec, r.findStudyRecord(patRec, suid));
+                    assertSame(patRec, r.readParentDirectoryRecord(studyRec));
+                    for (Attributes seriesRec = r.findSeriesRecord(studyRec); seriesRec != null;
+                            seriesRec = r.findNextSeriesRecord(seriesRec)) {
+                        assertSame(studyRec, r.readParentDirectoryRecord(seriesRec));
+                        for (Attributes instRec = r.findLowerInstanceRecord(seriesRec, false); instRec != null;
+                                instRec = r.findNextInstanceRecord(instRec, false)) {
+                            String iuid = instRec.getString(Tag.ReferencedSOPInstanceUIDInFile);
+                            assertSame(instRec, r.findLowerInstanceRecord(seriesRec, false, iuid));
+                            assertNull(r.findNextInstanceRecord(instRec, false, iuid));
+                            assertSame(seriesRec, r.readParentDirectoryRecord(instRec));
+                        }
+                    }
+                }
+            }
+        } finally {
+            r.close();
+        }
+    }
+
+    @Test
+    public void testIndexUpdatedByWriter() throws Exception {
+        File file = File.createTempFile("DICOMDIR", null);
+        try {
+            file.delete();
+            DicomDirWriter.createEmptyDirectory(file, "1.2.3", null, null, null);
+            DicomDirWriter w = DicomDirWriter.open(file);
+            try {
+                DicomDirIndex index = w.buildIndex();
+                Attributes patRec = w.addRootDirectoryRecord(
+                        record("PATIENT", Tag.PatientID, VR.LO, "PID"));
+                Attributes studyRec1 = record("STUDY", Tag.StudyInstanceUID, VR.UI, "1.2.3.1");
+                studyRec1.setString(Tag.StudyDate, VR.DA, "20200115");
+                w.addLowerDirectoryRecord(patRec, studyRec1);
+                Attributes studyRec2 = record("STUDY", Tag.StudyInstanceUID, VR.UI, "1.2.3.2");
+                studyRec2.setString(Tag.StudyDate, VR.DA, "20200301");
+                w.addLowerDirectoryRecord(patRec, studyRec2);
+                Attributes seriesRec = record("SERIES", Tag.SeriesInstanceUID, VR.UI, "1.2.3.2.1");
+                seriesRec.setString(Tag.Modality, VR.CS, "CT");
+                w.addLowerDirectoryRecord(studyRec2, seriesRec);
+                w.commit();
+
+                assertEquals(4, index.size());
+                assertSame(patRec, w.findPatientRecord("PID"));
+                assertSame(studyRec2, w.findStudyRecord(patRec, "1.2.3.2"));
+                assertArrayEquals(new int[]{ offset(studyRec1) },
+                        index.findStudyRecordsByDate(null, "20200131", false));
+                assertArrayEquals(new int[]{ offset(studyRec1), offset(studyRec2) },
+                        index.findStudyRecordsByDate("20200101", null, false));
+                assertArrayEquals(new int[]{ offset(seriesRec) }, index.findSeriesRecordsByModality("CT"));
+                assertSame(studyRec2, w.readParentDirectoryRecord(seriesRec));
+
+                w.deleteRecord(studyRec2);
+                w.commit();
+                assertEquals(2, index.size());
+                assertNull(w.findStudyRecord(patRec, "1.2.3.2"));
+                assertEquals(0, index.findSeriesRecordsByModality("CT").length);
+            } finally {
+                w.close();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testIndexIgnorePrivate() throws Exception {
+        File file = File.createTempFile("DICOMDIR", null);
+        try {
+            file.delete();
+            DicomDirWriter.createEmptyDirectory(file, "1.2.3", null, null, null);
+            DicomDirWriter w = DicomDirWriter.open(file);
+            try {
+                w.buildIndex();
+                Attributes patRec = w.addRootDirectoryRecord(
+                        record("PATIENT", Tag.PatientID, VR.LO, "PID"));
+                Attributes studyRec = w.addLowerDirectoryRecord(patRec,
+                        record("STUDY", Tag.StudyInstanceUID, VR.UI, "1.2.3.1"));
+                Attributes seriesRec = w.addLowerDirectoryRecord(studyRec,
+                        record("SERIES", Tag.SeriesInstanceUID, VR.UI, "1.2.3.1.1"));
+                Attributes privateRec = w.addLowerDirectoryRecord(seriesRec,
+                        record("PRIVATE", Tag.ReferencedSOPInstanceUIDInFile, VR.UI, "1.2.3.1.1.1"));
+                w.commit();
+
+                assertSame(privateRec, w.findLowerInstanceRecord(seriesRec, false, "1.2.3.1.1.1"));
+                assertNull(w.findLowerInstanceRecord(seriesRec, true, "1.2.3.1.1.1"));
+            } finally {
+                w.close();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static Attributes record(String type, int tag, VR vr, String value) {
+        Attributes rec = new Attributes();
+        rec.setString(Tag.DirectoryRecordType, VR.CS, type);
+        rec.setString(tag, vr, value);
+        return rec;
+    }
+
+    private static int offset(Attributes rec) {
+        return (int) rec.getItemPosition();
+    }
 }
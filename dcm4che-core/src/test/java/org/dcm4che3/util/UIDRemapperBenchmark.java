@@ -0,0 +1,146 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares remapping of the UIDs of an instance - Study, Series and Frame of Reference UID shared by all
+ * instances of the study, and an unique SOP Instance UID - by the previous implementation using
+ * {@link UUID#nameUUIDFromBytes} and {@link BigInteger}, by {@link UIDUtils#remapUID(String)} and by
+ * {@link UIDRemapper}.
+ * <p>
+ * Not executed by the unit tests; run by
+ * <pre>
+ * mvn -pl dcm4che-core test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.dcm4che3.util.UIDRemapperBenchmark
+ * </pre>
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UIDRemapperBenchmark {
+
+    private static final String STUDY_UID = "1.2.40.0.13.1.1";
+    private static final String SERIES_UID = "1.2.40.0.13.1.1.1";
+    private static final String FRAME_OF_REFERENCE_UID = "1.2.40.0.13.1.1.2";
+
+    private UIDRemapper remapper;
+    private int instanceNumber;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        remapper = new UIDRemapper(UIDUtils.getRoot(), 10000);
+    }
+
+    private String nextSOPInstanceUID() {
+        return SERIES_UID + '.' + (++instanceNumber & 0x3ff);
+    }
+
+    @Benchmark
+    public String[] bigInteger() {
+        return new String[] {
+                remapByBigInteger(STUDY_UID),
+                remapByBigInteger(SERIES_UID),
+                remapByBigInteger(FRAME_OF_REFERENCE_UID),
+                remapByBigInteger(nextSOPInstanceUID())
+        };
+    }
+
+    @Benchmark
+    public String[] remapUID() {
+        return new String[] {
+                UIDUtils.remapUID(STUDY_UID),
+                UIDUtils.remapUID(SERIES_UID),
+                UIDUtils.remapUID(FRAME_OF_REFERENCE_UID),
+                UIDUtils.remapUID(nextSOPInstanceUID())
+        };
+    }
+
+    @Benchmark
+    public String[] remapper() {
+        return new String[] {
+                remapper.remap(STUDY_UID),
+                remapper.remap(SERIES_UID),
+                remapper.remap(FRAME_OF_REFERENCE_UID),
+                remapper.remap(nextSOPInstanceUID())
+        };
+    }
+
+    private static String remapByBigInteger(String uid) {
+        UUID uuid = UUID.nameUUIDFromBytes(uid.getBytes(StandardCharsets.US_ASCII));
+        byte[] b17 = new byte[17];
+        ByteUtils.longToBytesBE(uuid.getMostSignificantBits(), b17, 1);
+        ByteUtils.longToBytesBE(uuid.getLeastSignificantBits(), b17, 9);
+        return UIDUtils.getRoot() + '.' + new BigInteger(b17);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(UIDRemapperBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
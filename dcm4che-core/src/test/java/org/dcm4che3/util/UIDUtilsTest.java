@@ -46,8 +46,12 @@ import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.VR;
 import org.junit.Test;
 
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
 
 import static org.junit.Assert.assertArrayEquals;
 
@@ -83,4 +87,40 @@ public class UIDUtilsTest extends TestCase {
                 Tag.RequestAttributesSequence
         }, modified.tags());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFormatUnsigned128() {
+        assertFormatUnsigned128(0L, 0L);
+        assertFormatUnsigned128(0L, 1L);
+        assertFormatUnsigned128(0L, 999_999_999L);
+        assertFormatUnsigned128(0L, 1_000_000_000L);
+        assertFormatUnsigned128(0L, -1L);
+        assertFormatUnsigned128(1L, 0L);
+        assertFormatUnsigned128(Long.MIN_VALUE, 0L);
+        assertFormatUnsigned128(-1L, -1L);
+        Random rnd = new Random(4711);
+        for (int i = 0; i < 10000; i++)
+            assertFormatUnsigned128(rnd.nextLong(), rnd.nextLong());
+    }
+
+    private static void assertFormatUnsigned128(long hi, long lo) {
+        byte[] b17 = new byte[17];
+        ByteUtils.longToBytesBE(hi, b17, 1);
+        ByteUtils.longToBytesBE(lo, b17, 9);
+        char[] cs = new char[40];
+        int start = UIDUtils.formatUnsigned128(hi, lo, cs, cs.length);
+        assertEquals(new BigInteger(b17).toString(), new String(cs, start, cs.length - start));
+    }
+
+    @Test
+    public void testRemapUIDEqualsNameBasedUUID() {
+        String[] uids = { "1.2.3.4", "1.2.40.0.13.1.1.99", "2.25.1" };
+        for (String uid : uids) {
+            UUID uuid = UUID.nameUUIDFromBytes(uid.getBytes(StandardCharsets.US_ASCII));
+            byte[] b17 = new byte[17];
+            ByteUtils.longToBytesBE(uuid.getMostSignificantBits(), b17, 1);
+            ByteUtils.longToBytesBE(uuid.getLeastSignificantBits(), b17, 9);
+            assertEquals("1.2.3." + new BigInteger(b17), UIDUtils.remapUID(uid, "1.2.3"));
+        }
+    }
+}
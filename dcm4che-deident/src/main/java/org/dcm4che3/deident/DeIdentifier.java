@@ -43,12 +43,18 @@ package org.dcm4che3.deident;
 
 import org.dcm4che3.data.*;
 import org.dcm4che3.dcmr.DeIdentificationMethod;
+import org.dcm4che3.util.IntHashMap;
+import org.dcm4che3.util.StringUtils;
+import org.dcm4che3.util.TagUtils;
+import org.dcm4che3.util.UIDRemapper;
 import org.dcm4che3.util.UIDUtils;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
@@ -391,11 +397,13 @@ public class DeIdentifier {
     private static final String REMOVED = "REMOVED";
     private static final String YES = "YES";
 
+    private static final ConcurrentHashMap<EnumSet<Option>, Profile> PROFILES = new ConcurrentHashMap<>();
+
     private final EnumSet<Option> options;
-    private final Attributes dummyValues = new Attributes();
-    private int[] x = X;
-    private int[] u = U;
-    private int[] o;
+    private final Profile profile;
+    private final ItemEditor editor = new ItemEditor();
+    private Attributes dummyValues;
+    private UIDRemapper uidRemapper;
 
     public enum Option {
         BasicApplicationConfidentialityProfile(DeIdentificationMethod.BasicApplicationConfidentialityProfile),
@@ -422,39 +430,34 @@ public class DeIdentifier {
         }
     }
 
+    private enum Action { REMOVE, REPLACE, REMAP_UID }
+
     public DeIdentifier(Option... options) {
         this.options = EnumSet.of(Option.BasicApplicationConfidentialityProfile, options);
-        int[] z = Z;
-        int[] d = D;
-        if (!this.options.contains(Option.RetainDeviceIdentityOption)) {
-            x = cat(x, X_DEVICE);
-            d = cat(d, D_DEVICE);
-            u = cat(u, U_DEVICE);
-        }
-        if (!this.options.contains(Option.RetainInstitutionIdentityOption)) {
-            x = cat(x, X_INSTITUTION);
-            z = cat(z, Z_INSTITUTION);
-            d = cat(d, D_INSTITUTION);
-        }
-        if (!this.options.contains(Option.RetainLongitudinalTemporalInformationFullDatesOption)) {
-            x = cat(x, X_DATES);
-            z = cat(z, Z_DATES);
-            d = cat(d, D_DATES);
-        }
-        if (!this.options.contains(Option.RetainUIDsOption)) {
-            z = cat(z, Z_UID);
-        }
-        o = cat(z, d);
-        Arrays.sort(x);
-        Arrays.sort(u);
-        Arrays.sort(o);
-        initDummyValues(d);
+        this.profile = PROFILES.computeIfAbsent(this.options, Profile::new);
+        this.dummyValues = profile.dummyValues;
     }
 
     public void setDummyValue(int tag, VR vr, String s) {
+        if (dummyValues == profile.dummyValues)
+            dummyValues = new Attributes(profile.dummyValues);
         dummyValues.setString(tag, vr, s);
     }
 
+    public UIDRemapper getUIDRemapper() {
+        return uidRemapper;
+    }
+
+    /**
+     * Sets the remapper used to remap UIDs, which defines the scope of caching remapped UIDs - e.g. per study or
+     * per job. By default, each UID is remapped by {@link UIDUtils#remapUID(String)} without caching.
+     *
+     * @param uidRemapper memoizing remapper or {@code null}
+     */
+    public void setUIDRemapper(UIDRemapper uidRemapper) {
+        this.uidRemapper = uidRemapper;
+    }
+
     public void deidentify(Attributes attrs) {
         IDWithIssuer pid = options.contains(Option.RetainPatientIDHashOption) ? IDWithIssuer.pidOf(attrs) : null;
         deidentifyItem(attrs);
@@ -474,7 +477,11 @@ public class DeIdentifier {
     }
 
     public String remapUID(String uid) {
-        return options.contains(Option.RetainUIDsOption) ? uid : UIDUtils.remapUID(uid);
+        return options.contains(Option.RetainUIDsOption) ? uid : doRemapUID(uid);
+    }
+
+    private String doRemapUID(String uid) {
+        return uidRemapper != null ? uidRemapper.remap(uid) : UIDUtils.remapUID(uid);
     }
 
     public boolean equalOptions(Option... options) {
@@ -488,18 +495,6 @@ public class DeIdentifier {
         return dest;
     }
 
-    private void initDummyValues(int[] d) {
-        ElementDictionary dict = ElementDictionary.getStandardElementDictionary();
-        for (int tag : d)
-            initDummyValue(dict.vrOf(tag), tag);
-        initDummyValue(VR.DA, Tag.SeriesDate);
-        initDummyValue(VR.TM, Tag.SeriesTime);
-    }
-
-    private Object initDummyValue(VR vr, int tag) {
-        return dummyValues.setString(tag, vr, dummyValueFor(vr));
-    }
-
     private static String dummyValueFor(VR vr) {
         switch (vr) {
             case DA:
@@ -523,28 +518,175 @@ public class DeIdentifier {
         }
     }
 
-    private void deidentifyItem(Attributes attrs) {
-        attrs.removePrivateAttributes();
-        attrs.removeCurveData();
-        attrs.removeOverlayData();
-        attrs.removeSelected(x);
-        attrs.replaceSelected(dummyValues, o);
-        if (!options.contains(Option.RetainUIDsOption))
-            attrs.replaceUIDSelected(u);
-
-        try {
-            attrs.accept(new Attributes.Visitor() {
-                @Override
-                public boolean visit(Attributes attrs, int tag, VR vr, Object value) throws Exception {
-                    if (value instanceof Sequence)
-                        for (Attributes item : (Sequence) value)
-                            deidentifyItem(item);
-                    return true;
+    void deidentifyItem(Attributes attrs) {
+        attrs.edit(editor);
+    }
+
+    /**
+     * Returns the sorted tags of attributes to remove. Used by tests as reference.
+     */
+    int[] removedTags() {
+        return profile.x;
+    }
+
+    /**
+     * Returns the sorted tags of attributes to replace by dummy values. Used by tests as reference.
+     */
+    int[] replacedTags() {
+        return profile.o;
+    }
+
+    /**
+     * Returns the sorted tags of attributes with UIDs to remap. Used by tests as reference.
+     */
+    int[] remappedUIDTags() {
+        return profile.u;
+    }
+
+    Attributes dummyValues() {
+        return dummyValues;
+    }
+
+    boolean hasOption(Option option) {
+        return options.contains(option);
+    }
+
+    /**
+     * Returns {@code true} if attributes with the specified tag are removed from the data set and from all items.
+     */
+    boolean removes(int tag) {
+        return TagUtils.isPrivateGroup(tag) || isCurveOrOverlayData(tag) || profile.actions.get(tag) == Action.REMOVE;
+    }
+
+    /**
+     * Returns {@code true} if the values of attributes with the specified tag are retained unchanged.
+     */
+    boolean retains(int tag) {
+        return !TagUtils.isPrivateGroup(tag) && !isCurveOrOverlayData(tag) && profile.actions.get(tag) == null;
+    }
+
+    private static boolean isCurveOrOverlayData(int tag) {
+        int ggxx = tag & 0xFFE10000;
+        return ggxx == 0x50000000 || ggxx == 0x60000000;
+    }
+
+    private Object remapUIDs(Attributes attrs, VR vr, Object value) {
+        if (value instanceof BulkData) {
+            try {
+                value = ((BulkData) value).toBytes(vr, attrs.bigEndian());
+            } catch (IOException e) {
+                return Value.NULL;
+            }
+        }
+        if (value instanceof byte[])
+            value = vr.toStrings(value, attrs.bigEndian(), attrs.getSpecificCharacterSet(vr));
+        if (value instanceof String) {
+            String s = (String) value;
+            return s.isEmpty() ? Value.NULL : doRemapUID(s);
+        }
+        if (value instanceof String[]) {
+            String[] ss = ((String[]) value).clone();
+            for (int i = 0; i < ss.length; i++)
+                ss[i] = doRemapUID(ss[i]);
+            return ss;
+        }
+        return value;
+    }
+
+    /**
+     * Removes, replaces or remaps attributes according the compiled {@link Profile} in one pass over each
+     * data set, and descends into the items of retained sequences.
+     */
+    private final class ItemEditor implements Attributes.Editor {
+
+        @Override
+        public Object edit(Attributes attrs, int tag, VR vr, Object value) {
+            if (TagUtils.isPrivateGroup(tag) || isCurveOrOverlayData(tag))
+                return null;
+
+            Action action = profile.actions.get(tag);
+            if (action != null) {
+                switch (action) {
+                    case REMOVE:
+                        return null;
+                    case REPLACE:
+                        return StringUtils.maskNull(dummyValues.getValue(tag), Value.NULL);
+                    case REMAP_UID:
+                        return value != Value.NULL ? remapUIDs(attrs, vr, value) : value;
                 }
-            }, false);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+            }
+            if (value instanceof Sequence)
+                for (Attributes item : (Sequence) value)
+                    item.edit(this);
+            return value;
         }
     }
 
+    /**
+     * Attributes to remove, to replace by dummy values and to remap UIDs for a particular set of options,
+     * compiled into one map from tag to action. Shared by all instances with equal options.
+     */
+    private static final class Profile {
+        final int[] x;
+        final int[] u;
+        final int[] o;
+        final IntHashMap<Action> actions;
+        final Attributes dummyValues = new Attributes();
+
+        Profile(EnumSet<Option> options) {
+            int[] x = X;
+            int[] u = U;
+            int[] z = Z;
+            int[] d = D;
+            if (!options.contains(Option.RetainDeviceIdentityOption)) {
+                x = cat(x, X_DEVICE);
+                d = cat(d, D_DEVICE);
+                u = cat(u, U_DEVICE);
+            }
+            if (!options.contains(Option.RetainInstitutionIdentityOption)) {
+                x = cat(x, X_INSTITUTION);
+                z = cat(z, Z_INSTITUTION);
+                d = cat(d, D_INSTITUTION);
+            }
+            if (!options.contains(Option.RetainLongitudinalTemporalInformationFullDatesOption)) {
+                x = cat(x, X_DATES);
+                z = cat(z, Z_DATES);
+                d = cat(d, D_DATES);
+            }
+            if (!options.contains(Option.RetainUIDsOption)) {
+                z = cat(z, Z_UID);
+            }
+            int[] o = cat(z, d);
+            Arrays.sort(x);
+            Arrays.sort(u);
+            Arrays.sort(o);
+            this.x = x;
+            this.u = u;
+            this.o = o;
+            // later puts override earlier ones, so removal takes precedence over replacement as in the
+            // order of the previous passes
+            actions = new IntHashMap<>(x.length + u.length + o.length);
+            if (!options.contains(Option.RetainUIDsOption))
+                for (int tag : u)
+                    actions.put(tag, Action.REMAP_UID);
+            for (int tag : o)
+                actions.put(tag, Action.REPLACE);
+            for (int tag : x)
+                actions.put(tag, Action.REMOVE);
+            initDummyValues(d);
+            dummyValues.setReadOnly();
+        }
+
+        private void initDummyValues(int[] d) {
+            ElementDictionary dict = ElementDictionary.getStandardElementDictionary();
+            for (int tag : d)
+                initDummyValue(dict.vrOf(tag), tag);
+            initDummyValue(VR.DA, Tag.SeriesDate);
+            initDummyValue(VR.TM, Tag.SeriesTime);
+        }
+
+        private void initDummyValue(VR vr, int tag) {
+            dummyValues.setString(tag, vr, dummyValueFor(vr));
+        }
+    }
 }
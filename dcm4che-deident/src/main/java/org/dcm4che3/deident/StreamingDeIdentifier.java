@@ -0,0 +1,315 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.deident;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Fragments;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.SpecificCharacterSet;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomEncodingOptions;
+import org.dcm4che3.io.DicomInputHandler;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomOutputStream;
+import org.dcm4che3.util.StreamUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * De-identifies a data set while it is parsed by {@link DicomInputStream}, writing the de-identified
+ * attributes to an {@link OutputStream} without reading the whole data set into memory.
+ *
+ * <p> Attributes are collected until Pixel Data or another retained top level attribute with a value length
+ * of at least {@link #getStreamThreshold()} is encountered. The collected attributes are then de-identified
+ * and written, and the large value is copied directly from the input to the output stream. Values of
+ * attributes removed by the {@link DeIdentifier} are skipped without reading them, at any nesting level.
+ * So memory usage does not depend on the size of Pixel Data or of other large values, as long as they are not
+ * nested in sequence items.
+ *
+ * <p> Top level attributes not greater than Longitudinal Temporal Information Modified (0028,0303) are always
+ * collected, to de-identify them together with the attributes added by {@link DeIdentifier#deidentify}.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class StreamingDeIdentifier {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingDeIdentifier.class);
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int LAST_ADDED_TAG = Tag.LongitudinalTemporalInformationModified;
+
+    private final DeIdentifier deIdentifier;
+    private DicomEncodingOptions encOpts = DicomEncodingOptions.DEFAULT;
+    private int streamThreshold = 64 * 1024;
+    private boolean includeFileMetaInformation = true;
+
+    private OutputStream out;
+    private String tsuid;
+    private boolean hasFileMetaInformation;
+    private Attributes dataset;
+    private String[] specificCharacterSet;
+    private DicomOutputStream dos;
+    private boolean copyFragments;
+    private byte[] buffer;
+
+    public StreamingDeIdentifier(DeIdentifier deIdentifier) {
+        this.deIdentifier = Objects.requireNonNull(deIdentifier);
+    }
+
+    public DeIdentifier getDeIdentifier() {
+        return deIdentifier;
+    }
+
+    public DicomEncodingOptions getEncodingOptions() {
+        return encOpts;
+    }
+
+    /**
+     * @param encOpts encoding options of the output stream
+     * @throws IllegalArgumentException if {@code encOpts} requests Group Length attributes, which cannot be
+     *                                  calculated for groups split by a streamed value
+     */
+    public void setEncodingOptions(DicomEncodingOptions encOpts) {
+        if (encOpts.groupLength)
+            throw new IllegalArgumentException("Group Length attributes not supported");
+        this.encOpts = encOpts;
+    }
+
+    public int getStreamThreshold() {
+        return streamThreshold;
+    }
+
+    /**
+     * @param streamThreshold minimal value length of retained top level attributes, which values are copied
+     *                        directly to the output stream
+     */
+    public void setStreamThreshold(int streamThreshold) {
+        if (streamThreshold <= 0)
+            throw new IllegalArgumentException("streamThreshold: " + streamThreshold);
+        this.streamThreshold = streamThreshold;
+    }
+
+    public boolean isIncludeFileMetaInformation() {
+        return includeFileMetaInformation;
+    }
+
+    /**
+     * @param includeFileMetaInformation if File Meta Information shall be written, if the input contains
+     *                                   File Meta Information
+     */
+    public void setIncludeFileMetaInformation(boolean includeFileMetaInformation) {
+        this.includeFileMetaInformation = includeFileMetaInformation;
+    }
+
+    /**
+     * Reads the data set from {@code dis}, de-identifies it and writes it to {@code out}, preceded by new
+     * File Meta Information, if {@code dis} contains File Meta Information. The de-identified data set is
+     * encoded in the Transfer Syntax of the input. Neither {@code dis} nor {@code out} are closed.
+     */
+    public void deidentify(DicomInputStream dis, OutputStream out) throws IOException {
+        this.out = out;
+        this.hasFileMetaInformation = dis.readFileMetaInformation() != null;
+        this.tsuid = dis.getTransferSyntax();
+        this.dataset = new Attributes(dis.bigEndian(), 64);
+        dis.setDicomInputHandler(dicomInputHandler);
+        try {
+            dis.readAllAttributes(dataset);
+            writeDataset();
+            dos.finish();
+            dos.flush();
+        } finally {
+            dis.setDicomInputHandler(dis);
+            this.out = null;
+            this.dataset = null;
+            this.specificCharacterSet = null;
+            this.dos = null;
+            this.copyFragments = false;
+        }
+    }
+
+    private final DicomInputHandler dicomInputHandler = new DicomInputHandler() {
+        @Override
+        public void readValue(DicomInputStream dis, Attributes attrs) throws IOException {
+            int tag = dis.tag();
+            long length = dis.unsignedLength();
+            if (length != -1 && isSkipped(dis, tag)) {
+                StreamUtils.skipFully(dis, length);
+            } else if (dis.level() == 0 && isStreamed(tag, dis.vr(), length)) {
+                writeDataset();
+                copyValue(dis);
+            } else {
+                dis.readValue(dis, attrs);
+            }
+        }
+
+        @Override
+        public void readValue(DicomInputStream dis, Sequence seq) throws IOException {
+            dis.readValue(dis, seq);
+        }
+
+        @Override
+        public void readValue(DicomInputStream dis, Fragments frags) throws IOException {
+            if (copyFragments) {
+                long length = dis.unsignedLength();
+                dos.writeHeader(Tag.Item, null, (int) (length + 1) & ~1);
+                StreamUtils.copy(dis, dos, length, buffer());
+                if ((length & 1) != 0) {
+                    LOG.info("Odd length of Fragment: {} - append NULL byte to ensure even length", length);
+                    dos.write(0);
+                }
+            } else {
+                dis.readValue(dis, frags);
+            }
+        }
+
+        @Override
+        public void startDataset(DicomInputStream dis) throws IOException {
+        }
+
+        @Override
+        public void endDataset(DicomInputStream dis) throws IOException {
+        }
+    };
+
+    private boolean isSkipped(DicomInputStream dis, int tag) {
+        if (!deIdentifier.removes(tag))
+            return false;
+
+        // removed attributes which are hashed together with the Patient ID
+        if (dis.level() == 0 && deIdentifier.hasOption(DeIdentifier.Option.RetainPatientIDHashOption)) {
+            switch (tag) {
+                case Tag.IssuerOfPatientID:
+                case Tag.IssuerOfPatientIDQualifiersSequence:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isStreamed(int tag, VR vr, long length) {
+        if (length == 0 || Integer.compareUnsigned(tag, LAST_ADDED_TAG) <= 0 || !deIdentifier.retains(tag))
+            return false;
+
+        switch (tag) {
+            case Tag.PixelData:
+            case Tag.FloatPixelData:
+            case Tag.DoubleFloatPixelData:
+                return true;
+        }
+        return vr != VR.SQ && length != -1 && length >= streamThreshold;
+    }
+
+    private void writeDataset() throws IOException {
+        if (dos == null) {
+            deIdentifier.deidentify(dataset);
+            Attributes fmi = includeFileMetaInformation && hasFileMetaInformation
+                    ? dataset.createFileMetaInformation(tsuid)
+                    : null;
+            dos = new DicomOutputStream(out, fmi != null ? UID.ExplicitVRLittleEndian : tsuid);
+            dos.setEncodingOptions(encOpts);
+            dos.writeDataset(fmi, dataset);
+            specificCharacterSet = dataset.getStrings(Tag.SpecificCharacterSet);
+        } else {
+            deIdentifier.deidentifyItem(dataset);
+            writeAttributes();
+        }
+        dataset.clear();
+        // keep Specific Character Set for attributes read after clear(), but do not write it again
+        if (specificCharacterSet != null)
+            dataset.setString(Tag.SpecificCharacterSet, VR.CS, specificCharacterSet);
+    }
+
+    private void writeAttributes() throws IOException {
+        final SpecificCharacterSet cs = dataset.getSpecificCharacterSet();
+        try {
+            dataset.accept(new Attributes.Visitor() {
+                @Override
+                public boolean visit(Attributes attrs, int tag, VR vr, Object value) throws Exception {
+                    if (tag != Tag.SpecificCharacterSet)
+                        dos.writeAttribute(tag, vr, value, cs);
+                    return true;
+                }
+            }, false);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    private void copyValue(DicomInputStream dis) throws IOException {
+        int tag = dis.tag();
+        VR vr = dis.vr();
+        long length = dis.unsignedLength();
+        if (length == -1) {
+            dos.writeHeader(tag, vr, -1);
+            copyFragments = true;
+            try {
+                dis.readValue(dis, dataset);
+            } finally {
+                copyFragments = false;
+            }
+            dataset.remove(tag);
+            dos.writeHeader(Tag.SequenceDelimitationItem, null, 0);
+        } else {
+            dos.writeHeader(tag, vr, (int) (length + 1) & ~1);
+            StreamUtils.copy(dis, dos, length, buffer());
+            if ((length & 1) != 0) {
+                LOG.info("Odd length of {}: {} - append NULL byte to ensure even length", vr, length);
+                dos.write(0);
+            }
+        }
+    }
+
+    private byte[] buffer() {
+        if (buffer == null)
+            buffer = new byte[BUFFER_SIZE];
+        return buffer;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.deident;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the de-identification of a data set with nested sequences by one pass over each item, driven by
+ * the action table compiled per option set, with the previous implementation passing several times over each
+ * item. Each invocation de-identifies a fresh copy of the data set; {@link #copy()} measures the copying alone.
+ * <p>
+ * Not executed by the unit tests; run by
+ * <pre>
+ * mvn -pl dcm4che-deident test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.dcm4che3.deident.DeIdentifierBenchmark
+ * </pre>
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeIdentifierBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean retainUIDs;
+
+    private DeIdentifier deIdentifier;
+    private MultiPassDeIdentifier multiPassDeIdentifier;
+    private Attributes dataset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        deIdentifier = retainUIDs
+                ? new DeIdentifier(DeIdentifier.Option.RetainUIDsOption)
+                : new DeIdentifier();
+        multiPassDeIdentifier = new MultiPassDeIdentifier(deIdentifier);
+        dataset = createDataset(2);
+    }
+
+    private static Attributes createDataset(int depth) {
+        Attributes attrs = new Attributes();
+        attrs.setString(Tag.SpecificCharacterSet, VR.CS, "ISO_IR 100");
+        attrs.setString(Tag.SOPClassUID, VR.UI, UID.CTImageStorage);
+        attrs.setString(Tag.SOPInstanceUID, VR.UI, "1.2.40.0.13.1.1.1.3");
+        attrs.setString(Tag.StudyDate, VR.DA, "20200101");
+        attrs.setString(Tag.StudyTime, VR.TM, "120000");
+        attrs.setString(Tag.AccessionNumber, VR.SH, "A123456");
+        attrs.setString(Tag.Modality, VR.CS, "CT");
+        attrs.setString(Tag.InstitutionName, VR.LO, "General Hospital");
+        attrs.setString(Tag.ReferringPhysicianName, VR.PN, "Riviera^Nick");
+        attrs.setString(Tag.StationName, VR.SH, "CT01");
+        attrs.setString(Tag.StudyDescription, VR.LO, "CT Abdomen");
+        attrs.setString(Tag.SeriesDescription, VR.LO, "Axial 5mm");
+        attrs.setString(Tag.PatientName, VR.PN, "Simpson^Homer");
+        attrs.setString(Tag.PatientID, VR.LO, "PID-4711");
+        attrs.setString(Tag.IssuerOfPatientID, VR.LO, "SPRINGFIELD");
+        attrs.setString(Tag.PatientBirthDate, VR.DA, "19560512");
+        attrs.setString(Tag.PatientSex, VR.CS, "M");
+        attrs.setString(Tag.PatientAge, VR.AS, "063Y");
+        attrs.setString(Tag.SliceThickness, VR.DS, "5");
+        attrs.setString(Tag.KVP, VR.DS, "120");
+        attrs.setString(Tag.DeviceSerialNumber, VR.LO, "SN-0815");
+        attrs.setString(Tag.ProtocolName, VR.LO, "Abdomen");
+        attrs.setString(Tag.StudyInstanceUID, VR.UI, "1.2.40.0.13.1.1");
+        attrs.setString(Tag.SeriesInstanceUID, VR.UI, "1.2.40.0.13.1.1.1");
+        attrs.setString(Tag.StudyID, VR.SH, "S1");
+        attrs.setString(Tag.SeriesNumber, VR.IS, "1");
+        attrs.setString(Tag.InstanceNumber, VR.IS, "3");
+        attrs.setString(Tag.ImagePositionPatient, VR.DS, "0", "0", "0");
+        attrs.setString(Tag.ImageOrientationPatient, VR.DS, "1", "0", "0", "0", "1", "0");
+        attrs.setString(Tag.FrameOfReferenceUID, VR.UI, "1.2.40.0.13.1.1.2");
+        attrs.setString(Tag.ImageComments, VR.LT, "no comment");
+        attrs.setInt(Tag.SamplesPerPixel, VR.US, 1);
+        attrs.setString(Tag.PhotometricInterpretation, VR.CS, "MONOCHROME2");
+        attrs.setInt(Tag.Rows, VR.US, 512);
+        attrs.setInt(Tag.Columns, VR.US, 512);
+        attrs.setInt(Tag.BitsAllocated, VR.US, 16);
+        attrs.setInt(Tag.BitsStored, VR.US, 12);
+        attrs.setInt(Tag.HighBit, VR.US, 11);
+        attrs.setInt(Tag.PixelRepresentation, VR.US, 0);
+        attrs.setString(Tag.WindowCenter, VR.DS, "40");
+        attrs.setString(Tag.WindowWidth, VR.DS, "400");
+        attrs.setString(0x00090010, VR.LO, "PRIVATE CREATOR");
+        attrs.setString(0x00091010, VR.LO, "private value");
+        attrs.setInt(Tag.OverlayRows, VR.US, 512);
+        attrs.setInt(Tag.OverlayColumns, VR.US, 512);
+        if (depth > 0) {
+            Sequence refImages = attrs.newSequence(Tag.ReferencedImageSequence, 4);
+            for (int i = 0; i < 4; i++)
+                refImages.add(createDataset(depth - 1));
+            attrs.newSequence(Tag.ReferencedStudySequence, 1).add(createDataset(depth - 1));
+        }
+        return attrs;
+    }
+
+    @Benchmark
+    public Attributes copy() {
+        return new Attributes(dataset);
+    }
+
+    @Benchmark
+    public Attributes multiPass() {
+        Attributes attrs = new Attributes(dataset);
+        multiPassDeIdentifier.deidentifyItem(attrs);
+        return attrs;
+    }
+
+    @Benchmark
+    public Attributes singlePass() {
+        Attributes attrs = new Attributes(dataset);
+        deIdentifier.deidentifyItem(attrs);
+        return attrs;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(DeIdentifierBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.deident;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.ElementDictionary;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomOutputStream;
+import org.dcm4che3.util.UIDRemapper;
+import org.dcm4che3.util.UIDUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that the de-identification by one pass over each data set, driven by the action table compiled per
+ * option set, produces the same result as the previous implementation passing several times over each item.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class DeIdentifierTest {
+
+    @Test
+    public void testSinglePassEqualsMultiPass() throws Exception {
+        List<DeIdentifier> deIdentifiers = allOptionSets();
+        Attributes dataset = createDataset(deIdentifiers, 1);
+        for (DeIdentifier deIdentifier : deIdentifiers) {
+            assertSinglePassEqualsMultiPass(deIdentifier, dataset);
+            assertSinglePassEqualsMultiPass(deIdentifier, parse(dataset));
+        }
+    }
+
+    @Test
+    public void testSinglePassEqualsMultiPassWithUIDRemapper() throws Exception {
+        List<DeIdentifier> deIdentifiers = allOptionSets();
+        Attributes dataset = createDataset(deIdentifiers, 1);
+        for (DeIdentifier deIdentifier : deIdentifiers) {
+            deIdentifier.setUIDRemapper(new UIDRemapper(100));
+            assertSinglePassEqualsMultiPass(deIdentifier, dataset);
+            assertSinglePassEqualsMultiPass(deIdentifier, parse(dataset));
+        }
+    }
+
+    @Test
+    public void testActions() {
+        DeIdentifier deIdentifier = new DeIdentifier();
+        Attributes attrs = new Attributes();
+        attrs.setString(Tag.Modality, VR.CS, "CT");
+        attrs.setString(Tag.PatientName, VR.PN, "Simpson^Homer");
+        attrs.setString(Tag.StudyInstanceUID, VR.UI, "1.2.3");
+        attrs.setString(0x00090010, VR.LO, "PRIVATE CREATOR");
+        attrs.setString(0x00091010, VR.LO, "private value");
+        attrs.setInt(0x60000010, VR.US, 512);
+        deIdentifier.deidentifyItem(attrs);
+        assertEquals("CT", attrs.getString(Tag.Modality));
+        assertFalse("Simpson^Homer".equals(attrs.getString(Tag.PatientName)));
+        assertEquals(UIDUtils.remapUID("1.2.3"), attrs.getString(Tag.StudyInstanceUID));
+        assertFalse(attrs.contains(0x00090010));
+        assertFalse(attrs.contains(0x00091010));
+        assertFalse(attrs.contains(0x60000010));
+    }
+
+    private static void assertSinglePassEqualsMultiPass(DeIdentifier deIdentifier, Attributes dataset) {
+        Attributes singlePass = new Attributes(dataset);
+        Attributes multiPass = new Attributes(dataset);
+        deIdentifier.deidentifyItem(singlePass);
+        new MultiPassDeIdentifier(deIdentifier).deidentifyItem(multiPass);
+        assertEquals(multiPass.toString(Integer.MAX_VALUE, 200), singlePass.toString(Integer.MAX_VALUE, 200));
+        assertEquals(multiPass, singlePass);
+    }
+
+    private static List<DeIdentifier> allOptionSets() {
+        DeIdentifier.Option[] options = DeIdentifier.Option.values();
+        List<DeIdentifier> list = new ArrayList<>();
+        for (int mask = 0; mask < 1 << options.length; mask++) {
+            if ((mask & 1) != 0) // BasicApplicationConfidentialityProfile is always included
+                continue;
+            List<DeIdentifier.Option> selected = new ArrayList<>();
+            for (int i = 0; i < options.length; i++)
+                if ((mask & (1 << i)) != 0)
+                    selected.add(options[i]);
+            list.add(new DeIdentifier(selected.toArray(new DeIdentifier.Option[0])));
+        }
+        return list;
+    }
+
+    /**
+     * Creates a data set with an attribute for each tag referenced by any option set, and retained, private,
+     * curve and overlay attributes, with items of the same content nested up to {@code depth}.
+     */
+    private static Attributes createDataset(List<DeIdentifier> deIdentifiers, int depth) {
+        TreeSet<Integer> tags = new TreeSet<>();
+        for (DeIdentifier deIdentifier : deIdentifiers) {
+            for (int tag : deIdentifier.removedTags()) tags.add(tag);
+            for (int tag : deIdentifier.replacedTags()) tags.add(tag);
+            for (int tag : deIdentifier.remappedUIDTags()) tags.add(tag);
+        }
+        return createDataset(tags, depth);
+    }
+
+    private static Attributes createDataset(TreeSet<Integer> tags, int depth) {
+        ElementDictionary dict = ElementDictionary.getStandardElementDictionary();
+        Attributes attrs = new Attributes();
+        attrs.setString(Tag.SpecificCharacterSet, VR.CS, "ISO_IR 100");
+        attrs.setString(Tag.SOPClassUID, VR.UI, UID.PositronEmissionTomographyImageStorage);
+        attrs.setString(Tag.Modality, VR.CS, "PT");
+        attrs.setString(0x00090010, VR.LO, "PRIVATE CREATOR");
+        attrs.setString(0x00091010, VR.LO, "private value");
+        attrs.setInt(0x50000010, VR.US, 2);
+        attrs.setInt(0x60000010, VR.US, 512);
+        attrs.setInt(0x60000011, VR.US, 512);
+        int index = 0;
+        for (int tag : tags) {
+            VR vr = dict.vrOf(tag);
+            if (vr == VR.SQ) {
+                Sequence sq = attrs.newSequence(tag, 1);
+                if (depth > 0)
+                    sq.add(createDataset(tags, depth - 1));
+            } else if ((index & 15) == 15) {
+                attrs.setNull(tag, vr);
+            } else if (vr.isStringType()) {
+                attrs.setString(tag, vr, valueFor(vr, index));
+            } else {
+                attrs.setBytes(tag, vr, new byte[8]);
+            }
+            index++;
+        }
+        if (depth > 0)
+            attrs.newSequence(Tag.ReferencedImageSequence, 1).add(createDataset(tags, depth - 1));
+        return attrs;
+    }
+
+    private static String valueFor(VR vr, int index) {
+        switch (vr) {
+            case AS:
+                return "063Y";
+            case DA:
+                return "20200101";
+            case DT:
+                return "20200101120000";
+            case TM:
+                return "120000";
+            case DS:
+            case IS:
+                return Integer.toString(index);
+            case PN:
+                return "Simpson^Homer";
+            case UI:
+                return "1.2.40.0.13.1." + index;
+        }
+        return "V" + index;
+    }
+
+    private static Attributes parse(Attributes dataset) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(out, UID.ExplicitVRLittleEndian)) {
+            dos.writeDataset(null, dataset);
+        }
+        try (DicomInputStream dis = new DicomInputStream(
+                new ByteArrayInputStream(out.toByteArray()), UID.ExplicitVRLittleEndian)) {
+            return dis.readDataset();
+        }
+    }
+}
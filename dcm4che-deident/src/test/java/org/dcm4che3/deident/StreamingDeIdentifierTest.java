@@ -0,0 +1,222 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.deident;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Fragments;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomEncodingOptions;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomOutputStream;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that {@link StreamingDeIdentifier} writes the same bytes as de-identifying the whole data set by
+ * {@link DeIdentifier#deidentify} and writing it by {@link DicomOutputStream}.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+@RunWith(Parameterized.class)
+public class StreamingDeIdentifierTest {
+
+    private static final int STREAM_THRESHOLD = 256;
+
+    private final String tsuid;
+    private final boolean encapsulated;
+    private final boolean fmi;
+
+    public StreamingDeIdentifierTest(String tsuid, boolean encapsulated, boolean fmi) {
+        this.tsuid = tsuid;
+        this.encapsulated = encapsulated;
+        this.fmi = fmi;
+    }
+
+    @Parameterized.Parameters(name = "{0} encapsulated={1} fmi={2}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][] {
+                { UID.ImplicitVRLittleEndian, false, false },
+                { UID.ImplicitVRLittleEndian, false, true },
+                { UID.ExplicitVRLittleEndian, false, false },
+                { UID.ExplicitVRLittleEndian, false, true },
+                { UID.ExplicitVRBigEndian, false, false },
+                { UID.ExplicitVRBigEndian, false, true },
+                { UID.DeflatedExplicitVRLittleEndian, false, false },
+                { UID.DeflatedExplicitVRLittleEndian, false, true },
+                { UID.RLELossless, true, false },
+                { UID.RLELossless, true, true },
+        });
+    }
+
+    @Test
+    public void testEqualsDeIdentifier() throws Exception {
+        assertEqualsDeIdentifier(new DeIdentifier());
+    }
+
+    @Test
+    public void testEqualsDeIdentifierRetainPatientIDHash() throws Exception {
+        assertEqualsDeIdentifier(new DeIdentifier(
+                DeIdentifier.Option.RetainPatientIDHashOption,
+                DeIdentifier.Option.RetainLongitudinalTemporalInformationFullDatesOption));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGroupLengthNotSupported() {
+        new StreamingDeIdentifier(new DeIdentifier()).setEncodingOptions(
+                new DicomEncodingOptions(true, true, false, true, false));
+    }
+
+    private void assertEqualsDeIdentifier(DeIdentifier deIdentifier) throws IOException {
+        byte[] input = encode(createDataset());
+        assertArrayEquals(deidentify(deIdentifier, input), deidentifyStreaming(deIdentifier, input));
+    }
+
+    private byte[] deidentify(DeIdentifier deIdentifier, byte[] input) throws IOException {
+        Attributes dataset;
+        Attributes fmi;
+        try (DicomInputStream dis = open(input)) {
+            fmi = dis.readFileMetaInformation();
+            dataset = dis.readDataset();
+        }
+        deIdentifier.deidentify(dataset);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(out,
+                fmi != null ? UID.ExplicitVRLittleEndian : tsuid)) {
+            dos.writeDataset(fmi != null ? dataset.createFileMetaInformation(tsuid) : null, dataset);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] deidentifyStreaming(DeIdentifier deIdentifier, byte[] input) throws IOException {
+        StreamingDeIdentifier streamingDeIdentifier = new StreamingDeIdentifier(deIdentifier);
+        streamingDeIdentifier.setStreamThreshold(STREAM_THRESHOLD);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DicomInputStream dis = open(input)) {
+            streamingDeIdentifier.deidentify(dis, out);
+        }
+        return out.toByteArray();
+    }
+
+    private DicomInputStream open(byte[] input) throws IOException {
+        ByteArrayInputStream in = new ByteArrayInputStream(input);
+        return fmi ? new DicomInputStream(in) : new DicomInputStream(in, tsuid);
+    }
+
+    private byte[] encode(Attributes dataset) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(out, fmi ? UID.ExplicitVRLittleEndian : tsuid)) {
+            dos.writeDataset(fmi ? dataset.createFileMetaInformation(tsuid) : null, dataset);
+        }
+        return out.toByteArray();
+    }
+
+    private Attributes createDataset() {
+        boolean bigEndian = tsuid.equals(UID.ExplicitVRBigEndian);
+        Attributes attrs = new Attributes(bigEndian);
+        attrs.setString(Tag.SpecificCharacterSet, VR.CS, "ISO_IR 100");
+        attrs.setString(Tag.SOPClassUID, VR.UI, UID.SecondaryCaptureImageStorage);
+        attrs.setString(Tag.SOPInstanceUID, VR.UI, "1.2.40.0.13.1.1.1.3");
+        attrs.setString(Tag.StudyDate, VR.DA, "20200101");
+        attrs.setString(Tag.Modality, VR.CS, "OT");
+        attrs.setString(Tag.InstitutionName, VR.LO, "Allgemeines Krankenhaus Zürich");
+        attrs.setString(Tag.PatientName, VR.PN, "Müller^Jürgen");
+        attrs.setString(Tag.PatientID, VR.LO, "PID-4711");
+        attrs.setString(Tag.IssuerOfPatientID, VR.LO, "ZÜRICH");
+        attrs.setString(Tag.PatientBirthDate, VR.DA, "19560512");
+        attrs.setString(Tag.StudyInstanceUID, VR.UI, "1.2.40.0.13.1.1");
+        attrs.setString(Tag.SeriesInstanceUID, VR.UI, "1.2.40.0.13.1.1.1");
+        Sequence refImages = attrs.newSequence(Tag.ReferencedImageSequence, 1);
+        Attributes refImage = new Attributes(bigEndian);
+        refImage.setString(Tag.ReferencedSOPClassUID, VR.UI, UID.SecondaryCaptureImageStorage);
+        refImage.setString(Tag.ReferencedSOPInstanceUID, VR.UI, "1.2.40.0.13.1.1.1.2");
+        refImages.add(refImage);
+        attrs.setString(0x00090010, VR.LO, "PRIVATE CREATOR");
+        attrs.setString(0x00091010, VR.LO, "private value");
+        attrs.setInt(Tag.SamplesPerPixel, VR.US, 1);
+        attrs.setString(Tag.PhotometricInterpretation, VR.CS, "MONOCHROME2");
+        attrs.setInt(Tag.Rows, VR.US, 16);
+        attrs.setInt(Tag.Columns, VR.US, 16);
+        attrs.setInt(Tag.BitsAllocated, VR.US, 16);
+        attrs.setInt(Tag.BitsStored, VR.US, 12);
+        attrs.setInt(Tag.HighBit, VR.US, 11);
+        attrs.setInt(Tag.PixelRepresentation, VR.US, 0);
+        // retained values exceeding the stream threshold, followed by retained non-ASCII strings
+        attrs.setBytes(Tag.RedPaletteColorLookupTableData, VR.OW, bytes(STREAM_THRESHOLD * 2));
+        attrs.setBytes(Tag.ICCProfile, VR.OB, bytes(STREAM_THRESHOLD));
+        attrs.setString(Tag.LUTExplanation, VR.LO, "Übersicht");
+        Attributes voiLUT = new Attributes(bigEndian);
+        voiLUT.setString(Tag.LUTExplanation, VR.LO, "Weichteil Ä");
+        attrs.newSequence(Tag.VOILUTSequence, 1).add(voiLUT);
+        if (encapsulated) {
+            Fragments frags = attrs.newFragments(Tag.PixelData, VR.OB, 3);
+            frags.add(new byte[0]);
+            frags.add(bytes(100));
+            frags.add(bytes(412));
+        } else {
+            attrs.setBytes(Tag.PixelData, VR.OW, bytes(16 * 16 * 2));
+        }
+        attrs.setString(0x7FE10010, VR.LO, "PRIVATE CREATOR");
+        attrs.setBytes(0x7FE11010, VR.OB, bytes(STREAM_THRESHOLD * 2));
+        attrs.setBytes(Tag.DataSetTrailingPadding, VR.OB, new byte[8]);
+        return attrs;
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] b = new byte[length];
+        for (int i = 0; i < length; i++)
+            b[i] = (byte) i;
+        return b;
+    }
+}
@@ -38,6 +38,7 @@
 
 package org.dcm4che3.emf;
 
+import org.dcm4che3.util.UIDRemapper;
 import org.dcm4che3.util.UIDUtils;
 
 /**
@@ -46,9 +47,25 @@ import org.dcm4che3.util.UIDUtils;
  */
 public class HashUIDMapper implements UIDMapper {
 
+    private final UIDRemapper remapper;
+
+    public HashUIDMapper() {
+        this(null);
+    }
+
+    /**
+     * @param remapper memoizing remapper, e.g. shared by the extraction of all frames of one study,
+     *                 or {@code null} to calculate each UID again
+     */
+    public HashUIDMapper(UIDRemapper remapper) {
+        this.remapper = remapper;
+    }
+
     @Override
     public String get(String uid) {
-        return UIDUtils.createNameBasedUID(uid.getBytes());
+        return remapper != null
+                ? remapper.remap(uid)
+                : UIDUtils.createNameBasedUID(uid.getBytes());
     }
 
 }
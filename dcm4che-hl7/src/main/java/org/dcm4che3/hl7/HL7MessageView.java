@@ -0,0 +1,431 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.hl7;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+
+/**
+ * Read-only view of an encoded HL7 message, which locates segment, field, repetition, component and
+ * subcomponent boundaries on demand, without splitting the message into segments and fields like
+ * {@link HL7Message#parse} or converting it to SAX events like {@link HL7Parser}. Suitable for routing
+ * and filtering decisions, which only depend on a few values of a message.
+ *
+ * <p> Values are addressed by {@link Path}s, like {@code MSH-9.2} or {@code PID-3(2).4.1}. Locating a
+ * value does not allocate memory, besides an index of segment boundaries built on first access; only
+ * {@link #get(Path, String)} creates the {@code String} of the located value. As by
+ * {@link HL7Segment#getField}, values are returned as encoded, without resolving escape sequences.
+ *
+ * <p> The view does not copy the underlying byte array, which shall not be modified while the view is used.
+ * Instances are not thread-safe.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class HL7MessageView {
+
+    private static final Path MSH_18 = Path.valueOf("MSH-18");
+
+    private final byte[] data;
+    private final int length;
+    private final String defCharset;
+    private final byte fieldSeparator;
+    private final byte componentSeparator;
+    private final byte repetitionSeparator;
+    private final byte subcomponentSeparator;
+    private int[] segmentBounds;
+    private int segmentCount;
+    private String charsetName;
+
+    public HL7MessageView(byte[] data, String defCharset) {
+        this(data, data.length, defCharset);
+    }
+
+    /**
+     * @param data       encoded message, starting with the MSH segment
+     * @param length     length of the encoded message
+     * @param defCharset code of the character set, if MSH-18 is absent, or {@code null}
+     * @throws IllegalArgumentException if the message does not start with a valid MSH segment
+     */
+    public HL7MessageView(byte[] data, int length, String defCharset) {
+        if (length < 8 || data[0] != 'M' || data[1] != 'S' || data[2] != 'H')
+            throw new IllegalArgumentException("Invalid MSH Segment: "
+                    + new String(data, 0, Math.min(length, 8)));
+        this.data = data;
+        this.length = length;
+        this.defCharset = defCharset;
+        this.fieldSeparator = data[3];
+        this.componentSeparator = data[4];
+        this.repetitionSeparator = data[5];
+        this.subcomponentSeparator = data[7];
+    }
+
+    public char getFieldSeparator() {
+        return (char) fieldSeparator;
+    }
+
+    public String getEncodingCharacters() {
+        return new String(data, 4, 4);
+    }
+
+    /**
+     * Returns the name of the charset specified by MSH-18, or by the default character set passed to the
+     * constructor, if MSH-18 is absent or empty.
+     */
+    public String getCharsetName() {
+        if (charsetName == null) {
+            long range = locate(MSH_18);
+            charsetName = HL7Charset.toCharsetName(range != -1L && start(range) != end(range)
+                    ? toString(range, null)
+                    : defCharset);
+        }
+        return charsetName;
+    }
+
+    /**
+     * Returns the number of segments of the message.
+     */
+    public int segmentCount() {
+        indexSegments();
+        return segmentCount;
+    }
+
+    /**
+     * Returns the name of the segment at the specified index.
+     */
+    public String segmentName(int index) {
+        indexSegments();
+        if (index < 0 || index >= segmentCount)
+            throw new IndexOutOfBoundsException("index: " + index);
+        int start = segmentBounds[index << 1];
+        int end = indexOf(fieldSeparator, start, segmentBounds[(index << 1) + 1]);
+        return new String(data, start, end - start);
+    }
+
+    /**
+     * Returns the number of segments with the specified name.
+     */
+    public int countSegments(String name) {
+        indexSegments();
+        int count = 0;
+        for (int i = 0; i < segmentCount; i++)
+            if (isSegment(i, name))
+                count++;
+        return count;
+    }
+
+    public boolean contains(Path path) {
+        return locate(path) != -1L;
+    }
+
+    /**
+     * Returns the value at the specified path, decoded by the charset of the message.
+     *
+     * @param path   path of the value
+     * @param defVal value returned, if the value is absent or empty
+     * @return the value or {@code defVal}
+     */
+    public String get(Path path, String defVal) {
+        long range = locate(path);
+        if (range == -1L || start(range) == end(range))
+            return defVal;
+        if (path.field == 1 && path.isMSH())
+            return String.valueOf((char) fieldSeparator);
+        return toString(range, getCharsetName());
+    }
+
+    public String get(String path, String defVal) {
+        return get(Path.valueOf(path), defVal);
+    }
+
+    /**
+     * Compares the value at the specified path with {@code value}, without decoding the value, if
+     * {@code value} only contains ASCII characters.
+     *
+     * @param path  path of the value
+     * @param value expected value; {@code null} or empty to test for an absent or empty value
+     * @return {@code true} if the value at the specified path equals {@code value}
+     */
+    public boolean matches(Path path, String value) {
+        long range = locate(path);
+        int start = start(range);
+        int len = end(range) - start;
+        if (range == -1L || len == 0)
+            return value == null || value.isEmpty();
+        if (value == null)
+            return false;
+        if (path.field == 1 && path.isMSH())
+            return value.length() == 1 && value.charAt(0) == fieldSeparator;
+        int n = value.length();
+        for (int i = 0; i < n; i++) {
+            char c = value.charAt(i);
+            if (c > 0x7f)
+                return value.equals(toString(range, getCharsetName()));
+            if (i >= len || data[start + i] != c)
+                return false;
+        }
+        return n == len;
+    }
+
+    public boolean matches(String path, String value) {
+        return matches(Path.valueOf(path), value);
+    }
+
+    private long locate(Path path) {
+        int segment = indexOfSegment(path.segment, path.occurrence);
+        if (segment < 0)
+            return -1L;
+
+        int start = segmentBounds[segment << 1];
+        int end = segmentBounds[(segment << 1) + 1];
+        boolean msh = path.isMSH();
+        int field = msh ? path.field - 1 : path.field;
+        if (msh && path.field == 1)
+            return range(start + 3, start + 4);
+
+        start = skip(fieldSeparator, field, start, end);
+        if (start < 0)
+            return -1L;
+        end = indexOf(fieldSeparator, start, end);
+        if (msh && path.field == 2)
+            return range(start, end);
+
+        if (path.repetition > 0 || path.component > 0) {
+            start = skip(repetitionSeparator, Math.max(path.repetition, 1) - 1, start, end);
+            if (start < 0)
+                return -1L;
+            end = indexOf(repetitionSeparator, start, end);
+            if (path.component > 0) {
+                start = skip(componentSeparator, path.component - 1, start, end);
+                if (start < 0)
+                    return -1L;
+                end = indexOf(componentSeparator, start, end);
+                if (path.subcomponent > 0) {
+                    start = skip(subcomponentSeparator, path.subcomponent - 1, start, end);
+                    if (start < 0)
+                        return -1L;
+                    end = indexOf(subcomponentSeparator, start, end);
+                }
+            }
+        }
+        return range(start, end);
+    }
+
+    private static long range(int start, int end) {
+        return ((long) start << 32) | end;
+    }
+
+    private static int start(long range) {
+        return (int) (range >>> 32);
+    }
+
+    private static int end(long range) {
+        return (int) range;
+    }
+
+    /**
+     * Returns the position after the {@code count}-th occurrence of {@code separator} in {@code [start, end)},
+     * or {@code -1}, if there are less occurrences.
+     */
+    private int skip(byte separator, int count, int start, int end) {
+        for (int i = 0; i < count; i++) {
+            int pos = indexOf(separator, start, end);
+            if (pos == end)
+                return -1;
+            start = pos + 1;
+        }
+        return start;
+    }
+
+    private int indexOf(byte b, int start, int end) {
+        while (start < end && data[start] != b)
+            start++;
+        return start;
+    }
+
+    private int indexOfSegment(String name, int occurrence) {
+        indexSegments();
+        for (int i = 0; i < segmentCount; i++)
+            if (isSegment(i, name) && --occurrence == 0)
+                return i;
+        return -1;
+    }
+
+    private boolean isSegment(int index, String name) {
+        int start = segmentBounds[index << 1];
+        int end = segmentBounds[(index << 1) + 1];
+        int n = name.length();
+        if (end - start < n || (end - start > n && data[start + n] != fieldSeparator))
+            return false;
+        for (int i = 0; i < n; i++)
+            if (data[start + i] != name.charAt(i))
+                return false;
+        return true;
+    }
+
+    private void indexSegments() {
+        if (segmentBounds != null)
+            return;
+
+        int[] bounds = new int[32];
+        int count = 0;
+        int pos = 0;
+        while (pos < length) {
+            int end = pos;
+            while (end < length && data[end] != '\r' && data[end] != '\n')
+                end++;
+            if (end > pos) {
+                if ((count << 1) == bounds.length)
+                    bounds = Arrays.copyOf(bounds, bounds.length << 1);
+                bounds[count << 1] = pos;
+                bounds[(count << 1) + 1] = end;
+                count++;
+            }
+            pos = end + 1;
+        }
+        segmentBounds = bounds;
+        segmentCount = count;
+    }
+
+    private String toString(long range, String charsetName) {
+        int start = start(range);
+        int len = end(range) - start;
+        try {
+            return charsetName != null
+                    ? new String(data, start, len, charsetName)
+                    : new String(data, start, len);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalArgumentException("charsetName: " + charsetName);
+        }
+    }
+
+    /**
+     * Path to a value of a HL7 message in the form
+     * {@code SEG[(occurrence)]-field[(repetition)][.component[.subcomponent]]}, with 1-based field numbers as
+     * specified by HL7, so {@code MSH-1} is the field separator and {@code MSH-2} are the encoding characters.
+     * Without repetition and component, the path addresses the whole field including all repetitions; without
+     * repetition, but with component, the first repetition. Examples: {@code MSH-9.1}, {@code PID-3(2).1},
+     * {@code OBX(3)-5}.
+     *
+     * <p> Paths are immutable and may be shared by threads, so frequently used paths should be created once.
+     */
+    public static final class Path {
+        final String segment;
+        final int occurrence;
+        final int field;
+        final int repetition;
+        final int component;
+        final int subcomponent;
+        private final String value;
+
+        private Path(String value, String segment, int occurrence, int field, int repetition,
+                int component, int subcomponent) {
+            this.value = value;
+            this.segment = segment;
+            this.occurrence = occurrence;
+            this.field = field;
+            this.repetition = repetition;
+            this.component = component;
+            this.subcomponent = subcomponent;
+        }
+
+        /**
+         * @throws IllegalArgumentException if {@code s} is not a valid path
+         */
+        public static Path valueOf(String s) {
+            try {
+                int dash = s.indexOf('-');
+                String segment = s.substring(0, dash);
+                int occurrence = 1;
+                int paren = segment.indexOf('(');
+                if (paren > 0) {
+                    occurrence = positive(enclosed(segment, paren, s), s);
+                    segment = segment.substring(0, paren);
+                }
+                if (segment.isEmpty())
+                    throw new IllegalArgumentException(s);
+                String[] ss = s.substring(dash + 1).split("\\.", -1);
+                if (ss.length > 3)
+                    throw new IllegalArgumentException(s);
+                String fieldRep = ss[0];
+                int repetition = 0;
+                paren = fieldRep.indexOf('(');
+                if (paren > 0) {
+                    repetition = positive(enclosed(fieldRep, paren, s), s);
+                    fieldRep = fieldRep.substring(0, paren);
+                }
+                return new Path(s, segment, occurrence, positive(fieldRep, s), repetition,
+                        ss.length > 1 ? positive(ss[1], s) : 0,
+                        ss.length > 2 ? positive(ss[2], s) : 0);
+            } catch (IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException(s);
+            }
+        }
+
+        private static String enclosed(String s, int paren, String path) {
+            if (s.charAt(s.length() - 1) != ')')
+                throw new IllegalArgumentException(path);
+            return s.substring(paren + 1, s.length() - 1);
+        }
+
+        private static int positive(String s, String path) {
+            int i;
+            try {
+                i = Integer.parseInt(s);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(path);
+            }
+            if (i <= 0)
+                throw new IllegalArgumentException(path);
+            return i;
+        }
+
+        boolean isMSH() {
+            return segment.equals("MSH");
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+}
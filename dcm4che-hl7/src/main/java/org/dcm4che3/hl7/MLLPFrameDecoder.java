@@ -0,0 +1,167 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.hl7;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Extracts MLLP framed messages from received bytes, which are appended in arbitrary chunks by
+ * {@link #put(ByteBuffer)} or {@link #readFrom(InputStream, int)}, without blocking for the remainder of a
+ * message. Counterpart of {@link MLLPInputStream} for non-blocking transports.
+ *
+ * <p> Bytes already scanned for the End Block character are not scanned again, if the message is not yet
+ * complete.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class MLLPFrameDecoder {
+
+    private static final int SOM = 0x0b; // Start of Message
+    private static final int EOM1 = 0x1c; // End of Message Byte 1
+    private static final int EOM2 = 0x0d; // End of Message Byte 2
+
+    private final int maxMessageLength;
+    private byte[] buf;
+    private int start;
+    private int scan;
+    private int end;
+
+    /**
+     * @param initialCapacity  initial capacity of the receive buffer
+     * @param maxMessageLength maximal length of a message, excluding the framing characters
+     */
+    public MLLPFrameDecoder(int initialCapacity, int maxMessageLength) {
+        if (initialCapacity <= 0)
+            throw new IllegalArgumentException("initialCapacity: " + initialCapacity);
+        if (maxMessageLength <= 0)
+            throw new IllegalArgumentException("maxMessageLength: " + maxMessageLength);
+        this.buf = new byte[initialCapacity];
+        this.maxMessageLength = maxMessageLength;
+    }
+
+    public int getMaxMessageLength() {
+        return maxMessageLength;
+    }
+
+    /**
+     * Returns the number of received bytes not yet returned by {@link #nextMessage()}.
+     */
+    public int buffered() {
+        return end - start;
+    }
+
+    public void put(ByteBuffer src) {
+        int n = src.remaining();
+        ensureCapacity(n);
+        src.get(buf, end, n);
+        end += n;
+    }
+
+    /**
+     * Reads up to {@code len} bytes from {@code in}. Does not block, if {@code len} does not exceed
+     * {@code in.available()}.
+     *
+     * @return number of bytes read, or {@code -1} if the end of the stream is reached
+     */
+    public int readFrom(InputStream in, int len) throws IOException {
+        ensureCapacity(len);
+        int n = in.read(buf, end, len);
+        if (n > 0)
+            end += n;
+        return n;
+    }
+
+    /**
+     * Returns the next complete message, without the framing characters.
+     *
+     * @return the next message or {@code null}, if no complete message was received
+     * @throws IOException if the received bytes violate the MLLP framing, or the message exceeds the maximal length
+     */
+    public byte[] nextMessage() throws IOException {
+        if (start == end)
+            return null;
+
+        if (buf[start] != SOM)
+            throw new IOException("Missing Start Block character");
+
+        if (scan <= start)
+            scan = start + 1;
+        // End Block may follow a message of maximal length
+        int limit = (int) Math.min(end, start + 2L + maxMessageLength);
+        for (; scan < limit; scan++) {
+            if (buf[scan] == EOM1) {
+                if (scan + 1 == end)
+                    return null;
+                if (buf[scan + 1] != EOM2)
+                    throw new IOException("1CH followed by "
+                            + Integer.toHexString(buf[scan + 1] & 0xff) + "H instead by 0DH");
+                byte[] msg = Arrays.copyOfRange(buf, start + 1, scan);
+                start = scan + 2;
+                if (start == end)
+                    start = end = 0;
+                scan = start;
+                return msg;
+            }
+        }
+        if (end - start >= 2L + maxMessageLength)
+            throw new IOException("MLLP message exceeds maximal length: " + maxMessageLength);
+        return null;
+    }
+
+    private void ensureCapacity(int n) {
+        if (end + n <= buf.length)
+            return;
+
+        int buffered = end - start;
+        if (buffered + n > buf.length)
+            buf = Arrays.copyOfRange(buf, start, Math.max(buf.length << 1, buffered + n));
+        else
+            System.arraycopy(buf, start, buf, 0, buffered);
+        scan -= start;
+        end = buffered;
+        start = 0;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.hl7;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class HL7MessageViewTest {
+
+    private static final String MSH =
+            "MSH|^~\\&|SEND|FAC|RECV|RFAC|20260101120000||ADT^A08^ADT_A01|CTRL42|P|2.5||||||";
+    private static final String SEGMENTS = "\r"
+            + "EVN|A08|20260101\r\n"
+            + "PID|||4711^^^HOSP&1.2.3&ISO^MR~0815^^^OTHER^PI||Müller^Hans^^^Dr.||19700101|M\r"
+            + "OBX|1|ST|CODE1||v1\r"
+            + "OBX|2|ST|CODE2||v2\r";
+
+    private static byte[] message(String msh18) {
+        return (MSH + msh18 + SEGMENTS).getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    public void testFieldsEqualHL7Segment() throws Exception {
+        byte[] b = message("8859/1");
+        HL7MessageView view = new HL7MessageView(b, null);
+        HL7Message msg = HL7Message.parse(b, null);
+        HL7Segment msh = msg.get(0);
+        for (int i = 3; i <= 18; i++)
+            assertEquals("MSH-" + i, msh.getField(i - 1, null), view.get("MSH-" + i, null));
+        HL7Segment pid = msg.getSegment("PID");
+        for (int i = 1; i <= 9; i++)
+            assertEquals("PID-" + i, pid.getField(i, null), view.get("PID-" + i, null));
+        assertEquals(msg.getSegment("EVN").getField(1, null), view.get("EVN-1", null));
+    }
+
+    @Test
+    public void testSegments() {
+        HL7MessageView view = new HL7MessageView(message("8859/1"), null);
+        assertEquals(5, view.segmentCount());
+        assertEquals("MSH", view.segmentName(0));
+        assertEquals("EVN", view.segmentName(1));
+        assertEquals(2, view.countSegments("OBX"));
+        assertEquals(0, view.countSegments("ZZZ"));
+        assertEquals("v1", view.get("OBX-5", null));
+        assertEquals("v2", view.get("OBX(2)-5", null));
+        assertNull(view.get("OBX(3)-5", null));
+        assertNull(view.get("ZZZ-1", null));
+    }
+
+    @Test
+    public void testEncodingCharacters() {
+        HL7MessageView view = new HL7MessageView(message("8859/1"), null);
+        assertEquals('|', view.getFieldSeparator());
+        assertEquals("^~\\&", view.getEncodingCharacters());
+        assertEquals("|", view.get("MSH-1", null));
+        assertEquals("^~\\&", view.get("MSH-2", null));
+    }
+
+    @Test
+    public void testComponents() {
+        HL7MessageView view = new HL7MessageView(message("8859/1"), null);
+        assertEquals("ADT", view.get("MSH-9.1", null));
+        assertEquals("A08", view.get("MSH-9.2", null));
+        assertNull(view.get("MSH-9.4", null));
+        assertEquals("4711", view.get("PID-3.1", null));
+        assertEquals("4711^^^HOSP&1.2.3&ISO^MR", view.get("PID-3(1)", null));
+        assertEquals("0815", view.get("PID-3(2).1", null));
+        assertEquals("OTHER", view.get("PID-3(2).4", null));
+        assertNull(view.get("PID-3(3)", null));
+        assertEquals("HOSP&1.2.3&ISO", view.get("PID-3.4", null));
+        assertEquals("HOSP", view.get("PID-3.4.1", null));
+        assertEquals("1.2.3", view.get("PID-3.4.2", null));
+        assertEquals("Müller", view.get("PID-5.1", null));
+        assertEquals("default", view.get("PID-4", "default"));
+    }
+
+    @Test
+    public void testMatches() {
+        HL7MessageView view = new HL7MessageView(message("8859/1"), null);
+        assertTrue(view.matches("MSH-9.2", "A08"));
+        assertFalse(view.matches("MSH-9.2", "A0"));
+        assertFalse(view.matches("MSH-9.2", "A081"));
+        assertTrue(view.matches("PID-5.1", "Müller"));
+        assertTrue(view.matches("PID-4", null));
+        assertTrue(view.matches("PID-99", ""));
+        assertTrue(view.matches("MSH-1", "|"));
+        assertTrue(view.contains(HL7MessageView.Path.valueOf("EVN-1")));
+        assertFalse(view.contains(HL7MessageView.Path.valueOf("EVN-9")));
+    }
+
+    @Test
+    public void testCharsetName() throws Exception {
+        assertCharsetName("8859/1", null, "ISO-8859-1");
+        assertCharsetName("UNICODE UTF-8", "8859/1", "UTF-8");
+    }
+
+    @Test
+    public void testEmptyCharsetFallsBackToDefault() throws Exception {
+        assertCharsetName("", "8859/1", "ISO-8859-1");
+        assertCharsetName("", "UNICODE UTF-8", "UTF-8");
+    }
+
+    private static void assertCharsetName(String msh18, String defCharset, String expected) throws Exception {
+        byte[] b = message(msh18);
+        HL7MessageView view = new HL7MessageView(b, defCharset);
+        assertEquals(expected, view.getCharsetName());
+        assertEquals(HL7Charset.toCharsetName(HL7Message.parse(b, defCharset).get(0).getField(17, defCharset)),
+                view.getCharsetName());
+    }
+
+    @Test
+    public void testLength() {
+        byte[] b = message("8859/1");
+        int length = (MSH + "8859/1\r").length();
+        HL7MessageView view = new HL7MessageView(b, length, null);
+        assertEquals(1, view.segmentCount());
+        assertNull(view.get("EVN-1", null));
+    }
+
+    @Test
+    public void testInvalidPath() {
+        for (String path : new String[] { "PID", "PID-", "PID-0", "PID-3(2", "PID-3.1.2.3", "-3", "PID(0)-1", "PID-x" }) {
+            try {
+                HL7MessageView.Path.valueOf(path);
+                fail("IllegalArgumentException expected for " + path);
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.hl7;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class MLLPFrameDecoderTest {
+
+    private static final String MSG1 = "MSH|^~\\&|SEND|FAC|RECV|RFAC|||ADT^A08|1|P|2.5\r";
+    private static final String MSG2 = "MSH|^~\\&|SEND|FAC|RECV|RFAC|||ADT^A08|2|P|2.5\rPID|||4711\r";
+
+    private static byte[] frame(String... msgs) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (String msg : msgs) {
+            out.write(0x0b);
+            byte[] b = msg.getBytes(StandardCharsets.US_ASCII);
+            out.write(b, 0, b.length);
+            out.write(0x1c);
+            out.write(0x0d);
+        }
+        return out.toByteArray();
+    }
+
+    private static String next(MLLPFrameDecoder decoder) throws IOException {
+        byte[] msg = decoder.nextMessage();
+        return msg != null ? new String(msg, StandardCharsets.US_ASCII) : null;
+    }
+
+    @Test
+    public void testSplitFrame() throws Exception {
+        byte[] b = frame(MSG1);
+        for (int split = 1; split < b.length; split++) {
+            MLLPFrameDecoder decoder = new MLLPFrameDecoder(16, 1024);
+            decoder.put(ByteBuffer.wrap(b, 0, split));
+            assertNull(next(decoder));
+            decoder.put(ByteBuffer.wrap(b, split, b.length - split));
+            assertEquals(MSG1, next(decoder));
+            assertNull(next(decoder));
+            assertEquals(0, decoder.buffered());
+        }
+    }
+
+    @Test
+    public void testByteByByte() throws Exception {
+        byte[] b = frame(MSG1, MSG2);
+        MLLPFrameDecoder decoder = new MLLPFrameDecoder(4, 1024);
+        int received = 0;
+        for (byte value : b) {
+            decoder.put(ByteBuffer.wrap(new byte[] { value }));
+            String msg = next(decoder);
+            if (msg != null)
+                assertEquals(received++ == 0 ? MSG1 : MSG2, msg);
+        }
+        assertEquals(2, received);
+    }
+
+    @Test
+    public void testSeveralMessagesInOneRead() throws Exception {
+        MLLPFrameDecoder decoder = new MLLPFrameDecoder(1024, 1024);
+        decoder.put(ByteBuffer.wrap(frame(MSG1, MSG2, MSG1)));
+        assertEquals(MSG1, next(decoder));
+        assertEquals(MSG2, next(decoder));
+        assertEquals(MSG1, next(decoder));
+        assertNull(next(decoder));
+    }
+
+    @Test
+    public void testReadFrom() throws Exception {
+        byte[] b = frame(MSG1, MSG2);
+        ByteArrayInputStream in = new ByteArrayInputStream(b);
+        MLLPFrameDecoder decoder = new MLLPFrameDecoder(8, 1024);
+        assertEquals(10, decoder.readFrom(in, 10));
+        assertNull(next(decoder));
+        assertEquals(b.length - 10, decoder.readFrom(in, in.available()));
+        assertEquals(MSG1, next(decoder));
+        assertEquals(MSG2, next(decoder));
+        assertEquals(-1, decoder.readFrom(in, 1));
+    }
+
+    @Test(expected = IOException.class)
+    public void testBytesBeforeStartBlock() throws Exception {
+        MLLPFrameDecoder decoder = new MLLPFrameDecoder(1024, 1024);
+        byte[] b = frame(MSG1);
+        decoder.put(ByteBuffer.wrap(new byte[] { 'X' }));
+        decoder.put(ByteBuffer.wrap(b));
+        decoder.nextMessage();
+    }
+
+    @Test(expected = IOException.class)
+    public void testBytesBetweenMessages() throws Exception {
+        MLLPFrameDecoder decoder = new MLLPFrameDecoder(1024, 1024);
+        decoder.put(ByteBuffer.wrap(frame(MSG1)));
+        decoder.put(ByteBuffer.wrap(new byte[] { '\r' }));
+        decoder.put(ByteBuffer.wrap(frame(MSG2)));
+        assertEquals(MSG1, next(decoder));
+        decoder.nextMessage();
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidSecondEndBlockByte() throws Exception {
+        byte[] b = frame(MSG1);
+        b[b.length - 1] = 'X';
+        MLLPFrameDecoder decoder = new MLLPFrameDecoder(1024, 1024);
+        decoder.put(ByteBuffer.wrap(b));
+        decoder.nextMessage();
+    }
+
+    @Test
+    public void testMaxMessageLength() throws Exception {
+        int maxLength = MSG1.length();
+        MLLPFrameDecoder decoder = new MLLPFrameDecoder(16, maxLength);
+        decoder.put(ByteBuffer.wrap(frame(MSG1, MSG1)));
+        assertEquals(MSG1, next(decoder));
+        assertEquals(MSG1, next(decoder));
+    }
+
+    @Test
+    public void testExceedsMaxMessageLength() throws Exception {
+        int maxLength = MSG1.length() - 1;
+        byte[] b = frame(MSG1);
+        MLLPFrameDecoder decoder = new MLLPFrameDecoder(16, maxLength);
+        // message of maximal length without End Block
+        decoder.put(ByteBuffer.wrap(b, 0, 1 + maxLength));
+        assertNull(next(decoder));
+        decoder.put(ByteBuffer.wrap(b, 1 + maxLength, 1));
+        try {
+            decoder.nextMessage();
+            fail("IOException expected");
+        } catch (IOException expected) {
+        }
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        byte[] b = frame(MSG1);
+        int capacity = b.length + b.length / 2;
+        MLLPFrameDecoder decoder = new MLLPFrameDecoder(capacity, 1024);
+        int half = b.length / 2;
+        decoder.put(ByteBuffer.wrap(b));
+        decoder.put(ByteBuffer.wrap(b, 0, half));
+        assertEquals(MSG1, next(decoder));
+        assertNull(next(decoder));
+        assertEquals(half, decoder.buffered());
+        // remainder does not fit behind the buffered bytes, but after moving them to the start of the buffer
+        for (int i = 0; i < 100; i++) {
+            decoder.put(ByteBuffer.wrap(b, half, b.length - half));
+            decoder.put(ByteBuffer.wrap(b, 0, half));
+            assertEquals(MSG1, next(decoder));
+            assertNull(next(decoder));
+            assertEquals(half, decoder.buffered());
+        }
+    }
+}
@@ -75,6 +75,9 @@ public class BufferedImageUtils {
         if (cm instanceof PaletteColorModel)
             return ((PaletteColorModel) cm).convertToIntDiscrete(raster);
 
+        if (cm.getColorSpace() instanceof YBRColorSpace && cm.getTransferType() == DataBuffer.TYPE_BYTE)
+            bi = convertYBRtoRGB(bi, null);
+
         BufferedImage intRGB = new BufferedImage(bi.getWidth(), bi.getHeight(), BufferedImage.TYPE_INT_RGB);
         Graphics graphics = intRGB.getGraphics();
         try {
@@ -108,6 +111,10 @@ public class BufferedImageUtils {
         WritableRaster raster = src.getRaster();
         ColorSpace cs = src.getColorModel().getColorSpace();
         ColorSpace dstcs = dst.getColorModel().getColorSpace();
+        if (cs instanceof YBRColorSpace && dstcs.isCS_sRGB() && isPixelInterleaved(rasterDst)
+                && convertYBRtoRGB(((YBRColorSpace) cs).getYBR(), raster, rasterDst))
+            return dst;
+
         byte[] ba = new byte[3];
         float[] fba = new float[3];
         for (int y = 0; y < height; y++) {
@@ -127,6 +134,46 @@ public class BufferedImageUtils {
         return dst;
     }
 
+    private static boolean convertYBRtoRGB(YBR ybr, Raster raster, WritableRaster rasterDst) {
+        int width = raster.getWidth();
+        int height = raster.getHeight();
+        PixelInterleavedSampleModel dstsm = (PixelInterleavedSampleModel) rasterDst.getSampleModel();
+        byte[] dest = ((DataBufferByte) rasterDst.getDataBuffer()).getData();
+        int destPos = rasterDst.getDataBuffer().getOffset();
+        int destStride = dstsm.getScanlineStride();
+        SampleModel sm = raster.getSampleModel();
+        if (sm instanceof SampledComponentSampleModel && isUntranslated(raster)) {
+            ColorSubsampling subsampling = ((SampledComponentSampleModel) sm).getSubsampling();
+            byte[] src = ((DataBufferByte) raster.getDataBuffer()).getData();
+            for (int y = 0; y < height; y++, destPos += destStride)
+                ybr.toRGB(subsampling, src, y, width, dest, destPos);
+            return true;
+        }
+        if (isPixelInterleaved(raster)) {
+            byte[] src = ((DataBufferByte) raster.getDataBuffer()).getData();
+            int srcPos = raster.getDataBuffer().getOffset();
+            int srcStride = ((PixelInterleavedSampleModel) sm).getScanlineStride();
+            for (int y = 0; y < height; y++, srcPos += srcStride, destPos += destStride)
+                ybr.toRGB(src, srcPos, dest, destPos, width);
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isPixelInterleaved(Raster raster) {
+        SampleModel sm = raster.getSampleModel();
+        if (!(sm instanceof PixelInterleavedSampleModel) || sm.getDataType() != DataBuffer.TYPE_BYTE
+                || !isUntranslated(raster) || raster.getDataBuffer().getNumBanks() != 1)
+            return false;
+
+        PixelInterleavedSampleModel pism = (PixelInterleavedSampleModel) sm;
+        return pism.getPixelStride() == 3 && Arrays.equals(pism.getBandOffsets(), new int[]{ 0, 1, 2 });
+    }
+
+    private static boolean isUntranslated(Raster raster) {
+        return raster.getSampleModelTranslateX() == 0 && raster.getSampleModelTranslateY() == 0;
+    }
+
     public static BufferedImage convertPalettetoRGB(BufferedImage src, BufferedImage dst) {
         ColorModel pcm = src.getColorModel();
         if (!(pcm instanceof PaletteColorModel || pcm instanceof IndexColorModel)) {
@@ -195,6 +242,15 @@ public class BufferedImageUtils {
                         null),
                 false,
                 null);
+        ColorModel cm = bi.getColorModel();
+        if (cm.getColorSpace() instanceof YBRColorSpace
+                && cm.getTransferType() == DataBuffer.TYPE_BYTE
+                && colorModel.getColorSpace().isCS_sRGB()
+                && colorModel.getPixelSize() == 24
+                && isPixelInterleaved(dest.getRaster())
+                && convertYBRtoRGB(((YBRColorSpace) cm.getColorSpace()).getYBR(), bi.getRaster(), dest.getRaster()))
+            return dest;
+
         new ColorConvertOp(null).filter(bi, dest);
         return dest;
     }
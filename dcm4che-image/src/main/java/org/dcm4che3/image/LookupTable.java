@@ -51,6 +51,21 @@ import java.awt.image.Raster;
  */
 public abstract class LookupTable {
 
+    /**
+     * All 8 and 16 bit sample values. Looking them up gives the output value of each possible input sample, so
+     * rasters can be looked up by indexing that table by the unmasked sample value, instead of extracting the
+     * stored value, subtracting the offset and clamping the index for each pixel. Used for all 8 bit rasters
+     * and for 16 bit rasters with at least as many pixels as possible sample values.
+     */
+    private static final byte[] RAMP8 = new byte[1 << 8];
+    private static final short[] RAMP16 = new short[1 << 16];
+    static {
+        for (int i = 0; i < RAMP8.length; i++)
+            RAMP8[i] = (byte) i;
+        for (int i = 0; i < RAMP16.length; i++)
+            RAMP16[i] = (short) i;
+    }
+
     protected StoredValue inBits;
     protected int outBits;
     protected int offset;
@@ -120,8 +135,11 @@ public abstract class LookupTable {
         int h = sm.getHeight();
         int stride = sm.getScanlineStride();
         int destStride = destsm.getScanlineStride();
+        byte[] table = new byte[RAMP8.length];
+        lookup(RAMP8, 0, table, 0, table.length);
         for (int y = 0; y < h; y++)
-            lookup(src, y * stride, dest, y * destStride, w);
+            for (int i = y * stride, end = i + w, j = y * destStride; i < end;)
+                dest[j++] = table[src[i++] & 0xff];
     }
 
     private void lookup(ComponentSampleModel sm, short[] src,
@@ -130,8 +148,16 @@ public abstract class LookupTable {
         int h = sm.getHeight();
         int stride = sm.getScanlineStride();
         int destStride = destsm.getScanlineStride();
+        if (w * h < RAMP16.length) {
+            for (int y = 0; y < h; y++)
+                lookup(src, y * stride, dest, y * destStride, w);
+            return;
+        }
+        byte[] table = new byte[RAMP16.length];
+        lookup(RAMP16, 0, table, 0, table.length);
         for (int y = 0; y < h; y++)
-            lookup(src, y * stride, dest, y * destStride, w);
+            for (int i = y * stride, end = i + w, j = y * destStride; i < end;)
+                dest[j++] = table[src[i++] & 0xffff];
     }
 
     private void lookup(ComponentSampleModel sm, byte[] src,
@@ -140,8 +166,11 @@ public abstract class LookupTable {
         int h = sm.getHeight();
         int stride = sm.getScanlineStride();
         int destStride = destsm.getScanlineStride();
+        short[] table = new short[RAMP8.length];
+        lookup(RAMP8, 0, table, 0, table.length);
         for (int y = 0; y < h; y++)
-            lookup(src, y * stride, dest, y * destStride, w);
+            for (int i = y * stride, end = i + w, j = y * destStride; i < end;)
+                dest[j++] = table[src[i++] & 0xff];
     }
 
     private void lookup(ComponentSampleModel sm, short[] src,
@@ -150,8 +179,16 @@ public abstract class LookupTable {
         int h = sm.getHeight();
         int stride = sm.getScanlineStride();
         int destStride = destsm.getScanlineStride();
+        if (w * h < RAMP16.length) {
+            for (int y = 0; y < h; y++)
+                lookup(src, y * stride, dest, y * destStride, w);
+            return;
+        }
+        short[] table = new short[RAMP16.length];
+        lookup(RAMP16, 0, table, 0, table.length);
         for (int y = 0; y < h; y++)
-            lookup(src, y * stride, dest, y * destStride, w);
+            for (int i = y * stride, end = i + w, j = y * destStride; i < end;)
+                dest[j++] = table[src[i++] & 0xffff];
     }
 
     public abstract void lookup(byte[] src, int srcPost,
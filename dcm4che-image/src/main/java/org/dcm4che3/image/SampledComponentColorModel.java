@@ -122,6 +122,9 @@ public class SampledComponentColorModel extends ColorModel {
     public int getRGB(Object inData) {
         byte[] ba = (byte[]) inData;
         ColorSpace cs = getColorSpace();
+        if (cs instanceof YBRColorSpace)
+            return ((YBRColorSpace) cs).getYBR().toRGB(ba[0] & 0xFF, ba[1] & 0xFF, ba[2] & 0xFF);
+
         float[] fba = new float[] { (ba[0] & 0xFF) / 255f,
                 (ba[1] & 0xFF) / 255f, (ba[2] & 0xFF) / 255f };
         float[] rgb = cs.toRGB(fba);
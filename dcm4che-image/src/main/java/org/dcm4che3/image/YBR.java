@@ -90,10 +90,99 @@ public enum YBR {
         1.1644154634373545, 2.017290682233469, -1.3527300480981362E-4, -1.0813536710791642, 
     };
 
+    private static final int[] FROM_YBR_FULL_FIXED = toFixedPoint(FROM_YBR_FULL);
+
+    private static final int[] FROM_YBR_PARTIAL_FIXED = toFixedPoint(FROM_YBR_PARTIAL);
+
     public abstract float[] toRGB(float[] ybr);
 
     public abstract float[] fromRGB(float[] rgb);
 
+    /**
+     * Converts one pixel with 8 bit samples to RGB.
+     *
+     * @param y  Y sample
+     * @param cb Cb sample
+     * @param cr Cr sample
+     * @return RGB value as {@code 0xRRGGBB}
+     */
+    public int toRGB(int y, int cb, int cr) {
+        int[] a = fixedPoint();
+        return toRGB(a, 0, y, cb, cr) << 16 | toRGB(a, 4, y, cb, cr) << 8 | toRGB(a, 8, y, cb, cr);
+    }
+
+    /**
+     * Converts pixels with 8 bit pixel interleaved samples to RGB. Source and destination may be the same array.
+     *
+     * @param src     pixel interleaved Y, Cb, Cr samples
+     * @param srcPos  index of the first sample in {@code src}
+     * @param dest    pixel interleaved R, G, B samples
+     * @param destPos index of the first sample in {@code dest}
+     * @param length  number of pixels
+     */
+    public void toRGB(byte[] src, int srcPos, byte[] dest, int destPos, int length) {
+        int[] a = fixedPoint();
+        for (int i = srcPos, endPos = srcPos + length * 3, j = destPos; i < endPos; i += 3, j += 3) {
+            int y = src[i] & 0xff;
+            int cb = src[i + 1] & 0xff;
+            int cr = src[i + 2] & 0xff;
+            dest[j] = (byte) toRGB(a, 0, y, cb, cr);
+            dest[j + 1] = (byte) toRGB(a, 4, y, cb, cr);
+            dest[j + 2] = (byte) toRGB(a, 8, y, cb, cr);
+        }
+    }
+
+    /**
+     * Converts one row of a frame with horizontally subsampled Cb, Cr samples to pixel interleaved RGB.
+     *
+     * @param subsampling  layout of the frame
+     * @param src          samples of the frame
+     * @param row          index of the row
+     * @param width        number of pixels per row
+     * @param dest         pixel interleaved R, G, B samples
+     * @param destPos      index of the first sample in {@code dest}
+     */
+    public void toRGB(ColorSubsampling subsampling, byte[] src, int row, int width, byte[] dest, int destPos) {
+        int[] a = fixedPoint();
+        int yPos = subsampling.indexOfY(0, row, width);
+        int brPos = subsampling.indexOfBR(0, row, width);
+        int yPairStride = width > 2 ? subsampling.indexOfY(2, row, width) - yPos : 4;
+        for (int x = 0, j = destPos; x < width; x += 2, yPos += yPairStride, brPos += 4) {
+            int cb = src[brPos] & 0xff;
+            int cr = src[brPos + 1] & 0xff;
+            int y = src[yPos] & 0xff;
+            dest[j++] = (byte) toRGB(a, 0, y, cb, cr);
+            dest[j++] = (byte) toRGB(a, 4, y, cb, cr);
+            dest[j++] = (byte) toRGB(a, 8, y, cb, cr);
+            if (x + 1 < width) {
+                y = src[yPos + 1] & 0xff;
+                dest[j++] = (byte) toRGB(a, 0, y, cb, cr);
+                dest[j++] = (byte) toRGB(a, 4, y, cb, cr);
+                dest[j++] = (byte) toRGB(a, 8, y, cb, cr);
+            }
+        }
+    }
+
+    private int[] fixedPoint() {
+        return this == FULL ? FROM_YBR_FULL_FIXED : FROM_YBR_PARTIAL_FIXED;
+    }
+
+    private static int toRGB(int[] a, int i, int y, int cb, int cr) {
+        int v = (a[i] * y + a[i + 1] * cb + a[i + 2] * cr + a[i + 3]) >> 16;
+        return v < 0 ? 0 : v > 255 ? 255 : v;
+    }
+
+    /**
+     * Converts the coefficients to 16.16 fixed point for 8 bit samples, with the constant term scaled to the
+     * sample range and including the rounding of the result.
+     */
+    private static int[] toFixedPoint(double[] a) {
+        int[] fixed = new int[a.length];
+        for (int i = 0; i < a.length; i++)
+            fixed[i] = (int) Math.round((i & 3) == 3 ? (a[i] * 255 + 0.5) * 65536 : a[i] * 65536);
+        return fixed;
+    }
+
     private static float[] convert(float[] in, double[] a) {
         return new float[] {
                 (float) Math.max(0.0, Math.min(1.0,
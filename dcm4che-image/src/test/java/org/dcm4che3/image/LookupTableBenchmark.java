@@ -0,0 +1,162 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.image;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the application of a VOI window LUT on grayscale rasters of different bit depths, pixel
+ * representations and sizes, by {@link LookupTable#lookup(Raster, Raster)} and by looking up each row
+ * separately.
+ * <p>
+ * Not executed by the unit tests; run by
+ * <pre>
+ * mvn -pl dcm4che-image test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.dcm4che3.image.LookupTableBenchmark
+ * </pre>
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupTableBenchmark {
+
+    @Param({"8", "12", "16"})
+    public int bitsStored;
+
+    @Param({"false", "true"})
+    public boolean signed;
+
+    @Param({"512", "1024", "2048", "4096"})
+    public int size;
+
+    @Param({"8", "16"})
+    public int outBits;
+
+    private LookupTable lut;
+    private WritableRaster src;
+    private WritableRaster dest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StoredValue sv = signed ? new StoredValue.Signed(bitsStored) : new StoredValue.Unsigned(bitsStored);
+        int range = sv.maxValue() - sv.minValue() + 1;
+        int offset = sv.minValue() + range / 4;
+        lut = outBits > 8
+                ? new ShortLookupTable(sv, outBits, 0, (1 << outBits) - 1, offset, range / 2, false)
+                : new ByteLookupTable(sv, outBits, 0, (1 << outBits) - 1, offset, range / 2, false);
+        src = Raster.createBandedRaster(bitsStored > 8 ? DataBuffer.TYPE_USHORT : DataBuffer.TYPE_BYTE,
+                size, size, 1, null);
+        dest = Raster.createBandedRaster(outBits > 8 ? DataBuffer.TYPE_USHORT : DataBuffer.TYPE_BYTE,
+                size, size, 1, null);
+        Random rnd = new Random(0);
+        for (int y = 0; y < size; y++)
+            for (int x = 0; x < size; x++)
+                src.setSample(x, y, 0, rnd.nextInt(range));
+    }
+
+    @Benchmark
+    public Raster raster() {
+        lut.lookup(src, dest);
+        return dest;
+    }
+
+    @Benchmark
+    public Raster rows() {
+        int stride = ((ComponentSampleModel) src.getSampleModel()).getScanlineStride();
+        int destStride = ((ComponentSampleModel) dest.getSampleModel()).getScanlineStride();
+        DataBuffer srcBuf = src.getDataBuffer();
+        DataBuffer destBuf = dest.getDataBuffer();
+        for (int y = 0; y < size; y++) {
+            if (srcBuf instanceof DataBufferByte) {
+                if (destBuf instanceof DataBufferByte)
+                    lut.lookup(((DataBufferByte) srcBuf).getData(), y * stride,
+                            ((DataBufferByte) destBuf).getData(), y * destStride, size);
+                else
+                    lut.lookup(((DataBufferByte) srcBuf).getData(), y * stride,
+                            ((DataBufferUShort) destBuf).getData(), y * destStride, size);
+            } else {
+                if (destBuf instanceof DataBufferByte)
+                    lut.lookup(((DataBufferUShort) srcBuf).getData(), y * stride,
+                            ((DataBufferByte) destBuf).getData(), y * destStride, size);
+                else
+                    lut.lookup(((DataBufferUShort) srcBuf).getData(), y * stride,
+                            ((DataBufferUShort) destBuf).getData(), y * destStride, size);
+            }
+        }
+        return dest;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(LookupTableBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
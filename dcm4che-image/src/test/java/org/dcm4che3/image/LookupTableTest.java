@@ -0,0 +1,178 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.image;
+
+import org.junit.Test;
+
+import java.awt.Point;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferShort;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that looking up rasters by a table indexed by the raw sample value returns the same values as the
+ * lookup of each pixel.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class LookupTableTest {
+
+    // more pixels than 16 bit sample values, to use the table indexed by the raw sample value
+    private static final int LARGE_WIDTH = 300;
+    private static final int LARGE_HEIGHT = 256;
+    private static final int SMALL_WIDTH = 30;
+    private static final int SMALL_HEIGHT = 20;
+    private static final int PADDING = 3;
+
+    private final Random random = new Random(4711);
+
+    @Test
+    public void testLookupByte() {
+        for (StoredValue inBits : storedValues(8))
+            for (LookupTable lut : lookupTables(inBits)) {
+                testLookup(lut, DataBuffer.TYPE_BYTE, LARGE_WIDTH, LARGE_HEIGHT);
+                testLookup(lut, DataBuffer.TYPE_BYTE, SMALL_WIDTH, SMALL_HEIGHT);
+            }
+    }
+
+    @Test
+    public void testLookupUShort() {
+        for (int bitsStored : new int[]{ 8, 12, 16 })
+            for (StoredValue inBits : storedValues(bitsStored))
+                for (LookupTable lut : lookupTables(inBits)) {
+                    testLookup(lut, DataBuffer.TYPE_USHORT, LARGE_WIDTH, LARGE_HEIGHT);
+                    testLookup(lut, DataBuffer.TYPE_USHORT, SMALL_WIDTH, SMALL_HEIGHT);
+                }
+    }
+
+    @Test
+    public void testLookupShort() {
+        for (int bitsStored : new int[]{ 8, 12, 16 })
+            for (StoredValue inBits : storedValues(bitsStored))
+                for (LookupTable lut : lookupTables(inBits)) {
+                    testLookup(lut, DataBuffer.TYPE_SHORT, LARGE_WIDTH, LARGE_HEIGHT);
+                    testLookup(lut, DataBuffer.TYPE_SHORT, SMALL_WIDTH, SMALL_HEIGHT);
+                }
+    }
+
+    private static StoredValue[] storedValues(int bitsStored) {
+        return new StoredValue[]{ new StoredValue.Unsigned(bitsStored), new StoredValue.Signed(bitsStored) };
+    }
+
+    /**
+     * Returns lookup tables covering only the middle of the range of stored values, so lower and higher stored
+     * values are clamped to the first and the last entry.
+     */
+    private LookupTable[] lookupTables(StoredValue inBits) {
+        int range = inBits.maxValue() - inBits.minValue() + 1;
+        int offset = inBits.minValue() + range / 4;
+        byte[] byteLUT = new byte[range / 2];
+        short[] shortLUT = new short[range / 2];
+        random.nextBytes(byteLUT);
+        for (int i = 0; i < shortLUT.length; i++)
+            shortLUT[i] = (short) random.nextInt(1 << 12);
+        return new LookupTable[]{
+                new ByteLookupTable(inBits, 8, offset, byteLUT),
+                new ShortLookupTable(inBits, 12, offset, shortLUT)
+        };
+    }
+
+    private void testLookup(LookupTable lut, int srcDataType, int width, int height) {
+        Raster src = createRaster(srcDataType, width, height);
+        DataBuffer srcData = src.getDataBuffer();
+        for (int i = 0, n = srcData.getSize(); i < n; i++)
+            srcData.setElem(i, random.nextInt(srcDataType == DataBuffer.TYPE_BYTE ? 1 << 8 : 1 << 16));
+        for (int destDataType : new int[]{ DataBuffer.TYPE_BYTE, DataBuffer.TYPE_USHORT }) {
+            WritableRaster dest = createRaster(destDataType, width, height);
+            lut.lookup(src, dest);
+            DataBuffer expected = lookupEachRow(lut, src, destDataType);
+            DataBuffer actual = dest.getDataBuffer();
+            for (int i = 0, n = actual.getSize(); i < n; i++)
+                if (expected.getElem(i) != actual.getElem(i))
+                    fail(lut.getClass().getSimpleName() + " " + lut.inBits.getClass().getSimpleName()
+                            + " " + srcDataType + "->" + destDataType + " " + width + "x" + height
+                            + " differs at " + i + ": expected " + expected.getElem(i)
+                            + " but was " + actual.getElem(i));
+        }
+    }
+
+    private static WritableRaster createRaster(int dataType, int width, int height) {
+        int stride = width + PADDING;
+        ComponentSampleModel sm = new ComponentSampleModel(dataType, width, height, 1, stride, new int[]{ 0 });
+        return Raster.createWritableRaster(sm, new Point());
+    }
+
+    private static DataBuffer lookupEachRow(LookupTable lut, Raster src, int destDataType) {
+        int width = src.getWidth();
+        int height = src.getHeight();
+        int stride = width + PADDING;
+        DataBuffer srcData = src.getDataBuffer();
+        DataBuffer dest = createRaster(destDataType, width, height).getDataBuffer();
+        for (int y = 0; y < height; y++) {
+            int pos = y * stride;
+            if (srcData instanceof DataBufferByte) {
+                byte[] b = ((DataBufferByte) srcData).getData();
+                if (dest instanceof DataBufferByte)
+                    lut.lookup(b, pos, ((DataBufferByte) dest).getData(), pos, width);
+                else
+                    lut.lookup(b, pos, ((DataBufferUShort) dest).getData(), pos, width);
+            } else {
+                short[] s = srcData instanceof DataBufferShort
+                        ? ((DataBufferShort) srcData).getData()
+                        : ((DataBufferUShort) srcData).getData();
+                if (dest instanceof DataBufferByte)
+                    lut.lookup(s, pos, ((DataBufferByte) dest).getData(), pos, width);
+                else
+                    lut.lookup(s, pos, ((DataBufferUShort) dest).getData(), pos, width);
+            }
+        }
+        return dest;
+    }
+}
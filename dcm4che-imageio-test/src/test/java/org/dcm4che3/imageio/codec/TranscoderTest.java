@@ -49,18 +49,28 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Fragments;
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.UID;
 import org.dcm4che3.data.VR;
+import org.dcm4che3.data.Value;
 import org.dcm4che3.imageio.codec.jpeg.JPEGParser;
 import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.util.ByteUtils;
 import org.dcm4che3.util.UIDUtils;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
@@ -239,6 +249,116 @@ public class TranscoderTest {
         }
     }
 
+    @Test
+    public void testCompressMFWithBasicOffsetTable() throws Exception {
+        File ofile = test("US-PAL-8-10x-echo", "US-PAL-8-10x-echo-bot.dcm", UID.JPEGLSNearLossless,
+                Transcoder.OffsetTable.BASIC);
+        Attributes attrs = readDataset(ofile);
+        Fragments frags = (Fragments) attrs.getValue(Tag.PixelData);
+        byte[] bot = (byte[]) frags.get(0);
+        assertEquals(4 * (frags.size() - 1), bot.length);
+        long offset = 0;
+        for (int i = 1; i < frags.size(); i++) {
+            assertEquals(offset, ByteUtils.bytesToIntLE(bot, (i - 1) * 4) & 0xffffffffL);
+            offset += 8 + ((byte[]) frags.get(i)).length;
+        }
+    }
+
+    @Test
+    public void testCompressMFWithBasicOffsetTableExceedingLimit() throws Exception {
+        final File ifile = new File("target/test-data/US-PAL-8-10x-echo");
+        final File ofile = new File("target/test-out/US-PAL-8-10x-echo-bot-exceeded.dcm");
+        Transcoder.Handler handler = new Transcoder.Handler() {
+            @Override
+            public OutputStream newOutputStream(Transcoder transcoder, Attributes dataset) throws IOException {
+                return new FileOutputStream(ofile);
+            }
+        };
+        try (Transcoder transcoder = new Transcoder(ifile)) {
+            transcoder.setIncludeFileMetaInformation(true);
+            transcoder.setDestinationTransferSyntax(UID.JPEGLSNearLossless);
+            transcoder.setOffsetTable(Transcoder.OffsetTable.BASIC);
+            transcoder.maxBasicOffset = 0;
+            transcoder.transcode(handler);
+            fail("IOException expected");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().startsWith("Offset of frame #2 exceeds"));
+        }
+    }
+
+    @Test
+    public void testCompressMFWithExtendedOffsetTable() throws Exception {
+        File ofile = test("US-PAL-8-10x-echo", "US-PAL-8-10x-echo-eot.dcm", UID.JPEGLSNearLossless,
+                Transcoder.OffsetTable.EXTENDED);
+        Attributes attrs = readDataset(ofile);
+        Fragments frags = (Fragments) attrs.getValue(Tag.PixelData);
+        assertSame(Value.NULL, frags.get(0));
+        byte[] offsets = attrs.getBytes(Tag.ExtendedOffsetTable);
+        byte[] lengths = attrs.getBytes(Tag.ExtendedOffsetTableLengths);
+        assertEquals(8 * (frags.size() - 1), offsets.length);
+        assertEquals(8 * (frags.size() - 1), lengths.length);
+        long offset = 0;
+        for (int i = 1; i < frags.size(); i++) {
+            int length = ((byte[]) frags.get(i)).length;
+            assertEquals(offset, ByteUtils.bytesToLongLE(offsets, (i - 1) * 8));
+            assertEquals(length, ByteUtils.bytesToLongLE(lengths, (i - 1) * 8));
+            offset += 8 + length;
+        }
+    }
+
+    @Test
+    public void testCompressMFConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            File ofile = test("US-PAL-8-10x-echo", "US-PAL-8-10x-echo-seq.dcm", UID.JPEGLSNearLossless,
+                    Transcoder.OffsetTable.EXTENDED, null);
+            File ofile2 = test("US-PAL-8-10x-echo", "US-PAL-8-10x-echo-par.dcm", UID.JPEGLSNearLossless,
+                    Transcoder.OffsetTable.EXTENDED, executor);
+            Attributes attrs = readDataset(ofile);
+            Attributes attrs2 = readDataset(ofile2);
+            Fragments frags = (Fragments) attrs.getValue(Tag.PixelData);
+            Fragments frags2 = (Fragments) attrs2.getValue(Tag.PixelData);
+            assertEquals(frags.size(), frags2.size());
+            for (int i = 1; i < frags.size(); i++)
+                assertArrayEquals((byte[]) frags.get(i), (byte[]) frags2.get(i));
+            assertArrayEquals(attrs.getBytes(Tag.ExtendedOffsetTable), attrs2.getBytes(Tag.ExtendedOffsetTable));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Attributes readDataset(File file) throws IOException {
+        try (DicomInputStream dis = new DicomInputStream(file)) {
+            return dis.readDataset();
+        }
+    }
+
+    private File test(String ifname, String ofname, String outts, Transcoder.OffsetTable offsetTable)
+            throws IOException {
+        return test(ifname, ofname, outts, offsetTable, null);
+    }
+
+    private File test(String ifname, String ofname, String outts, Transcoder.OffsetTable offsetTable,
+            Executor executor) throws IOException {
+        final File ifile = new File("target/test-data/" + ifname);
+        final File ofile = new File("target/test-out/" + ofname);
+        Transcoder.Handler handler = new Transcoder.Handler() {
+            @Override
+            public OutputStream newOutputStream(Transcoder transcoder, Attributes dataset) throws IOException {
+                return new FileOutputStream(ofile);
+            }
+        };
+        try (Transcoder transcoder = new Transcoder(ifile)) {
+            transcoder.setIncludeFileMetaInformation(true);
+            transcoder.setDestinationTransferSyntax(outts);
+            transcoder.setOffsetTable(offsetTable);
+            transcoder.setCompressExecutor(executor);
+            transcoder.setMaxFramesInFlight(3);
+            transcoder.transcode(handler);
+        }
+        return ofile;
+    }
+
     private void test(String ifname, String ofname, final String outts, boolean fmi)
             throws IOException {
         final File ifile = new File("target/test-data/" + ifname);
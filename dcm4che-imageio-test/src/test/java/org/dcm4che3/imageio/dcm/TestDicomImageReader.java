@@ -50,6 +50,10 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.security.MessageDigest;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.imageio.ImageIO;
 import javax.imageio.stream.FileImageInputStream;
@@ -303,6 +307,78 @@ public class TestDicomImageReader {
         testReadRasterFromAttributes(CPLX_P02, 1, IncludeBulkData.URI);
     }
 
+    @Test
+    public void testReadRastersFromCompressedImageInputStream() throws Exception {
+        FileImageInputStream iis = new FileImageInputStream(new File("target/test-data/" + US_MF_RLE));
+        try {
+            testReadRasters(US_MF_RLE, iis, 10);
+        } finally {
+            SafeClose.close(iis);
+        }
+    }
+
+    @Test
+    public void testReadRastersFromCompressedInputStream() throws Exception {
+        FileInputStream is = new FileInputStream(new File("target/test-data/" + US_MF_RLE));
+        try {
+            testReadRasters(US_MF_RLE, is, 10);
+        } finally {
+            SafeClose.close(is);
+        }
+    }
+
+    @Test
+    public void testReadRastersFromCompressedAttributes() throws Exception {
+        DicomInputStream dis = new DicomInputStream(new File("target/test-data/" + US_MF_RLE));
+        Attributes attrs;
+        try {
+            dis.setIncludeBulkData(IncludeBulkData.URI);
+            attrs = dis.readDataset();
+        } finally {
+            SafeClose.close(dis);
+        }
+        testReadRasters(US_MF_RLE, new DicomMetaData(dis.getFileMetaInformation(), attrs), 10);
+    }
+
+    @Test
+    public void testReadRastersFromImageInputStream_NM() throws Exception {
+        FileImageInputStream iis = new FileImageInputStream(new File("target/test-data/" + NM_MF));
+        try {
+            testReadRasters(NM_MF, iis, 13);
+        } finally {
+            SafeClose.close(iis);
+        }
+    }
+
+    /**
+     * Verifies that frames decoded by {@link DicomImageReader#readRasters} are returned in frame order and
+     * equal the frames read one by one by {@link DicomImageReader#readRaster}.
+     */
+    private void testReadRasters(String ifname, Object input, int numFrames) throws Exception {
+        String[] expected = new String[numFrames];
+        DicomImageReader frameByFrameReader =
+                (DicomImageReader) ImageIO.getImageReadersByFormatName("DICOM").next();
+        FileImageInputStream iis = new FileImageInputStream(new File("target/test-data/" + ifname));
+        try {
+            frameByFrameReader.setInput(iis);
+            for (int i = 0; i < numFrames; i++)
+                expected[i] = rasterChecksum(frameByFrameReader.readRaster(i, null));
+        } finally {
+            frameByFrameReader.dispose();
+            SafeClose.close(iis);
+        }
+        reader.setInput(input);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<Raster>> futures = reader.readRasters(0, numFrames, null, executor, 3);
+            assertThat(futures).hasSize(numFrames);
+            for (int i = 0; i < numFrames; i++)
+                assertThat(rasterChecksum(futures.get(i).get())).as("frame #%d", i + 1).isEqualTo(expected[i]);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     private Raster testReadRasterFromImageInputStream(String ifname, int imageIndex)
             throws IOException {
         FileImageInputStream iis = new FileImageInputStream(new File("target/test-data/" + ifname));
@@ -0,0 +1,181 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.imageio.plugins.dcm;
+
+import org.junit.Test;
+
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class FrameCacheTest {
+
+    private static final String IUID = "1.2.3.4";
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 10;
+    private static final int FRAME_SIZE = WIDTH * HEIGHT * 2;
+
+    private static WritableRaster frame(int seed) {
+        WritableRaster raster = Raster.createBandedRaster(DataBuffer.TYPE_USHORT, WIDTH, HEIGHT, 1, null);
+        short[] data = ((DataBufferUShort) raster.getDataBuffer()).getData();
+        for (int i = 0; i < data.length; i++)
+            data[i] = (short) (seed * 1000 + i);
+        return raster;
+    }
+
+    private static void assertFrameEquals(int seed, Raster raster) {
+        assertNotNull(raster);
+        assertArrayEquals(((DataBufferUShort) frame(seed).getDataBuffer()).getData(),
+                ((DataBufferUShort) raster.getDataBuffer()).getData());
+    }
+
+    @Test
+    public void testGetOnHeap() {
+        testGet(new FrameCache(FRAME_SIZE * 4, false));
+    }
+
+    @Test
+    public void testGetOffHeap() {
+        testGet(new FrameCache(FRAME_SIZE * 4, true));
+    }
+
+    @Test
+    public void testGetExceedingMaxOffHeapFrameSize() {
+        FrameCache cache = new FrameCache(FRAME_SIZE * 4, true);
+        cache.maxOffHeapFrameSize = FRAME_SIZE - 1;
+        testGet(cache);
+    }
+
+    private static void testGet(FrameCache cache) {
+        WritableRaster raster = frame(1);
+        cache.put(IUID, 0, null, raster);
+        // modifications of the passed raster must not affect the cached frame
+        raster.setSample(0, 0, 0, 0xffff);
+        WritableRaster cached = cache.get(IUID, 0, null);
+        assertFrameEquals(1, cached);
+        assertNotSame(cached, cache.get(IUID, 0, null));
+        assertNull(cache.get(IUID, 1, null));
+        assertEquals(FRAME_SIZE, cache.getSize());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testGetMultipleBanks() {
+        WritableRaster raster = Raster.createBandedRaster(DataBuffer.TYPE_BYTE, WIDTH, HEIGHT, 3, null);
+        for (int band = 0; band < 3; band++)
+            raster.setSample(band, band, band, band + 1);
+        FrameCache cache = new FrameCache(WIDTH * HEIGHT * 3, true);
+        cache.put(IUID, 0, null, raster);
+        WritableRaster cached = cache.get(IUID, 0, null);
+        assertEquals(3, cached.getDataBuffer().getNumBanks());
+        for (int bank = 0; bank < 3; bank++)
+            assertArrayEquals(((DataBufferByte) raster.getDataBuffer()).getData(bank),
+                    ((DataBufferByte) cached.getDataBuffer()).getData(bank));
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() {
+        FrameCache cache = new FrameCache(FRAME_SIZE * 3, true);
+        cache.put(IUID, 0, null, frame(0));
+        cache.put(IUID, 1, null, frame(1));
+        cache.put(IUID, 2, null, frame(2));
+        // access frame #0, so frame #1 becomes the least recently used one
+        assertFrameEquals(0, cache.get(IUID, 0, null));
+        cache.put(IUID, 3, null, frame(3));
+        assertNull(cache.get(IUID, 1, null));
+        cache.put(IUID, 4, null, frame(4));
+        assertNull(cache.get(IUID, 2, null));
+        assertFrameEquals(0, cache.get(IUID, 0, null));
+        assertFrameEquals(3, cache.get(IUID, 3, null));
+        assertFrameEquals(4, cache.get(IUID, 4, null));
+        assertEquals(3, cache.getEntryCount());
+        assertEquals(FRAME_SIZE * 3, cache.getSize());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testReplace() {
+        FrameCache cache = new FrameCache(FRAME_SIZE * 2, false);
+        cache.put(IUID, 0, null, frame(0));
+        cache.put(IUID, 0, null, frame(1));
+        assertFrameEquals(1, cache.get(IUID, 0, null));
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(FRAME_SIZE, cache.getSize());
+    }
+
+    @Test
+    public void testExceedingMaxSize() {
+        FrameCache cache = new FrameCache(FRAME_SIZE - 1, true);
+        cache.put(IUID, 0, null, frame(0));
+        assertNull(cache.get(IUID, 0, null));
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testInvalidate() {
+        FrameCache cache = new FrameCache(FRAME_SIZE * 3, false);
+        cache.put(IUID, 0, null, frame(0));
+        cache.put(IUID, 1, null, frame(1));
+        cache.put("1.2.3.5", 0, null, frame(2));
+        assertEquals(2, cache.invalidate(IUID));
+        assertNull(cache.get(IUID, 0, null));
+        assertFrameEquals(2, cache.get("1.2.3.5", 0, null));
+        assertEquals(FRAME_SIZE, cache.getSize());
+        cache.invalidateAll();
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(0, cache.getSize());
+    }
+}
@@ -51,6 +51,7 @@ import org.dcm4che3.imageio.stream.EncapsulatedPixelDataImageInputStream;
 import org.dcm4che3.io.*;
 import org.dcm4che3.util.ByteUtils;
 import org.dcm4che3.util.Property;
+import org.dcm4che3.util.SafeBuffer;
 import org.dcm4che3.util.SafeClose;
 import org.dcm4che3.util.StreamUtils;
 import org.slf4j.Logger;
@@ -61,8 +62,17 @@ import javax.imageio.stream.ImageOutputStream;
 import java.awt.color.ColorSpace;
 import java.awt.image.*;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
@@ -76,6 +86,25 @@ public class Transcoder implements Closeable {
         OutputStream newOutputStream(Transcoder transcoder, Attributes dataset) throws IOException;
     }
 
+    /**
+     * Offset table written for compressed Pixel Data. Frames are compressed and written one after the other, so
+     * the offsets of the frames are only known after the last frame was written. Space for the offset table is
+     * therefore reserved in front of the first frame and filled by seeking back, which requires a
+     * {@link FileOutputStream} returned by {@link Handler#newOutputStream}. Otherwise an empty Basic Offset
+     * Table is written.
+     */
+    public enum OffsetTable {
+        /** Empty Basic Offset Table */
+        NONE,
+        /**
+         * Basic Offset Table. Transcoding fails with an {@link IOException}, if the offset of a frame exceeds
+         * 4 GiB, because the space for the table is already reserved and cannot be released by seeking back.
+         */
+        BASIC,
+        /** Extended Offset Table and Extended Offset Table Lengths with empty Basic Offset Table */
+        EXTENDED
+    }
+
     private static final Logger LOG = LoggerFactory.getLogger(Transcoder.class);
 
     private static final int BUFFER_SIZE = 8192;
@@ -154,10 +183,16 @@ public class Transcoder implements Closeable {
 
     private ImageWriteParam compressParam;
 
+    private final List<Property> compressParams = new ArrayList<>();
+
     private ImageReader verifier;
 
     private ImageReadParam verifyParam;
 
+    private Executor compressExecutor;
+
+    private int maxFramesInFlight = 4;
+
     private boolean ybr2rgb;
 
     private boolean palette2rgb;
@@ -166,14 +201,25 @@ public class Transcoder implements Closeable {
 
     private BufferedImage bi;
 
-    private BufferedImage bi2;
-
     private String pixelDataBulkDataURI;
 
     private byte[] buffer;
 
     private long encapsulatedPixelDataValueTotalLength;
 
+    private OffsetTable offsetTable = OffsetTable.NONE;
+
+    private FileChannel outChannel;
+
+    private long[] fragmentLengths;
+
+    private long offsetTablePosition;
+
+    private long offsetTableLengthsPosition;
+
+    // maximal frame offset in the Basic Offset Table, only lowered by tests
+    long maxBasicOffset = 0xffffffffL;
+
     public Transcoder(File f) throws IOException {
         this(new DicomInputStream(f));
     }
@@ -376,6 +422,46 @@ public class Transcoder implements Closeable {
         return encapsulatedPixelDataValueTotalLength;
     }
 
+    public OffsetTable getOffsetTable() {
+        return offsetTable;
+    }
+
+    /**
+     * Offset table written for compressed Pixel Data. The table is only written, if {@link Handler#newOutputStream}
+     * returns a {@link FileOutputStream}; otherwise an empty Basic Offset Table is written.
+     *
+     * @param offsetTable offset table written for compressed Pixel Data; {@link OffsetTable#NONE} by default
+     */
+    public void setOffsetTable(OffsetTable offsetTable) {
+        this.offsetTable = Objects.requireNonNull(offsetTable);
+    }
+
+    public Executor getCompressExecutor() {
+        return compressExecutor;
+    }
+
+    /**
+     * Compress frames of multi-frame images concurrently by tasks run by the specified {@link Executor}, each
+     * using its own {@link ImageWriter}. Compressed frames are written in order, so at most
+     * {@link #getMaxFramesInFlight()} frames are held in memory, uncompressed or compressed.
+     *
+     * @param compressExecutor executor running the compression of frames or {@code null} to compress frames
+     *                         sequentially by the calling thread
+     */
+    public void setCompressExecutor(Executor compressExecutor) {
+        this.compressExecutor = compressExecutor;
+    }
+
+    public int getMaxFramesInFlight() {
+        return maxFramesInFlight;
+    }
+
+    public void setMaxFramesInFlight(int maxFramesInFlight) {
+        if (maxFramesInFlight <= 0)
+            throw new IllegalArgumentException("maxFramesInFlight: " + maxFramesInFlight);
+        this.maxFramesInFlight = maxFramesInFlight;
+    }
+
     private void initDecompressor() {
         decompressorParam = ImageReaderFactory.getImageReaderParam(srcTransferSyntax);
         if (decompressorParam == null)
@@ -398,6 +484,7 @@ public class Transcoder implements Closeable {
         LOG.debug("Compressor: {}", compressor.getClass().getName());
 
         this.compressParam = compressor.getDefaultWriteParam();
+        this.compressParams.clear();
         setCompressParams(compressorParam.getImageWriteParams());
     }
 
@@ -412,24 +499,33 @@ public class Transcoder implements Closeable {
             else if (name.equals("bitsCompressed"))
                 this.bitsCompressed = ((Number) property.getValue()).intValue();
             else {
-                if (compressParam.getCompressionMode() != ImageWriteParam.MODE_EXPLICIT)
-                    compressParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
-                property.setAt(compressParam);
+                setAt(property, compressParam);
+                compressParams.add(property);
             }
         }
         if (maxPixelValueError >= 0) {
-            ImageReaderFactory.ImageReaderParam readerParam =
-                    ImageReaderFactory.getImageReaderParam(destTransferSyntax);
-            if (readerParam == null)
-                throw new UnsupportedOperationException(
-                        "Unsupported Transfer Syntax: " + destTransferSyntax);
-
-            this.verifier = ImageReaderFactory.getImageReader(readerParam);
+            this.verifier = createVerifier();
             this.verifyParam = verifier.getDefaultReadParam();
             LOG.debug("Verifier: {}", verifier.getClass().getName());
         }
     }
 
+    private static void setAt(Property property, ImageWriteParam compressParam) {
+        if (compressParam.getCompressionMode() != ImageWriteParam.MODE_EXPLICIT)
+            compressParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        property.setAt(compressParam);
+    }
+
+    private ImageReader createVerifier() {
+        ImageReaderFactory.ImageReaderParam readerParam =
+                ImageReaderFactory.getImageReaderParam(destTransferSyntax);
+        if (readerParam == null)
+            throw new UnsupportedOperationException(
+                    "Unsupported Transfer Syntax: " + destTransferSyntax);
+
+        return ImageReaderFactory.getImageReader(readerParam);
+    }
+
 
     @Override
     public void close() throws IOException {
@@ -586,29 +682,191 @@ public class Transcoder implements Closeable {
 
     private void compressPixelData() throws IOException {
         int padding = (int) (dis.unsignedLength() - imageDescriptor.getLength());
-        for (int i = 0; i < imageDescriptor.getFrames(); i++) {
-            if (decompressor == null)
-                readFrame();
-            else
-                decompressFrame(i);
-
-            if (i == 0) {
-                extractEmbeddedOverlays();
-                adjustDataset();
-                writeDataset();
-                dos.writeHeader(Tag.PixelData, VR.OB, -1);
-                dos.writeHeader(Tag.Item, null, 0);
+        int frames = imageDescriptor.getFrames();
+        FrameCompressor frameCompressor = new FrameCompressor(compressor, compressParam, verifier, verifyParam);
+        if (compressExecutor != null && frames > 1) {
+            compressFramesConcurrently(frames, frameCompressor);
+        } else {
+            for (int i = 0; i < frames; i++) {
+                prepareFrame(i);
+                writeFragment(frameCompressor.compress(bi, i), i);
             }
-            nullifyUnusedBits();
-            bi = palette2rgb ? BufferedImageUtils.convertPalettetoRGB(originalBi, bi)
-                    : ybr2rgb ? BufferedImageUtils.convertYBRtoRGB(originalBi, bi)
-                    : imageDescriptor.is16BitsAllocated8BitsStored()
-                    ? BufferedImageUtils.convertShortsToBytes(originalBi, bi) // workaround for JPEG codec issue
-                    : originalBi;
-            compressFrame(i);
         }
         dis.skipFully(padding);
         dos.writeHeader(Tag.SequenceDelimitationItem, null, 0);
+        writeOffsetTable();
+    }
+
+    private void prepareFrame(int frameIndex) throws IOException {
+        if (decompressor == null)
+            readFrame();
+        else
+            decompressFrame(frameIndex);
+
+        if (frameIndex == 0) {
+            extractEmbeddedOverlays();
+            adjustDataset();
+            writeDataset();
+            writeEncapsulatedPixelDataHeader();
+        }
+        nullifyUnusedBits();
+        bi = palette2rgb ? BufferedImageUtils.convertPalettetoRGB(originalBi, bi)
+                : ybr2rgb ? BufferedImageUtils.convertYBRtoRGB(originalBi, bi)
+                : imageDescriptor.is16BitsAllocated8BitsStored()
+                ? BufferedImageUtils.convertShortsToBytes(originalBi, bi) // workaround for JPEG codec issue
+                : originalBi;
+    }
+
+    private void compressFramesConcurrently(int frames, FrameCompressor frameCompressor) throws IOException {
+        final ConcurrentLinkedQueue<FrameCompressor> frameCompressors = new ConcurrentLinkedQueue<>();
+        final ConcurrentLinkedQueue<BufferedImage[]> freeImages = new ConcurrentLinkedQueue<>();
+        ArrayDeque<CompletableFuture<ExtMemoryCacheImageOutputStream>> pending = new ArrayDeque<>();
+        final ConcurrentLinkedQueue<FrameCompressor> created = new ConcurrentLinkedQueue<>();
+        frameCompressors.offer(frameCompressor);
+        try {
+            int written = 0;
+            for (int i = 0; i < frames; i++) {
+                if (pending.size() >= maxFramesInFlight)
+                    writeFragment(await(pending.poll()), written++);
+                BufferedImage[] free = i > 0 ? freeImages.poll() : null;
+                if (free != null) {
+                    originalBi = free[0];
+                    bi = free[1];
+                } else if (i > 0) {
+                    BufferedImage prevBi = bi;
+                    bi = createCompatibleImage(bi);
+                    if (prevBi != originalBi)
+                        originalBi = createCompatibleImage(originalBi);
+                    else
+                        originalBi = bi;
+                }
+                prepareFrame(i);
+                final BufferedImage[] images = { originalBi, bi };
+                final int frameIndex = i;
+                final CompletableFuture<ExtMemoryCacheImageOutputStream> future = new CompletableFuture<>();
+                compressExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        FrameCompressor c = frameCompressors.poll();
+                        try {
+                            if (c == null)
+                                created.offer(c = new FrameCompressor());
+                            ExtMemoryCacheImageOutputStream ios = c.compress(images[1], frameIndex);
+                            frameCompressors.offer(c);
+                            freeImages.offer(images);
+                            future.complete(ios);
+                        } catch (Throwable e) {
+                            if (c != null)
+                                frameCompressors.offer(c);
+                            future.completeExceptionally(e);
+                        }
+                    }
+                });
+                pending.add(future);
+            }
+            while (!pending.isEmpty())
+                writeFragment(await(pending.poll()), written++);
+        } finally {
+            for (CompletableFuture<ExtMemoryCacheImageOutputStream> future : pending)
+                try {
+                    future.join();
+                } catch (Exception ignore) {}
+            for (FrameCompressor c : created)
+                c.dispose();
+        }
+    }
+
+    private static BufferedImage createCompatibleImage(BufferedImage bi) {
+        return new BufferedImage(bi.getColorModel(), Raster.createWritableRaster(bi.getSampleModel(), null),
+                bi.isAlphaPremultiplied(), null);
+    }
+
+    private static ExtMemoryCacheImageOutputStream await(CompletableFuture<ExtMemoryCacheImageOutputStream> future)
+            throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+                throw (IOException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    private void writeEncapsulatedPixelDataHeader() throws IOException {
+        int frames = imageDescriptor.getFrames();
+        fragmentLengths = null;
+        if (offsetTable != OffsetTable.NONE) {
+            if (outChannel == null)
+                LOG.info("Output stream does not support seeking - write empty Basic Offset Table");
+            else
+                fragmentLengths = new long[frames];
+        }
+        if (fragmentLengths != null && offsetTable == OffsetTable.EXTENDED) {
+            dos.writeHeader(Tag.ExtendedOffsetTable, VR.OV, frames << 3);
+            offsetTablePosition = outputPosition();
+            dos.write(new byte[frames << 3]);
+            dos.writeHeader(Tag.ExtendedOffsetTableLengths, VR.OV, frames << 3);
+            offsetTableLengthsPosition = outputPosition();
+            dos.write(new byte[frames << 3]);
+        }
+        dos.writeHeader(Tag.PixelData, VR.OB, -1);
+        if (fragmentLengths != null && offsetTable == OffsetTable.BASIC) {
+            dos.writeHeader(Tag.Item, null, frames << 2);
+            offsetTablePosition = outputPosition();
+            dos.write(new byte[frames << 2]);
+        } else {
+            dos.writeHeader(Tag.Item, null, 0);
+        }
+    }
+
+    private long outputPosition() throws IOException {
+        dos.flush();
+        return outChannel.position();
+    }
+
+    private void writeOffsetTable() throws IOException {
+        if (fragmentLengths == null)
+            return;
+
+        dos.flush();
+        int frames = fragmentLengths.length;
+        if (offsetTable == OffsetTable.BASIC) {
+            ByteBuffer offsets = ByteBuffer.allocate(frames << 2).order(ByteOrder.LITTLE_ENDIAN);
+            long offset = 0;
+            for (long length : fragmentLengths) {
+                if (offset > maxBasicOffset)
+                    throw new IOException(
+                            "Offset of frame #" + ((offsets.position() >> 2) + 1) + " exceeds 4 GiB"
+                                    + " - use Extended Offset Table");
+                offsets.putInt((int) offset);
+                offset += 8 + length;
+            }
+            write(offsets, offsetTablePosition);
+        } else {
+            ByteBuffer offsets = ByteBuffer.allocate(frames << 3).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer lengths = ByteBuffer.allocate(frames << 3).order(ByteOrder.LITTLE_ENDIAN);
+            long offset = 0;
+            for (long length : fragmentLengths) {
+                offsets.putLong(offset);
+                lengths.putLong(length);
+                offset += 8 + length;
+            }
+            write(offsets, offsetTablePosition);
+            write(lengths, offsetTableLengthsPosition);
+        }
+    }
+
+    private void write(ByteBuffer bb, long position) throws IOException {
+        SafeBuffer.flip(bb);
+        while (bb.hasRemaining())
+            position += outChannel.write(bb, position);
     }
 
     private void setPixelDataBulkData(VR vr) {
@@ -618,6 +876,8 @@ public class Transcoder implements Closeable {
 
     private void adjustDataset() {
         PhotometricInterpretation pmi = imageDescriptor.getPhotometricInterpretation();
+        dataset.remove(Tag.ExtendedOffsetTable);
+        dataset.remove(Tag.ExtendedOffsetTableLengths);
         if (decompressor != null) {
             if (imageDescriptor.getSamples() == 3) {
                 if (pmi.isYBR() && TransferSyntaxType.isYBRCompression(srcTransferSyntax)) {
@@ -756,28 +1016,86 @@ public class Transcoder implements Closeable {
         return bi;
     }
 
-    private void compressFrame(int frameIndex) throws IOException {
-        ExtMemoryCacheImageOutputStream ios = new ExtMemoryCacheImageOutputStream(compressorImageDescriptor);
-        compressor.setOutput(compressorParam.patchJPEGLS != null
-                ? new PatchJPEGLSImageOutputStream(ios, compressorParam.patchJPEGLS)
-                : ios);
-        long start = System.currentTimeMillis();
-        compressor.write(null, new IIOImage(bi, null, null), compressParam);
-        long end = System.currentTimeMillis();
+    private void writeFragment(ExtMemoryCacheImageOutputStream ios, int frameIndex) throws IOException {
         int length = (int) ios.getStreamPosition();
-        if (LOG.isDebugEnabled())
-            LOG.debug("Compressed frame #{} in {} ms, ratio {}:1", frameIndex + 1, end - start,
-                    (float) imageDescriptor.getFrameLength() / length);
-        verify(ios, frameIndex);
-        if ((length & 1) != 0) {
-            ios.write(0);
-            length++;
-        }
+        if (fragmentLengths != null)
+            fragmentLengths[frameIndex] = length;
         dos.writeHeader(Tag.Item, null, length);
         ios.setOutputStream(dos);
         ios.flush();
     }
 
+    private final class FrameCompressor {
+        private final ImageWriter compressor;
+        private final ImageWriteParam compressParam;
+        private final ImageReader verifier;
+        private final ImageReadParam verifyParam;
+        private BufferedImage bi2;
+
+        FrameCompressor(ImageWriter compressor, ImageWriteParam compressParam,
+                ImageReader verifier, ImageReadParam verifyParam) {
+            this.compressor = compressor;
+            this.compressParam = compressParam;
+            this.verifier = verifier;
+            this.verifyParam = verifyParam;
+        }
+
+        FrameCompressor() {
+            this.compressor = ImageWriterFactory.getImageWriter(compressorParam);
+            this.compressParam = compressor.getDefaultWriteParam();
+            for (Property property : compressParams)
+                setAt(property, compressParam);
+            this.verifier = maxPixelValueError >= 0 ? createVerifier() : null;
+            this.verifyParam = verifier != null ? verifier.getDefaultReadParam() : null;
+        }
+
+        ExtMemoryCacheImageOutputStream compress(BufferedImage bi, int frameIndex) throws IOException {
+            ExtMemoryCacheImageOutputStream ios = new ExtMemoryCacheImageOutputStream(compressorImageDescriptor);
+            compressor.setOutput(compressorParam.patchJPEGLS != null
+                    ? new PatchJPEGLSImageOutputStream(ios, compressorParam.patchJPEGLS)
+                    : ios);
+            long start = System.currentTimeMillis();
+            compressor.write(null, new IIOImage(bi, null, null), compressParam);
+            long end = System.currentTimeMillis();
+            int length = (int) ios.getStreamPosition();
+            if (LOG.isDebugEnabled())
+                LOG.debug("Compressed frame #{} in {} ms, ratio {}:1", frameIndex + 1, end - start,
+                        (float) imageDescriptor.getFrameLength() / length);
+            verify(ios, bi, frameIndex);
+            if ((length & 1) != 0)
+                ios.write(0);
+            return ios;
+        }
+
+        private void verify(ImageOutputStream cache, BufferedImage bi, int index) throws IOException {
+            if (verifier == null)
+                return;
+
+            long prevStreamPosition = cache.getStreamPosition();
+            int prevBitOffset = cache.getBitOffset();
+            cache.seek(0);
+            verifier.setInput(cache);
+            verifyParam.setDestination(bi2);
+            long start = System.currentTimeMillis();
+            bi2 = verifier.read(0, verifyParam);
+            int maxDiff = maxDiff(bi.getRaster(), bi2.getRaster());
+            long end = System.currentTimeMillis();
+            if (LOG.isDebugEnabled())
+                LOG.debug("Verified compressed frame #{} in {} ms - max pixel value error: {}",
+                        new Object[] { index + 1, end - start, maxDiff });
+            if (maxDiff > maxPixelValueError)
+                throw new CompressionVerificationException(maxDiff);
+            cache.seek(prevStreamPosition);
+            cache.setBitOffset(prevBitOffset);
+        }
+
+        void dispose() {
+            compressor.dispose();
+            if (verifier != null)
+                verifier.dispose();
+        }
+    }
+
     private void readFrame() throws IOException {
         initBufferedImage();
         WritableRaster raster = originalBi.getRaster();
@@ -932,7 +1250,9 @@ public class Transcoder implements Closeable {
     }
 
     private void initDicomOutputStream() throws IOException {
-        dos = new DicomOutputStream(handler.newOutputStream(this, dataset),
+        OutputStream out = handler.newOutputStream(this, dataset);
+        outChannel = out instanceof FileOutputStream ? ((FileOutputStream) out).getChannel() : null;
+        dos = new DicomOutputStream(out,
                 includeFileMetaInformation ? UID.ExplicitVRLittleEndian : destTransferSyntax);
         dos.setEncodingOptions(encOpts);
     }
@@ -972,29 +1292,6 @@ public class Transcoder implements Closeable {
         originalBi = new BufferedImage(cm, raster, false, null);
     }
 
-    private void verify(ImageOutputStream cache, int index)
-            throws IOException {
-        if (verifier == null)
-            return;
-
-        long prevStreamPosition = cache.getStreamPosition();
-        int prevBitOffset = cache.getBitOffset();
-        cache.seek(0);
-        verifier.setInput(cache);
-        verifyParam.setDestination(bi2);
-        long start = System.currentTimeMillis();
-        bi2 = verifier.read(0, verifyParam);
-        int maxDiff = maxDiff(bi.getRaster(), bi2.getRaster());
-        long end = System.currentTimeMillis();
-        if (LOG.isDebugEnabled())
-            LOG.debug("Verified compressed frame #{} in {} ms - max pixel value error: {}",
-                    new Object[] { index + 1, end - start, maxDiff });
-        if (maxDiff > maxPixelValueError)
-            throw new CompressionVerificationException(maxDiff);
-        cache.seek(prevStreamPosition);
-        cache.setBitOffset(prevBitOffset);
-    }
-
     private int maxDiff(WritableRaster raster, WritableRaster raster2) {
         ComponentSampleModel csm =
                 (ComponentSampleModel) raster.getSampleModel();
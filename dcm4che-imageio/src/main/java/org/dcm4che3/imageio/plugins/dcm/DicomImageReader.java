@@ -40,16 +40,22 @@ package org.dcm4che3.imageio.plugins.dcm;
 
 import java.awt.color.ColorSpace;
 import java.awt.image.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import javax.imageio.ImageReadParam;
 import javax.imageio.ImageReader;
@@ -58,6 +64,7 @@ import javax.imageio.metadata.IIOMetadata;
 import javax.imageio.spi.ImageReaderSpi;
 import javax.imageio.stream.FileImageInputStream;
 import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.BulkData;
@@ -138,6 +145,8 @@ public class DicomImageReader extends ImageReader implements Closeable {
 
     private ImageReader decompressor;
 
+    private ImageReaderParam decompressorParam;
+
     private boolean rle;
 
     private PatchJPEGLS patchJpegLS;
@@ -158,11 +167,27 @@ public class DicomImageReader extends ImageReader implements Closeable {
     private PhotometricInterpretation pmiAfterDecompression;
     private ImageDescriptor imageDescriptor;
     private ICCProfile.ColorSpaceFactory colorSpaceFactory;
+    private FrameCache frameCache;
 
     public DicomImageReader(ImageReaderSpi originatingProvider) {
         super(originatingProvider);
     }
 
+    public FrameCache getFrameCache() {
+        return frameCache;
+    }
+
+    /**
+     * Sets the cache for decompressed frames, which may be shared by several readers. Used by {@link #readRaster}
+     * and - for monochrome images - by {@link #read}, so repeated renderings of the same frame with different
+     * presentation parameters only decompress the frame once.
+     *
+     * @param frameCache cache for decompressed frames or {@code null}
+     */
+    public void setFrameCache(FrameCache frameCache) {
+        this.frameCache = frameCache;
+    }
+
     @Override
     public void setInput(Object input, boolean seekForwardOnly,
             boolean ignoreMetadata) {
@@ -363,20 +388,21 @@ public class DicomImageReader extends ImageReader implements Closeable {
         readMetadata();
         checkIndex(frameIndex);
 
+        String cachedIUID = cachedIUID(param);
+        if (cachedIUID != null) {
+            Raster cached = frameCache.get(cachedIUID, frameIndex, destinationType(param));
+            if (cached != null)
+                return cached;
+        }
         openiis();
         try {
             if (decompressor != null) {
-                decompressor.setInput(iisOfFrame(frameIndex));
-    
-                if (LOG.isDebugEnabled())
-                    LOG.debug("Start decompressing frame #" + (frameIndex + 1));
-                Raster wr = pmiAfterDecompression == pmi && decompressor.canReadRaster()
-                        ? decompressor.readRaster(0, decompressParam(param))
-                        : decompressor.read(0, decompressParam(param)).getRaster();
-                if (LOG.isDebugEnabled())
-                    LOG.debug("Finished decompressing frame #" + (frameIndex + 1));
+                Raster wr = decompressRaster(decompressor, iisOfFrame(frameIndex), frameIndex, param);
+                if (cachedIUID != null)
+                    frameCache.put(cachedIUID, frameIndex, destinationType(param), wr);
                 return wr;
             }
+
             WritableRaster wr = Raster.createWritableRaster(
                     createSampleModel(dataType, banded), null);
             DataBuffer buf = wr.getDataBuffer();
@@ -424,7 +450,120 @@ public class DicomImageReader extends ImageReader implements Closeable {
         return metadata.getTransferSyntaxUID();
     }
 
+    Raster decompressRaster(ImageReader decompressor, ImageInputStream iisOfFrame, int frameIndex,
+            ImageReadParam param) throws IOException {
+        decompressor.setInput(iisOfFrame);
+        if (LOG.isDebugEnabled())
+            LOG.debug("Start decompressing frame #" + (frameIndex + 1));
+        Raster wr = pmiAfterDecompression == pmi && decompressor.canReadRaster()
+                ? decompressor.readRaster(0, decompressParam(decompressor, param))
+                : decompressor.read(0, decompressParam(decompressor, param)).getRaster();
+        if (LOG.isDebugEnabled())
+            LOG.debug("Finished decompressing frame #" + (frameIndex + 1));
+        return wr;
+    }
+
+    /**
+     * Decodes the specified range of frames in parallel by tasks run by the specified executor, returning the
+     * same rasters as {@link #readRaster}. Each task uses its own decompressor. If the encapsulated Pixel Data is
+     * read from a file, each task reads the compressed frame by its own {@link SegmentedInputImageStream} over
+     * an independent stream of the file, positioned by the offset table of the Pixel Data fragments. Otherwise,
+     * the compressed frames are read sequentially from the input into memory, before they are decoded by the
+     * tasks. Uncompressed frames are read by the calling thread.
+     * <p>
+     * The reader must not be used otherwise, until all returned futures are completed.
+     *
+     * @param frameIndex index of the first frame
+     * @param numFrames  number of frames
+     * @param param      controls the decoding of the frames, or {@code null}
+     * @param executor   runs the decode tasks
+     * @param readAhead  maximal number of frames read ahead and decoded concurrently
+     * @return futures of the decoded rasters, in frame order
+     * @throws IOException if reading uncompressed frames fails
+     */
+    public List<CompletableFuture<Raster>> readRasters(int frameIndex, int numFrames, ImageReadParam param,
+            Executor executor, int readAhead) throws IOException {
+        if (numFrames <= 0)
+            throw new IllegalArgumentException("numFrames: " + numFrames);
+        if (readAhead <= 0)
+            throw new IllegalArgumentException("readAhead: " + readAhead);
+
+        readMetadata();
+        checkIndex(frameIndex);
+        checkIndex(frameIndex + numFrames - 1);
+        if (decompressor != null)
+            return new ParallelFrameDecoder(this, frameIndex, numFrames, param, executor, readAhead,
+                    epdiis == null && pixelDataFragments != null ? pixelDataFile : null)
+                    .start();
+
+        List<CompletableFuture<Raster>> rasters = new ArrayList<>(numFrames);
+        for (int i = 0; i < numFrames; i++)
+            rasters.add(CompletableFuture.completedFuture(readRaster(frameIndex + i, param)));
+        return rasters;
+    }
+
+    ImageReader createDecompressor() {
+        return ImageReaderFactory.getImageReader(decompressorParam);
+    }
+
+    /**
+     * Reads the compressed data of the specified frame from the input into memory.
+     */
+    byte[] readCompressedFrame(int frameIndex) throws IOException {
+        openiis();
+        try {
+            ImageInputStream in = rawIisOfFrame(iis, frameIndex);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] b = new byte[8192];
+            int read;
+            while ((read = in.read(b, 0, b.length)) > 0)
+                out.write(b, 0, read);
+            return out.toByteArray();
+        } finally {
+            closeiis();
+        }
+    }
+
+    /**
+     * Returns image input stream of the specified frame, reading the encapsulated Pixel Data by the specified
+     * stream, or from the specified compressed frame data, if {@code iis} is {@code null}.
+     */
+    ImageInputStream iisOfFrame(ImageInputStream iis, int frameIndex, byte[] compressedFrame) throws IOException {
+        SegmentedInputImageStream iisOfFrame;
+        if (iis != null) {
+            iisOfFrame = new SegmentedInputImageStream(
+                    iis, pixelDataFragments, frames == 1 ? -1 : frameIndex);
+        } else {
+            iisOfFrame = new SegmentedInputImageStream(
+                    new MemoryCacheImageInputStream(new ByteArrayInputStream(compressedFrame)),
+                    0, compressedFrame.length, false);
+        }
+        iisOfFrame.setImageDescriptor(imageDescriptor);
+        return patchJpegLS != null
+                ? new PatchJPEGLSImageInputStream(iisOfFrame, patchJpegLS)
+                : iisOfFrame;
+    }
+
+    /**
+     * Returns the SOP Instance UID, if decompressed frames shall be looked up in and stored into the frame cache,
+     * otherwise {@code null}.
+     */
+    private String cachedIUID(ImageReadParam param) {
+        if (frameCache == null || decompressor == null || param != null && param.getDestination() != null)
+            return null;
+
+        return metadata.getAttributes().getString(Tag.SOPInstanceUID);
+    }
+
+    private static ImageTypeSpecifier destinationType(ImageReadParam param) {
+        return param != null ? param.getDestinationType() : null;
+    }
+
     private ImageReadParam decompressParam(ImageReadParam param) {
+        return decompressParam(decompressor, param);
+    }
+
+    private ImageReadParam decompressParam(ImageReader decompressor, ImageReadParam param) {
         ImageReadParam decompressParam = decompressor.getDefaultReadParam();
         ImageTypeSpecifier imageType = null;
         BufferedImage dest = null;
@@ -446,8 +585,13 @@ public class DicomImageReader extends ImageReader implements Closeable {
         checkIndex(frameIndex);
 
         BufferedImage bi = null;
-        WritableRaster raster;
-        if (decompressor != null) {
+        WritableRaster raster = null;
+        String cachedIUID = pmi.isMonochrome() ? cachedIUID(param) : null;
+        if (cachedIUID != null)
+            raster = frameCache.get(cachedIUID, frameIndex, destinationType(param));
+        if (raster != null) {
+            LOG.debug("Use cached decompressed frame #{}", (frameIndex + 1));
+        } else if (decompressor != null) {
             openiis();
             try {
                 ImageInputStream iisOfFrame = iisOfFrame(frameIndex);
@@ -461,6 +605,8 @@ public class DicomImageReader extends ImageReader implements Closeable {
                 closeiis();
             }
             raster = bi.getRaster();
+            if (cachedIUID != null)
+                frameCache.put(cachedIUID, frameIndex, destinationType(param), raster);
         } else {
             raster = (WritableRaster) readRaster(frameIndex, param);
         }
@@ -569,22 +715,29 @@ public class DicomImageReader extends ImageReader implements Closeable {
      * @throws IOException
      */
     public ImageInputStream iisOfFrame(int frameIndex) throws IOException {
-        ImageInputStream iisOfFrame;
-        if (epdiis != null) {
-            seekFrame(frameIndex);
-            iisOfFrame = epdiis;
-        } else if( pixelDataFragments==null ) {
+        ImageInputStream iisOfFrame = rawIisOfFrame(iis, frameIndex);
+        if (iisOfFrame == null)
             return null;
-        } else {
-            iisOfFrame = new SegmentedInputImageStream(
-                    iis, pixelDataFragments, frames==1 ? -1 : frameIndex);
-            ((SegmentedInputImageStream) iisOfFrame).setImageDescriptor(imageDescriptor);
-        }
+
         return patchJpegLS != null
                 ? new PatchJPEGLSImageInputStream(iisOfFrame, patchJpegLS)
                 : iisOfFrame;
     }
 
+    private ImageInputStream rawIisOfFrame(ImageInputStream iis, int frameIndex) throws IOException {
+        if (epdiis != null) {
+            seekFrame(frameIndex);
+            return epdiis;
+        }
+        if (pixelDataFragments == null)
+            return null;
+
+        SegmentedInputImageStream iisOfFrame = new SegmentedInputImageStream(
+                iis, pixelDataFragments, frames == 1 ? -1 : frameIndex);
+        iisOfFrame.setImageDescriptor(imageDescriptor);
+        return iisOfFrame;
+    }
+
     public Optional<ColorSpace> colorSpaceOfFrame(int frameIndex) {
         ICCProfile.ColorSpaceFactory colorSpaceFactory = this.colorSpaceFactory;
         if (colorSpaceFactory == null) {
@@ -873,6 +1026,7 @@ public class DicomImageReader extends ImageReader implements Closeable {
                         ? PhotometricInterpretation.RGB
                         : pmi;
                 this.rle = tsuid.equals(UID.RLELossless);
+                this.decompressorParam = param;
                 this.decompressor = ImageReaderFactory.getImageReader(param);
                 LOG.debug("Decompressor: {}", decompressor.getClass().getName());
                 this.patchJpegLS = param.patchJPEGLS;
@@ -911,6 +1065,7 @@ public class DicomImageReader extends ImageReader implements Closeable {
             decompressor.dispose();
             decompressor = null;
         }
+        decompressorParam = null;
         patchJpegLS = null;
         pmi = null;
         colorSpaceFactory = null;
@@ -0,0 +1,448 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.imageio.plugins.dcm;
+
+import java.awt.Point;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferDouble;
+import java.awt.image.DataBufferFloat;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DataBufferShort;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.imageio.ImageTypeSpecifier;
+
+import org.dcm4che3.util.SafeBuffer;
+
+/**
+ * Cache of decoded frames, bounded by the total size of the cached pixel data and evicting the least recently
+ * used frames first. Frames are identified by SOP Instance UID, frame index and the destination type of the
+ * decoding {@link javax.imageio.ImageReadParam}. Decoded frames may be held in direct byte buffers outside of
+ * the Java heap, to not burden the garbage collector with large caches. Frames exceeding 2 GiB are always held
+ * on the Java heap.
+ * <p>
+ * The cache never shares rasters with its callers: {@link #put} stores a copy of the passed raster, and
+ * {@link #get} returns a new raster on each invocation. One instance may be shared by several
+ * {@link DicomImageReader}s running in different threads.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class FrameCache {
+
+    private final long maxSize;
+    private final boolean offHeap;
+    // direct byte buffers are limited to 2 GiB
+    int maxOffHeapFrameSize = Integer.MAX_VALUE;
+    private final LinkedHashMap<Key, CachedFrame> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * @param maxSize maximal total size of cached pixel data in bytes
+     * @param offHeap if the pixel data shall be held in direct byte buffers
+     */
+    public FrameCache(long maxSize, boolean offHeap) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("maxSize: " + maxSize);
+        this.maxSize = maxSize;
+        this.offHeap = offHeap;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the ratio of successful lookups to all lookups.
+     *
+     * @return hit rate between {@code 0} and {@code 1}, or {@code 0} if there was no lookup yet
+     */
+    public synchronized double getHitRate() {
+        long total = hitCount + missCount;
+        return total > 0 ? (double) hitCount / total : 0;
+    }
+
+    public synchronized void resetStatistics() {
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    /**
+     * Returns a copy of the cached frame.
+     *
+     * @param iuid       SOP Instance UID
+     * @param frameIndex index of the frame
+     * @param imageType  destination type of the decoding or {@code null}
+     * @return copy of the cached frame or {@code null}, if the frame is not cached
+     */
+    public WritableRaster get(String iuid, int frameIndex, ImageTypeSpecifier imageType) {
+        CachedFrame frame;
+        synchronized (this) {
+            frame = entries.get(new Key(iuid, frameIndex, imageType));
+            if (frame == null) {
+                missCount++;
+                return null;
+            }
+            hitCount++;
+        }
+        return frame.toRaster();
+    }
+
+    /**
+     * Stores a copy of the specified decoded frame. Frames larger than the maximal size of the cache are not
+     * stored.
+     *
+     * @param iuid       SOP Instance UID
+     * @param frameIndex index of the frame
+     * @param imageType  destination type of the decoding or {@code null}
+     * @param raster     decoded frame
+     */
+    public void put(String iuid, int frameIndex, ImageTypeSpecifier imageType, Raster raster) {
+        CachedFrame frame = new CachedFrame(raster, offHeap, maxOffHeapFrameSize);
+        if (frame.size > maxSize)
+            return;
+
+        Key key = new Key(iuid, frameIndex, imageType);
+        synchronized (this) {
+            CachedFrame prev = entries.put(key, frame);
+            if (prev != null)
+                size -= prev.size;
+            size += frame.size;
+            Iterator<CachedFrame> iter = entries.values().iterator();
+            while (size > maxSize) {
+                size -= iter.next().size;
+                iter.remove();
+                evictionCount++;
+            }
+        }
+    }
+
+    /**
+     * Removes all cached frames of the specified SOP Instance.
+     *
+     * @param iuid SOP Instance UID
+     * @return number of removed frames
+     */
+    public synchronized int invalidate(String iuid) {
+        int count = 0;
+        Iterator<Map.Entry<Key, CachedFrame>> iter = entries.entrySet().iterator();
+        while (iter.hasNext()) {
+            Map.Entry<Key, CachedFrame> next = iter.next();
+            if (next.getKey().iuid.equals(iuid)) {
+                size -= next.getValue().size;
+                iter.remove();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        size = 0;
+    }
+
+    private static final class Key {
+        final String iuid;
+        final int frameIndex;
+        final ImageTypeSpecifier imageType;
+
+        Key(String iuid, int frameIndex, ImageTypeSpecifier imageType) {
+            this.iuid = Objects.requireNonNull(iuid, "iuid");
+            this.frameIndex = frameIndex;
+            this.imageType = imageType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return frameIndex == other.frameIndex
+                    && iuid.equals(other.iuid)
+                    && Objects.equals(imageType, other.imageType);
+        }
+
+        @Override
+        public int hashCode() {
+            return (iuid.hashCode() * 31 + frameIndex) * 31 + Objects.hashCode(imageType);
+        }
+    }
+
+    private static final class CachedFrame {
+        final SampleModel sampleModel;
+        final int dataType;
+        final int bankSize;
+        final int[] offsets;
+        final int numBanks;
+        final int[] bankLengths;
+        final long size;
+        final DataBuffer onHeap;
+        final ByteBuffer offHeap;
+
+        CachedFrame(Raster raster, boolean offHeap, int maxOffHeapSize) {
+            if (raster.getSampleModelTranslateX() != 0 || raster.getSampleModelTranslateY() != 0
+                    || raster.getParent() != null) {
+                WritableRaster wr = raster.createCompatibleWritableRaster(raster.getWidth(), raster.getHeight());
+                wr.setRect(-raster.getMinX(), -raster.getMinY(), raster);
+                raster = wr;
+            }
+            DataBuffer db = raster.getDataBuffer();
+            this.sampleModel = raster.getSampleModel();
+            this.dataType = db.getDataType();
+            this.bankSize = db.getSize();
+            this.offsets = db.getOffsets();
+            this.numBanks = db.getNumBanks();
+            int elementSize = DataBuffer.getDataTypeSize(dataType) >>> 3;
+            this.bankLengths = new int[numBanks];
+            long size = 0;
+            for (int bank = 0; bank < numBanks; bank++)
+                size += (long) (bankLengths[bank] = bankLength(db, bank)) * elementSize;
+            this.size = size;
+            if (offHeap && size <= maxOffHeapSize) {
+                this.onHeap = null;
+                this.offHeap = ByteBuffer.allocateDirect((int) size).order(ByteOrder.nativeOrder());
+                int pos = 0;
+                for (int bank = 0; bank < numBanks; bank++) {
+                    write(db, bank, view(pos));
+                    pos += bankLengths[bank] * elementSize;
+                }
+            } else {
+                this.onHeap = copy(db);
+                this.offHeap = null;
+            }
+        }
+
+        private ByteBuffer view(int pos) {
+            ByteBuffer bb = offHeap.duplicate();
+            SafeBuffer.position(bb, pos);
+            return bb.slice().order(ByteOrder.nativeOrder());
+        }
+
+        WritableRaster toRaster() {
+            return Raster.createWritableRaster(sampleModel, onHeap != null ? copy(onHeap) : read(), new Point());
+        }
+
+        private DataBuffer read() {
+            int elementSize = DataBuffer.getDataTypeSize(dataType) >>> 3;
+            int pos = 0;
+            switch (dataType) {
+                case DataBuffer.TYPE_BYTE: {
+                    byte[][] banks = new byte[numBanks][];
+                    for (int bank = 0; bank < numBanks; bank++) {
+                        view(pos).get(banks[bank] = new byte[bankLength(bank)]);
+                        pos += banks[bank].length * elementSize;
+                    }
+                    return new DataBufferByte(banks, bankSize, offsets);
+                }
+                case DataBuffer.TYPE_USHORT: {
+                    short[][] banks = new short[numBanks][];
+                    for (int bank = 0; bank < numBanks; bank++) {
+                        view(pos).asShortBuffer().get(banks[bank] = new short[bankLength(bank)]);
+                        pos += banks[bank].length * elementSize;
+                    }
+                    return new DataBufferUShort(banks, bankSize, offsets);
+                }
+                case DataBuffer.TYPE_SHORT: {
+                    short[][] banks = new short[numBanks][];
+                    for (int bank = 0; bank < numBanks; bank++) {
+                        view(pos).asShortBuffer().get(banks[bank] = new short[bankLength(bank)]);
+                        pos += banks[bank].length * elementSize;
+                    }
+                    return new DataBufferShort(banks, bankSize, offsets);
+                }
+                case DataBuffer.TYPE_INT: {
+                    int[][] banks = new int[numBanks][];
+                    for (int bank = 0; bank < numBanks; bank++) {
+                        view(pos).asIntBuffer().get(banks[bank] = new int[bankLength(bank)]);
+                        pos += banks[bank].length * elementSize;
+                    }
+                    return new DataBufferInt(banks, bankSize, offsets);
+                }
+                case DataBuffer.TYPE_FLOAT: {
+                    float[][] banks = new float[numBanks][];
+                    for (int bank = 0; bank < numBanks; bank++) {
+                        view(pos).asFloatBuffer().get(banks[bank] = new float[bankLength(bank)]);
+                        pos += banks[bank].length * elementSize;
+                    }
+                    return new DataBufferFloat(banks, bankSize, offsets);
+                }
+                case DataBuffer.TYPE_DOUBLE: {
+                    double[][] banks = new double[numBanks][];
+                    for (int bank = 0; bank < numBanks; bank++) {
+                        view(pos).asDoubleBuffer().get(banks[bank] = new double[bankLength(bank)]);
+                        pos += banks[bank].length * elementSize;
+                    }
+                    return new DataBufferDouble(banks, bankSize, offsets);
+                }
+            }
+            throw new IllegalArgumentException("Unsupported Data Type: " + dataType);
+        }
+
+        private int bankLength(int bank) {
+            return bankLengths[bank];
+        }
+
+        private static int bankLength(DataBuffer db, int bank) {
+            switch (db.getDataType()) {
+                case DataBuffer.TYPE_BYTE:
+                    return ((DataBufferByte) db).getData(bank).length;
+                case DataBuffer.TYPE_USHORT:
+                    return ((DataBufferUShort) db).getData(bank).length;
+                case DataBuffer.TYPE_SHORT:
+                    return ((DataBufferShort) db).getData(bank).length;
+                case DataBuffer.TYPE_INT:
+                    return ((DataBufferInt) db).getData(bank).length;
+                case DataBuffer.TYPE_FLOAT:
+                    return ((DataBufferFloat) db).getData(bank).length;
+                case DataBuffer.TYPE_DOUBLE:
+                    return ((DataBufferDouble) db).getData(bank).length;
+            }
+            throw new IllegalArgumentException("Unsupported Data Type: " + db.getDataType());
+        }
+
+        private static void write(DataBuffer db, int bank, ByteBuffer bb) {
+            switch (db.getDataType()) {
+                case DataBuffer.TYPE_BYTE:
+                    bb.put(((DataBufferByte) db).getData(bank));
+                    return;
+                case DataBuffer.TYPE_USHORT:
+                    bb.asShortBuffer().put(((DataBufferUShort) db).getData(bank));
+                    return;
+                case DataBuffer.TYPE_SHORT:
+                    bb.asShortBuffer().put(((DataBufferShort) db).getData(bank));
+                    return;
+                case DataBuffer.TYPE_INT:
+                    bb.asIntBuffer().put(((DataBufferInt) db).getData(bank));
+                    return;
+                case DataBuffer.TYPE_FLOAT:
+                    bb.asFloatBuffer().put(((DataBufferFloat) db).getData(bank));
+                    return;
+                case DataBuffer.TYPE_DOUBLE:
+                    bb.asDoubleBuffer().put(((DataBufferDouble) db).getData(bank));
+                    return;
+            }
+            throw new IllegalArgumentException("Unsupported Data Type: " + db.getDataType());
+        }
+
+        private static DataBuffer copy(DataBuffer db) {
+            int numBanks = db.getNumBanks();
+            switch (db.getDataType()) {
+                case DataBuffer.TYPE_BYTE: {
+                    byte[][] banks = new byte[numBanks][];
+                    for (int bank = 0; bank < numBanks; bank++)
+                        banks[bank] = ((DataBufferByte) db).getData(bank).clone();
+                    return new DataBufferByte(banks, db.getSize(), db.getOffsets());
+                }
+                case DataBuffer.TYPE_USHORT: {
+                    short[][] banks = new short[numBanks][];
+                    for (int bank = 0; bank < numBanks; bank++)
+                        banks[bank] = ((DataBufferUShort) db).getData(bank).clone();
+                    return new DataBufferUShort(banks, db.getSize(), db.getOffsets());
+                }
+                case DataBuffer.TYPE_SHORT: {
+                    short[][] banks = new short[numBanks][];
+                    for (int bank = 0; bank < numBanks; bank++)
+                        banks[bank] = ((DataBufferShort) db).getData(bank).clone();
+                    return new DataBufferShort(banks, db.getSize(), db.getOffsets());
+                }
+                case DataBuffer.TYPE_INT: {
+                    int[][] banks = new int[numBanks][];
+                    for (int bank = 0; bank < numBanks; bank++)
+                        banks[bank] = ((DataBufferInt) db).getData(bank).clone();
+                    return new DataBufferInt(banks, db.getSize(), db.getOffsets());
+                }
+                case DataBuffer.TYPE_FLOAT: {
+                    float[][] banks = new float[numBanks][];
+                    for (int bank = 0; bank < numBanks; bank++)
+                        banks[bank] = ((DataBufferFloat) db).getData(bank).clone();
+                    return new DataBufferFloat(banks, db.getSize(), db.getOffsets());
+                }
+                case DataBuffer.TYPE_DOUBLE: {
+                    double[][] banks = new double[numBanks][];
+                    for (int bank = 0; bank < numBanks; bank++)
+                        banks[bank] = ((DataBufferDouble) db).getData(bank).clone();
+                    return new DataBufferDouble(banks, db.getSize(), db.getOffsets());
+                }
+            }
+            throw new IllegalArgumentException("Unsupported Data Type: " + db.getDataType());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.imageio.plugins.dcm;
+
+import java.awt.image.Raster;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.FileImageInputStream;
+
+import org.dcm4che3.util.SafeClose;
+
+/**
+ * Decodes a range of compressed frames by tasks run by an {@link Executor}, keeping at most {@code readAhead}
+ * frames read ahead and decoded concurrently. Used by
+ * {@link DicomImageReader#readRasters(int, int, ImageReadParam, Executor, int)}.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+class ParallelFrameDecoder {
+
+    private final DicomImageReader reader;
+    private final int frameIndex;
+    private final ImageReadParam param;
+    private final Executor executor;
+    private final int readAhead;
+    private final File file;
+    private final List<CompletableFuture<Raster>> rasters;
+    private final ConcurrentLinkedQueue<Worker> workers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger remaining;
+    private int next;
+    private int inFlight;
+    private boolean failed;
+
+    /**
+     * @param file if not {@code null}, the compressed frames are read by independent streams of this file,
+     *             otherwise sequentially from the input of the reader.
+     */
+    ParallelFrameDecoder(DicomImageReader reader, int frameIndex, int numFrames, ImageReadParam param,
+            Executor executor, int readAhead, File file) {
+        this.reader = reader;
+        this.frameIndex = frameIndex;
+        this.param = param;
+        this.executor = executor;
+        this.readAhead = readAhead;
+        this.file = file;
+        this.rasters = new ArrayList<>(numFrames);
+        for (int i = 0; i < numFrames; i++)
+            rasters.add(new CompletableFuture<Raster>());
+        this.remaining = new AtomicInteger(numFrames);
+    }
+
+    List<CompletableFuture<Raster>> start() {
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    fill();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            failAll(0, e);
+        }
+        return rasters;
+    }
+
+    private synchronized void fill() {
+        while (!failed && inFlight < readAhead && next < rasters.size()) {
+            final int i = next++;
+            final byte[] compressedFrame;
+            if (file == null) {
+                try {
+                    compressedFrame = reader.readCompressedFrame(frameIndex + i);
+                } catch (Throwable e) {
+                    failAll(i, e);
+                    return;
+                }
+            } else {
+                compressedFrame = null;
+            }
+            inFlight++;
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        decode(i, compressedFrame);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight--;
+                failAll(i, e);
+                return;
+            }
+        }
+    }
+
+    private void decode(int i, byte[] compressedFrame) {
+        Worker worker = workers.poll();
+        try {
+            if (worker == null)
+                worker = new Worker();
+            rasters.get(i).complete(worker.decode(frameIndex + i, compressedFrame));
+        } catch (Throwable e) {
+            rasters.get(i).completeExceptionally(e);
+        } finally {
+            if (worker != null)
+                workers.offer(worker);
+            synchronized (this) {
+                inFlight--;
+            }
+            done(1);
+            fill();
+        }
+    }
+
+    private synchronized void failAll(int from, Throwable e) {
+        failed = true;
+        int size = rasters.size();
+        for (int i = from; i < size; i++)
+            rasters.get(i).completeExceptionally(e);
+        next = size;
+        done(size - from);
+    }
+
+    private void done(int count) {
+        if (count > 0 && remaining.addAndGet(-count) == 0) {
+            Worker worker;
+            while ((worker = workers.poll()) != null)
+                worker.dispose();
+        }
+    }
+
+    private class Worker {
+        final ImageReader decompressor = reader.createDecompressor();
+        FileImageInputStream iis;
+
+        Raster decode(int frameIndex, byte[] compressedFrame) throws IOException {
+            if (compressedFrame == null && iis == null)
+                iis = new FileImageInputStream(file);
+            return reader.decompressRaster(decompressor,
+                    reader.iisOfFrame(iis, frameIndex, compressedFrame), frameIndex, param);
+        }
+
+        void dispose() {
+            decompressor.dispose();
+            SafeClose.close(iis);
+        }
+    }
+}
@@ -67,6 +67,8 @@ public class HL7DeviceExtension extends DeviceExtension {
 
     private transient HL7MessageListener hl7MessageListener;
     private transient HL7ConnectionMonitor hl7ConnectionMonitor;
+    private final HL7MessageMetrics hl7MessageMetrics = new HL7MessageMetrics();
+    private boolean unorderedMessageProcessing;
 
     @Override
     public void verifyNotUsed(Connection conn) {
@@ -137,6 +139,27 @@ public class HL7DeviceExtension extends DeviceExtension {
         this.hl7ConnectionMonitor = hl7ConnectionMonitor;
     }
 
+    public HL7MessageMetrics getHL7MessageMetrics() {
+        return hl7MessageMetrics;
+    }
+
+    public boolean isUnorderedMessageProcessing() {
+        return unorderedMessageProcessing;
+    }
+
+    /**
+     * Controls if messages received on a connection with non-blocking transport
+     * ({@link Connection#isNioTransport()}) are processed concurrently and their responses are sent in order of
+     * completion. By default, messages of one connection are processed one after another in order of receipt,
+     * but concurrently to messages received on other connections. Connections with blocking transport always
+     * process one message after another.
+     *
+     * @param unorderedMessageProcessing {@code true} to process messages of one connection concurrently
+     */
+    public void setUnorderedMessageProcessing(boolean unorderedMessageProcessing) {
+        this.unorderedMessageProcessing = unorderedMessageProcessing;
+    }
+
     UnparsedHL7Message onMessage(Connection conn, Socket s, UnparsedHL7Message msg) throws HL7Exception {
         HL7Application hl7App = getHL7Application(msg.msh().getReceivingApplicationWithFacility(), true);
         if (hl7App == null || !hl7App.isInstalled() || !hl7App.getConnections().contains(conn))
@@ -150,7 +173,9 @@ public class HL7DeviceExtension extends DeviceExtension {
 
     @Override
     public void reconfigure(DeviceExtension from)  {
-        reconfigureHL7Applications((HL7DeviceExtension) from);
+        HL7DeviceExtension hl7Ext = (HL7DeviceExtension) from;
+        unorderedMessageProcessing = hl7Ext.unorderedMessageProcessing;
+        reconfigureHL7Applications(hl7Ext);
     }
 
     private void reconfigureHL7Applications(HL7DeviceExtension from) {
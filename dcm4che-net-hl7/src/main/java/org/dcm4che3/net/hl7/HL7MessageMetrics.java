@@ -0,0 +1,165 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.net.hl7;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of HL7 messages received on accepted connections of the Device, the number of messages waiting
+ * for processing and the time spent waiting and processing.
+ *
+ * <p> Messages are waiting, if they were received on a connection with non-blocking transport
+ * ({@link org.dcm4che3.net.Connection#isNioTransport()}) while a previous message of the same connection
+ * was still processed, or if the executor of the Device has no idle thread.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ * @see HL7DeviceExtension#getHL7MessageMetrics()
+ */
+public class HL7MessageMetrics implements Serializable {
+
+    private static final long serialVersionUID = 6384093264183215482L;
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAdder processingNanos = new LongAdder();
+    private final AtomicLong maxProcessingNanos = new AtomicLong();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    /**
+     * Returns the number of received messages.
+     */
+    public long getReceived() {
+        return received.sum();
+    }
+
+    /**
+     * Returns the number of processed messages, including failed messages.
+     */
+    public long getProcessed() {
+        return processed.sum();
+    }
+
+    /**
+     * Returns the number of messages answered by an error response.
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Returns the number of received messages, which processing has not yet started.
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * Returns the average time between receiving a message and the start of its processing.
+     */
+    public long getAverageQueueTime(TimeUnit unit) {
+        return average(queueNanos, unit);
+    }
+
+    /**
+     * Returns the average time to process a message, without sending the response.
+     */
+    public long getAverageProcessingTime(TimeUnit unit) {
+        return average(processingNanos, unit);
+    }
+
+    public long getMaxProcessingTime(TimeUnit unit) {
+        return unit.convert(maxProcessingNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    public void reset() {
+        received.reset();
+        processed.reset();
+        failed.reset();
+        queueNanos.reset();
+        processingNanos.reset();
+        maxProcessingNanos.set(0);
+        maxQueueDepth.set(queueDepth.get());
+    }
+
+    private long average(LongAdder nanos, TimeUnit unit) {
+        long count = processed.sum();
+        return count > 0 ? unit.convert(nanos.sum() / count, TimeUnit.NANOSECONDS) : 0L;
+    }
+
+    void onMessageReceived() {
+        received.increment();
+        int depth = queueDepth.incrementAndGet();
+        int max;
+        while ((max = maxQueueDepth.get()) < depth && !maxQueueDepth.compareAndSet(max, depth));
+    }
+
+    void onProcessingStarted(long queueTimeNanos) {
+        queueDepth.decrementAndGet();
+        queueNanos.add(queueTimeNanos);
+    }
+
+    void onMessageDiscarded() {
+        queueDepth.decrementAndGet();
+    }
+
+    void onMessageProcessed(long processingTimeNanos, boolean success) {
+        processed.increment();
+        if (!success)
+            failed.increment();
+        processingNanos.add(processingTimeNanos);
+        long max;
+        while ((max = maxProcessingNanos.get()) < processingTimeNanos
+                && !maxProcessingNanos.compareAndSet(max, processingTimeNanos));
+    }
+}
@@ -44,7 +44,8 @@ import java.net.SocketException;
 
 import org.dcm4che3.hl7.*;
 import org.dcm4che3.net.Connection;
-import org.dcm4che3.net.TCPProtocolHandler;
+import org.dcm4che3.net.NioChannel;
+import org.dcm4che3.net.NioTCPProtocolHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,7 +53,7 @@ import org.slf4j.LoggerFactory;
  * @author Gunter Zeilinger <gunterze@gmail.com>
  *
  */
-enum HL7ProtocolHandler implements TCPProtocolHandler {
+enum HL7ProtocolHandler implements NioTCPProtocolHandler {
     INSTANCE;
 
     private static Logger LOG = LoggerFactory.getLogger(HL7ProtocolHandler.class);
@@ -62,6 +63,43 @@ enum HL7ProtocolHandler implements TCPProtocolHandler {
         conn.getDevice().execute(new HL7Receiver(conn, s));
     }
 
+    @Override
+    public void onAccept(Connection conn, NioChannel ch) throws IOException {
+        new NioHL7Receiver(conn, ch).start();
+    }
+
+    static void onMessageReceived(HL7DeviceExtension hl7dev, Connection conn, Socket s, UnparsedHL7Message msg) {
+        hl7dev.getHL7MessageMetrics().onMessageReceived();
+        HL7ConnectionMonitor monitor = hl7dev.getHL7ConnectionMonitor();
+        if (monitor != null)
+            monitor.onMessageReceived(conn, s, msg);
+    }
+
+    static UnparsedHL7Message processMessage(HL7DeviceExtension hl7dev, Connection conn, Socket s,
+            UnparsedHL7Message msg, long receivedNanos) {
+        HL7MessageMetrics metrics = hl7dev.getHL7MessageMetrics();
+        long startNanos = System.nanoTime();
+        metrics.onProcessingStarted(startNanos - receivedNanos);
+        HL7ConnectionMonitor monitor = hl7dev.getHL7ConnectionMonitor();
+        UnparsedHL7Message rsp;
+        boolean success = false;
+        try {
+            rsp = hl7dev.onMessage(conn, s, msg);
+            success = true;
+            if (monitor != null)
+                monitor.onMessageProcessed(conn, s, msg, rsp, null);
+        } catch (HL7Exception e) {
+            LOG.info("{}: failed to process {}:\n", s, msg, e);
+            rsp = new UnparsedHL7Message(
+                    HL7Message.makeACK(msg.msh(), e).getBytes(null));
+            if (monitor != null)
+                monitor.onMessageProcessed(conn, s, msg, rsp, e);
+        } finally {
+            metrics.onMessageProcessed(System.nanoTime() - startNanos, success);
+        }
+        return rsp;
+    }
+
     private static class HL7Receiver implements Runnable {
 
         final Connection conn;
@@ -83,22 +121,10 @@ enum HL7ProtocolHandler implements TCPProtocolHandler {
                 byte[] data;
                 while ((data = mllp.readMessage()) != null) {
                     messageCount++;
-                    HL7ConnectionMonitor monitor = hl7dev.getHL7ConnectionMonitor();
+                    long receivedNanos = System.nanoTime();
                     UnparsedHL7Message msg = new UnparsedHL7Message(data);
-                    if (monitor != null)
-                        monitor.onMessageReceived(conn, s, msg);
-                    UnparsedHL7Message rsp;
-                    try {
-                        rsp = hl7dev.onMessage(conn, s, msg);
-                        if (monitor != null)
-                            monitor.onMessageProcessed(conn, s, msg, rsp, null);
-                    } catch (HL7Exception e) {
-                        LOG.info("{}: failed to process {}:\n", s, msg, e);
-                        rsp = new UnparsedHL7Message(
-                                HL7Message.makeACK(msg.msh(), e).getBytes(null));
-                        if (monitor != null)
-                            monitor.onMessageProcessed(conn, s, msg, rsp, e);
-                    }
+                    onMessageReceived(hl7dev, conn, s, msg);
+                    UnparsedHL7Message rsp = processMessage(hl7dev, conn, s, msg, receivedNanos);
                     mllp.writeMessage(rsp.data());
                 }
             } catch (IOException e) {
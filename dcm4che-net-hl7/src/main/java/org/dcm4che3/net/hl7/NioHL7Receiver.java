@@ -0,0 +1,341 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.net.hl7;
+
+import org.dcm4che3.hl7.MLLPFrameDecoder;
+import org.dcm4che3.hl7.MLLPOutputStream;
+import org.dcm4che3.net.Connection;
+import org.dcm4che3.net.Device;
+import org.dcm4che3.net.NioChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Receives HL7 messages on a connection accepted by a non-blocking listener.
+ *
+ * <p> Received bytes are framed by a {@link MLLPFrameDecoder} in the read task dispatched by the
+ * {@link NioChannel}, which returns as soon as all complete messages are extracted, so no thread is bound to the
+ * connection while it is idle or a message is processed. Messages are passed to
+ * {@link HL7DeviceExtension#onMessage} by tasks of the executor of the Device: one after another in order of
+ * receipt, or concurrently, if {@link HL7DeviceExtension#isUnorderedMessageProcessing()}. So further messages
+ * pipelined by the sender are received while a message is processed.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+class NioHL7Receiver {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NioHL7Receiver.class);
+
+    private static final int EOM1 = 0x1c;
+    private static final int EOM2 = 0x0d;
+    private static final byte ACK = 0x06;
+    private static final byte NAK = 0x15;
+    private static final int INITIAL_BUFFER_SIZE = 0x10000;
+    private static final int MAX_MESSAGE_LENGTH = 0x4000000;
+
+    /**
+     * Detects buffered bytes which may complete a message - containing the End Block character or starting
+     * with its second byte - so the read task is not dispatched for each fragment of a large message.
+     */
+    private static final NioChannel.FrameDetector MLLP_DETECTOR = new NioChannel.FrameDetector() {
+
+        @Override
+        public boolean hasFrame(ByteBuffer buf) {
+            if (buf.get(buf.position()) == EOM2)
+                return true;
+            for (int i = buf.position(), n = buf.limit(); i < n; i++)
+                if (buf.get(i) == EOM1)
+                    return true;
+            return false;
+        }
+    };
+
+    private final Connection conn;
+    private final NioChannel ch;
+    private final Socket s;
+    private final Device device;
+    private final HL7DeviceExtension hl7dev;
+    private final boolean mllp2;
+    private final int idleTimeout;
+    private final MLLPFrameDecoder decoder = new MLLPFrameDecoder(INITIAL_BUFFER_SIZE, MAX_MESSAGE_LENGTH);
+    private final MLLPOutputStream mllpOut;
+    private final ConcurrentLinkedQueue<ReceivedMessage> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean processing = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean eof;
+    private volatile long lastActivity;
+    private volatile ScheduledFuture<?> idleTimer;
+    private int messageCount;
+
+    private final Runnable processor = new Runnable() {
+        @Override
+        public void run() {
+            try {
+                ReceivedMessage msg;
+                while ((msg = queue.poll()) != null)
+                    msg.run();
+            } finally {
+                processing.set(false);
+                processQueue();
+            }
+        }
+    };
+
+    private final Runnable idleCheck = new Runnable() {
+        @Override
+        public void run() {
+            checkIdle();
+        }
+    };
+
+    NioHL7Receiver(Connection conn, NioChannel ch) throws IOException {
+        this.conn = conn;
+        this.ch = ch;
+        this.s = ch.socket();
+        this.device = conn.getDevice();
+        this.hl7dev = device.getDeviceExtensionNotNull(HL7DeviceExtension.class);
+        this.mllp2 = conn.getProtocol() == Connection.Protocol.HL7_MLLP2;
+        this.idleTimeout = conn.getIdleTimeout();
+        this.mllpOut = new MLLPOutputStream(ch.getOutputStream());
+    }
+
+    void start() {
+        lastActivity = System.nanoTime();
+        startIdleTimer(idleTimeout);
+        ch.startReading(MLLP_DETECTOR, new Runnable() {
+            @Override
+            public void run() {
+                onReadable();
+            }
+        });
+    }
+
+    private void onReadable() {
+        try {
+            boolean endOfStream = readAvailable();
+            byte[] data;
+            while (!closed.get() && (data = decoder.nextMessage()) != null)
+                onFrame(data);
+            if (endOfStream)
+                onEndOfStream();
+        } catch (IOException e) {
+            if (e instanceof SocketException && messageCount == 0)
+                LOG.info("Exception on accepted connection {}: {}", s, e.toString());
+            else
+                LOG.warn("Exception on accepted connection {}:", s, e);
+            close();
+        } catch (RuntimeException e) {
+            LOG.warn("Unexpected exception on accepted connection {}:", s, e);
+            close();
+        }
+    }
+
+    /**
+     * Transfers all buffered bytes from the channel to the decoder, without blocking.
+     *
+     * @return {@code true} if the end of the stream was reached
+     */
+    private boolean readAvailable() throws IOException {
+        InputStream in = ch.getInputStream();
+        for (;;) {
+            int n = in.available();
+            if (n == 0) {
+                // nothing buffered and not closed - wait for the next dispatch
+                if (!ch.hasFrame())
+                    return false;
+                // end of stream, closed or meanwhile received bytes: read() does not block
+                n = 1;
+            }
+            if (decoder.readFrom(in, n) < 0)
+                return true;
+        }
+    }
+
+    private void onFrame(byte[] data) throws IOException {
+        lastActivity = System.nanoTime();
+        if (mllp2 && data.length == 1) {
+            // commit acknowledgement of a sent response
+            switch (data[0]) {
+                case ACK:
+                    LOG.debug("{} >> <ACK>", s);
+                    return;
+                case NAK:
+                    LOG.info("{} >> <NAK>", s);
+                    throw new IOException("NAK received");
+            }
+        }
+        messageCount++;
+        log("{} >> {}", data);
+        if (mllp2) {
+            LOG.debug("{} << <ACK>", s);
+            mllpOut.writeMessage(new byte[]{ ACK });
+        }
+        ReceivedMessage msg = new ReceivedMessage(new UnparsedHL7Message(data), lastActivity);
+        pending.incrementAndGet();
+        HL7ProtocolHandler.onMessageReceived(hl7dev, conn, s, msg.msg);
+        if (hl7dev.isUnorderedMessageProcessing()) {
+            try {
+                device.execute(msg);
+            } catch (RuntimeException e) {
+                onExecuteFailed(e);
+                // discards the message on the closed connection
+                msg.run();
+            }
+        } else {
+            queue.add(msg);
+            processQueue();
+        }
+    }
+
+    private void processQueue() {
+        if (!queue.isEmpty() && processing.compareAndSet(false, true)) {
+            try {
+                device.execute(processor);
+            } catch (RuntimeException e) {
+                onExecuteFailed(e);
+                // discards queued messages on the closed connection
+                processor.run();
+            }
+        }
+    }
+
+    private void onExecuteFailed(RuntimeException e) {
+        LOG.warn("Failed to schedule processing of message received on {}:", s, e);
+        close();
+    }
+
+    private void onEndOfStream() {
+        if (decoder.buffered() > 0)
+            LOG.info("{}: connection closed by peer within message", s);
+        ch.stopReading();
+        eof = true;
+        if (pending.get() == 0)
+            close();
+    }
+
+    private void startIdleTimer(long delay) {
+        if (idleTimeout > 0 && device.getScheduledExecutor() != null)
+            idleTimer = device.schedule(idleCheck, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void checkIdle() {
+        if (closed.get())
+            return;
+
+        long idle = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastActivity);
+        if (pending.get() == 0 && idle >= idleTimeout) {
+            LOG.info("{}: idle timeout expired", s);
+            close();
+        } else {
+            startIdleTimer(Math.max(idleTimeout - idle, 1));
+        }
+    }
+
+    private void close() {
+        if (closed.getAndSet(true))
+            return;
+
+        ScheduledFuture<?> timer = idleTimer;
+        if (timer != null)
+            timer.cancel(false);
+        ch.stopReading();
+        conn.close(s);
+        ch.close();
+    }
+
+    private void log(String format, byte[] b) {
+        if (!LOG.isInfoEnabled())
+            return;
+        int mshlen = 0;
+        while (mshlen < b.length && b[mshlen] != '\r')
+            mshlen++;
+        LOG.info(format, s, new String(b, 0, mshlen));
+        if (LOG.isDebugEnabled())
+            LOG.debug(format, s, new String(b).replace('\r', '\n'));
+    }
+
+    private class ReceivedMessage implements Runnable {
+        final UnparsedHL7Message msg;
+        final long receivedNanos;
+
+        ReceivedMessage(UnparsedHL7Message msg, long receivedNanos) {
+            this.msg = msg;
+            this.receivedNanos = receivedNanos;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (closed.get()) {
+                    hl7dev.getHL7MessageMetrics().onMessageDiscarded();
+                    return;
+                }
+                UnparsedHL7Message rsp = HL7ProtocolHandler.processMessage(hl7dev, conn, s, msg, receivedNanos);
+                log("{} << {}", rsp.data());
+                mllpOut.writeMessage(rsp.data());
+            } catch (IOException e) {
+                LOG.warn("Failed to send response to {}:", s, e);
+                close();
+            } catch (RuntimeException e) {
+                LOG.warn("Unexpected exception on processing message received on {}:", s, e);
+                close();
+            } finally {
+                lastActivity = System.nanoTime();
+                if (pending.decrementAndGet() == 0 && eof)
+                    close();
+            }
+        }
+    }
+}
@@ -40,6 +40,7 @@
 
 package org.dcm4che3.net.hl7;
 
+import org.dcm4che3.hl7.HL7MessageView;
 import org.dcm4che3.hl7.HL7Segment;
 
 import java.io.Serializable;
@@ -69,6 +70,17 @@ public class UnparsedHL7Message implements Serializable {
         return msh;
     }
 
+    /**
+     * Returns a view of this message, for access to single values without parsing the whole message.
+     * Each invocation returns a new view, which is not thread-safe.
+     *
+     * @param defCharset code of the character set, if MSH-18 is absent, or {@code null}
+     * @return view of this message
+     */
+    public HL7MessageView view(String defCharset) {
+        return new HL7MessageView(data, defCharset);
+    }
+
     public int getSerialNo() {
         return serialNo;
     }
@@ -0,0 +1,256 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.net.hl7;
+
+import org.dcm4che3.hl7.HL7Exception;
+import org.dcm4che3.hl7.HL7Message;
+import org.dcm4che3.hl7.MLLPInputStream;
+import org.dcm4che3.hl7.MLLPOutputStream;
+import org.dcm4che3.net.Connection;
+import org.dcm4che3.net.Device;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.Assert.*;
+
+/**
+ * Sends pipelined messages over loopback connections to a {@link HL7DeviceExtension} with non-blocking
+ * transport.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class NioHL7ReceiverTest {
+
+    private static final int PORT = 55130;
+    private static final int MESSAGES = 5;
+    private static final byte[] COMMIT_ACK = { 0x06 };
+
+    private static ExecutorService executor;
+    private static ScheduledExecutorService scheduledExecutor;
+    private Device device;
+    private HL7DeviceExtension hl7Ext;
+
+    @BeforeClass
+    public static void setUpClass() {
+        executor = Executors.newCachedThreadPool();
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        executor.shutdown();
+        scheduledExecutor.shutdown();
+    }
+
+    @After
+    public void tearDown() {
+        if (device != null)
+            device.unbindConnections();
+    }
+
+    private void bind(Connection.Protocol protocol, boolean unordered) throws Exception {
+        bind(protocol, unordered, executor);
+    }
+
+    private void bind(Connection.Protocol protocol, boolean unordered, Executor executor) throws Exception {
+        device = new Device("hl7rcv");
+        hl7Ext = new HL7DeviceExtension();
+        device.addDeviceExtension(hl7Ext);
+        Connection conn = new Connection("hl7", "127.0.0.1", PORT);
+        conn.setProtocol(protocol);
+        conn.setNioTransport(true);
+        device.addConnection(conn);
+        HL7Application hl7App = new HL7Application("*");
+        hl7App.setAcceptedMessageTypes("*");
+        hl7App.addConnection(conn);
+        hl7Ext.addHL7Application(hl7App);
+        hl7Ext.setUnorderedMessageProcessing(unordered);
+        hl7App.setHL7MessageListener(new HL7MessageListener() {
+            @Override
+            public UnparsedHL7Message onMessage(HL7Application hl7App, Connection conn, Socket s,
+                    UnparsedHL7Message msg) throws HL7Exception {
+                String msgControlID = msg.msh().getField(9, "");
+                try {
+                    // the first message takes longest to process
+                    Thread.sleep(msgControlID.endsWith("0") ? 300 : 10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new UnparsedHL7Message(
+                        HL7Message.makeACK(msg.msh(), HL7Exception.AA, null).getBytes(null));
+            }
+        });
+        device.setExecutor(executor);
+        device.setScheduledExecutor(scheduledExecutor);
+        device.bindConnections();
+    }
+
+    @Test
+    public void testOrdered() throws Exception {
+        bind(Connection.Protocol.HL7, false);
+        List<String> acked = send(false);
+        for (int i = 0; i < MESSAGES; i++)
+            assertEquals("M" + i, acked.get(i));
+        assertMetrics();
+    }
+
+    @Test
+    public void testUnordered() throws Exception {
+        bind(Connection.Protocol.HL7, true);
+        List<String> acked = send(false);
+        assertEquals(MESSAGES, acked.size());
+        assertEquals("M0", acked.get(MESSAGES - 1));
+        for (int i = 0; i < MESSAGES; i++)
+            assertTrue(acked.contains("M" + i));
+        assertMetrics();
+    }
+
+    @Test
+    public void testMLLP2CommitACK() throws Exception {
+        bind(Connection.Protocol.HL7_MLLP2, false);
+        List<String> acked = send(true);
+        for (int i = 0; i < MESSAGES; i++)
+            assertEquals("M" + i, acked.get(i));
+        assertMetrics();
+    }
+
+    @Test
+    public void testOrderedRejectedExecution() throws Exception {
+        testRejectedExecution(false);
+    }
+
+    @Test
+    public void testUnorderedRejectedExecution() throws Exception {
+        testRejectedExecution(true);
+    }
+
+    private void testRejectedExecution(boolean unordered) throws Exception {
+        bind(Connection.Protocol.HL7, unordered, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                // reject processing of received messages, but not dispatching of received bytes
+                if (command.getClass().getName().startsWith(NioHL7Receiver.class.getName() + '$'))
+                    throw new RejectedExecutionException();
+                executor.execute(command);
+            }
+        });
+        try (Socket s = new Socket("127.0.0.1", PORT)) {
+            s.setSoTimeout(5000);
+            new MLLPOutputStream(s.getOutputStream()).writeMessage(
+                    "MSH|^~\\&|SND|FAC|RCV|FAC|20260101||ADT^A01|M0|P|2.5\rPID|||0\r"
+                            .getBytes(StandardCharsets.US_ASCII));
+            assertNull("response", new MLLPInputStream(s.getInputStream()).readMessage());
+        }
+        HL7MessageMetrics metrics = hl7Ext.getHL7MessageMetrics();
+        assertEquals(1, metrics.getReceived());
+        assertEquals(0, metrics.getProcessed());
+        assertEquals(0, metrics.getQueueDepth());
+    }
+
+    private void assertMetrics() throws InterruptedException {
+        HL7MessageMetrics metrics = hl7Ext.getHL7MessageMetrics();
+        assertEquals(MESSAGES, metrics.getReceived());
+        // processing is completed after the response was sent
+        for (int i = 0; i < 50 && metrics.getProcessed() < MESSAGES; i++)
+            Thread.sleep(10);
+        assertEquals(MESSAGES, metrics.getProcessed());
+        assertEquals(0, metrics.getFailed());
+    }
+
+    /**
+     * Sends pipelined messages, written in small chunks not aligned to the messages, and returns the Message
+     * Control IDs of the received acknowledgements in the order of their receipt.
+     */
+    private static List<String> send(boolean mllp2) throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        MLLPOutputStream mllpOut = new MLLPOutputStream(bout);
+        for (int i = 0; i < MESSAGES; i++)
+            mllpOut.writeMessage(("MSH|^~\\&|SND|FAC|RCV|FAC|20260101||ADT^A01|M" + i + "|P|2.5\rPID|||" + i + "\r")
+                    .getBytes(StandardCharsets.US_ASCII));
+        byte[] b = bout.toByteArray();
+        List<String> acked = new ArrayList<>();
+        int commitACKs = 0;
+        try (Socket s = new Socket("127.0.0.1", PORT)) {
+            s.setSoTimeout(5000);
+            OutputStream out = s.getOutputStream();
+            for (int off = 0; off < b.length; off += 7) {
+                out.write(b, off, Math.min(7, b.length - off));
+                out.flush();
+            }
+            MLLPInputStream in = new MLLPInputStream(s.getInputStream());
+            MLLPOutputStream mllpOut2 = new MLLPOutputStream(out);
+            while (acked.size() < MESSAGES) {
+                byte[] rsp = in.readMessage();
+                assertNotNull("connection closed", rsp);
+                if (mllp2 && rsp.length == 1) {
+                    assertArrayEquals(COMMIT_ACK, rsp);
+                    commitACKs++;
+                    continue;
+                }
+                HL7Message ack = HL7Message.parse(rsp, null);
+                assertEquals("AA", ack.getSegment("MSA").getField(1, null));
+                acked.add(ack.getSegment("MSA").getField(2, null));
+                if (mllp2)
+                    mllpOut2.writeMessage(COMMIT_ACK);
+            }
+        }
+        if (mllp2)
+            assertEquals(MESSAGES, commitACKs);
+        return acked;
+    }
+}
@@ -43,6 +43,7 @@ import java.io.Serializable;
 import java.net.Socket;
 import java.security.GeneralSecurityException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.net.pdu.AAbort;
@@ -732,6 +733,63 @@ public class ApplicationEntity implements Serializable {
         return connect(cc.getLocalConnection(), cc.getRemoteConnection(), rq);
     }
 
+    /**
+     * Opens the association by a thread of the {@link Device} executor.
+     *
+     * @return future completed with the established association
+     */
+    public CompletableFuture<Association> connectAsync(final Connection local, final Connection remote,
+            final AAssociateRQ rq) {
+        final CompletableFuture<Association> future = new CompletableFuture<>();
+        device.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    future.complete(connect(local, remote, rq));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Opens the association by a thread of the {@link Device} executor.
+     *
+     * @return future completed with the established association
+     */
+    public CompletableFuture<Association> connectAsync(Connection remote, AAssociateRQ rq) {
+        try {
+            return connectAsync(findCompatibleConnection(remote), remote, rq);
+        } catch (IncompatibleConnectionException e) {
+            return failedFuture(e);
+        }
+    }
+
+    /**
+     * Opens the association by a thread of the {@link Device} executor.
+     *
+     * @return future completed with the established association
+     */
+    public CompletableFuture<Association> connectAsync(ApplicationEntity remote, AAssociateRQ rq) {
+        CompatibleConnection cc;
+        try {
+            cc = findCompatibleConnection(remote);
+        } catch (IncompatibleConnectionException e) {
+            return failedFuture(e);
+        }
+        if (rq.getCalledAET() == null)
+            rq.setCalledAET(masqueradeCalledAETitle(remote.getAETitle()));
+        return connectAsync(cc.getLocalConnection(), cc.getRemoteConnection(), rq);
+    }
+
+    private static CompletableFuture<Association> failedFuture(Throwable ex) {
+        CompletableFuture<Association> future = new CompletableFuture<>();
+        future.completeExceptionally(ex);
+        return future;
+    }
+
     @Override
     public String toString() {
         return promptTo(new StringBuilder(512), "").toString();
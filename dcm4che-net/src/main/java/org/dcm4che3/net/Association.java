@@ -38,14 +38,24 @@
 
 package org.dcm4che3.net;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.UID;
@@ -60,6 +70,7 @@ import org.dcm4che3.net.pdu.PresentationContext;
 import org.dcm4che3.net.pdu.RoleSelection;
 import org.dcm4che3.util.IntHashMap;
 import org.dcm4che3.util.ReverseDNS;
+import org.dcm4che3.util.SafeBuffer;
 import org.dcm4che3.util.SafeClose;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -73,6 +84,14 @@ public class Association {
     public static final Logger LOG = LoggerFactory.getLogger(Association.class);
 
     private static final AtomicInteger prevSerialNo = new AtomicInteger();
+    private static final NioChannel.FrameDetector PDU_DETECTOR = new NioChannel.FrameDetector() {
+
+        @Override
+        public boolean hasFrame(ByteBuffer buf) {
+            return buf.remaining() >= 6
+                    && buf.remaining() - 6 >= (buf.getInt(buf.position() + 2) & 0xFFFFFFFFL);
+        }
+    };
     private final AtomicInteger messageID = new AtomicInteger();
     private final AtomicIntegerArray dimseCounters = new AtomicIntegerArray(46);
     private final long connectTime;
@@ -86,6 +105,8 @@ public class Association {
     private final Socket sock;
     private final InputStream in;
     private final OutputStream out;
+    private final NioChannel nio;
+    private final SocketChannel channel;
     private final PDUEncoder encoder;
     private PDUDecoder decoder;
     private volatile State state;
@@ -98,6 +119,10 @@ public class Association {
     private int maxPDULength;
     private int performing;
     private Timeout timeout;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition stateOrPerformingChanged = lock.newCondition();
+    private final ReentrantLock rspHandlerLock = new ReentrantLock();
+    private final Condition rspHandlerRemoved = rspHandlerLock.newCondition();
     private final IntHashMap<DimseRSPHandler> rspHandlerForMsgId =
             new IntHashMap<DimseRSPHandler>();
     private final IntHashMap<CancelRQHandler> cancelHandlerForMsgId =
@@ -105,9 +130,27 @@ public class Association {
     private final HashMap<String,HashMap<String,PresentationContext>> pcMap =
             new HashMap<String,HashMap<String,PresentationContext>>();
     private final LinkedList<AssociationListener> listeners = new LinkedList<>();
+    private final ArrayDeque<AsyncInvocation> asyncInvocations = new ArrayDeque<>();
+    private boolean asyncSending;
+    private final Runnable asyncSender = new Runnable() {
+
+        @Override
+        public void run() {
+            sendAsyncInvocations();
+        }
+    };
 
     Association(ApplicationEntity ae, Connection local, Socket sock)
             throws IOException {
+        this(ae, local, sock, inputStreamOf(sock), outputStreamOf(sock), null);
+    }
+
+    Association(Connection local, NioChannel nio) throws IOException {
+        this(null, local, nio.socket(), nio.getInputStream(), nio.getOutputStream(), nio);
+    }
+
+    private Association(ApplicationEntity ae, Connection local, Socket sock,
+            InputStream in, OutputStream out, NioChannel nio) throws IOException {
         this.connectTime = System.currentTimeMillis();
         this.serialNo = prevSerialNo.incrementAndGet();
         this.ae = ae;
@@ -119,8 +162,10 @@ public class Association {
         this.device = local.getDevice();
         this.monitor = device.getAssociationMonitor();
         this.sock = sock;
-        this.in = sock.getInputStream();
-        this.out = sock.getOutputStream();
+        this.in = in;
+        this.out = out;
+        this.nio = nio;
+        this.channel = nio == null ? sock.getChannel() : null;
         this.encoder = new PDUEncoder(this, out);
         if (requestor) {
             enterState(State.Sta4);
@@ -131,6 +176,83 @@ public class Association {
         activate();
     }
 
+    private static InputStream inputStreamOf(Socket sock) throws IOException {
+        SocketChannel ch = sock.getChannel();
+        return ch != null ? SocketChannelStreams.newInputStream(ch) : sock.getInputStream();
+    }
+
+    private static OutputStream outputStreamOf(Socket sock) throws IOException {
+        SocketChannel ch = sock.getChannel();
+        return ch != null ? SocketChannelStreams.newOutputStream(ch) : sock.getOutputStream();
+    }
+
+    /**
+     * Returns if the association is established over a plain TCP socket
+     * channel, which supports the transfer of file regions by
+     * {@link #transferFrom} without copying them into the heap.
+     *
+     * @return {@code true} if file regions can be transferred zero-copy
+     */
+    boolean isZeroCopySupported() {
+        return nio != null || channel != null;
+    }
+
+    /**
+     * Transfers bytes from the specified file region to the socket channel.
+     * Shall only be invoked by the {@link PDUEncoder}, holding its write
+     * lock.
+     */
+    void transferFrom(FileChannel src, long position, long count) throws IOException {
+        if (nio != null) {
+            nio.transferFrom(src, position, count);
+            return;
+        }
+        long end = position + count;
+        while (position < end) {
+            long n = src.transferTo(position, end - position, channel);
+            if (n <= 0 && position >= src.size())
+                throw new EOFException();
+            position += n;
+        }
+    }
+
+    /**
+     * Transfers bytes received from the socket channel to the specified
+     * channel, without copying them into the heap. Shall only be invoked by
+     * the {@link PDUDecoder}.
+     */
+    void transferTo(WritableByteChannel dst, long count) throws IOException {
+        if (nio != null) {
+            nio.transferTo(dst, count);
+            return;
+        }
+        if (dst instanceof FileChannel) {
+            FileChannel fc = (FileChannel) dst;
+            long position = fc.position();
+            long end = position + count;
+            while (position < end) {
+                long n = fc.transferFrom(channel, position, end - position);
+                if (n <= 0)
+                    throw new EOFException();
+                position += n;
+            }
+            fc.position(end);
+            return;
+        }
+        ByteBuffer bb = ByteBuffer.allocateDirect((int) Math.min(count, 0x10000));
+        while (count > 0) {
+            SafeBuffer.clear(bb);
+            if (bb.remaining() > count)
+                SafeBuffer.limit(bb, (int) count);
+            if (channel.read(bb) < 0)
+                throw new EOFException();
+            SafeBuffer.flip(bb);
+            count -= bb.remaining();
+            while (bb.hasRemaining())
+                dst.write(bb);
+        }
+    }
+
     public long getConnectTimeInMillis() {
         return connectTime;
     }
@@ -248,6 +370,16 @@ public class Association {
         return requestor;
     }
 
+    /**
+     * Get the number of operations invoked on this association, for which the final response was not yet
+     * received.
+     *
+     * @return number of outstanding operations
+     */
+    public int getNumberOfOutstandingRSP() {
+        return rspHandlerForMsgId.size();
+    }
+
     public boolean isReadyForDataTransfer() {
         return state == State.Sta6;
     }
@@ -343,18 +475,35 @@ public class Association {
         state.write(this, aa);
     }
 
-    private synchronized void closeSocket() {
-        state.closeSocket(this);
+    ReentrantLock getLock() {
+        return lock;
+    }
+
+    private void closeSocket() {
+        lock.lock();
+        try {
+            state.closeSocket(this);
+        } finally {
+            lock.unlock();
+        }
     }
 
     void doCloseSocket() {
         LOG.info("{}: close {}", name, sock);
-        SafeClose.close(sock);
+        if (nio != null)
+            nio.close();
+        else
+            SafeClose.close(sock);
         enterState(State.Sta1);
     }
 
-    synchronized private void closeSocketDelayed() {
-        state.closeSocketDelayed(this);
+    private void closeSocketDelayed() {
+        lock.lock();
+        try {
+            state.closeSocketDelayed(this);
+        } finally {
+            lock.unlock();
+        }
     }
 
     void doCloseSocketDelayed() {
@@ -373,14 +522,19 @@ public class Association {
             closeSocket();
     }
 
-    synchronized void onIOException(IOException e) {
-        if (ex != null)
-            return;
+    void onIOException(IOException e) {
+        lock.lock();
+        try {
+            if (ex != null)
+                return;
 
-        ex = e;
-        LOG.info("{}: i/o exception: {} in State: {}",
-                new Object[] { name, e, state });
-        closeSocket();
+            ex = e;
+            LOG.info("{}: i/o exception: {} in State: {}",
+                    new Object[] { name, e, state });
+            closeSocket();
+        } finally {
+            lock.unlock();
+        }
     }
 
     void write(AAbort aa)  {
@@ -428,13 +582,16 @@ public class Association {
 
     private void startSendTimeout(int timeout) {
         if (timeout > 0) {
-            synchronized (this) {
+            lock.lock();
+            try {
                 stopTimeout();
                 this.timeout = Timeout.start(this,
                         "{}: start send timeout of {}ms",
                         "{}: send timeout expired",
                         "{}: stop send timeout",
                         timeout);
+            } finally {
+                lock.unlock();
             }
         }
     }
@@ -442,19 +599,23 @@ public class Association {
     private void startTimeout(String startMsg, String expiredMsg,
             String cancelMsg, int timeout, State state) {
         if (timeout > 0 && performing == 0 && rspHandlerForMsgId.isEmpty()) {
-            synchronized (this) {
+            lock.lock();
+            try {
                 if (this.state == state) {
                     stopTimeout();
                     this.timeout = Timeout.start(this, startMsg, expiredMsg,
                             cancelMsg, timeout);
                 }
+            } finally {
+                lock.unlock();
             }
         }
     }
 
     private void startTimeout(final int msgID, int timeout, boolean stopOnPending) {
         if (timeout > 0) {
-            synchronized (rspHandlerForMsgId) {
+            rspHandlerLock.lock();
+            try {
                 DimseRSPHandler rspHandler = rspHandlerForMsgId.get(msgID);
                 if (rspHandler != null) {
                     rspHandler.setTimeout(Timeout.start(this,
@@ -463,21 +624,31 @@ public class Association {
                         "{}: stop " + msgID + ":DIMSE-RSP timeout",
                         timeout), stopOnPending);
                 }
+            } finally {
+                rspHandlerLock.unlock();
             }
         }
     }
 
-    private synchronized void stopTimeout() {
-        if (timeout != null) {
-            timeout.stop();
-            timeout = null;
+    private void stopTimeout() {
+        lock.lock();
+        try {
+            if (timeout != null) {
+                timeout.stop();
+                timeout = null;
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
     public void waitForOutstandingRSP() throws InterruptedException {
-        synchronized (rspHandlerForMsgId) {
+        rspHandlerLock.lock();
+        try {
             while (!rspHandlerForMsgId.isEmpty())
-                rspHandlerForMsgId.wait();
+                rspHandlerRemoved.await();
+        } finally {
+            rspHandlerLock.unlock();
         }
     }
 
@@ -489,11 +660,15 @@ public class Association {
      *         while the current thread was waiting
      */
     public void waitForNonBlockingInvoke() throws InterruptedException {
-        if (maxOpsInvoked > 0)
-            synchronized (rspHandlerForMsgId) {
+        if (maxOpsInvoked > 0) {
+            rspHandlerLock.lock();
+            try {
                 while (rspHandlerForMsgId.size() >= maxOpsInvoked)
-                    rspHandlerForMsgId.wait();
+                    rspHandlerRemoved.await();
+            } finally {
+                rspHandlerLock.unlock();
             }
+        }
     }
 
     void write(AAssociateRQ rq) throws IOException {
@@ -525,28 +700,43 @@ public class Association {
             throw ex;
     }
 
-    private synchronized void enterState(State newState) {
-        LOG.debug("{}: enter state: {}", name, newState);
-        this.state = newState;
-        notifyAll();
+    private void enterState(State newState) {
+        lock.lock();
+        try {
+            LOG.debug("{}: enter state: {}", name, newState);
+            this.state = newState;
+            stateOrPerformingChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
     }
 
     public final State getState() {
         return state;
     }
 
-    synchronized void waitForLeaving(State state)
+    void waitForLeaving(State state)
             throws InterruptedException, IOException {
-        while (this.state == state)
-            wait();
-        checkException();
+        lock.lock();
+        try {
+            while (this.state == state)
+                stateOrPerformingChanged.await();
+            checkException();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    synchronized void waitForEntering(State state)
+    void waitForEntering(State state)
             throws InterruptedException, IOException {
-        while (this.state != state)
-            wait();
-        checkException();
+        lock.lock();
+        try {
+            while (this.state != state)
+                stateOrPerformingChanged.await();
+            checkException();
+        } finally {
+            lock.unlock();
+        }
     }
 
     public void waitForSocketClose()
@@ -555,6 +745,18 @@ public class Association {
     }
 
     private void activate() {
+        if (nio != null) {
+            decoder = new PDUDecoder(this, in);
+            device.addAssociation(this);
+            nio.startReading(PDU_DETECTOR, new Runnable() {
+
+                @Override
+                public void run() {
+                    decodeReceivedPDUs();
+                }
+            });
+            return;
+        }
         device.execute(new Runnable() {
 
             @Override
@@ -578,9 +780,30 @@ public class Association {
         });
     }
 
+    private void decodeReceivedPDUs() {
+        try {
+            decoder.attachThread();
+            while (!(state == State.Sta1 || state == State.Sta13)) {
+                if (!nio.hasFrame())
+                    return;
+                decoder.nextPDU();
+            }
+        } catch (AAbort aa) {
+            abort(aa);
+        } catch (IOException e) {
+            onIOException(e);
+        } catch (Exception e) {
+            onIOException(new IOException("Unexpected Error", e));
+        }
+        nio.stopReading();
+        device.removeAssociation(this);
+        onClose();
+    }
+
     private void onClose() {
         stopTimeout();
-        synchronized (rspHandlerForMsgId) {
+        rspHandlerLock.lock();
+        try {
             IntHashMap.Visitor<DimseRSPHandler> visitor =
                     new IntHashMap.Visitor<DimseRSPHandler>() {
 
@@ -592,12 +815,20 @@ public class Association {
             };
             rspHandlerForMsgId.accept(visitor);
             rspHandlerForMsgId.clear();
-            rspHandlerForMsgId.notifyAll();
+            rspHandlerRemoved.signalAll();
+            AsyncInvocation invocation;
+            while ((invocation = asyncInvocations.poll()) != null)
+                invocation.rspHandler.onClose(Association.this);
+        } finally {
+            rspHandlerLock.unlock();
         }
         if (ae != null)
             ae.getDevice().getAssociationHandler().onClose(this);
         for (AssociationListener listener : listeners)
             listener.onClose(this);
+        if (decoder != null)
+            decoder.release();
+        encoder.release();
     }
 
     void onAAssociateRQ(AAssociateRQ rq) throws IOException {
@@ -674,13 +905,18 @@ public class Association {
         closeSocketDelayed();
     }
 
-    private synchronized void waitForPerformingOps() {
-        while (performing > 0 && state == State.Sta8) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+    private void waitForPerformingOps() {
+        lock.lock();
+        try {
+            while (performing > 0 && state == State.Sta8) {
+                try {
+                    stateOrPerformingChanged.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
             }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -750,13 +986,23 @@ public class Association {
         ae.onDimseRQ(this, pc, dimse, cmd, data);
     }
 
-    private synchronized void incPerforming() {
-        ++performing;
+    private void incPerforming() {
+        lock.lock();
+        try {
+            ++performing;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    private synchronized void decPerforming() {
-        --performing;
-        notifyAll();
+    private void decPerforming() {
+        lock.lock();
+        try {
+            --performing;
+            stateOrPerformingChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
     }
 
     void onDimseRSP(Dimse dimse, Attributes cmd, Attributes data) throws AAbort {
@@ -781,37 +1027,91 @@ public class Association {
         }
     }
 
-    private synchronized void startIdleOrReleaseTimeout() {
-        if (state == State.Sta6)
-            startIdleTimeout();
-        else if (state == State.Sta7)
-            startReleaseTimeout();
+    private void startIdleOrReleaseTimeout() {
+        lock.lock();
+        try {
+            if (state == State.Sta6)
+                startIdleTimeout();
+            else if (state == State.Sta7)
+                startReleaseTimeout();
+        } finally {
+            lock.unlock();
+        }
     }
 
     private void addDimseRSPHandler(DimseRSPHandler rspHandler)
             throws InterruptedException {
-        synchronized (rspHandlerForMsgId) {
+        rspHandlerLock.lock();
+        try {
             while (maxOpsInvoked > 0
                     && rspHandlerForMsgId.size() >= maxOpsInvoked)
-                rspHandlerForMsgId.wait();
+                rspHandlerRemoved.await();
             rspHandlerForMsgId.put(rspHandler.getMessageID(), rspHandler);
+        } finally {
+            rspHandlerLock.unlock();
         }
     }
 
     private DimseRSPHandler getDimseRSPHandler(int msgId) {
-        synchronized (rspHandlerForMsgId ) {
+        rspHandlerLock.lock();
+        try {
             return rspHandlerForMsgId.get(msgId);
+        } finally {
+            rspHandlerLock.unlock();
         }
     }
 
     private DimseRSPHandler removeDimseRSPHandler(int msgId) {
-        synchronized (rspHandlerForMsgId ) {
-            DimseRSPHandler tmp = rspHandlerForMsgId.remove(msgId);
+        DimseRSPHandler tmp;
+        boolean startAsyncSender;
+        rspHandlerLock.lock();
+        try {
+            tmp = rspHandlerForMsgId.remove(msgId);
             if (tmp != null) {
               tmp.stopTimeout(this);
             }
-            rspHandlerForMsgId.notifyAll();
-            return tmp;
+            rspHandlerRemoved.signalAll();
+            startAsyncSender = tryStartAsyncSender();
+        } finally {
+            rspHandlerLock.unlock();
+        }
+        if (startAsyncSender)
+            device.execute(asyncSender);
+        return tmp;
+    }
+
+    private boolean isMaxOpsInvokedReached() {
+        return maxOpsInvoked > 0 && rspHandlerForMsgId.size() >= maxOpsInvoked;
+    }
+
+    /**
+     * Returns if the asynchronous sender shall be started. Shall only be
+     * invoked holding {@link #rspHandlerLock}.
+     */
+    private boolean tryStartAsyncSender() {
+        if (asyncSending || asyncInvocations.isEmpty() || isMaxOpsInvokedReached())
+            return false;
+        asyncSending = true;
+        return true;
+    }
+
+    private void sendAsyncInvocations() {
+        for (;;) {
+            AsyncInvocation invocation;
+            rspHandlerLock.lock();
+            try {
+                if (asyncInvocations.isEmpty() || isMaxOpsInvokedReached()) {
+                    asyncSending = false;
+                    return;
+                }
+                invocation = asyncInvocations.poll();
+                if (invocation.rspHandler.future().isDone())
+                    continue;
+                rspHandlerForMsgId.put(invocation.rspHandler.getMessageID(), invocation.rspHandler);
+            } finally {
+                rspHandlerLock.unlock();
+            }
+            invocation.send();
         }
     }
 
@@ -1064,6 +1364,157 @@ public class Association {
         return rsp;
     }
 
+    /**
+     * Send C-STORE-RQ without blocking the calling thread.
+     *
+     * @return future completed with the C-STORE-RSP command
+     * @see #invokeAsync
+     */
+    public CompletableFuture<Attributes> cstoreAsync(String cuid, String iuid, int priority, DataWriter data,
+            String tsuid) {
+        try {
+            PresentationContext pc = pcFor(cuid, tsuid);
+            checkIsSCU(cuid);
+            Attributes cstorerq = Commands.mkCStoreRQ(nextMessageID(), cuid, iuid, priority);
+            return invokeAsync(pc, cstorerq, data, null, false,
+                    conn.getStoreTimeout(), conn.getResponseTimeout(), true);
+        } catch (IOException e) {
+            return failedFuture(e);
+        }
+    }
+
+    /**
+     * Send C-STORE-RQ in the context of a C-MOVE operation without blocking the calling thread.
+     *
+     * @return future completed with the C-STORE-RSP command
+     * @see #invokeAsync
+     */
+    public CompletableFuture<Attributes> cstoreAsync(String cuid, String iuid, int priority,
+            String moveOriginatorAET, int moveOriginatorMsgId, DataWriter data, String tsuid) {
+        try {
+            PresentationContext pc = pcFor(cuid, tsuid);
+            checkIsSCU(cuid);
+            Attributes cstorerq = Commands.mkCStoreRQ(nextMessageID(),
+                    cuid, iuid, priority, moveOriginatorAET, moveOriginatorMsgId);
+            return invokeAsync(pc, cstorerq, data, null, false,
+                    conn.getStoreTimeout(), conn.getResponseTimeout(), true);
+        } catch (IOException e) {
+            return failedFuture(e);
+        }
+    }
+
+    /**
+     * Send C-FIND-RQ without blocking the calling thread. Matches are passed to {@code onMatch} in the order of
+     * the received pending C-FIND-RSPs by the thread reading from the association, so a slow consumer delays
+     * the reading of further C-FIND-RSPs. Cancellation of the returned future sends a C-CANCEL-RQ.
+     *
+     * @param cuid     SOP Class UID associated with the operation
+     * @param priority priority of the C-FIND operation. 0 = MEDIUM, 1 = HIGH, 2 = LOW
+     * @param data     Data Set that encodes the Identifier to be matched
+     * @param tsuid    Transfer Syntax used to encode the Identifier
+     * @param onMatch  consumer of the Identifiers of pending C-FIND-RSPs
+     * @return future completed with the final C-FIND-RSP command
+     * @see #invokeAsync
+     */
+    public CompletableFuture<Attributes> cfindAsync(String cuid, int priority, Attributes data,
+            String tsuid, final Consumer<Attributes> onMatch) {
+        try {
+            PresentationContext pc = pcFor(cuid, tsuid);
+            checkIsSCU(cuid);
+            Attributes cfindrq = Commands.mkCFindRQ(nextMessageID(), cuid, priority);
+            return invokeAsync(pc, cfindrq, new DataWriterAdapter(data), dataConsumer(onMatch), true,
+                    conn.getSendTimeout(), conn.getResponseTimeout(), true);
+        } catch (IOException e) {
+            return failedFuture(e);
+        }
+    }
+
+    /**
+     * Send C-GET-RQ without blocking the calling thread. Cancellation of the returned future sends a
+     * C-CANCEL-RQ.
+     *
+     * @param onPendingRSP consumer of pending C-GET-RSP commands, or {@code null}
+     * @return future completed with the final C-GET-RSP command
+     * @see #invokeAsync
+     */
+    public CompletableFuture<Attributes> cgetAsync(String cuid, int priority, Attributes data,
+            String tsuid, Consumer<Attributes> onPendingRSP) {
+        try {
+            PresentationContext pc = pcFor(cuid, tsuid);
+            checkIsSCU(cuid);
+            Attributes cgetrq = Commands.mkCGetRQ(nextMessageID(), cuid, priority);
+            return invokeAsync(pc, cgetrq, new DataWriterAdapter(data), cmdConsumer(onPendingRSP), true,
+                    conn.getSendTimeout(), conn.getRetrieveTimeout(), !conn.isRetrieveTimeoutTotal());
+        } catch (IOException e) {
+            return failedFuture(e);
+        }
+    }
+
+    /**
+     * Send C-MOVE-RQ without blocking the calling thread. Cancellation of the returned future sends a
+     * C-CANCEL-RQ.
+     *
+     * @param onPendingRSP consumer of pending C-MOVE-RSP commands, or {@code null}
+     * @return future completed with the final C-MOVE-RSP command
+     * @see #invokeAsync
+     */
+    public CompletableFuture<Attributes> cmoveAsync(String cuid, int priority, Attributes data,
+            String tsuid, String destination, Consumer<Attributes> onPendingRSP) {
+        try {
+            PresentationContext pc = pcFor(cuid, tsuid);
+            checkIsSCU(cuid);
+            Attributes cmoverq = Commands.mkCMoveRQ(nextMessageID(), cuid, priority, destination);
+            return invokeAsync(pc, cmoverq, new DataWriterAdapter(data), cmdConsumer(onPendingRSP), true,
+                    conn.getSendTimeout(), conn.getRetrieveTimeout(), !conn.isRetrieveTimeoutTotal());
+        } catch (IOException e) {
+            return failedFuture(e);
+        }
+    }
+
+    public CompletableFuture<Attributes> cechoAsync() {
+        return cechoAsync(UID.Verification);
+    }
+
+    public CompletableFuture<Attributes> cechoAsync(String cuid) {
+        try {
+            PresentationContext pc = pcFor(cuid, null);
+            checkIsSCU(cuid);
+            Attributes cechorq = Commands.mkCEchoRQ(nextMessageID(), cuid);
+            return invokeAsync(pc, cechorq, null, null, false,
+                    conn.getSendTimeout(), conn.getResponseTimeout(), true);
+        } catch (IOException e) {
+            return failedFuture(e);
+        }
+    }
+
+    private static CompletableFuture<Attributes> failedFuture(Throwable e) {
+        CompletableFuture<Attributes> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+    private static BiConsumer<Attributes, Attributes> dataConsumer(final Consumer<Attributes> consumer) {
+        return consumer != null
+                ? new BiConsumer<Attributes, Attributes>() {
+                    @Override
+                    public void accept(Attributes cmd, Attributes data) {
+                        consumer.accept(data);
+                    }
+                }
+                : null;
+    }
+
+    private static BiConsumer<Attributes, Attributes> cmdConsumer(final Consumer<Attributes> consumer) {
+        return consumer != null
+                ? new BiConsumer<Attributes, Attributes>() {
+                    @Override
+                    public void accept(Attributes cmd, Attributes data) {
+                        consumer.accept(cmd);
+                    }
+                }
+                : null;
+    }
+
     public void neventReport(String cuid, String iuid, int eventTypeId,
             Attributes data, String tsuid, DimseRSPHandler rspHandler)
             throws IOException, InterruptedException {
@@ -1281,6 +1732,12 @@ public class Association {
         checkException();
         rspHandler.setPC(pc);
         addDimseRSPHandler(rspHandler);
+        writeDIMSE(pc, cmd, data, rspHandler, sendTimeout, rspTimeout, stopOnPending);
+    }
+
+    private void writeDIMSE(PresentationContext pc, Attributes cmd,
+            DataWriter data, DimseRSPHandler rspHandler, int sendTimeout, int rspTimeout, boolean stopOnPending)
+            throws IOException {
         startSendTimeout(sendTimeout);
         try {
             encoder.writeDIMSE(pc, cmd, data);
@@ -1295,6 +1752,108 @@ public class Association {
         }
     }
 
+    /**
+     * Invokes a DIMSE operation without blocking the calling thread.
+     * <p>
+     * If the number of outstanding operations reached the negotiated
+     * maximal number of operations invoked asynchronously, the request is
+     * queued and sent by a thread of the {@link Device} executor, as soon as
+     * the response for an outstanding operation is received. Otherwise the
+     * sending of the request - inclusive its data set - is also performed by
+     * a thread of the {@link Device} executor.
+     *
+     * @param pc           Presentation Context
+     * @param cmd          request command
+     * @param data         request data set or {@code null}
+     * @param onPendingRSP consumer of command and data set of pending responses, invoked by the thread reading
+     *                     from the association, or {@code null}
+     * @param cancelable   if a C-CANCEL-RQ shall be sent on cancellation of the returned future; a request
+     *                     still queued on cancellation is removed from the queue and never sent
+     * @param sendTimeout  timeout in ms for sending the request, 0 = no timeout
+     * @param rspTimeout   timeout in ms for receiving the (next) response, 0 = no timeout
+     * @param stopOnPending if the response timeout shall be restarted on receive of a pending response
+     * @return future completed with the final response command
+     */
+    public CompletableFuture<Attributes> invokeAsync(PresentationContext pc, Attributes cmd,
+            DataWriter data, BiConsumer<Attributes, Attributes> onPendingRSP, boolean cancelable,
+            int sendTimeout, int rspTimeout, boolean stopOnPending) {
+        CompletableDimseRSPHandler rspHandler = new CompletableDimseRSPHandler(
+                cmd.getInt(Tag.MessageID, 0), onPendingRSP, cancelable);
+        rspHandler.setPC(pc);
+        rspHandler.cancelOnCancellation(this);
+        if (ex != null) {
+            rspHandler.fail(ex);
+            return rspHandler.future();
+        }
+        boolean startAsyncSender;
+        rspHandlerLock.lock();
+        try {
+            asyncInvocations.add(new AsyncInvocation(
+                    pc, cmd, data, rspHandler, sendTimeout, rspTimeout, stopOnPending));
+            startAsyncSender = tryStartAsyncSender();
+        } finally {
+            rspHandlerLock.unlock();
+        }
+        if (startAsyncSender)
+            device.execute(asyncSender);
+        return rspHandler.future();
+    }
+
+    private final class AsyncInvocation {
+        final PresentationContext pc;
+        final Attributes cmd;
+        final DataWriter data;
+        final CompletableDimseRSPHandler rspHandler;
+        final int sendTimeout;
+        final int rspTimeout;
+        final boolean stopOnPending;
+
+        AsyncInvocation(PresentationContext pc, Attributes cmd, DataWriter data,
+                CompletableDimseRSPHandler rspHandler, int sendTimeout, int rspTimeout, boolean stopOnPending) {
+            this.pc = pc;
+            this.cmd = cmd;
+            this.data = data;
+            this.rspHandler = rspHandler;
+            this.sendTimeout = sendTimeout;
+            this.rspTimeout = rspTimeout;
+            this.stopOnPending = stopOnPending;
+        }
+
+        void send() {
+            try {
+                stopTimeout();
+                checkException();
+                writeDIMSE(pc, cmd, data, rspHandler, sendTimeout, rspTimeout, stopOnPending);
+            } catch (IOException | RuntimeException e) {
+                removeDimseRSPHandler(rspHandler.getMessageID());
+                rspHandler.fail(e);
+                return;
+            }
+            rspHandler.onSent(Association.this);
+        }
+    }
+
+    /**
+     * Removes the invocation of an operation invoked by {@link #invokeAsync}
+     * from the queue of not yet sent requests.
+     *
+     * @return {@code true} if the request was still queued and will not be sent
+     */
+    boolean removeAsyncInvocation(CompletableDimseRSPHandler rspHandler) {
+        rspHandlerLock.lock();
+        try {
+            for (Iterator<AsyncInvocation> iter = asyncInvocations.iterator(); iter.hasNext();) {
+                if (iter.next().rspHandler == rspHandler) {
+                    iter.remove();
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            rspHandlerLock.unlock();
+        }
+    }
+
     static int minZeroAsMax(int i1, int i2) {
         return i1 == 0 ? i2 : i2 == 0 ? i1 : Math.min(i1, i2);
     }
@@ -0,0 +1,684 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.net;
+
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.net.pdu.AAssociateRQ;
+import org.dcm4che3.net.pdu.PresentationContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool of established associations for reuse by subsequent DIMSE operations
+ * to the same remote Application Entity.
+ * <p>
+ * Pooled associations are keyed by Calling AE Title, Called AE Title and the
+ * requested Presentation Contexts. A borrowed association is exclusively used
+ * by the borrower until it is returned by {@link #returnAssociation}. New
+ * associations are opened, if there is no idle association with matching key,
+ * and the number of associations to the Called AE Title is below
+ * {@link #getMaxPerDestination()}; otherwise the borrower waits up to
+ * {@link #getMaxWaitTime()} ms for the return of another association.
+ * <p>
+ * Idle associations are released, before the idle timeout of their local
+ * {@link Connection} would abort them. If a remote Application Entity
+ * advertises several network connections, new associations are distributed
+ * across them according to {@link #getLoadBalancing()}.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class AssociationPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AssociationPool.class);
+
+    public static final int DEF_EVICTION_INTERVAL = 1000;
+
+    public enum LoadBalancing { ROUND_ROBIN, LEAST_OUTSTANDING_OPS }
+
+    private final Device device;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition returned = lock.newCondition();
+    private final HashMap<Key, ArrayDeque<Entry>> idle = new HashMap<>();
+    private final HashMap<Association, Entry> entries = new HashMap<>();
+    private final HashMap<String, Integer> countPerDestination = new HashMap<>();
+    private final HashMap<String, Integer> roundRobinIndex = new HashMap<>();
+    private final AssociationListener onClose = new AssociationListener() {
+        @Override
+        public void onClose(Association as) {
+            onAssociationClosed(as);
+        }
+    };
+    private final Runnable evictor = new Runnable() {
+        @Override
+        public void run() {
+            evictIdle();
+        }
+    };
+
+    private volatile int maxPerDestination;
+    private volatile int maxWaitTime;
+    private volatile int maxIdleTime;
+    private volatile int healthCheckInterval;
+    private volatile int evictionInterval = DEF_EVICTION_INTERVAL;
+    private volatile LoadBalancing loadBalancing = LoadBalancing.ROUND_ROBIN;
+    private ScheduledFuture<?> evictorFuture;
+
+    public AssociationPool(Device device) {
+        if (device == null)
+            throw new NullPointerException("device");
+        this.device = device;
+    }
+
+    public final Device getDevice() {
+        return device;
+    }
+
+    /**
+     * Get the maximal number of idle and borrowed associations to one Called AE Title.
+     *
+     * @return maximal number of associations per destination, 0 = no limit
+     */
+    public int getMaxPerDestination() {
+        return maxPerDestination;
+    }
+
+    public void setMaxPerDestination(int maxPerDestination) {
+        this.maxPerDestination = maxPerDestination;
+    }
+
+    /**
+     * Get the maximal time in ms to wait for the return of an association, if
+     * {@link #getMaxPerDestination()} is reached.
+     *
+     * @return timeout in ms, 0 = no timeout
+     */
+    public int getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    public void setMaxWaitTime(int maxWaitTime) {
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    /**
+     * Get the maximal time in ms an association remains idle in the pool. Independent of this value,
+     * idle associations are released before the idle timeout of their local {@link Connection} expires.
+     *
+     * @return maximal idle time in ms, 0 = only limited by the idle timeout of the local connection
+     */
+    public int getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    public void setMaxIdleTime(int maxIdleTime) {
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    /**
+     * Get the idle time in ms after which a C-ECHO is performed to verify the association before it is lent.
+     * Only associations with a negotiated Presentation Context for the Verification SOP Class are verified.
+     *
+     * @return idle time in ms, 0 = no verification
+     */
+    public int getHealthCheckInterval() {
+        return healthCheckInterval;
+    }
+
+    public void setHealthCheckInterval(int healthCheckInterval) {
+        this.healthCheckInterval = healthCheckInterval;
+    }
+
+    public int getEvictionInterval() {
+        return evictionInterval;
+    }
+
+    public void setEvictionInterval(int evictionInterval) {
+        if (evictionInterval <= 0)
+            throw new IllegalArgumentException("evictionInterval: " + evictionInterval);
+        this.evictionInterval = evictionInterval;
+    }
+
+    public LoadBalancing getLoadBalancing() {
+        return loadBalancing;
+    }
+
+    public void setLoadBalancing(LoadBalancing loadBalancing) {
+        if (loadBalancing == null)
+            throw new NullPointerException("loadBalancing");
+        this.loadBalancing = loadBalancing;
+    }
+
+    public int getNumberOfIdleAssociations() {
+        lock.lock();
+        try {
+            int n = 0;
+            for (ArrayDeque<Entry> deque : idle.values())
+                n += deque.size();
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getNumberOfAssociations() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Borrow an association to the specified remote Application Entity. If a new association has to be opened,
+     * the network connection of the remote Application Entity is selected according
+     * {@link #getLoadBalancing()}. If the association cannot be established on that connection, the other
+     * compatible network connections of the remote Application Entity are tried.
+     *
+     * @param local  local Application Entity
+     * @param remote remote Application Entity
+     * @param rq     A-ASSOCIATE-RQ used to open a new association
+     * @return the borrowed association
+     */
+    public Association borrowAssociation(ApplicationEntity local, ApplicationEntity remote, AAssociateRQ rq)
+            throws IOException, InterruptedException, IncompatibleConnectionException, GeneralSecurityException {
+        if (rq.getCalledAET() == null)
+            rq.setCalledAET(local.masqueradeCalledAETitle(remote.getAETitle()));
+        return borrowAssociation(local, compatibleConnections(local, remote), rq);
+    }
+
+    /**
+     * Borrow an association to the specified remote network connection.
+     *
+     * @param local  local Application Entity
+     * @param remote remote network connection
+     * @param rq     A-ASSOCIATE-RQ used to open a new association
+     * @return the borrowed association
+     */
+    public Association borrowAssociation(ApplicationEntity local, Connection remote, AAssociateRQ rq)
+            throws IOException, InterruptedException, IncompatibleConnectionException, GeneralSecurityException {
+        return borrowAssociation(local,
+                Collections.singletonList(new CompatibleConnection(local.findCompatibleConnection(remote), remote)),
+                rq);
+    }
+
+    private Association borrowAssociation(ApplicationEntity local, List<CompatibleConnection> candidates,
+            AAssociateRQ rq)
+            throws IOException, InterruptedException, IncompatibleConnectionException, GeneralSecurityException {
+        if (rq.getCallingAET() == null)
+            rq.setCallingAET(local.getCallingAETitle(rq.getCalledAET()));
+        Key key = new Key(rq);
+        String destination = rq.getCalledAET();
+        int maxWaitTime = this.maxWaitTime;
+        long deadline = maxWaitTime > 0 ? System.currentTimeMillis() + maxWaitTime : 0L;
+        for (;;) {
+            Entry entry = null;
+            Entry victim = null;
+            List<CompatibleConnection> ordered = null;
+            lock.lock();
+            try {
+                for (;;) {
+                    if ((entry = pollIdle(key)) != null) {
+                        entry.borrowed = true;
+                        break;
+                    }
+                    int maxPerDestination = this.maxPerDestination;
+                    if (maxPerDestination <= 0 || count(destination) < maxPerDestination) {
+                        incrementCount(destination, 1);
+                        ordered = select(destination, candidates);
+                        break;
+                    }
+                    if ((victim = pollEldestIdle(destination)) != null) {
+                        remove(victim);
+                        break;
+                    }
+                    if (deadline == 0L) {
+                        returned.await();
+                    } else {
+                        long remaining = deadline - System.currentTimeMillis();
+                        if (remaining <= 0 || !returned.await(remaining, TimeUnit.MILLISECONDS))
+                            throw new IOException("Maximal number of " + maxPerDestination
+                                    + " associations to " + destination + " reached");
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (victim != null) {
+                close(victim.as);
+                continue;
+            }
+            if (entry == null)
+                return open(local, key, rq, ordered);
+            if (validate(entry))
+                return entry.as;
+            invalidate(entry);
+        }
+    }
+
+    /**
+     * Return a borrowed association to the pool. Associations which are no longer ready for data transfer are
+     * removed from the pool - if the association was already closed, e.g. by an A-ABORT, it may have already been
+     * removed on its close.
+     *
+     * @param as the borrowed association
+     */
+    public void returnAssociation(Association as) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(as);
+            if (entry == null && !as.isReadyForDataTransfer())
+                return;
+            if (entry == null || !entry.borrowed)
+                throw new IllegalArgumentException("Association not borrowed from pool: " + as);
+            entry.borrowed = false;
+            if (!as.isReadyForDataTransfer()) {
+                remove(entry);
+                return;
+            }
+            entry.lastUsed = System.currentTimeMillis();
+            ArrayDeque<Entry> deque = idle.get(entry.key);
+            if (deque == null)
+                idle.put(entry.key, deque = new ArrayDeque<>());
+            deque.add(entry);
+            if (evictorFuture == null) {
+                int interval = evictionInterval;
+                evictorFuture = device.scheduleWithFixedDelay(evictor, interval, interval, TimeUnit.MILLISECONDS);
+            }
+            returned.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a borrowed association from the pool and release it. To be invoked instead of
+     * {@link #returnAssociation}, if the association shall not be reused, e.g. after an error. Associations
+     * already closed and therefore removed from the pool are ignored.
+     *
+     * @param as the borrowed association
+     */
+    public void invalidateAssociation(Association as) {
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(as);
+            if (entry == null && !as.isReadyForDataTransfer())
+                return;
+            if (entry == null || !entry.borrowed)
+                throw new IllegalArgumentException("Association not borrowed from pool: " + as);
+        } finally {
+            lock.unlock();
+        }
+        invalidate(entry);
+    }
+
+    /**
+     * Release all idle associations and stop the eviction of idle associations. Borrowed associations are
+     * released on their return.
+     */
+    public void close() {
+        List<Entry> closing = new ArrayList<>();
+        lock.lock();
+        try {
+            for (ArrayDeque<Entry> deque : idle.values())
+                closing.addAll(deque);
+            for (Entry entry : closing)
+                remove(entry);
+            if (evictorFuture != null) {
+                evictorFuture.cancel(false);
+                evictorFuture = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Entry entry : closing)
+            close(entry.as);
+    }
+
+    private Association open(ApplicationEntity local, Key key, AAssociateRQ rq,
+            List<CompatibleConnection> ordered)
+            throws IOException, InterruptedException, IncompatibleConnectionException, GeneralSecurityException {
+        Exception ex = null;
+        try {
+            for (CompatibleConnection cc : ordered) {
+                try {
+                    Association as = local.connect(cc.getLocalConnection(), cc.getRemoteConnection(), rq);
+                    boolean ready;
+                    lock.lock();
+                    try {
+                        entries.put(as, new Entry(as, key, cc.getRemoteConnection()));
+                        as.addAssociationListener(onClose);
+                        if (!(ready = as.isReadyForDataTransfer()))
+                            entries.remove(as);
+                    } finally {
+                        lock.unlock();
+                    }
+                    if (!ready)
+                        throw new IOException("Association to " + rq.getCalledAET() + " closed");
+                    LOG.debug("{}: added to pool", as);
+                    return as;
+                } catch (IOException | GeneralSecurityException e) {
+                    LOG.info("Failed to open association to {} on {}: {}",
+                            rq.getCalledAET(), cc.getRemoteConnection(), e.toString());
+                    if (ex == null)
+                        ex = e;
+                }
+            }
+        } catch (RuntimeException | InterruptedException e) {
+            decrementCount(rq.getCalledAET());
+            throw e;
+        }
+        decrementCount(rq.getCalledAET());
+        if (ex instanceof GeneralSecurityException)
+            throw (GeneralSecurityException) ex;
+        throw (IOException) ex;
+    }
+
+    private boolean validate(Entry entry) throws InterruptedException {
+        Association as = entry.as;
+        if (!as.isReadyForDataTransfer())
+            return false;
+        int healthCheckInterval = this.healthCheckInterval;
+        if (healthCheckInterval <= 0
+                || System.currentTimeMillis() - entry.lastUsed < healthCheckInterval
+                || as.getTransferSyntaxesFor(UID.Verification).isEmpty())
+            return true;
+        try {
+            DimseRSP rsp = as.cecho();
+            rsp.next();
+            int status = rsp.getCommand().getInt(Tag.Status, -1);
+            if (status == Status.Success)
+                return true;
+            LOG.info("{}: health check failed with status {}H", as, Integer.toHexString(status));
+        } catch (IOException e) {
+            LOG.info("{}: health check failed: {}", as, e.toString());
+        }
+        return false;
+    }
+
+    private void invalidate(Entry entry) {
+        lock.lock();
+        try {
+            remove(entry);
+        } finally {
+            lock.unlock();
+        }
+        close(entry.as);
+    }
+
+    private void evictIdle() {
+        List<Entry> evicted = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            for (ArrayDeque<Entry> deque : idle.values()) {
+                for (Entry entry : deque) {
+                    if (isExpired(entry, now))
+                        evicted.add(entry);
+                }
+            }
+            for (Entry entry : evicted)
+                remove(entry);
+            if (entries.isEmpty() && evictorFuture != null) {
+                evictorFuture.cancel(false);
+                evictorFuture = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Entry entry : evicted) {
+            LOG.debug("{}: evicted from pool", entry.as);
+            close(entry.as);
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        long idleTime = now - entry.lastUsed;
+        int maxIdleTime = this.maxIdleTime;
+        if (maxIdleTime > 0 && idleTime >= maxIdleTime)
+            return true;
+        int idleTimeout = entry.as.getConnection().getIdleTimeout();
+        return idleTimeout > 0 && idleTime + evictionInterval >= idleTimeout;
+    }
+
+    private void onAssociationClosed(Association as) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(as);
+            if (entry != null)
+                remove(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry pollIdle(Key key) {
+        ArrayDeque<Entry> deque = idle.get(key);
+        if (deque == null)
+            return null;
+        Entry entry = deque.pollLast();
+        if (deque.isEmpty())
+            idle.remove(key);
+        return entry;
+    }
+
+    private Entry pollEldestIdle(String destination) {
+        Entry eldest = null;
+        for (ArrayDeque<Entry> deque : idle.values()) {
+            Entry entry = deque.peekFirst();
+            if (entry != null && entry.key.calledAET.equals(destination)
+                    && (eldest == null || entry.lastUsed < eldest.lastUsed))
+                eldest = entry;
+        }
+        return eldest;
+    }
+
+    private void remove(Entry entry) {
+        if (entries.remove(entry.as) == null)
+            return;
+        ArrayDeque<Entry> deque = idle.get(entry.key);
+        if (deque != null && deque.remove(entry) && deque.isEmpty())
+            idle.remove(entry.key);
+        decrementCount(entry.key.calledAET);
+    }
+
+    private int count(String destination) {
+        Integer count = countPerDestination.get(destination);
+        return count != null ? count : 0;
+    }
+
+    private void incrementCount(String destination, int delta) {
+        int count = count(destination) + delta;
+        if (count > 0)
+            countPerDestination.put(destination, count);
+        else
+            countPerDestination.remove(destination);
+    }
+
+    private void decrementCount(String destination) {
+        lock.lock();
+        try {
+            incrementCount(destination, -1);
+            returned.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<CompatibleConnection> select(String destination, List<CompatibleConnection> candidates) {
+        int size = candidates.size();
+        if (size == 1)
+            return candidates;
+        ArrayList<CompatibleConnection> ordered = new ArrayList<>(size);
+        switch (loadBalancing) {
+            case ROUND_ROBIN:
+                Integer index = roundRobinIndex.get(destination);
+                int start = index != null ? index : 0;
+                roundRobinIndex.put(destination, (start + 1) % size);
+                for (int i = 0; i < size; i++)
+                    ordered.add(candidates.get((start + i) % size));
+                break;
+            case LEAST_OUTSTANDING_OPS:
+                final HashMap<Connection, Integer> load = new HashMap<>();
+                for (Entry entry : entries.values()) {
+                    if (entry.borrowed) {
+                        Integer n = load.get(entry.remoteConn);
+                        load.put(entry.remoteConn, (n != null ? n : 0) + 1
+                                + entry.as.getNumberOfOutstandingRSP());
+                    }
+                }
+                ordered.addAll(candidates);
+                Collections.sort(ordered, new Comparator<CompatibleConnection>() {
+                    @Override
+                    public int compare(CompatibleConnection o1, CompatibleConnection o2) {
+                        return Integer.compare(loadOf(o1), loadOf(o2));
+                    }
+
+                    private int loadOf(CompatibleConnection cc) {
+                        Integer n = load.get(cc.getRemoteConnection());
+                        return n != null ? n : 0;
+                    }
+                });
+                break;
+        }
+        return ordered;
+    }
+
+    private static List<CompatibleConnection> compatibleConnections(ApplicationEntity local,
+            ApplicationEntity remote) throws IncompatibleConnectionException {
+        ArrayList<CompatibleConnection> list = new ArrayList<>();
+        for (Connection remoteConn : remote.getConnections())
+            if (remoteConn.isInstalled() && remoteConn.isServer())
+                for (Connection conn : local.getConnections())
+                    if (conn.isInstalled() && conn.isCompatible(remoteConn)) {
+                        list.add(new CompatibleConnection(conn, remoteConn));
+                        break;
+                    }
+        if (list.isEmpty())
+            throw new IncompatibleConnectionException(
+                    "No compatible connection to " + remote.getAETitle() + " available on " + local.getAETitle());
+        return list;
+    }
+
+    private static void close(Association as) {
+        if (as.isReadyForDataTransfer()) {
+            try {
+                as.release();
+            } catch (IOException e) {
+                LOG.info("{}: failed to release association: {}", as, e.toString());
+                as.abort();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return "AssociationPool[associations=" + entries.size()
+                    + ", idle=" + getNumberOfIdleAssociations()
+                    + ", perDestination=" + countPerDestination
+                    + ']';
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Entry {
+        final Association as;
+        final Key key;
+        final Connection remoteConn;
+        boolean borrowed = true;
+        long lastUsed;
+
+        Entry(Association as, Key key, Connection remoteConn) {
+            this.as = as;
+            this.key = key;
+            this.remoteConn = remoteConn;
+        }
+    }
+
+    private static final class Key {
+        final String callingAET;
+        final String calledAET;
+        final Set<String> presentationContexts = new HashSet<>();
+        final int hashCode;
+
+        Key(AAssociateRQ rq) {
+            this.callingAET = rq.getCallingAET();
+            this.calledAET = rq.getCalledAET();
+            for (PresentationContext pc : rq.getPresentationContexts()) {
+                StringBuilder sb = new StringBuilder(pc.getAbstractSyntax());
+                for (String ts : pc.getTransferSyntaxes())
+                    sb.append('\\').append(ts);
+                presentationContexts.add(sb.toString());
+            }
+            this.hashCode = Objects.hash(callingAET, calledAET, presentationContexts);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return callingAET.equals(other.callingAET)
+                    && calledAET.equals(other.calledAET)
+                    && presentationContexts.equals(other.presentationContexts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.net;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+/**
+ * DIMSE response handler of operations invoked by the asynchronous methods of
+ * {@link Association}, completing a {@link CompletableFuture} with the final
+ * response command.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+class CompletableDimseRSPHandler extends DimseRSPHandler {
+
+    private final CompletableFuture<Attributes> future = new CompletableFuture<>();
+    private final BiConsumer<Attributes, Attributes> onPendingRSP;
+    private final boolean cancelable;
+    private boolean sent;
+    private boolean cancelPending;
+
+    /**
+     * @param msgId        message ID of the request
+     * @param onPendingRSP consumer of command and data set of pending responses, may be {@code null}
+     * @param cancelable   if a C-CANCEL-RQ shall be sent on cancellation of the future, after the request
+     *                     was sent
+     */
+    CompletableDimseRSPHandler(int msgId, BiConsumer<Attributes, Attributes> onPendingRSP, boolean cancelable) {
+        super(msgId);
+        this.onPendingRSP = onPendingRSP;
+        this.cancelable = cancelable;
+    }
+
+    CompletableFuture<Attributes> future() {
+        return future;
+    }
+
+    void cancelOnCancellation(final Association as) {
+        future.whenComplete(new BiConsumer<Attributes, Throwable>() {
+            @Override
+            public void accept(Attributes cmd, Throwable e) {
+                if (future.isCancelled()
+                        && !as.removeAsyncInvocation(CompletableDimseRSPHandler.this)
+                        && cancelable && cancelIfSent())
+                    tryCancel(as);
+            }
+        });
+    }
+
+    /**
+     * Returns if the request was already sent, so a C-CANCEL-RQ shall be sent
+     * immediately. Otherwise the C-CANCEL-RQ is deferred until {@link #onSent}.
+     */
+    private synchronized boolean cancelIfSent() {
+        if (sent)
+            return !isCanceled();
+        cancelPending = true;
+        return false;
+    }
+
+    /**
+     * Invoked after the request was sent. Sends a C-CANCEL-RQ, if the future
+     * was cancelled while the request was sending.
+     */
+    void onSent(Association as) {
+        boolean cancel;
+        synchronized (this) {
+            sent = true;
+            cancel = cancelPending;
+        }
+        if (cancel)
+            tryCancel(as);
+    }
+
+    private void tryCancel(Association as) {
+        try {
+            cancel(as);
+        } catch (IOException e) {
+            Association.LOG.info("{}: failed to cancel DIMSE operation[msgId={}]: {}",
+                    as, getMessageID(), e.toString());
+        }
+    }
+
+    boolean fail(Throwable e) {
+        return future.completeExceptionally(e);
+    }
+
+    @Override
+    public void onDimseRSP(Association as, Attributes cmd, Attributes data) {
+        super.onDimseRSP(as, cmd, data);
+        if (!Status.isPending(cmd.getInt(Tag.Status, -1))) {
+            future.complete(cmd);
+        } else if (onPendingRSP != null && !future.isDone()) {
+            try {
+                onPendingRSP.accept(cmd, data);
+            } catch (RuntimeException e) {
+                Association.LOG.warn("{}: failed to process pending DIMSE RSP[msgId={}]:",
+                        as, getMessageID(), e);
+                if (fail(e) && cancelable)
+                    tryCancel(as);
+            }
+        }
+    }
+
+    @Override
+    public void onClose(Association as) {
+        super.onClose(as);
+        fail(new IOException("Association to " + as.getRemoteAET() + " closed"));
+    }
+}
@@ -52,6 +52,7 @@ import java.net.Socket;
 import java.net.SocketAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.nio.channels.SocketChannel;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -137,6 +138,7 @@ public class Connection implements Serializable {
     private int maxOpsPerformed = SYNCHRONOUS_MODE;
     private int maxOpsInvoked = SYNCHRONOUS_MODE;
     private boolean packPDV = true;
+    private boolean nioTransport;
     private boolean tcpNoDelay = true;
     private boolean tlsNeedClientAuth = true;
     private String[] tlsCipherSuites = {};
@@ -630,6 +632,28 @@ public class Connection implements Serializable {
         this.idleTimeout = timeout;
     }
 
+    /**
+     * Indicates if accepted connections are served by non-blocking, selector
+     * based I/O of a pool of reactor threads, shared by all listening
+     * Connections of the Device, instead of binding one thread to each open
+     * connection. Only effective for non-TLS connections of protocols
+     * supporting it.
+     *
+     * @return {@code true} if accepted connections are served by NIO
+     * @see Device#setReactorPoolSize(int)
+     */
+    public final boolean isNioTransport() {
+        return nioTransport;
+    }
+
+    public final void setNioTransport(boolean nioTransport) {
+        if (this.nioTransport == nioTransport)
+            return;
+
+        this.nioTransport = nioTransport;
+        needRebind();
+    }
+
     /**
      * The TLS CipherSuites that are supported on this particular connection.
      * TLS CipherSuites shall be described using an RFC-2246 string
@@ -998,7 +1022,9 @@ public class Connection implements Serializable {
                 LOG.info("No TCP Protocol Handler for protocol {}", protocol);
                 return false;
             }
-            listener = new TCPListener(this, handler);
+            listener = nioTransport && handler instanceof NioTCPProtocolHandler && !isTls()
+                    ? new NioTCPListener(this, (NioTCPProtocolHandler) handler)
+                    : new TCPListener(this, handler);
         } else {
             UDPProtocolHandler handler = udpHandlers.get(protocol);
             if (handler == null) {
@@ -1042,7 +1068,8 @@ public class Connection implements Serializable {
         int remotePort = remoteConn.getPort();
         LOG.info("Initiate connection from {} to {}:{}",
                 bindPoint, remoteHostname, remotePort);
-        Socket s = new Socket();
+        // socket channel enables zero-copy transfer of file regions by FileChannel.transferTo
+        Socket s = nioTransport && !isTls() ? SocketChannel.open().socket() : new Socket();
         ConnectionMonitor monitor = device != null
                 ? device.getConnectionMonitor()
                 : null;
@@ -1260,6 +1287,7 @@ public class Connection implements Serializable {
         setResponseTimeout(from.responseTimeout);
         setRetrieveTimeout(from.retrieveTimeout);
         setIdleTimeout(from.idleTimeout);
+        setNioTransport(from.nioTransport);
         setAbortTimeout(from.abortTimeout);
         setSocketCloseDelay(from.socketCloseDelay);
         setSendBufferSize(from.sendBufferSize);
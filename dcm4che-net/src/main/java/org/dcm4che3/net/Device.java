@@ -70,6 +70,8 @@ public class Device implements Serializable {
 
     private static final long serialVersionUID = -5816872456184522866L;
 
+    public static final int DEF_REACTOR_POOL_SIZE = 2;
+
     private String deviceName;
     private String deviceUID;
     private String description;
@@ -104,6 +106,7 @@ public class Device implements Serializable {
     private String[] relatedDeviceRefs = {};
     private byte[][] vendorData = {};
     private int limitOpenAssociations;
+    private boolean virtualThreads;
     private boolean installed = true;
     private boolean roleSelectionNegotiationLenient;
     private TimeZone timeZoneOfDevice;
@@ -125,11 +128,15 @@ public class Device implements Serializable {
     private transient DimseRQHandler dimseRQHandler;
     private transient ConnectionMonitor connectionMonitor;
     private transient AssociationMonitor associationMonitor;
+    private transient PDUBufferPool pduBufferPool = new PDUBufferPool();
 
     private transient final List<Association> associations = new ArrayList<>();
 
     private transient Executor executor;
     private transient ScheduledExecutorService scheduledExecutor;
+    private int reactorPoolSize = DEF_REACTOR_POOL_SIZE;
+    private transient ReactorPool reactorPool;
+    private transient int reactorPoolUsers;
     private transient volatile SSLContext sslContext;
     private transient volatile KeyManager km;
     private transient volatile TrustManager tm;
@@ -741,6 +748,21 @@ public class Device implements Serializable {
         this.associationMonitor = associationMonitor;
     }
 
+    /**
+     * Get the pool of PDU buffers shared by all associations of this device.
+     *
+     * @return the PDU buffer pool, also providing its usage statistics
+     */
+    public PDUBufferPool getPDUBufferPool() {
+        return pduBufferPool;
+    }
+
+    public void setPDUBufferPool(PDUBufferPool pduBufferPool) {
+        if (pduBufferPool == null)
+            throw new NullPointerException();
+        this.pduBufferPool = pduBufferPool;
+    }
+
     public void bindConnections() throws IOException, GeneralSecurityException {
         for (Connection con : conns)
             con.bind();
@@ -785,6 +807,43 @@ public class Device implements Serializable {
         this.scheduledExecutor = executor;
     }
 
+    /**
+     * Number of reactor threads serving the connections accepted by
+     * Connections with enabled {@link Connection#isNioTransport() NIO transport}.
+     *
+     * @return number of reactor threads
+     */
+    public final int getReactorPoolSize() {
+        return reactorPoolSize;
+    }
+
+    /**
+     * Number of reactor threads serving the connections accepted by
+     * Connections with enabled {@link Connection#isNioTransport() NIO transport}.
+     * Changes take effect on next (re-)bind of all such Connections.
+     *
+     * @param reactorPoolSize number of reactor threads
+     */
+    public final void setReactorPoolSize(int reactorPoolSize) {
+        if (reactorPoolSize <= 0)
+            throw new IllegalArgumentException("reactorPoolSize: " + reactorPoolSize);
+        this.reactorPoolSize = reactorPoolSize;
+    }
+
+    synchronized ReactorPool acquireReactorPool() throws IOException {
+        if (reactorPool == null)
+            reactorPool = new ReactorPool(deviceName, reactorPoolSize);
+        reactorPoolUsers++;
+        return reactorPool;
+    }
+
+    synchronized void releaseReactorPool() {
+        if (--reactorPoolUsers == 0) {
+            reactorPool.close();
+            reactorPool = null;
+        }
+    }
+
     public void addConnection(Connection conn) {
         conn.setDevice(this);
         conns.add(conn);
@@ -931,6 +990,21 @@ public class Device implements Serializable {
         this.limitOpenAssociations = limit;
     }
 
+    /**
+     * Indicates to execute network I/O and DIMSE handlers in virtual threads, if supported by the Java runtime.
+     * Only effective for executors created by {@link DeviceService}.
+     *
+     * @return {@code true} if virtual threads shall be used
+     * @see org.dcm4che3.util.VirtualThreads
+     */
+    public final boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public final void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
     /** Returns maximal number of open Associations which can be initiated by the specified remote AE.
      * If the limit is exceeded, further Association requests from that AE will be rejected with
      * Result = 2 - rejected-transient, Source = 1 - DICOM UL service-user, Reason = 2 - local-limit-exceeded.
@@ -1302,6 +1376,7 @@ public class Device implements Serializable {
         setThisNodeCertificates(from.thisNodeCertificates);
         setVendorData(from.vendorData);
         setLimitOpenAssociations(from.limitOpenAssociations);
+        setVirtualThreads(from.virtualThreads);
         setInstalled(from.installed);
         setLimitAssociationsInitiatedBy(from.limitAssociationsInitiatedBy);
         setRoleSelectionNegotiationLenient(from.roleSelectionNegotiationLenient);
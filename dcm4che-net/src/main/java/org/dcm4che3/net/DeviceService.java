@@ -42,6 +42,8 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
+import org.dcm4che3.util.VirtualThreads;
+
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
  *
@@ -98,11 +100,15 @@ public class DeviceService implements DeviceServiceInterface
     }
 
     protected ExecutorService executerService() {
-        return Executors.newCachedThreadPool();
+        return device.isVirtualThreads()
+                ? VirtualThreads.newThreadPerTaskExecutor(device.getDeviceName() + "-")
+                : Executors.newCachedThreadPool();
     }
 
     protected ScheduledExecutorService scheduledExecuterService() {
-        return Executors.newSingleThreadScheduledExecutor();
+        return device.isVirtualThreads()
+                ? VirtualThreads.newSingleThreadScheduledExecutor(device.getDeviceName() + "-scheduler-")
+                : Executors.newSingleThreadScheduledExecutor();
     }
 
 }
@@ -45,7 +45,7 @@ import java.net.Socket;
  * @author Gunter Zeilinger <gunterze@gmail.com>
  *
  */
-enum DicomProtocolHandler implements TCPProtocolHandler {
+enum DicomProtocolHandler implements NioTCPProtocolHandler {
     INSTANCE;
 
     @Override
@@ -53,4 +53,9 @@ enum DicomProtocolHandler implements TCPProtocolHandler {
         new Association(null, conn, s);
     }
 
+    @Override
+    public void onAccept(Connection conn, NioChannel ch) throws IOException {
+        new Association(conn, ch);
+    }
+
 }
@@ -0,0 +1,103 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.net;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes the data set encoded in a region of a file - typically the
+ * remainder of a DICOM file after its File Meta Information - unchanged.
+ * <p>
+ * On plain TCP connections, the file region is transferred to the socket by
+ * {@link FileChannel#transferTo}, without copying it into the heap; see
+ * {@link PDVOutputStream#copyFrom(FileChannel, long, long)}.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class FileRegionDataWriter implements DataWriter {
+
+    private final Path path;
+    private final long position;
+    private final long length;
+
+    /**
+     * @param path the file
+     * @param position position of the data set in the file
+     * @param length length of the data set or {@code -1} if it extends to the end of the file
+     */
+    public FileRegionDataWriter(Path path, long position, long length) {
+        if (path == null)
+            throw new NullPointerException();
+        if (position < 0)
+            throw new IllegalArgumentException("position: " + position);
+        this.path = path;
+        this.position = position;
+        this.length = length;
+    }
+
+    public FileRegionDataWriter(Path path, long position) {
+        this(path, position, -1L);
+    }
+
+    @Override
+    public void writeTo(PDVOutputStream out, String tsuid) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            out.copyFrom(ch, position, length < 0 ? ch.size() - position : length);
+        }
+    }
+
+    public final Path getPath() {
+        return path;
+    }
+
+    public final long getPosition() {
+        return position;
+    }
+
+    public final long getLength() {
+        return length;
+    }
+}
@@ -39,6 +39,8 @@
 package org.dcm4che3.net;
 
 import java.io.IOException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.Attributes;
@@ -64,6 +66,8 @@ public class FutureDimseRSP extends DimseRSPHandler implements DimseRSP {
         }
     }
 
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
     private Entry entry = new Entry(null, null);
     private boolean finished;
     private int autoCancel;
@@ -75,52 +79,67 @@ public class FutureDimseRSP extends DimseRSPHandler implements DimseRSP {
     }
 
     @Override
-    public synchronized void onDimseRSP(Association as, Attributes cmd,
+    public void onDimseRSP(Association as, Attributes cmd,
             Attributes data) {
-        super.onDimseRSP(as, cmd, data);
-        Entry last = entry;
-        while (last.next != null)
-            last = last.next;
-
-        last.next = new Entry(cmd, data);
-        if (Status.isPending(cmd.getInt(Tag.Status, 0))) {
-            if (autoCancel > 0 && --autoCancel == 0)
+        lock.lock();
+        try {
+            super.onDimseRSP(as, cmd, data);
+            Entry last = entry;
+            while (last.next != null)
+                last = last.next;
+
+            last.next = new Entry(cmd, data);
+            if (Status.isPending(cmd.getInt(Tag.Status, 0))) {
+                if (autoCancel > 0 && --autoCancel == 0)
+                    try {
+                        super.cancel(as);
+                    } catch (IOException e) {
+                        ex = e;
+                    }
+            } else {
+                finished = true;
+            }
+            changed.signalAll();
+            if (!finished && --remainingCapacity == 0) {
                 try {
-                    super.cancel(as);
-                } catch (IOException e) {
-                    ex = e;
-                }
-        } else {
-            finished = true;
-        }
-        notifyAll();
-        if (!finished && --remainingCapacity == 0) {
-            try {
-                LOG.debug("Wait for consuming DIMSE RSP");
-                while (ex != null && remainingCapacity == 0) {
-                    wait();
+                    LOG.debug("Wait for consuming DIMSE RSP");
+                    while (ex != null && remainingCapacity == 0) {
+                        changed.await();
+                    }
+                    LOG.debug("Stop waiting for consuming DIMSE RSP");
+                } catch (InterruptedException e) {
+                    LOG.warn("Failed to wait for consuming DIMSE RSP", e);
                 }
-                LOG.debug("Stop waiting for consuming DIMSE RSP");
-            } catch (InterruptedException e) {
-                LOG.warn("Failed to wait for consuming DIMSE RSP", e);
             }
+        } finally {
+            lock.unlock();
         }
     }
 
     @Override
-    public synchronized void onClose(Association as) {
-        super.onClose(as);
-        if (!finished) {
-            ex = as.getException();
-            if (ex == null)
-                ex = new IOException("Association to " + as.getRemoteAET()
-                            + " released before receive of outstanding DIMSE RSP");
-            notifyAll();
+    public void onClose(Association as) {
+        lock.lock();
+        try {
+            super.onClose(as);
+            if (!finished) {
+                ex = as.getException();
+                if (ex == null)
+                    ex = new IOException("Association to " + as.getRemoteAET()
+                                + " released before receive of outstanding DIMSE RSP");
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void setAutoCancel(int autoCancel) {
-        this.autoCancel = autoCancel;
+    public void setAutoCancel(int autoCancel) {
+        lock.lock();
+        try {
+            this.autoCancel = autoCancel;
+        } finally {
+            lock.unlock();
+        }
     }
 
     public void setCapacity(int capacity) {
@@ -145,25 +164,30 @@ public class FutureDimseRSP extends DimseRSPHandler implements DimseRSP {
         return entry.dataset;
     }
 
-    public synchronized boolean next() throws IOException, InterruptedException {
-        if (entry.next == null) {
-            if (finished)
-                return false;
-
-            if (entry.next == null && ex == null) {
-                LOG.debug("Wait for next DIMSE RSP");
-                while (entry.next == null && ex == null) {
-                    wait();
+    public boolean next() throws IOException, InterruptedException {
+        lock.lock();
+        try {
+            if (entry.next == null) {
+                if (finished)
+                    return false;
+
+                if (entry.next == null && ex == null) {
+                    LOG.debug("Wait for next DIMSE RSP");
+                    while (entry.next == null && ex == null) {
+                        changed.await();
+                    }
+                    LOG.debug("Stop waiting for next DIMSE RSP");
                 }
-                LOG.debug("Stop waiting for next DIMSE RSP");
-            }
 
-            if (ex != null)
-                throw ex;
+                if (ex != null)
+                    throw ex;
+            }
+            entry = entry.next;
+            if (remainingCapacity++ == 0)
+                changed.signalAll();
+            return true;
+        } finally {
+            lock.unlock();
         }
-        entry = entry.next;
-        if (remainingCapacity++ == 0)
-            notifyAll();
-        return true;
     }
 }
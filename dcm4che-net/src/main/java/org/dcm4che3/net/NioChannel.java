@@ -0,0 +1,412 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.net;
+
+import org.dcm4che3.util.SafeBuffer;
+import org.dcm4che3.util.SafeClose;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Non-blocking TCP connection served by a {@link Reactor}.
+ * <p>
+ * Received bytes are buffered by the reactor thread; as soon as the buffer
+ * contains a complete frame - as decided by the {@link FrameDetector} passed
+ * to {@link #startReading} - the read task is dispatched to the executor of
+ * the {@link Device}. The task consumes the buffered bytes through the
+ * blocking {@link #getInputStream() InputStream} view and shall return if
+ * {@link #hasFrame()} returns {@code false}, so no thread is bound to idle
+ * connections.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class NioChannel implements Closeable {
+
+    public interface FrameDetector {
+        /**
+         * @param buf buffered bytes, from position to limit
+         * @return {@code true} if {@code buf} starts with a complete frame
+         */
+        boolean hasFrame(ByteBuffer buf);
+    }
+
+    private final Device device;
+    private final Reactor reactor;
+    private final SocketChannel ch;
+    private final ByteBuffer buf;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition readable = lock.newCondition();
+    private final Condition writable = lock.newCondition();
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+    private final InputStream in = new In();
+    private final OutputStream out = new Out();
+    private boolean eof;
+    private boolean closed;
+    private boolean readSuspended;
+    private boolean writeReady;
+    private volatile FrameDetector detector;
+    private volatile Runnable task;
+
+    private final Reactor.Handler handler = new Reactor.Handler() {
+        @Override
+        public void onReady(SelectionKey key) throws IOException {
+            if (key.isReadable())
+                onReadable(key);
+            if (key.isValid() && key.isWritable())
+                onWritable(key);
+        }
+
+        @Override
+        public void onClose() {
+            close();
+        }
+    };
+
+    private final Runnable dispatcher = new Runnable() {
+        @Override
+        public void run() {
+            try {
+                Runnable t = task;
+                if (t != null)
+                    t.run();
+            } finally {
+                dispatching.set(false);
+                dispatchIfFrame();
+            }
+        }
+    };
+
+    NioChannel(Device device, Reactor reactor, SocketChannel ch, int bufferSize) throws IOException {
+        this.device = device;
+        this.reactor = reactor;
+        this.ch = ch;
+        this.buf = ByteBuffer.allocateDirect(bufferSize);
+        ch.configureBlocking(false);
+    }
+
+    @Override
+    public String toString() {
+        return ch.toString();
+    }
+
+    public Socket socket() {
+        return ch.socket();
+    }
+
+    public InputStream getInputStream() {
+        return in;
+    }
+
+    public OutputStream getOutputStream() {
+        return out;
+    }
+
+    public void startReading(FrameDetector detector, Runnable task) {
+        this.detector = detector;
+        this.task = task;
+        reactor.register(ch, SelectionKey.OP_READ, handler);
+    }
+
+    public void stopReading() {
+        task = null;
+    }
+
+    /**
+     * Transfers bytes from the specified file region to the channel, without
+     * copying them into the heap. Shall not be invoked concurrently with
+     * writing to the {@link #getOutputStream() OutputStream}.
+     *
+     * @param src the file channel
+     * @param position position of the file region
+     * @param count length of the file region
+     * @throws IOException if an I/O error occurs
+     */
+    public void transferFrom(FileChannel src, long position, long count) throws IOException {
+        long end = position + count;
+        while (position < end) {
+            long n = src.transferTo(position, end - position, ch);
+            if (n == 0) {
+                if (position >= src.size())
+                    throw new EOFException();
+                awaitWritable();
+            }
+            position += n;
+        }
+    }
+
+    /**
+     * Transfers received bytes to the specified channel, without copying them
+     * into the heap. Shall not be invoked concurrently with reading from the
+     * {@link #getInputStream() InputStream}.
+     *
+     * @param dst the destination channel
+     * @param count number of bytes to transfer
+     * @throws IOException if an I/O error occurs
+     */
+    public void transferTo(WritableByteChannel dst, long count) throws IOException {
+        while (count > 0) {
+            ByteBuffer view;
+            lock.lock();
+            try {
+                while (buf.position() == 0) {
+                    if (closed)
+                        throw new SocketException("Socket closed");
+                    if (eof)
+                        throw new EOFException();
+                    awaitReadable();
+                }
+                // the reactor thread only appends to buf, so its content up to
+                // the current position can be written without holding the lock
+                view = buf.duplicate();
+                SafeBuffer.flip(view);
+                if (view.remaining() > count)
+                    SafeBuffer.limit(view, (int) count);
+            } finally {
+                lock.unlock();
+            }
+            int n = dst.write(view);
+            lock.lock();
+            try {
+                SafeBuffer.flip(buf);
+                SafeBuffer.position(buf, n);
+                buf.compact();
+                if (readSuspended) {
+                    readSuspended = false;
+                    reactor.interestOps(ch, SelectionKey.OP_READ, 0);
+                }
+            } finally {
+                lock.unlock();
+            }
+            count -= n;
+        }
+    }
+
+    public boolean hasFrame() {
+        lock.lock();
+        try {
+            if (closed || eof || !buf.hasRemaining())
+                return true;
+            ByteBuffer view = buf.duplicate();
+            SafeBuffer.flip(view);
+            return view.hasRemaining() && detector.hasFrame(view);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed)
+                return;
+            closed = true;
+            readable.signalAll();
+            writable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        SafeClose.close(ch);
+        dispatchIfFrame();
+    }
+
+    private void dispatchIfFrame() {
+        if (task != null && hasFrame() && dispatching.compareAndSet(false, true)) {
+            try {
+                device.execute(dispatcher);
+            } catch (RuntimeException e) {
+                dispatching.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void onReadable(SelectionKey key) throws IOException {
+        lock.lock();
+        try {
+            if (ch.read(buf) < 0)
+                eof = true;
+            if (eof || !buf.hasRemaining()) {
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+                readSuspended = !eof;
+            }
+            readable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        dispatchIfFrame();
+    }
+
+    private void onWritable(SelectionKey key) {
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+        lock.lock();
+        try {
+            writeReady = true;
+            writable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitReadable() throws IOException {
+        try {
+            readable.await();
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        }
+    }
+
+    private void awaitWritable() throws IOException {
+        lock.lock();
+        try {
+            writeReady = false;
+            reactor.interestOps(ch, SelectionKey.OP_WRITE, 0);
+            while (!writeReady) {
+                if (closed)
+                    throw new SocketException("Socket closed");
+                writable.await();
+            }
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private class In extends InputStream {
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0)
+                return 0;
+            lock.lock();
+            try {
+                while (buf.position() == 0) {
+                    if (closed)
+                        throw new SocketException("Socket closed");
+                    if (eof)
+                        return -1;
+                    awaitReadable();
+                }
+                SafeBuffer.flip(buf);
+                int n = Math.min(len, buf.remaining());
+                buf.get(b, off, n);
+                buf.compact();
+                if (readSuspended) {
+                    readSuspended = false;
+                    reactor.interestOps(ch, SelectionKey.OP_READ, 0);
+                }
+                return n;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int available() {
+            lock.lock();
+            try {
+                return buf.position();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            NioChannel.this.close();
+        }
+    }
+
+    private class Out extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ByteBuffer src = ByteBuffer.wrap(b, off, len);
+            while (src.hasRemaining()) {
+                if (ch.write(src) == 0)
+                    awaitWritable();
+            }
+        }
+
+        @Override
+        public void close() {
+            NioChannel.this.close();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.net;
+
+import org.dcm4che3.util.SafeClose;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Non-blocking counterpart of {@link TCPListener}, accepting connections
+ * by one {@link Reactor} of the {@link ReactorPool} of the {@link Device}
+ * and assigning them round-robin to the reactors of the pool.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+class NioTCPListener implements Listener {
+
+    private final Connection conn;
+    private final NioTCPProtocolHandler handler;
+    private final ReactorPool reactorPool;
+    private final ServerSocketChannel ssc;
+    private final SocketAddress sockAddr;
+
+    public NioTCPListener(Connection conn, NioTCPProtocolHandler handler) throws IOException {
+        this.conn = conn;
+        this.handler = handler;
+        this.reactorPool = conn.getDevice().acquireReactorPool();
+        ServerSocketChannel ssc = null;
+        try {
+            ssc = ServerSocketChannel.open();
+            conn.setReceiveBufferSize(ssc.socket());
+            ssc.socket().bind(conn.getBindPoint(), conn.getBacklog());
+            ssc.configureBlocking(false);
+        } catch (IOException e) {
+            SafeClose.close(ssc);
+            conn.getDevice().releaseReactorPool();
+            throw new IOException("Unable to start NioTCPListener on "+conn.getHostname()+":"+conn.getPort(), e);
+        }
+        this.ssc = ssc;
+        this.sockAddr = ssc.socket().getLocalSocketAddress();
+        reactorPool.next().register(ssc, SelectionKey.OP_ACCEPT, new Reactor.Handler() {
+            @Override
+            public void onReady(SelectionKey key) throws IOException {
+                accept();
+            }
+
+            @Override
+            public void onClose() {
+                SafeClose.close(NioTCPListener.this.ssc);
+            }
+        });
+        Connection.LOG.info("Start NIO TCP Listener on {}", sockAddr);
+    }
+
+    private void accept() throws IOException {
+        SocketChannel ch;
+        while ((ch = ssc.accept()) != null) {
+            Socket s = ch.socket();
+            ConnectionMonitor monitor = conn.getDevice() != null
+                    ? conn.getDevice().getConnectionMonitor()
+                    : null;
+            if (conn.isBlackListed(s.getInetAddress())) {
+                if (monitor != null)
+                    monitor.onConnectionRejectedBlacklisted(conn, s);
+                Connection.LOG.info("Reject blacklisted connection {}", s);
+                conn.close(s);
+                continue;
+            }
+            NioChannel nioch;
+            try {
+                conn.setSocketSendOptions(s);
+                nioch = new NioChannel(conn.getDevice(), reactorPool.next(), ch,
+                        Math.max(conn.getReceivePDULength() + 6, 0x10000));
+            } catch (Throwable e) {
+                if (monitor != null)
+                    monitor.onConnectionRejected(conn, s, e);
+                Connection.LOG.warn("Reject connection {}:",s, e);
+                conn.close(s);
+                continue;
+            }
+            if (monitor != null)
+                monitor.onConnectionAccepted(conn, s);
+            Connection.LOG.info("Accept connection {}", s);
+            try {
+                handler.onAccept(conn, nioch);
+            } catch (Throwable e) {
+                Connection.LOG.warn("Exception on accepted connection {}:",s, e);
+                nioch.close();
+            }
+        }
+    }
+
+    @Override
+    public SocketAddress getEndPoint() {
+        return sockAddr;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            ssc.close();
+        } catch (Throwable e) {
+            // Ignore errors when closing the server socket channel.
+        }
+        Connection.LOG.info("Stop NIO TCP Listener on {}", sockAddr);
+        conn.getDevice().releaseReactorPool();
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.net;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-classed pool of byte arrays used as PDU buffers by the encoder and
+ * decoder of {@link Association}s.
+ * <p>
+ * Buffers are leased on association open - or on growth to the negotiated
+ * maximal PDU length - and returned on association close. Requested lengths
+ * are rounded up to one of 8 size classes per power of two, starting with
+ * {@value #MIN_BUFFER_SIZE} bytes up to {@value #MAX_BUFFER_SIZE} bytes, so
+ * a buffer for a maximal PDU length of 1 MiB plus the 6 bytes of the PDU
+ * header is served from the size class of 1179648 bytes.
+ * Larger buffers are allocated without pooling. The total number of bytes
+ * held by idle buffers is limited by {@link #getMaxPooledBytes()}.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class PDUBufferPool {
+
+    public static final int MIN_BUFFER_SIZE = 0x2000;
+    public static final int MAX_BUFFER_SIZE = 0x1000000;
+    public static final long DEF_MAX_POOLED_BYTES = 0x4000000L;
+
+    private static final byte[] EMPTY = {};
+    private static final int NUM_SIZE_CLASSES = sizeClassOf(MAX_BUFFER_SIZE) + 1;
+
+    private final ConcurrentLinkedDeque<byte[]>[] free;
+    private final AtomicLong pooledBytes = new AtomicLong();
+    private final AtomicLong pooledBuffers = new AtomicLong();
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong allocations = new AtomicLong();
+    private final AtomicLong releases = new AtomicLong();
+    private final AtomicLong discards = new AtomicLong();
+    private volatile long maxPooledBytes;
+
+    public PDUBufferPool() {
+        this(DEF_MAX_POOLED_BYTES);
+    }
+
+    @SuppressWarnings("unchecked")
+    public PDUBufferPool(long maxPooledBytes) {
+        setMaxPooledBytes(maxPooledBytes);
+        free = (ConcurrentLinkedDeque<byte[]>[]) new ConcurrentLinkedDeque<?>[NUM_SIZE_CLASSES];
+        for (int i = 0; i < free.length; i++)
+            free[i] = new ConcurrentLinkedDeque<>();
+    }
+
+    static int sizeClassOf(int length) {
+        if (length <= MIN_BUFFER_SIZE)
+            return 0;
+        int k = 31 - Integer.numberOfLeadingZeros(length - 1);
+        return ((k - 13) << 3) + ((length - 1) >> (k - 3)) - 7;
+    }
+
+    static int sizeOfClass(int sizeClass) {
+        return (8 + (sizeClass & 7)) << (10 + (sizeClass >> 3));
+    }
+
+    static byte[] empty() {
+        return EMPTY;
+    }
+
+    public long getMaxPooledBytes() {
+        return maxPooledBytes;
+    }
+
+    /**
+     * Limits the total number of bytes held by idle pooled buffers. Buffers
+     * returned to a pool which has reached that limit are left to the
+     * garbage collector.
+     *
+     * @param maxPooledBytes maximal number of bytes held by idle buffers,
+     *                       {@code 0} disables pooling
+     */
+    public void setMaxPooledBytes(long maxPooledBytes) {
+        if (maxPooledBytes < 0)
+            throw new IllegalArgumentException("maxPooledBytes: " + maxPooledBytes);
+        this.maxPooledBytes = maxPooledBytes;
+    }
+
+    /**
+     * Leases a buffer with at least the specified length.
+     *
+     * @param minLength minimal length of the buffer
+     * @return buffer with at least {@code minLength} bytes
+     */
+    public byte[] lease(int minLength) {
+        leases.incrementAndGet();
+        if (minLength > MAX_BUFFER_SIZE) {
+            allocations.incrementAndGet();
+            return new byte[minLength];
+        }
+        int sizeClass = sizeClassOf(minLength);
+        byte[] b = free[sizeClass].pollFirst();
+        if (b != null) {
+            pooledBuffers.decrementAndGet();
+            pooledBytes.addAndGet(-b.length);
+            hits.incrementAndGet();
+            return b;
+        }
+        allocations.incrementAndGet();
+        return new byte[sizeOfClass(sizeClass)];
+    }
+
+    /**
+     * Returns a buffer previously leased by {@link #lease}. The content of
+     * the buffer must not be accessed after its release.
+     *
+     * @param b buffer to return
+     */
+    public void release(byte[] b) {
+        if (b.length == 0)
+            return;
+        releases.incrementAndGet();
+        int sizeClass = sizeClassOf(b.length);
+        if (b.length > MAX_BUFFER_SIZE || sizeOfClass(sizeClass) != b.length
+                || pooledBytes.addAndGet(b.length) > maxPooledBytes) {
+            if (b.length <= MAX_BUFFER_SIZE && sizeOfClass(sizeClass) == b.length)
+                pooledBytes.addAndGet(-b.length);
+            discards.incrementAndGet();
+            return;
+        }
+        pooledBuffers.incrementAndGet();
+        free[sizeClass].offerFirst(b);
+    }
+
+    /**
+     * Drops all idle buffers.
+     */
+    public void clear() {
+        for (ConcurrentLinkedDeque<byte[]> deque : free) {
+            byte[] b;
+            while ((b = deque.pollFirst()) != null) {
+                pooledBuffers.decrementAndGet();
+                pooledBytes.addAndGet(-b.length);
+            }
+        }
+    }
+
+    public long getLeases() {
+        return leases.get();
+    }
+
+    /**
+     * @return number of leases served by an idle pooled buffer
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of leases served by allocating a new buffer
+     */
+    public long getAllocations() {
+        return allocations.get();
+    }
+
+    public long getReleases() {
+        return releases.get();
+    }
+
+    /**
+     * @return number of released buffers not kept in the pool, because of
+     * a length not matching a size class or by exceeding
+     * {@link #getMaxPooledBytes()}
+     */
+    public long getDiscards() {
+        return discards.get();
+    }
+
+    public long getPooledBuffers() {
+        return pooledBuffers.get();
+    }
+
+    public long getPooledBytes() {
+        return pooledBytes.get();
+    }
+
+    @Override
+    public String toString() {
+        return "PDUBufferPool[leases=" + leases
+                + ", hits=" + hits
+                + ", allocations=" + allocations
+                + ", releases=" + releases
+                + ", discards=" + discards
+                + ", pooledBuffers=" + pooledBuffers
+                + ", pooledBytes=" + pooledBytes
+                + ", maxPooledBytes=" + maxPooledBytes
+                + ']';
+    }
+}
@@ -42,8 +42,9 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
-import java.util.Arrays;
 
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.UID;
@@ -89,8 +90,9 @@ class PDUDecoder extends PDVInputStream {
 
     private final Association as;
     private final InputStream in;
-    private final Thread th;
-    private byte[] buf = new byte[6 + Connection.DEF_MAX_PDU_LENGTH];
+    private volatile Thread th;
+    private final PDUBufferPool pool;
+    private byte[] buf;
     private int pos;
     private int pdutype;
     private int pdulen;
@@ -102,6 +104,18 @@ class PDUDecoder extends PDVInputStream {
         this.as = as;
         this.in = in;
         this.th = Thread.currentThread();
+        this.pool = as.getDevice().getPDUBufferPool();
+        this.buf = pool.lease(6 + Connection.DEF_MAX_PDU_LENGTH);
+    }
+
+    /**
+     * Returns the PDU buffer to the pool. Invoked by the reading thread on
+     * close of the association.
+     */
+    void release() {
+        byte[] b = buf;
+        buf = PDUBufferPool.empty();
+        pool.release(b);
     }
 
     private int remaining() {
@@ -154,6 +168,11 @@ class PDUDecoder extends PDVInputStream {
     }
 
     public void nextPDU() throws IOException {
+        readPDUHeader();
+        decodePDU();
+    }
+
+    private void readPDUHeader() throws IOException {
         checkThread();
         Association.LOG.trace("{}: waiting for PDU", as);
         readFully(0, 10);
@@ -163,6 +182,9 @@ class PDUDecoder extends PDVInputStream {
         pdulen = getInt();
         Association.LOG.trace("{} >> PDU[type={}, len={}]",
                 new Object[] { as, pdutype, pdulen & 0xFFFFFFFFL });
+    }
+
+    private void decodePDU() throws IOException {
         switch (pdutype) {
         case PDUType.A_ASSOCIATE_RQ:
             readPDU();
@@ -200,6 +222,14 @@ class PDUDecoder extends PDVInputStream {
         }
     }
 
+    /**
+     * Attach decoder to the current thread, for continuing decoding
+     * of NIO connections by a different thread of the executor.
+     */
+    void attachThread() {
+        th = Thread.currentThread();
+    }
+
     private void checkThread() {
         if (th != Thread.currentThread())
             throw new IllegalStateException("Entered by wrong thread");
@@ -214,8 +244,12 @@ class PDUDecoder extends PDVInputStream {
         if (pdulen < 4 || pdulen > MAX_PDU_LEN)
             abort(AAbort.INVALID_PDU_PARAMETER_VALUE, INVALID_PDU_LENGTH);
 
-        if (6 + pdulen > buf.length)
-            buf = Arrays.copyOf(buf, 6 + pdulen);
+        if (6 + pdulen > buf.length) {
+            byte[] old = buf;
+            buf = pool.lease(6 + pdulen);
+            System.arraycopy(old, 0, buf, 0, 10);
+            pool.release(old);
+        }
 
         readFully(10, pdulen - 4);
     }
@@ -515,13 +549,22 @@ class PDUDecoder extends PDVInputStream {
             throws IOException {
         if (!hasRemaining()) {
             nextPDU();
-            if (pdutype != PDUType.P_DATA_TF) {
-                Association.LOG.info(
-                        "{}: Expected P-DATA-TF PDU but received PDU[type={}]",
-                        as, pdutype);
-                throw new EOFException();
-            }
+            checkPDataTF();
         }
+        decodePDVHeader(expectedPDVType, expectedPCID);
+    }
+
+    private void checkPDataTF() throws EOFException {
+        if (pdutype != PDUType.P_DATA_TF) {
+            Association.LOG.info(
+                    "{}: Expected P-DATA-TF PDU but received PDU[type={}]",
+                    as, pdutype);
+            throw new EOFException();
+        }
+    }
+
+    private void decodePDVHeader(int expectedPDVType, int expectedPCID)
+            throws IOException {
         if (remaining() < 6)
             abort(AAbort.INVALID_PDU_PARAMETER_VALUE, INVALID_PDV);
         int pdvlen = getInt();
@@ -625,6 +668,50 @@ class PDUDecoder extends PDVInputStream {
         }
     }
 
+    /**
+     * Writes the remaining DIMSE data to the specified channel. PDVs which
+     * are not already read into the PDU buffer and which fill a whole
+     * P-DATA-TF PDU are transferred from the socket channel directly to the
+     * specified channel, if supported by the connection.
+     */
+    @Override
+    public long copyTo(WritableByteChannel ch) throws IOException {
+        if (th != Thread.currentThread())
+            throw new IllegalStateException("Entered by wrong thread");
+        long n = 0;
+        for (;;) {
+            if (pos < pdvend) {
+                ByteBuffer src = ByteBuffer.wrap(buf, pos, pdvend - pos);
+                while (src.hasRemaining())
+                    ch.write(src);
+                n += pdvend - pos;
+                pos = pdvend;
+            }
+            if ((pdvmch & PDVType.LAST) != 0)
+                return n;
+            int expectedPDVType = pdvmch & PDVType.COMMAND;
+            if (hasRemaining() || !as.isZeroCopySupported()) {
+                nextPDV(expectedPDVType, pcid);
+                continue;
+            }
+            readPDUHeader();
+            if (pdutype != PDUType.P_DATA_TF || pdulen < 6 || pdulen > MAX_PDU_LEN
+                    || ByteUtils.bytesToIntBE(buf, 6) != pdulen - 4) {
+                decodePDU();
+                checkPDataTF();
+                decodePDVHeader(expectedPDVType, pcid);
+                continue;
+            }
+            readFully(10, 2);
+            as.onPDataTF();
+            decodePDVHeader(expectedPDVType, pcid);
+            Association.LOG.trace("{} >> PDV data to channel[len={}]", as, pdvend - pos);
+            as.transferTo(ch, pdvend - pos);
+            n += pdvend - pos;
+            pos = pdvend;
+        }
+    }
+
     @Override
     public void copyTo(OutputStream out) throws IOException {
         if (th != Thread.currentThread())
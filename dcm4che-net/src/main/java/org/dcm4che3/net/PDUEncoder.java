@@ -42,6 +42,8 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -71,19 +73,63 @@ class PDUEncoder extends PDVOutputStream {
 
     private Association as;
     private OutputStream out;
-    private byte[] buf = new byte[Connection.DEF_MAX_PDU_LENGTH + 6];
+    private final PDUBufferPool pool;
+    private byte[] buf;
+    private volatile boolean released;
+    private FileChannel fileRegion;
+    private long fileRegionPosition;
     private int pos;
     private int pdvpcid;
     private int pdvcmd;
     private int pdvpos;
     private int maxpdulen;
     private Thread th;
-    private Object dimseLock = new Object();
+    private final Lock dimseLock = new ReentrantLock();
     private Lock writeLock = new ReentrantLock(true);
 
     public PDUEncoder(Association as, OutputStream out) {
         this.as = as;
         this.out = out;
+        this.pool = as.getDevice().getPDUBufferPool();
+        this.buf = pool.lease(Connection.DEF_MAX_PDU_LENGTH + 6);
+    }
+
+    private void ensureCapacity(int minLength) {
+        if (buf.length < minLength) {
+            byte[] old = buf;
+            buf = pool.lease(minLength);
+            pool.release(old);
+        }
+    }
+
+    /**
+     * Returns the PDU buffer to the pool. Invoked on close of the association.
+     * If the buffer is still in use by another thread, it is returned by that
+     * thread after completion of its write operation.
+     */
+    void release() {
+        released = true;
+        tryRelease();
+    }
+
+    private void tryRelease() {
+        if (!dimseLock.tryLock())
+            return;
+        try {
+            if (!writeLock.tryLock())
+                return;
+            try {
+                if (released && buf.length > 0) {
+                    byte[] b = buf;
+                    buf = PDUBufferPool.empty();
+                    pool.release(b);
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            dimseLock.unlock();
+        }
     }
 
     public void write(AAssociateRQ rq) throws IOException {
@@ -101,9 +147,14 @@ class PDUEncoder extends PDVOutputStream {
     }
 
     public void writeAReleaseRQ() throws IOException {
-        synchronized (dimseLock) {
+        dimseLock.lock();
+        try {
             write(PDUType.A_RELEASE_RQ, 0, 0, 0, true);
+        } finally {
+            dimseLock.unlock();
         }
+        if (released)
+            tryRelease();
     }
 
     public void writeAReleaseRP() {
@@ -178,8 +229,7 @@ class PDUEncoder extends PDVOutputStream {
         rqac.checkCalledAET();
 
         int pdulen = rqac.length();
-        if (buf.length < 6 + pdulen)
-            buf = new byte[6 + pdulen];
+        ensureCapacity(6 + pdulen);
         pos = 0;
         put(pduType);
         put(0);
@@ -393,6 +443,87 @@ class PDUEncoder extends PDVOutputStream {
         }
     }
 
+    /**
+     * Copies bytes from the specified file region. On plain TCP connections,
+     * P-DATA-TF PDUs with the maximal length are sent by writing the PDU and
+     * PDV header followed by the transfer of the corresponding part of the
+     * file region to the socket by {@link FileChannel#transferTo}, without
+     * copying it into the PDU buffer. Only the remainder, which may be the
+     * last fragment of the data set, is copied into the PDU buffer. On TLS
+     * connections, the whole file region is copied into the PDU buffer.
+     */
+    @Override
+    public void copyFrom(FileChannel ch, long position, long length) throws IOException {
+        checkThread();
+        if (as.isZeroCopySupported() && pdvcmd == PDVType.DATA) {
+            int maxpdvlen = maxpdulen - 6;
+            if (pos > 12) {
+                int copy = (int) Math.min(length, free());
+                copyFromFile(ch, position, copy);
+                position += copy;
+                length -= copy;
+                if (length > maxpdvlen) {
+                    encodePDVHeader(PDVType.PENDING);
+                    as.writePDataTF();
+                }
+            }
+            while (length > maxpdvlen) {
+                fileRegion = ch;
+                fileRegionPosition = position;
+                try {
+                    as.writePDataTF();
+                } finally {
+                    fileRegion = null;
+                }
+                position += maxpdvlen;
+                length -= maxpdvlen;
+            }
+        }
+        while (length > 0) {
+            flushPDataTF();
+            int copy = (int) Math.min(length, free());
+            copyFromFile(ch, position, copy);
+            position += copy;
+            length -= copy;
+        }
+    }
+
+    private void copyFromFile(FileChannel ch, long position, int len) throws IOException {
+        ByteBuffer dst = ByteBuffer.wrap(buf, pos, len);
+        while (dst.hasRemaining()) {
+            if (ch.read(dst, position + dst.position() - pos) < 0)
+                throw new EOFException();
+        }
+        pos += len;
+    }
+
+    private void writeFileRegionPDU() throws IOException {
+        int pdvlen = maxpdulen - 6;
+        pos = 0;
+        put(PDUType.P_DATA_TF);
+        put(0);
+        putInt(maxpdulen);
+        putInt(pdvlen + 2);
+        put(pdvpcid);
+        put(pdvcmd | PDVType.PENDING);
+        Association.LOG.trace("{} << P-DATA-TF[len={}]", as, maxpdulen);
+        Association.LOG.trace("{} << PDV[len={}, pcid={}, mch={}] from file region",
+                new Object[] { as, pdvlen + 2, pdvpcid, pdvcmd | PDVType.PENDING });
+        writeLock.lock();
+        try {
+            out.write(buf, 0, 12);
+            out.flush();
+            as.transferFrom(fileRegion, fileRegionPosition, pdvlen);
+        } catch (IOException e) {
+            as.onIOException(e);
+            throw e;
+        } finally {
+            writeLock.unlock();
+        }
+        pdvpos = 6;
+        pos = 12;
+    }
+
     private void checkThread() {
         if (th != Thread.currentThread())
             throw new IllegalStateException("Entered by wrong thread");
@@ -422,6 +553,10 @@ class PDUEncoder extends PDVOutputStream {
     }
 
     public void writePDataTF() throws IOException {
+        if (fileRegion != null) {
+            writeFileRegionPDU();
+            return;
+        }
         int pdulen = pos - 6;
         pos = 0;
         put(PDUType.P_DATA_TF);
@@ -434,7 +569,8 @@ class PDUEncoder extends PDVOutputStream {
 
     public void writeDIMSE(PresentationContext pc, Attributes cmd,
             DataWriter dataWriter) throws IOException {
-        synchronized (dimseLock) {
+        dimseLock.lock();
+        try {
             int pcid = pc.getPCID();
             String tsuid = pc.getTransferSyntax();
             Dimse dimse = Dimse.valueOf(cmd.getInt(Tag.CommandField, -1));
@@ -448,8 +584,7 @@ class PDUEncoder extends PDVOutputStream {
             }
             this.th = Thread.currentThread();
             maxpdulen = as.getMaxPDULengthSend();
-            if (buf.length < maxpdulen + 6)
-                buf = new byte[maxpdulen + 6];
+            ensureCapacity(maxpdulen + 6);
 
             pdvpcid = pcid;
             pdvcmd = PDVType.COMMAND;
@@ -479,6 +614,10 @@ class PDUEncoder extends PDVOutputStream {
             }
             as.writePDataTF();
             this.th = null;
+        } finally {
+            dimseLock.unlock();
         }
+        if (released)
+            tryRelease();
     }
 }
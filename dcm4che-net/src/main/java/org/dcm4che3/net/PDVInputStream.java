@@ -41,6 +41,8 @@ package org.dcm4che3.net;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 import org.dcm4che3.data.Attributes;
 
@@ -59,4 +61,24 @@ public abstract class PDVInputStream extends InputStream {
 
     public abstract long skipAll() throws IOException;
 
+    /**
+     * Writes the remaining bytes to the specified channel.
+     *
+     * @param ch the destination channel
+     * @return number of written bytes
+     * @throws IOException if an I/O error occurs
+     */
+    public long copyTo(WritableByteChannel ch) throws IOException {
+        byte[] b = new byte[0x10000];
+        long n = 0;
+        int read;
+        while ((read = read(b, 0, b.length)) > 0) {
+            ByteBuffer src = ByteBuffer.wrap(b, 0, read);
+            while (src.hasRemaining())
+                ch.write(src);
+            n += read;
+        }
+        return n;
+    }
+
 }
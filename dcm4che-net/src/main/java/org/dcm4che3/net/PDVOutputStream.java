@@ -38,9 +38,12 @@
 
 package org.dcm4che3.net;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
@@ -52,4 +55,27 @@ public abstract class PDVOutputStream extends OutputStream {
             throws IOException;
 
     public abstract void copyFrom(InputStream in) throws IOException;
+
+    /**
+     * Copies bytes from the specified file region. Does not change the
+     * position of the file channel.
+     *
+     * @param ch the file channel
+     * @param position position of the file region
+     * @param length length of the file region
+     * @throws IOException if an I/O error occurs
+     */
+    public void copyFrom(FileChannel ch, long position, long length)
+            throws IOException {
+        byte[] b = new byte[(int) Math.min(length, 0x10000)];
+        long remaining = length;
+        while (remaining > 0) {
+            int read = ch.read(ByteBuffer.wrap(b, 0, (int) Math.min(remaining, b.length)), position);
+            if (read < 0)
+                throw new EOFException();
+            write(b, 0, read);
+            position += read;
+            remaining -= read;
+        }
+    }
 }
@@ -0,0 +1,170 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.net;
+
+import org.dcm4che3.util.SafeClose;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Selector loop serving the I/O readiness events of registered channels.
+ * Registration and changes of interest operations are queued and executed
+ * by the selector thread itself.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+class Reactor implements Runnable {
+
+    interface Handler {
+        void onReady(SelectionKey key) throws IOException;
+        void onClose();
+    }
+
+    private final String name;
+    private final Selector selector;
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+    private volatile Thread thread;
+
+    Reactor(String name) throws IOException {
+        this.name = name;
+        this.selector = Selector.open();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    boolean inReactorThread() {
+        return thread == Thread.currentThread();
+    }
+
+    void execute(Runnable task) {
+        if (inReactorThread()) {
+            task.run();
+        } else {
+            tasks.add(task);
+            selector.wakeup();
+        }
+    }
+
+    void register(final SelectableChannel ch, final int ops, final Handler handler) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    ch.register(selector, ops, handler);
+                } catch (IOException e) {
+                    Connection.LOG.warn("{}: failed to register {}:", name, ch, e);
+                    handler.onClose();
+                }
+            }
+        });
+    }
+
+    void interestOps(final SelectableChannel ch, final int set, final int clear) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                SelectionKey key = ch.keyFor(selector);
+                if (key != null && key.isValid())
+                    key.interestOps((key.interestOps() | set) & ~clear);
+            }
+        });
+    }
+
+    @Override
+    public void run() {
+        thread = Thread.currentThread();
+        Connection.LOG.info("Start {}", name);
+        try {
+            while (running) {
+                selector.select();
+                Runnable task;
+                while ((task = tasks.poll()) != null)
+                    task.run();
+                Iterator<SelectionKey> iter = selector.selectedKeys().iterator();
+                while (iter.hasNext()) {
+                    SelectionKey key = iter.next();
+                    iter.remove();
+                    Handler handler = (Handler) key.attachment();
+                    try {
+                        handler.onReady(key);
+                    } catch (CancelledKeyException e) {
+                        handler.onClose();
+                    } catch (IOException e) {
+                        Connection.LOG.info("{}: i/o exception on {}: {}", name, key.channel(), e);
+                        key.cancel();
+                        handler.onClose();
+                    }
+                }
+            }
+        } catch (Throwable e) {
+            if (running)
+                Connection.LOG.error("{}: unexpected exception:", name, e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                ((Handler) key.attachment()).onClose();
+            }
+            SafeClose.close(selector);
+            thread = null;
+            Connection.LOG.info("Stop {}", name);
+        }
+    }
+
+    void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    void closeSelector() {
+        SafeClose.close(selector);
+    }
+}
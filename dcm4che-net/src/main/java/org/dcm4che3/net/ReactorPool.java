@@ -0,0 +1,86 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.net;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed number of {@link Reactor}s, shared by all NIO listeners of a
+ * {@link Device}. Accepted channels are assigned round-robin.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+class ReactorPool {
+
+    private final Reactor[] reactors;
+    private final AtomicInteger next = new AtomicInteger();
+
+    ReactorPool(String name, int size) throws IOException {
+        reactors = new Reactor[size];
+        try {
+            for (int i = 0; i < size; i++)
+                reactors[i] = new Reactor(name + "-reactor-" + (i + 1));
+        } catch (IOException e) {
+            for (Reactor reactor : reactors)
+                if (reactor != null)
+                    reactor.closeSelector();
+            throw e;
+        }
+        for (Reactor reactor : reactors) {
+            // dedicated platform thread: blocking in Selector.select() would pin the carrier of a virtual thread
+            Thread th = new Thread(reactor, reactor.toString());
+            th.setDaemon(true);
+            th.start();
+        }
+    }
+
+    Reactor next() {
+        return reactors[(next.getAndIncrement() & 0x7fffffff) % reactors.length];
+    }
+
+    void close() {
+        for (Reactor reactor : reactors)
+            reactor.close();
+    }
+}
@@ -79,9 +79,12 @@ public class Timeout implements Runnable {
 
     @Override
     public void run() {
-        synchronized (as) {
+        as.getLock().lock();
+        try {
             LOG.info(expiredMsg, as);
             as.abort();
+        } finally {
+            as.getLock().unlock();
         }
     }
 
@@ -55,6 +55,7 @@ import org.dcm4che3.net.Commands;
 import org.dcm4che3.net.DataWriter;
 import org.dcm4che3.net.Dimse;
 import org.dcm4che3.net.DimseRSPHandler;
+import org.dcm4che3.net.FileRegionDataWriter;
 import org.dcm4che3.net.InputStreamDataWriter;
 import org.dcm4che3.net.Status;
 import org.dcm4che3.net.pdu.PresentationContext;
@@ -309,7 +310,15 @@ public class BasicRetrieveTask<T extends InstanceLocator> implements RetrieveTas
     protected DataWriter createDataWriter(T inst, String tsuid) throws Exception {
         DicomInputStream in = new DicomInputStream(inst.getFile());
         in.readFileMetaInformation();
-        return new InputStreamDataWriter(in);
+        String filets = in.getTransferSyntax();
+        if (filets.equals(UID.DeflatedExplicitVRLittleEndian)
+                || filets.equals(UID.JPIPReferencedDeflate)
+                || filets.equals(UID.JPIPHTJ2KReferencedDeflate))
+            return new InputStreamDataWriter(in);
+
+        long dsPos = in.getPosition();
+        in.close();
+        return new FileRegionDataWriter(inst.getFile().toPath(), dsPos);
     }
 
     public void writePendingRSP() {
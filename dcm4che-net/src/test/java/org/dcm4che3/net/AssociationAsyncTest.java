@@ -0,0 +1,269 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.net;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.net.pdu.AAssociateRQ;
+import org.dcm4che3.net.pdu.PresentationContext;
+import org.dcm4che3.net.service.BasicCEchoSCP;
+import org.dcm4che3.net.service.BasicCFindSCP;
+import org.dcm4che3.net.service.BasicQueryTask;
+import org.dcm4che3.net.service.DicomServiceException;
+import org.dcm4che3.net.service.DicomServiceRegistry;
+import org.dcm4che3.net.service.QueryTask;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class AssociationAsyncTest {
+
+    private static final int PORT = 55120;
+    private static final String CUID = UID.StudyRootQueryRetrieveInformationModelFind;
+
+    private static ExecutorService executor;
+    private static ScheduledExecutorService scheduledExecutor;
+    private static Device scp;
+    private static ApplicationEntity remoteAE;
+    private static final AtomicInteger findRQs = new AtomicInteger();
+    private static final AtomicInteger cancelRQs = new AtomicInteger();
+    private static volatile CountDownLatch cancelReceived;
+    private Association as;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        executor = Executors.newCachedThreadPool();
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        scp = new Device("scp");
+        remoteAE = new ApplicationEntity("SCP");
+        scp.addApplicationEntity(remoteAE);
+        Connection conn = new Connection();
+        conn.setHostname("127.0.0.1");
+        conn.setPort(PORT);
+        scp.addConnection(conn);
+        remoteAE.addConnection(conn);
+        remoteAE.addTransferCapability(
+                new TransferCapability(null, "*", TransferCapability.Role.SCP, "*"));
+        DicomServiceRegistry serviceRegistry = new DicomServiceRegistry();
+        serviceRegistry.addDicomService(new BasicCEchoSCP());
+        serviceRegistry.addDicomService(new SlowCFindSCP());
+        scp.setDimseRQHandler(serviceRegistry);
+        scp.setExecutor(executor);
+        scp.setScheduledExecutor(scheduledExecutor);
+        scp.bindConnections();
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        scp.unbindConnections();
+        executor.shutdown();
+        scheduledExecutor.shutdown();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        findRQs.set(0);
+        cancelRQs.set(0);
+        cancelReceived = new CountDownLatch(1);
+        Device scu = new Device("scu");
+        Connection localConn = new Connection();
+        scu.addConnection(localConn);
+        ApplicationEntity localAE = new ApplicationEntity("SCU");
+        localAE.addConnection(localConn);
+        scu.addApplicationEntity(localAE);
+        scu.setExecutor(executor);
+        scu.setScheduledExecutor(scheduledExecutor);
+        AAssociateRQ rq = new AAssociateRQ();
+        rq.addPresentationContext(new PresentationContext(1, UID.Verification, UID.ImplicitVRLittleEndian));
+        rq.addPresentationContext(new PresentationContext(3, CUID, UID.ImplicitVRLittleEndian));
+        as = localAE.connect(remoteAE, rq);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        as.release();
+        as.waitForSocketClose();
+    }
+
+    @Test
+    public void testCompletion() throws Exception {
+        CompletableFuture<Attributes> future = as.cechoAsync();
+        assertEquals(Status.Success, status(future));
+    }
+
+    @Test
+    public void testPendingResponses() throws Exception {
+        final List<Attributes> matches = Collections.synchronizedList(new ArrayList<Attributes>());
+        CompletableFuture<Attributes> future = as.cfindAsync(CUID, Priority.NORMAL, keys(3, 0),
+                UID.ImplicitVRLittleEndian, new Consumer<Attributes>() {
+                    @Override
+                    public void accept(Attributes match) {
+                        matches.add(match);
+                    }
+                });
+        assertEquals(Status.Success, status(future));
+        assertEquals(3, matches.size());
+        for (int i = 0; i < 3; i++)
+            assertEquals(String.valueOf(i), matches.get(i).getString(Tag.PatientID));
+    }
+
+    @Test
+    public void testCancelQueued() throws Exception {
+        CompletableFuture<Attributes> first = as.cfindAsync(CUID, Priority.NORMAL, keys(5, 100),
+                UID.ImplicitVRLittleEndian, null);
+        CompletableFuture<Attributes> queued = as.cfindAsync(CUID, Priority.NORMAL, keys(1, 0),
+                UID.ImplicitVRLittleEndian, null);
+        assertTrue(queued.cancel(false));
+        assertEquals(Status.Success, status(first));
+        assertEquals(Status.Success, status(as.cechoAsync()));
+        assertEquals(1, findRQs.get());
+        assertEquals(0, cancelRQs.get());
+        try {
+            queued.get();
+            fail("CancellationException expected");
+        } catch (CancellationException expected) {
+        }
+    }
+
+    @Test
+    public void testCancelSent() throws Exception {
+        final CountDownLatch firstMatch = new CountDownLatch(1);
+        CompletableFuture<Attributes> future = as.cfindAsync(CUID, Priority.NORMAL, keys(100, 50),
+                UID.ImplicitVRLittleEndian, new Consumer<Attributes>() {
+                    @Override
+                    public void accept(Attributes match) {
+                        firstMatch.countDown();
+                    }
+                });
+        assertTrue(firstMatch.await(5, TimeUnit.SECONDS));
+        assertTrue(future.cancel(false));
+        assertTrue(cancelReceived.await(5, TimeUnit.SECONDS));
+        assertEquals(Status.Success, status(as.cechoAsync()));
+        assertEquals(1, findRQs.get());
+        assertEquals(1, cancelRQs.get());
+    }
+
+    private static int status(CompletableFuture<Attributes> future) throws Exception {
+        return future.get(10, TimeUnit.SECONDS).getInt(Tag.Status, -1);
+    }
+
+    private static Attributes keys(int matches, int delay) {
+        Attributes keys = new Attributes(3);
+        keys.setString(Tag.QueryRetrieveLevel, VR.CS, "PATIENT");
+        keys.setNull(Tag.PatientID, VR.LO);
+        keys.setString(Tag.PatientName, VR.PN, matches + "^" + delay);
+        return keys;
+    }
+
+    private static class SlowCFindSCP extends BasicCFindSCP {
+
+        SlowCFindSCP() {
+            super(CUID);
+        }
+
+        @Override
+        protected QueryTask calculateMatches(Association as, PresentationContext pc,
+                Attributes rq, Attributes keys) {
+            findRQs.incrementAndGet();
+            // count also C-CANCEL-RQs for the following - queued - request
+            as.addCancelRQHandler(rq.getInt(Tag.MessageID, 0) + 1, new CancelRQHandler() {
+                @Override
+                public void onCancelRQ(Association as) {
+                    cancelRQs.incrementAndGet();
+                }
+            });
+            String[] params = keys.getString(Tag.PatientName).split("\\^");
+            final int matches = Integer.parseInt(params[0]);
+            final long delay = Long.parseLong(params[1]);
+            return new BasicQueryTask(as, pc, rq, keys) {
+                int next;
+
+                @Override
+                protected boolean hasMoreMatches() {
+                    return next < matches;
+                }
+
+                @Override
+                protected Attributes nextMatch() throws DicomServiceException {
+                    try {
+                        Thread.sleep(delay);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    Attributes match = new Attributes(2);
+                    match.setString(Tag.PatientID, VR.LO, String.valueOf(next++));
+                    return match;
+                }
+
+                @Override
+                public void onCancelRQ(Association as) {
+                    super.onCancelRQ(as);
+                    cancelRQs.incrementAndGet();
+                    cancelReceived.countDown();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.net;
+
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.net.pdu.AAbort;
+import org.dcm4che3.net.pdu.AAssociateRQ;
+import org.dcm4che3.net.pdu.PresentationContext;
+import org.dcm4che3.net.service.BasicCEchoSCP;
+import org.dcm4che3.net.service.DicomServiceRegistry;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class AssociationPoolTest {
+
+    private static final int PORT = 55110;
+
+    private static ExecutorService executor;
+    private static ScheduledExecutorService scheduledExecutor;
+    private static Device scp;
+    private static ApplicationEntity remoteAE;
+    private ApplicationEntity localAE;
+    private Connection localConn;
+    private AssociationPool pool;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        executor = Executors.newCachedThreadPool();
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        scp = new Device("scp");
+        remoteAE = new ApplicationEntity("SCP");
+        scp.addApplicationEntity(remoteAE);
+        for (int i = 0; i < 2; i++) {
+            Connection conn = new Connection();
+            conn.setHostname("127.0.0.1");
+            conn.setPort(PORT + i);
+            scp.addConnection(conn);
+            remoteAE.addConnection(conn);
+        }
+        remoteAE.addTransferCapability(
+                new TransferCapability(null, "*", TransferCapability.Role.SCP, "*"));
+        DicomServiceRegistry serviceRegistry = new DicomServiceRegistry();
+        serviceRegistry.addDicomService(new BasicCEchoSCP());
+        scp.setDimseRQHandler(serviceRegistry);
+        scp.setExecutor(executor);
+        scp.setScheduledExecutor(scheduledExecutor);
+        scp.bindConnections();
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        scp.unbindConnections();
+        executor.shutdown();
+        scheduledExecutor.shutdown();
+    }
+
+    @Before
+    public void setUp() {
+        Device scu = new Device("scu");
+        localConn = new Connection();
+        scu.addConnection(localConn);
+        localAE = new ApplicationEntity("SCU");
+        localAE.addConnection(localConn);
+        scu.addApplicationEntity(localAE);
+        scu.setExecutor(executor);
+        scu.setScheduledExecutor(scheduledExecutor);
+        pool = new AssociationPool(scu);
+    }
+
+    @After
+    public void tearDown() {
+        pool.close();
+    }
+
+    private static AAssociateRQ rq(String... tsuids) {
+        AAssociateRQ rq = new AAssociateRQ();
+        rq.addPresentationContext(new PresentationContext(1, UID.Verification, tsuids));
+        return rq;
+    }
+
+    @Test
+    public void testReuse() throws Exception {
+        Association as = pool.borrowAssociation(localAE, remoteAE, rq(UID.ImplicitVRLittleEndian));
+        assertEquals(Status.Success, echo(as));
+        pool.returnAssociation(as);
+        assertEquals(1, pool.getNumberOfIdleAssociations());
+        assertSame(as, pool.borrowAssociation(localAE, remoteAE, rq(UID.ImplicitVRLittleEndian)));
+        Association other = pool.borrowAssociation(localAE, remoteAE, rq(UID.ExplicitVRLittleEndian));
+        assertNotSame(as, other);
+        assertEquals(2, pool.getNumberOfAssociations());
+        pool.returnAssociation(as);
+        pool.invalidateAssociation(other);
+        assertEquals(1, pool.getNumberOfAssociations());
+        other.waitForSocketClose();
+    }
+
+    @Test
+    public void testRoundRobin() throws Exception {
+        Association as1 = pool.borrowAssociation(localAE, remoteAE, rq(UID.ImplicitVRLittleEndian));
+        Association as2 = pool.borrowAssociation(localAE, remoteAE, rq(UID.ImplicitVRLittleEndian));
+        assertNotEquals(as1.getSocket().getPort(), as2.getSocket().getPort());
+        pool.returnAssociation(as1);
+        pool.returnAssociation(as2);
+    }
+
+    @Test
+    public void testMaxPerDestination() throws Exception {
+        pool.setMaxPerDestination(1);
+        pool.setMaxWaitTime(100);
+        Association as = pool.borrowAssociation(localAE, remoteAE, rq(UID.ImplicitVRLittleEndian));
+        try {
+            pool.borrowAssociation(localAE, remoteAE, rq(UID.ImplicitVRLittleEndian));
+            fail("IOException expected");
+        } catch (IOException expected) {
+        }
+        pool.returnAssociation(as);
+        Association other = pool.borrowAssociation(localAE, remoteAE, rq(UID.ExplicitVRLittleEndian));
+        assertNotSame(as, other);
+        as.waitForSocketClose();
+        assertEquals(1, pool.getNumberOfAssociations());
+        pool.returnAssociation(other);
+    }
+
+    @Test
+    public void testIdleEviction() throws Exception {
+        localConn.setIdleTimeout(1000);
+        pool.setEvictionInterval(200);
+        Association as = pool.borrowAssociation(localAE, remoteAE, rq(UID.ImplicitVRLittleEndian));
+        pool.returnAssociation(as);
+        as.waitForSocketClose();
+        assertEquals(0, pool.getNumberOfAssociations());
+    }
+
+    @Test
+    public void testReturnAbortedAssociation() throws Exception {
+        testAbortedAssociation(false);
+    }
+
+    @Test
+    public void testInvalidateAbortedAssociation() throws Exception {
+        testAbortedAssociation(true);
+    }
+
+    private void testAbortedAssociation(boolean invalidate) throws Exception {
+        pool.setMaxPerDestination(1);
+        pool.setMaxWaitTime(100);
+        Association as = pool.borrowAssociation(localAE, remoteAE, rq(UID.ImplicitVRLittleEndian));
+        assertEquals(1, pool.getNumberOfAssociations());
+        as.abort();
+        try {
+            as.waitForSocketClose();
+        } catch (AAbort expected) {
+        }
+        if (invalidate)
+            pool.invalidateAssociation(as);
+        else
+            pool.returnAssociation(as);
+        assertEquals(0, pool.getNumberOfAssociations());
+        Association other = pool.borrowAssociation(localAE, remoteAE, rq(UID.ImplicitVRLittleEndian));
+        assertEquals(Status.Success, echo(other));
+        pool.returnAssociation(other);
+    }
+
+    @Test
+    public void testReturnNotBorrowedAssociation() throws Exception {
+        Association as = localAE.connect(remoteAE, rq(UID.ImplicitVRLittleEndian));
+        try {
+            pool.returnAssociation(as);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        } finally {
+            as.release();
+            as.waitForSocketClose();
+        }
+    }
+
+    private static int echo(Association as) throws Exception {
+        DimseRSP rsp = as.cecho();
+        rsp.next();
+        return rsp.getCommand().getInt(Tag.Status, -1);
+    }
+}
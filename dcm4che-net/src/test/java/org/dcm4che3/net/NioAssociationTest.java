@@ -0,0 +1,439 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.net;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.net.pdu.AAssociateRQ;
+import org.dcm4che3.net.pdu.PresentationContext;
+import org.dcm4che3.net.service.BasicCEchoSCP;
+import org.dcm4che3.net.service.BasicCStoreSCP;
+import org.dcm4che3.net.service.DicomServiceRegistry;
+import org.dcm4che3.util.VirtualThreads;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Associations accepted by a connection with {@linkplain Connection#setNioTransport non-blocking transport}.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class NioAssociationTest {
+
+    private static final int PORT = 55140;
+    private static final int BLOCKING_PORT = 55141;
+    private static final String CUID = UID.SecondaryCaptureImageStorage;
+    // exceeds the PDU length and the socket buffers by far
+    private static final int LARGE_DATA_LENGTH = (8 << 20) + 5;
+
+    private static ThreadPoolExecutor scpExecutor;
+    private static ExecutorService executor;
+    private static ScheduledExecutorService scheduledExecutor;
+    private static Device scp;
+    private static Connection remoteConn;
+    private static Connection remoteBlockingConn;
+    private static final Map<String, byte[]> received = new ConcurrentHashMap<>();
+    private static final Map<String, IOException> failed = new ConcurrentHashMap<>();
+    private static volatile CountDownLatch storeStarted;
+    private static volatile CountDownLatch storeBlocked;
+    private static volatile boolean copyToChannel;
+    private Device scu;
+    private ApplicationEntity localAE;
+    private Connection localConn;
+    private final List<Association> associations = new ArrayList<>();
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        scpExecutor = (ThreadPoolExecutor) Executors.newCachedThreadPool();
+        executor = Executors.newCachedThreadPool();
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        scp = new Device("scp");
+        ApplicationEntity ae = new ApplicationEntity("SCP");
+        scp.addApplicationEntity(ae);
+        remoteConn = new Connection();
+        remoteConn.setHostname("127.0.0.1");
+        remoteConn.setPort(PORT);
+        remoteConn.setNioTransport(true);
+        remoteConn.setMaxOpsPerformed(0);
+        scp.addConnection(remoteConn);
+        ae.addConnection(remoteConn);
+        remoteBlockingConn = new Connection();
+        remoteBlockingConn.setHostname("127.0.0.1");
+        remoteBlockingConn.setPort(BLOCKING_PORT);
+        scp.addConnection(remoteBlockingConn);
+        ae.addConnection(remoteBlockingConn);
+        ae.addTransferCapability(new TransferCapability(null, "*", TransferCapability.Role.SCP, "*"));
+        DicomServiceRegistry serviceRegistry = new DicomServiceRegistry();
+        serviceRegistry.addDicomService(new BasicCEchoSCP());
+        serviceRegistry.addDicomService(new StoreSCP());
+        scp.setDimseRQHandler(serviceRegistry);
+        scp.setExecutor(scpExecutor);
+        scp.setScheduledExecutor(scheduledExecutor);
+        scp.bindConnections();
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        scp.unbindConnections();
+        scpExecutor.shutdown();
+        executor.shutdown();
+        scheduledExecutor.shutdown();
+    }
+
+    @Before
+    public void setUp() {
+        received.clear();
+        failed.clear();
+        storeStarted = null;
+        storeBlocked = null;
+        copyToChannel = false;
+        scu = new Device("scu");
+        localConn = new Connection();
+        scu.addConnection(localConn);
+        localAE = new ApplicationEntity("SCU");
+        localAE.addConnection(localConn);
+        scu.addApplicationEntity(localAE);
+        scu.setExecutor(executor);
+        scu.setScheduledExecutor(scheduledExecutor);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (Association as : associations)
+            if (as.isReadyForDataTransfer()) {
+                as.release();
+                as.waitForSocketClose();
+            }
+        assertNoOpenAssociations();
+    }
+
+    static class StoreSCP extends BasicCStoreSCP {
+        @Override
+        protected void store(Association as, PresentationContext pc, Attributes rq, PDVInputStream data,
+                Attributes rsp) throws IOException {
+            String iuid = rq.getString(Tag.AffectedSOPInstanceUID);
+            CountDownLatch started = storeStarted;
+            CountDownLatch blocked = storeBlocked;
+            if (started != null)
+                started.countDown();
+            try {
+                if (blocked != null)
+                    blocked.await();
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                if (copyToChannel)
+                    assertEquals(data.copyTo(Channels.newChannel(out)), out.size());
+                else
+                    data.copyTo(out);
+                received.put(iuid, out.toByteArray());
+            } catch (IOException e) {
+                failed.put(iuid, e);
+                throw e;
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    private Association connect() throws Exception {
+        return connect(remoteConn);
+    }
+
+    private Association connect(Connection remoteConn) throws Exception {
+        AAssociateRQ rq = new AAssociateRQ();
+        rq.setCalledAET("SCP");
+        rq.addPresentationContext(new PresentationContext(1, UID.Verification, UID.ImplicitVRLittleEndian));
+        rq.addPresentationContext(new PresentationContext(3, CUID, UID.ImplicitVRLittleEndian));
+        Association as = localAE.connect(localConn, remoteConn, rq);
+        associations.add(as);
+        return as;
+    }
+
+    private static byte[] randomData(int length, long seed) {
+        byte[] b = new byte[length];
+        new Random(seed).nextBytes(b);
+        return b;
+    }
+
+    private static DataWriter dataWriter(final byte[] b) {
+        return new DataWriter() {
+            @Override
+            public void writeTo(PDVOutputStream out, String tsuid) throws IOException {
+                out.write(b);
+            }
+        };
+    }
+
+    private static int store(Association as, String iuid, byte[] data) throws Exception {
+        DimseRSP rsp = as.cstore(CUID, iuid, Priority.NORMAL, dataWriter(data), UID.ImplicitVRLittleEndian);
+        rsp.next();
+        return rsp.getCommand().getInt(Tag.Status, -1);
+    }
+
+    /**
+     * Waits for the close of the socket, ignoring the exception which caused the close.
+     */
+    private static void waitForSocketClose(Association as) throws InterruptedException {
+        try {
+            as.waitForSocketClose();
+        } catch (IOException expected) {
+        }
+    }
+
+    private static void assertNoOpenAssociations() throws InterruptedException {
+        for (int i = 0; i < 100 && scp.getNumberOfOpenAssociations() > 0; i++)
+            Thread.sleep(20);
+        assertEquals(0, scp.getNumberOfOpenAssociations());
+    }
+
+    @Test
+    public void testEcho() throws Exception {
+        Association as = connect();
+        for (int i = 0; i < 10; i++) {
+            DimseRSP rsp = as.cecho();
+            rsp.next();
+            assertEquals(Status.Success, rsp.getCommand().getInt(Tag.Status, -1));
+        }
+    }
+
+    @Test
+    public void testLargeStore() throws Exception {
+        byte[] data = randomData(LARGE_DATA_LENGTH, 1);
+        assertEquals(Status.Success, store(connect(), "1.2.3.1", data));
+        assertArrayEquals(data, received.get("1.2.3.1"));
+    }
+
+    @Test
+    public void testLargeStoreWithSmallPDUs() throws Exception {
+        localConn.setSendPDULength(1024);
+        byte[] data = randomData(LARGE_DATA_LENGTH, 2);
+        assertEquals(Status.Success, store(connect(), "1.2.3.2", data));
+        assertArrayEquals(data, received.get("1.2.3.2"));
+    }
+
+    @Test
+    public void testCopyToChannel() throws Exception {
+        testCopyToChannel(remoteConn, "1.2.3.6.1");
+    }
+
+    @Test
+    public void testCopyToChannelWithSmallPDUs() throws Exception {
+        localConn.setSendPDULength(1024);
+        testCopyToChannel(remoteConn, "1.2.3.6.2");
+    }
+
+    @Test
+    public void testCopyToChannelWithPackedPDVs() throws Exception {
+        // the first P-DATA-TF PDU contains the Command and the first data PDV
+        localConn.setPackPDV(true);
+        testCopyToChannel(remoteConn, "1.2.3.6.3");
+    }
+
+    @Test
+    public void testCopyToChannelOverBlockingTransport() throws Exception {
+        testCopyToChannel(remoteBlockingConn, "1.2.3.6.4");
+    }
+
+    private void testCopyToChannel(Connection remoteConn, String iuid) throws Exception {
+        copyToChannel = true;
+        byte[] data = randomData(LARGE_DATA_LENGTH, 6);
+        Association as = connect(remoteConn);
+        assertEquals(Status.Success, store(as, iuid, data));
+        assertArrayEquals(data, received.get(iuid));
+        // the association is still usable after the transfer
+        DimseRSP rsp = as.cecho();
+        rsp.next();
+        assertEquals(Status.Success, rsp.getCommand().getInt(Tag.Status, -1));
+    }
+
+    @Test
+    public void testConcurrentAssociations() throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>();
+        final List<byte[]> data = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final Association as = connect();
+            final String iuid = "1.2.3.3." + i;
+            final byte[] b = randomData(1 << 20, i);
+            data.add(b);
+            futures.add(executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    return store(as, iuid, b);
+                }
+            }));
+        }
+        for (int i = 0; i < 8; i++) {
+            assertEquals(Status.Success, futures.get(i).get(10, TimeUnit.SECONDS).intValue());
+            assertArrayEquals(data.get(i), received.get("1.2.3.3." + i));
+        }
+    }
+
+    @Test
+    public void testConcurrentInvocationsOnVirtualThreads() throws Exception {
+        ExecutorService virtualThreads = VirtualThreads.newThreadPerTaskExecutor("scu-");
+        ScheduledExecutorService scheduledVirtualThread = VirtualThreads.newSingleThreadScheduledExecutor("scu-");
+        try {
+            scu.setExecutor(virtualThreads);
+            scu.setScheduledExecutor(scheduledVirtualThread);
+            localConn.setMaxOpsInvoked(0);
+            final Association as = connect();
+            assertEquals(0, as.getAAssociateAC().getMaxOpsInvoked());
+            List<Future<Integer>> futures = new ArrayList<>();
+            final List<byte[]> data = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                final String iuid = "1.2.3.5." + i;
+                final byte[] b = randomData(1 << 18, i);
+                data.add(b);
+                futures.add(virtualThreads.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        for (int j = 0; j < 10; j++) {
+                            DimseRSP rsp = as.cecho();
+                            rsp.next();
+                            if (rsp.getCommand().getInt(Tag.Status, -1) != Status.Success)
+                                return -1;
+                        }
+                        return store(as, iuid, b);
+                    }
+                }));
+            }
+            for (int i = 0; i < 16; i++) {
+                assertEquals(Status.Success, futures.get(i).get(10, TimeUnit.SECONDS).intValue());
+                assertArrayEquals(data.get(i), received.get("1.2.3.5." + i));
+            }
+            as.release();
+            as.waitForSocketClose();
+        } finally {
+            virtualThreads.shutdown();
+            scheduledVirtualThread.shutdown();
+        }
+    }
+
+    @Test
+    public void testIdleAssociationsDoNotOccupyThreads() throws Exception {
+        // the listener of the blocking connection occupies one thread
+        int listenerThreads = 1;
+        for (int i = 0; i < 20; i++) {
+            DimseRSP rsp = connect().cecho();
+            rsp.next();
+        }
+        for (int i = 0; i < 100 && scpExecutor.getActiveCount() > listenerThreads; i++)
+            Thread.sleep(20);
+        assertEquals(20, scp.getNumberOfOpenAssociations());
+        assertEquals(listenerThreads, scpExecutor.getActiveCount());
+    }
+
+    @Test
+    public void testAbortIdleAssociation() throws Exception {
+        Association as = connect();
+        as.abort();
+        waitForSocketClose(as);
+        assertNoOpenAssociations();
+    }
+
+    @Test
+    public void testAbortByAcceptor() throws Exception {
+        Association as = connect();
+        Association[] accepted = scp.listOpenAssociations();
+        assertEquals(1, accepted.length);
+        accepted[0].abort();
+        waitForSocketClose(as);
+        assertFalse(as.isReadyForDataTransfer());
+        assertNoOpenAssociations();
+    }
+
+    @Test
+    public void testCloseSocket() throws Exception {
+        Association as = connect();
+        as.getSocket().close();
+        waitForSocketClose(as);
+        assertNoOpenAssociations();
+    }
+
+    @Test
+    public void testAbortDuringTransfer() throws Exception {
+        storeStarted = new CountDownLatch(1);
+        storeBlocked = new CountDownLatch(1);
+        final Association as = connect();
+        final byte[] data = randomData(LARGE_DATA_LENGTH, 4);
+        Future<Integer> future = executor.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return store(as, "1.2.3.4", data);
+            }
+        });
+        assertTrue(storeStarted.await(5, TimeUnit.SECONDS));
+        as.abort();
+        storeBlocked.countDown();
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (Exception expected) {
+        }
+        waitForSocketClose(as);
+        assertNoOpenAssociations();
+        assertNull(received.get("1.2.3.4"));
+        assertNotNull(failed.get("1.2.3.4"));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.net;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class PDUBufferPoolTest {
+
+    @Test
+    public void testSizeClasses() {
+        assertEquals(0x2000, PDUBufferPool.sizeOfClass(PDUBufferPool.sizeClassOf(1)));
+        assertEquals(0x2000, PDUBufferPool.sizeOfClass(PDUBufferPool.sizeClassOf(0x2000)));
+        assertEquals(0x2400, PDUBufferPool.sizeOfClass(PDUBufferPool.sizeClassOf(0x2001)));
+        assertEquals(0x4000, PDUBufferPool.sizeOfClass(
+                PDUBufferPool.sizeClassOf(Connection.DEF_MAX_PDU_LENGTH + 6)));
+        assertEquals(0x120000, PDUBufferPool.sizeOfClass(PDUBufferPool.sizeClassOf(0x100006)));
+        assertEquals(PDUBufferPool.MAX_BUFFER_SIZE,
+                PDUBufferPool.sizeOfClass(PDUBufferPool.sizeClassOf(PDUBufferPool.MAX_BUFFER_SIZE)));
+        for (int i = 1; i <= PDUBufferPool.sizeClassOf(PDUBufferPool.MAX_BUFFER_SIZE); i++) {
+            int size = PDUBufferPool.sizeOfClass(i);
+            assertTrue(size > PDUBufferPool.sizeOfClass(i - 1));
+            assertEquals(i, PDUBufferPool.sizeClassOf(size));
+            assertEquals(i, PDUBufferPool.sizeClassOf(PDUBufferPool.sizeOfClass(i - 1) + 1));
+        }
+    }
+
+    @Test
+    public void testLeaseRelease() {
+        PDUBufferPool pool = new PDUBufferPool();
+        byte[] b = pool.lease(0x100006);
+        assertEquals(0x120000, b.length);
+        pool.release(b);
+        assertEquals(1, pool.getPooledBuffers());
+        assertEquals(0x120000, pool.getPooledBytes());
+        assertSame(b, pool.lease(0x100001));
+        assertEquals(2, pool.getLeases());
+        assertEquals(1, pool.getHits());
+        assertEquals(1, pool.getAllocations());
+        assertEquals(0, pool.getPooledBuffers());
+        assertEquals(0, pool.getPooledBytes());
+    }
+
+    @Test
+    public void testDiscard() {
+        PDUBufferPool pool = new PDUBufferPool(0x4000);
+        pool.release(new byte[0x4001]);
+        pool.release(pool.lease(0x4000));
+        pool.release(pool.lease(0x4000));
+        pool.release(new byte[0x4000]);
+        assertEquals(4, pool.getReleases());
+        assertEquals(2, pool.getDiscards());
+        assertEquals(1, pool.getPooledBuffers());
+        assertEquals(0x4000, pool.getPooledBytes());
+        pool.clear();
+        assertEquals(0, pool.getPooledBuffers());
+        assertEquals(0, pool.getPooledBytes());
+    }
+
+    @Test
+    public void testUnpooledSize() {
+        PDUBufferPool pool = new PDUBufferPool();
+        byte[] b = pool.lease(PDUBufferPool.MAX_BUFFER_SIZE + 1);
+        assertEquals(PDUBufferPool.MAX_BUFFER_SIZE + 1, b.length);
+        pool.release(b);
+        assertEquals(1, pool.getDiscards());
+        assertEquals(0, pool.getPooledBytes());
+    }
+}
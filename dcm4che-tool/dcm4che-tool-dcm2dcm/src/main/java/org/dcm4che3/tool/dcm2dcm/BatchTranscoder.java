@@ -0,0 +1,281 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4che3.tool.dcm2dcm;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transcodes all files of source directory trees by a work-stealing pool of threads. Files are scheduled in
+ * descending order of their size, so large files do not end up at the tail of the batch keeping one thread
+ * busy while the others are idle. Successfully transcoded files are recorded in an optional checkpoint file
+ * and skipped when the batch is run again.
+ *
+ * @author Gunter Zeilinger (gunterze@protonmail.com)
+ * @since Oct 2026
+ */
+public class BatchTranscoder {
+
+    public interface Handler {
+        /**
+         * Transcodes one file.
+         *
+         * @return number of frames of the transcoded image or 0, if the file does not contain Pixel Data
+         */
+        int transcode(Path src, Path dest) throws Exception;
+
+        void onTranscoded(Path src, Path dest, long size, int frames, long nanos);
+
+        void onFailed(Path src, Exception e);
+    }
+
+    private final Handler handler;
+    private int parallelism = 1;
+    private Path checkpoint;
+
+    public BatchTranscoder(Handler handler) {
+        this.handler = handler;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("parallelism: " + parallelism);
+        this.parallelism = parallelism;
+    }
+
+    public Path getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * @param checkpoint file to which the paths of successfully transcoded source files are appended, and from
+     *                   which they are read on start to skip already transcoded files, or {@code null}
+     */
+    public void setCheckpoint(Path checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Transcodes the specified source files and all files in the specified source directories.
+     *
+     * @param srcList source files or directories
+     * @param dest    destination file or directory; files of a source directory are transcoded into the
+     *                corresponding sub-directories of {@code dest}
+     */
+    public Statistics transcode(List<Path> srcList, Path dest) throws IOException, InterruptedException {
+        Set<String> done = readCheckpoint();
+        List<Job> jobs = new ArrayList<>();
+        Statistics stats = new Statistics();
+        for (Path src : srcList) {
+            if (Files.isDirectory(src))
+                Files.walkFileTree(src, new JobCollector(src, dest, done, jobs, stats));
+            else if (done.contains(src.toAbsolutePath().toString()))
+                stats.skipped.incrementAndGet();
+            else
+                jobs.add(new Job(src, Files.isDirectory(dest) ? dest.resolve(src.getFileName()) : dest,
+                        Files.size(src)));
+        }
+        Collections.sort(jobs);
+        try (BufferedWriter checkpointWriter = checkpoint != null
+                ? Files.newBufferedWriter(checkpoint, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                : null) {
+            long start = System.nanoTime();
+            if (parallelism > 1) {
+                ForkJoinPool pool = new ForkJoinPool(parallelism);
+                for (final Job job : jobs)
+                    pool.execute(() -> transcode(job, stats, checkpointWriter));
+                pool.shutdown();
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+            } else {
+                for (Job job : jobs)
+                    transcode(job, stats, checkpointWriter);
+            }
+            stats.nanos = System.nanoTime() - start;
+        }
+        return stats;
+    }
+
+    private Set<String> readCheckpoint() throws IOException {
+        return checkpoint != null && Files.exists(checkpoint)
+                ? new HashSet<>(Files.readAllLines(checkpoint, StandardCharsets.UTF_8))
+                : Collections.emptySet();
+    }
+
+    private void transcode(Job job, Statistics stats, BufferedWriter checkpointWriter) {
+        long start = System.nanoTime();
+        try {
+            Path parent = job.dest.getParent();
+            if (parent != null)
+                Files.createDirectories(parent);
+            int frames = handler.transcode(job.src, job.dest);
+            long nanos = System.nanoTime() - start;
+            stats.files.incrementAndGet();
+            stats.bytes.addAndGet(job.size);
+            stats.frames.addAndGet(frames);
+            if (checkpointWriter != null)
+                synchronized (checkpointWriter) {
+                    checkpointWriter.write(job.src.toAbsolutePath().toString());
+                    checkpointWriter.newLine();
+                    checkpointWriter.flush();
+                }
+            handler.onTranscoded(job.src, job.dest, job.size, frames, nanos);
+        } catch (Exception e) {
+            stats.failed.incrementAndGet();
+            handler.onFailed(job.src, e);
+        }
+    }
+
+    private static final class Job implements Comparable<Job> {
+        final Path src;
+        final Path dest;
+        final long size;
+
+        Job(Path src, Path dest, long size) {
+            this.src = src;
+            this.dest = dest;
+            this.size = size;
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            return Long.compare(other.size, size);
+        }
+    }
+
+    private static final class JobCollector extends SimpleFileVisitor<Path> {
+        private final Path srcPath;
+        private final Path destPath;
+        private final Set<String> done;
+        private final List<Job> jobs;
+        private final Statistics stats;
+
+        JobCollector(Path srcPath, Path destPath, Set<String> done, List<Job> jobs, Statistics stats) {
+            this.srcPath = srcPath;
+            this.destPath = destPath;
+            this.done = done;
+            this.jobs = jobs;
+            this.stats = stats;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            if (!attrs.isRegularFile())
+                return FileVisitResult.CONTINUE;
+
+            if (done.contains(file.toAbsolutePath().toString()))
+                stats.skipped.incrementAndGet();
+            else
+                jobs.add(new Job(file, destPath.resolve(srcPath.relativize(file).toString()), attrs.size()));
+            return FileVisitResult.CONTINUE;
+        }
+    }
+
+    public static final class Statistics {
+        private final AtomicInteger files = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong frames = new AtomicLong();
+        private volatile long nanos;
+
+        public int getFiles() {
+            return files.get();
+        }
+
+        public int getFailed() {
+            return failed.get();
+        }
+
+        public int getSkipped() {
+            return skipped.get();
+        }
+
+        public long getBytes() {
+            return bytes.get();
+        }
+
+        public long getFrames() {
+            return frames.get();
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public double getMegabytesPerSecond() {
+            return megabytesPerSecond(bytes.get(), nanos);
+        }
+
+        public double getFramesPerSecond() {
+            return framesPerSecond(frames.get(), nanos);
+        }
+
+        public static double megabytesPerSecond(long bytes, long nanos) {
+            return nanos > 0 ? bytes * 1000.0 / nanos : 0;
+        }
+
+        public static double framesPerSecond(long frames, long nanos) {
+            return nanos > 0 ? frames * 1e9 / nanos : 0;
+        }
+    }
+}
@@ -43,11 +43,12 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
-import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -64,6 +65,7 @@ import org.dcm4che3.data.Fragments;
 import org.dcm4che3.data.VR;
 import org.dcm4che3.imageio.codec.Compressor;
 import org.dcm4che3.imageio.codec.Decompressor;
+import org.dcm4che3.imageio.codec.ImageDescriptor;
 import org.dcm4che3.imageio.codec.Transcoder;
 import org.dcm4che3.imageio.codec.TransferSyntaxType;
 import org.dcm4che3.io.DicomEncodingOptions;
@@ -88,8 +90,13 @@ public class Dcm2Dcm {
     private boolean nofmi;
     private boolean legacy;
     private DicomEncodingOptions encOpts = DicomEncodingOptions.DEFAULT;
+    private Transcoder.OffsetTable offsetTable = Transcoder.OffsetTable.NONE;
     private final List<Property> params = new ArrayList<Property>();
     private int maxThreads = 1;
+    private int frameThreads = 1;
+    private ExecutorService frameExecutor;
+    private Path checkpoint;
+    private boolean printStatistics;
 
     public final void setTransferSyntax(String uid) {
         this.tsuid = uid;
@@ -116,6 +123,10 @@ public class Dcm2Dcm {
         this.encOpts = encOpts;
     }
 
+    public void setOffsetTable(Transcoder.OffsetTable offsetTable) {
+        this.offsetTable = offsetTable;
+    }
+
     public void addCompressionParam(String name, Object value) {
         params.add(new Property(name, value));
     }
@@ -126,6 +137,20 @@ public class Dcm2Dcm {
         this.maxThreads = maxThreads;
     }
 
+    public void setFrameThreads(int frameThreads) {
+        if (frameThreads <= 0)
+            throw new IllegalArgumentException("frame-threads: " + frameThreads);
+        this.frameThreads = frameThreads;
+    }
+
+    public void setCheckpoint(Path checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    public void setPrintStatistics(boolean printStatistics) {
+        this.printStatistics = printStatistics;
+    }
+
     private static Object toValue(String s) {
         try {
             return Double.valueOf(s);
@@ -192,6 +217,12 @@ public class Dcm2Dcm {
                 .desc(rb.getString("retain-fmi"))
                 .build());
         opts.addOptionGroup(fmiGroup);
+        opts.addOption(Option.builder()
+                .hasArg()
+                .argName("basic|extended")
+                .desc(rb.getString("offset-table"))
+                .longOpt("offset-table")
+                .build());
         opts.addOption(Option.builder()
                 .hasArg()
                 .argName("N")
@@ -199,6 +230,23 @@ public class Dcm2Dcm {
                 .desc(rb.getString("max-threads"))
                 .longOpt("max-threads")
                 .build());
+        opts.addOption(Option.builder()
+                .hasArg()
+                .argName("N")
+                .type(PatternOptionBuilder.NUMBER_VALUE)
+                .desc(rb.getString("frame-threads"))
+                .longOpt("frame-threads")
+                .build());
+        opts.addOption(Option.builder()
+                .hasArg()
+                .argName("file")
+                .desc(rb.getString("checkpoint"))
+                .longOpt("checkpoint")
+                .build());
+        opts.addOption(Option.builder()
+                .desc(rb.getString("stats"))
+                .longOpt("stats")
+                .build());
         opts.addOption(Option.builder()
                 .hasArg()
                 .argName("max-error")
@@ -271,9 +319,20 @@ public class Dcm2Dcm {
             }
             main.setLegacy(cl.hasOption("legacy"));
 
+            if (cl.hasOption("offset-table"))
+                main.setOffsetTable(offsetTableOf(cl.getOptionValue("offset-table")));
+
             if (cl.hasOption("max-threads"))
                 main.setMaxThreads(((Number) cl.getParsedOptionValue("max-threads")).intValue());
 
+            if (cl.hasOption("frame-threads"))
+                main.setFrameThreads(((Number) cl.getParsedOptionValue("frame-threads")).intValue());
+
+            if (cl.hasOption("checkpoint"))
+                main.setCheckpoint(Paths.get(cl.getOptionValue("checkpoint")));
+
+            main.setPrintStatistics(cl.hasOption("stats"));
+
             if (cl.hasOption("verify"))
                 main.addCompressionParam("maxPixelValueError",
                         cl.getParsedOptionValue("verify"));
@@ -344,50 +403,64 @@ public class Dcm2Dcm {
                 : cl.getOptionValue("t", def);
     }
 
-    private void mtranscode(List<String> srcList, File dest) throws InterruptedException {
-        ExecutorService executorService = maxThreads > 1 ? Executors.newFixedThreadPool(maxThreads) : null;
-        for (String src : srcList) {
-            mtranscode(new File(src), dest, executorService);
-        }
-        if (executorService != null) {
-            executorService.shutdown();
+    private static Transcoder.OffsetTable offsetTableOf(String s) throws ParseException {
+        switch (s.toLowerCase()) {
+            case "basic":
+                return Transcoder.OffsetTable.BASIC;
+            case "extended":
+                return Transcoder.OffsetTable.EXTENDED;
         }
+        throw new ParseException(MessageFormat.format(rb.getString("invalid-offset-table"), s));
     }
 
-    private void mtranscode(final File src, File dest, Executor executer) {
-         if (src.isDirectory()) {
-             dest.mkdir();
-             for (File file : src.listFiles())
-                 mtranscode(file, new File(dest, file.getName()), executer);
-             return;
-         }
-         final File finalDest = dest.isDirectory() ? new File(dest, src.getName()) : dest;
-         if (executer != null) {
-             executer.execute(() -> transcode(src, finalDest));
-         } else {
-             transcode(src, finalDest);
-         }
-    }
+    private void mtranscode(List<String> srcList, File dest) throws IOException, InterruptedException {
+        List<Path> srcPaths = new ArrayList<>(srcList.size());
+        for (String src : srcList)
+            srcPaths.add(Paths.get(src));
+        BatchTranscoder batch = new BatchTranscoder(new BatchTranscoder.Handler() {
+            @Override
+            public int transcode(Path src, Path dest) throws Exception {
+                return legacy
+                        ? transcodeLegacy(src.toFile(), dest.toFile())
+                        : transcodeWithTranscoder(src.toFile(), dest.toFile());
+            }
 
-    private void transcode(File src, File dest) {
-        try {
-            if (legacy)
-                transcodeLegacy(src, dest);
-            else
-                transcodeWithTranscoder(src, dest);
+            @Override
+            public void onTranscoded(Path src, Path dest, long size, int frames, long nanos) {
+                System.out.println(printStatistics
+                        ? MessageFormat.format(rb.getString("transcoded-stats"), src, dest,
+                                size / 1e6, frames, nanos / 1000000,
+                                BatchTranscoder.Statistics.megabytesPerSecond(size, nanos),
+                                BatchTranscoder.Statistics.framesPerSecond(frames, nanos))
+                        : MessageFormat.format(rb.getString("transcoded"), src, dest));
+            }
 
-            System.out.println(
-                    MessageFormat.format(rb.getString("transcoded"),
-                            src, dest));
-        } catch (Exception e) {
-            System.out.println(
-                    MessageFormat.format(rb.getString("failed"),
-                            src, e.getMessage()));
-            e.printStackTrace(System.out);
+            @Override
+            public void onFailed(Path src, Exception e) {
+                System.out.println(
+                        MessageFormat.format(rb.getString("failed"),
+                                src, e.getMessage()));
+                e.printStackTrace(System.out);
+            }
+        });
+        batch.setParallelism(maxThreads);
+        batch.setCheckpoint(checkpoint);
+        frameExecutor = frameThreads > 1 ? Executors.newFixedThreadPool(frameThreads) : null;
+        try {
+            BatchTranscoder.Statistics stats = batch.transcode(srcPaths, dest.toPath());
+            if (printStatistics)
+                System.out.println(MessageFormat.format(rb.getString("summary"),
+                        stats.getFiles(), stats.getFailed(), stats.getSkipped(),
+                        stats.getBytes() / 1e6, stats.getFrames(), stats.getNanos() / 1e9,
+                        stats.getMegabytesPerSecond(), stats.getFramesPerSecond()));
+        } finally {
+            if (frameExecutor != null) {
+                frameExecutor.shutdown();
+            }
         }
     }
 
-    public void transcodeLegacy(File src, File dest) throws IOException {
+    public int transcodeLegacy(File src, File dest) throws IOException {
         Attributes fmi;
         Attributes dataset;
         DicomInputStream dis = new DicomInputStream(src);
@@ -425,16 +498,24 @@ public class Dcm2Dcm {
             SafeClose.close(compressor);
             SafeClose.close(dos);
         }
+        return pixeldata != null ? dataset.getInt(Tag.NumberOfFrames, 1) : 0;
      }
 
-    public void transcodeWithTranscoder(File src, final File dest) throws IOException {
+    public int transcodeWithTranscoder(File src, final File dest) throws IOException {
         try (Transcoder transcoder = new Transcoder(src)) {
             transcoder.setIncludeFileMetaInformation(!nofmi);
             transcoder.setRetainFileMetaInformation(retainfmi);
             transcoder.setEncodingOptions(encOpts);
             transcoder.setDestinationTransferSyntax(tsuid);
             transcoder.setCompressParams(params.toArray(new Property[params.size()]));
+            transcoder.setOffsetTable(offsetTable);
+            if (frameExecutor != null) {
+                transcoder.setCompressExecutor(frameExecutor);
+                transcoder.setMaxFramesInFlight(frameThreads << 1);
+            }
             transcoder.transcode((transcoder1, dataset) -> new FileOutputStream(dest));
+            ImageDescriptor imageDescriptor = transcoder.getImageDescriptor();
+            return imageDescriptor != null ? imageDescriptor.getFrames() : 0;
         } catch (Exception e) {
             Files.deleteIfExists(dest.toPath());
             throw e;
@@ -47,6 +47,7 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.LazyDicomParser;
 import org.dcm4che3.tool.common.CLIUtils;
 
 import java.io.File;
@@ -73,15 +74,19 @@ public class DcmBenchMark {
             boolean pixelData = cl.hasOption("p");
             boolean accumulate = cl.hasOption("a");
             boolean gc = cl.hasOption("g");
+            boolean lazy = cl.hasOption("l");
+            int[] tags = cl.hasOption("k") ? CLIUtils.toTags(cl.getOptionValues("k")) : null;
             System.out.println("N\tTime (ns)\tMemory (bytes)");
             Runtime rt = Runtime.getRuntime();
             List<Attributes> list = new LinkedList<>();
             for (int i = 1; i <= measurements; i++) {
                 long start = System.nanoTime();
                 for (int j = 0; j < samples; j++) {
-                    try (DicomInputStream dis = new DicomInputStream(file)) {
-                        list.add(pixelData ? dis.readDataset() : dis.readDatasetUntilPixelData());
-                    }
+                    Attributes attrs = lazy ? readLazy(file) : read(file, pixelData);
+                    if (tags != null)
+                        for (int tag : tags)
+                            attrs.getValue(tag);
+                    list.add(attrs);
                 }
                 long end = System.nanoTime();
                 if (gc) rt.gc();
@@ -98,6 +103,16 @@ public class DcmBenchMark {
         }
     }
 
+    private static Attributes read(File file, boolean pixelData) throws IOException {
+        try (DicomInputStream dis = new DicomInputStream(file)) {
+            return pixelData ? dis.readDataset() : dis.readDatasetUntilPixelData();
+        }
+    }
+
+    private static Attributes readLazy(File file) throws IOException {
+        return LazyDicomParser.open(file.toPath()).readDataset();
+    }
+
     private static int getOptionInt(CommandLine cl, String opt, int def) throws ParseException {
         String v = cl.getOptionValue(opt);
         try {
@@ -139,6 +154,14 @@ public class DcmBenchMark {
         opts.addOption(Option.builder("g")
                 .desc(rb.getString("gc"))
                 .build());
+        opts.addOption(Option.builder("l")
+                .desc(rb.getString("lazy"))
+                .build());
+        opts.addOption(Option.builder("k")
+                .hasArg()
+                .argName("attr")
+                .desc(rb.getString("access"))
+                .build());
         return CLIUtils.parseComandLine(args, opts, rb, DcmBenchMark.class);
     }
 }
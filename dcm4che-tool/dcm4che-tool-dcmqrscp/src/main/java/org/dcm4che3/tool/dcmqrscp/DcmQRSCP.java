@@ -38,9 +38,12 @@
 
 package org.dcm4che3.tool.dcmqrscp;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -66,6 +69,7 @@ import org.dcm4che3.data.VR;
 import org.dcm4che3.io.DicomInputStream;
 import org.dcm4che3.io.DicomOutputStream;
 import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
+import org.dcm4che3.media.DicomDirIndex;
 import org.dcm4che3.media.DicomDirReader;
 import org.dcm4che3.media.DicomDirWriter;
 import org.dcm4che3.media.RecordFactory;
@@ -138,6 +142,7 @@ public class DcmQRSCP {
     private int errorCGet;
     private boolean ignoreCaseOfPN;
     private boolean matchNoValue;
+    private boolean indexDicomDir;
     private final FilesetInfo fsInfo = new FilesetInfo();
     private DicomDirReader ddReader;
     private DicomDirWriter ddWriter;
@@ -370,12 +375,12 @@ public class DcmQRSCP {
             PDVInputStream data, File file) throws IOException  {
         LOG.info("{}: M-WRITE {}", as, file);
         file.getParentFile().mkdirs();
-        DicomOutputStream out = new DicomOutputStream(file);
-        try {
+        try (FileOutputStream fout = new FileOutputStream(file)) {
+            DicomOutputStream out = new DicomOutputStream(
+                    new BufferedOutputStream(fout), UID.ExplicitVRLittleEndian);
             out.writeFileMetaInformation(fmi);
-            data.copyTo(out);
-        } finally {
-            SafeClose.close(out);
+            out.flush();
+            data.copyTo(fout.getChannel());
         }
     }
 
@@ -517,6 +522,14 @@ public class DcmQRSCP {
         this.matchNoValue = matchNoValue;
     }
 
+    public boolean isIndexDicomDir() {
+        return indexDicomDir;
+    }
+
+    public void setIndexDicomDir(boolean indexDicomDir) {
+        this.indexDicomDir = indexDicomDir;
+    }
+
     public boolean isRelationalLenient() {
         return relationalLenient;
     }
@@ -714,6 +727,7 @@ public class DcmQRSCP {
                 .argName("file|url")
                 .desc(rb.getString("record-config"))
                 .build());
+        opts.addOption(null, "index", false, rb.getString("index"));
     }
 
     @SuppressWarnings("static-access")
@@ -810,6 +824,7 @@ public class DcmQRSCP {
         if (cl.hasOption("record-config"))
             recFact.loadConfiguration(cl.getOptionValue("record-config"));
         main.setRecordFactory(recFact);
+        main.setIndexDicomDir(cl.hasOption("index"));
     }
 
     private static void configureInstanceAvailability(DcmQRSCP main, CommandLine cl) {
@@ -943,10 +958,21 @@ public class DcmQRSCP {
                     fsInfo.getDescriptorFile(), 
                     fsInfo.getDescriptorFileCharset());
         ddReader = ddWriter = DicomDirWriter.open(dicomDir);
+        if (indexDicomDir)
+            buildIndex();
     }
 
     private void openDicomDirForReadOnly() throws IOException {
         ddReader = new DicomDirReader(dicomDir);
+        if (indexDicomDir)
+            buildIndex();
+    }
+
+    private void buildIndex() throws IOException {
+        long t1 = System.currentTimeMillis();
+        DicomDirIndex index = ddReader.buildIndex();
+        long t2 = System.currentTimeMillis();
+        LOG.info("Indexed {} directory records of {} in {} ms", index.size(), dicomDir, t2 - t1);
     }
 
     public void addRemoteConnection(String aet, Connection remote) {
@@ -966,39 +992,37 @@ public class DcmQRSCP {
             String[] seriesIUIDs = keys.getStrings(Tag.SeriesInstanceUID);
             String[] sopIUIDs = keys.getStrings(Tag.SOPInstanceUID);
             DicomDirReader ddr = ddReader;
-            Attributes patRec = ddr.findPatientRecord(patIDs);
-            while (patRec != null) {
-                Attributes studyRec = ddr.findStudyRecord(patRec, studyIUIDs);
-                while (studyRec != null) {
-                    Attributes seriesRec = ddr.findSeriesRecord(studyRec, seriesIUIDs);
-                    while (seriesRec != null) {
-                        Attributes instRec = ddr.findLowerInstanceRecord(seriesRec, true, sopIUIDs);
-                        while (instRec != null) {
-                            String cuid = instRec.getString(Tag.ReferencedSOPClassUIDInFile);
-                            String iuid = instRec.getString(Tag.ReferencedSOPInstanceUIDInFile);
-                            String tsuid = instRec.getString(Tag.ReferencedTransferSyntaxUIDInFile);
-                            String[] fileIDs = instRec.getStrings(Tag.ReferencedFileID);
-                            String uri = ddr.toFile(fileIDs).toURI().toString();
-                            list.add(new InstanceLocator(cuid, iuid, tsuid, uri));
-                            if (sopIUIDs != null && sopIUIDs.length == 1)
-                                break;
-    
-                            instRec = ddr.findNextInstanceRecord(instRec, true, sopIUIDs);
-                        }
-                        if (seriesIUIDs != null && seriesIUIDs.length == 1)
-                            break;
-    
-                        seriesRec = ddr.findNextSeriesRecord(seriesRec, seriesIUIDs);
-                    }
-                    if (studyIUIDs != null && studyIUIDs.length == 1)
-                        break;
-    
-                    studyRec = ddr.findNextStudyRecord(studyRec, studyIUIDs);
+            DicomDirIndex index = ddr.getIndex();
+            if (index != null && isNotEmpty(sopIUIDs)) {
+                for (int offset : index.findInstanceRecords(sopIUIDs)) {
+                    Attributes instRec = ddr.readDirectoryRecord(offset);
+                    if (DicomDirReader.inUse(instRec)
+                            && matchesParents(ddr, instRec, seriesIUIDs, studyIUIDs, patIDs))
+                        list.add(toInstanceLocator(ddr, instRec));
                 }
-                if (patIDs != null && patIDs.length == 1)
-                    break;
-    
+            } else if (index != null && isNotEmpty(seriesIUIDs)) {
+                for (int offset : index.findSeriesRecords(seriesIUIDs)) {
+                    Attributes seriesRec = ddr.readDirectoryRecord(offset);
+                    if (DicomDirReader.inUse(seriesRec)
+                            && matchesParents(ddr, seriesRec, studyIUIDs, patIDs))
+                        addInstances(ddr, seriesRec, sopIUIDs, list);
+                }
+            } else if (index != null && isNotEmpty(studyIUIDs)) {
+                for (int offset : index.findStudyRecords(studyIUIDs)) {
+                    Attributes studyRec = ddr.readDirectoryRecord(offset);
+                    if (DicomDirReader.inUse(studyRec)
+                            && matchesParents(ddr, studyRec, patIDs))
+                        addSeries(ddr, studyRec, seriesIUIDs, sopIUIDs, list);
+                }
+            } else {
+                Attributes patRec = ddr.findPatientRecord(patIDs);
+                while (patRec != null) {
+                    addStudies(ddr, patRec, studyIUIDs, seriesIUIDs, sopIUIDs, list);
+                    if (patIDs != null && patIDs.length == 1)
+                        break;
+
                     patRec = ddr.findNextPatientRecord(patRec, patIDs);
+                }
             }
             return list;
         } catch (IOException e) {
@@ -1006,6 +1030,76 @@ public class DcmQRSCP {
         }
     }
 
+    private static void addStudies(DicomDirReader ddr, Attributes patRec, String[] studyIUIDs,
+            String[] seriesIUIDs, String[] sopIUIDs, List<InstanceLocator> list) throws IOException {
+        Attributes studyRec = ddr.findStudyRecord(patRec, studyIUIDs);
+        while (studyRec != null) {
+            addSeries(ddr, studyRec, seriesIUIDs, sopIUIDs, list);
+            if (studyIUIDs != null && studyIUIDs.length == 1)
+                break;
+
+            studyRec = ddr.findNextStudyRecord(studyRec, studyIUIDs);
+        }
+    }
+
+    private static void addSeries(DicomDirReader ddr, Attributes studyRec, String[] seriesIUIDs,
+            String[] sopIUIDs, List<InstanceLocator> list) throws IOException {
+        Attributes seriesRec = ddr.findSeriesRecord(studyRec, seriesIUIDs);
+        while (seriesRec != null) {
+            addInstances(ddr, seriesRec, sopIUIDs, list);
+            if (seriesIUIDs != null && seriesIUIDs.length == 1)
+                break;
+
+            seriesRec = ddr.findNextSeriesRecord(seriesRec, seriesIUIDs);
+        }
+    }
+
+    private static void addInstances(DicomDirReader ddr, Attributes seriesRec, String[] sopIUIDs,
+            List<InstanceLocator> list) throws IOException {
+        Attributes instRec = ddr.findLowerInstanceRecord(seriesRec, true, sopIUIDs);
+        while (instRec != null) {
+            list.add(toInstanceLocator(ddr, instRec));
+            if (sopIUIDs != null && sopIUIDs.length == 1)
+                break;
+
+            instRec = ddr.findNextInstanceRecord(instRec, true, sopIUIDs);
+        }
+    }
+
+    private static InstanceLocator toInstanceLocator(DicomDirReader ddr, Attributes instRec) {
+        String cuid = instRec.getString(Tag.ReferencedSOPClassUIDInFile);
+        String iuid = instRec.getString(Tag.ReferencedSOPInstanceUIDInFile);
+        String tsuid = instRec.getString(Tag.ReferencedTransferSyntaxUIDInFile);
+        String[] fileIDs = instRec.getStrings(Tag.ReferencedFileID);
+        String uri = ddr.toFile(fileIDs).toURI().toString();
+        return new InstanceLocator(cuid, iuid, tsuid, uri);
+    }
+
+    private static final int[] PARENT_KEYS = { Tag.SeriesInstanceUID, Tag.StudyInstanceUID, Tag.PatientID };
+
+    /**
+     * Checks if the parent records of the specified indexed record match the specified keys, starting with
+     * the Series Instance UID of the parent of an Instance record, the Study Instance UID of the parent of a
+     * Series record or the Patient ID of the parent of a Study record.
+     */
+    private static boolean matchesParents(DicomDirReader ddr, Attributes rec, String[]... parentKeys)
+            throws IOException {
+        int skip = PARENT_KEYS.length - parentKeys.length;
+        for (int i = 0; i < parentKeys.length; i++) {
+            if ((rec = ddr.readParentDirectoryRecord(rec)) == null || !DicomDirReader.inUse(rec))
+                return false;
+
+            String[] values = parentKeys[i];
+            if (isNotEmpty(values) && !Arrays.asList(values).contains(rec.getString(PARENT_KEYS[skip + i])))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isNotEmpty(String[] values) {
+        return values != null && values.length > 0;
+    }
+
     public Attributes calculateStorageCommitmentResult(String calledAET,
             Attributes actionInfo) throws DicomServiceException {
         Sequence requestSeq = actionInfo.getSequence(Tag.ReferencedSOPSequence);
@@ -1026,28 +1120,32 @@ public class DcmQRSCP {
                     item.getString(Tag.ReferencedSOPClassUID));
         }
         DicomDirReader ddr = ddReader;
+        DicomDirIndex index = ddr.getIndex();
         try {
-            Attributes patRec = ddr.findPatientRecord();
-            while (patRec != null) {
-                Attributes studyRec = ddr.findStudyRecord(patRec);
-                while (studyRec != null) {
-                    Attributes seriesRec = ddr.findSeriesRecord(studyRec);
-                    while (seriesRec != null) {
-                        Attributes instRec = ddr.findLowerInstanceRecord(seriesRec, true, sopIUIDs);
-                        while (instRec != null) {
-                            String iuid = instRec.getString(Tag.ReferencedSOPInstanceUIDInFile);
-                            String cuid = map.remove(iuid);
-                            if (cuid.equals(instRec.getString(Tag.ReferencedSOPClassUIDInFile)))
-                                successSeq.add(refSOP(iuid, cuid, Status.Success));
-                            else
-                                failedSeq.add(refSOP(iuid, cuid, Status.ClassInstanceConflict));
-                            instRec = ddr.findNextInstanceRecord(instRec, true, sopIUIDs);
+            if (index != null) {
+                for (int offset : index.findInstanceRecords(sopIUIDs)) {
+                    Attributes instRec = ddr.readDirectoryRecord(offset);
+                    if (DicomDirReader.inUse(instRec))
+                        commit(instRec, map, successSeq, failedSeq);
+                }
+            } else {
+                Attributes patRec = ddr.findPatientRecord();
+                while (patRec != null) {
+                    Attributes studyRec = ddr.findStudyRecord(patRec);
+                    while (studyRec != null) {
+                        Attributes seriesRec = ddr.findSeriesRecord(studyRec);
+                        while (seriesRec != null) {
+                            Attributes instRec = ddr.findLowerInstanceRecord(seriesRec, true, sopIUIDs);
+                            while (instRec != null) {
+                                commit(instRec, map, successSeq, failedSeq);
+                                instRec = ddr.findNextInstanceRecord(instRec, true, sopIUIDs);
+                            }
+                            seriesRec = ddr.findNextSeriesRecord(seriesRec);
                         }
-                        seriesRec = ddr.findNextSeriesRecord(seriesRec);
+                        studyRec = ddr.findNextStudyRecord(studyRec);
                     }
-                    studyRec = ddr.findNextStudyRecord(studyRec);
+                    patRec = ddr.findNextPatientRecord(patRec);
                 }
-                patRec = ddr.findNextPatientRecord(patRec);
             }
         } catch (IOException e) {
             LOG.info("Failed to M-READ " + dicomDir, e);
@@ -1101,6 +1199,16 @@ public class DcmQRSCP {
         return true;
     }
 
+    private static void commit(Attributes instRec, Map<String, String> map,
+            Sequence successSeq, Sequence failedSeq) {
+        String iuid = instRec.getString(Tag.ReferencedSOPInstanceUIDInFile);
+        String cuid = map.remove(iuid);
+        if (cuid.equals(instRec.getString(Tag.ReferencedSOPClassUIDInFile)))
+            successSeq.add(refSOP(iuid, cuid, Status.Success));
+        else
+            failedSeq.add(refSOP(iuid, cuid, Status.ClassInstanceConflict));
+    }
+
     private static Attributes refSOP(String iuid, String cuid, int failureReason) {
         Attributes attrs = new Attributes(3);
         attrs.setString(Tag.ReferencedSOPClassUID, VR.UI, cuid);
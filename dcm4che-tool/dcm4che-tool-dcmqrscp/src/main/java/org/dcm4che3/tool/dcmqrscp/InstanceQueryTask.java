@@ -39,7 +39,9 @@
 package org.dcm4che3.tool.dcmqrscp;
 
 import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.QueryMatcher;
 import org.dcm4che3.data.Tag;
+import org.dcm4che3.media.RecordType;
 import org.dcm4che3.net.Association;
 import org.dcm4che3.net.Status;
 import org.dcm4che3.net.pdu.PresentationContext;
@@ -51,12 +53,14 @@ import java.io.IOException;
 class InstanceQueryTask extends SeriesQueryTask {
 
     protected final String[] sopIUIDs;
+    protected final QueryMatcher instMatcher;
     protected Attributes instRec;
 
     public InstanceQueryTask(Association as, PresentationContext pc, Attributes rq, Attributes keys, DcmQRSCP qrscp)
             throws DicomServiceException {
         super(as, pc, rq, keys, qrscp);
         sopIUIDs = StringUtils.maskNull(keys.getStrings(Tag.SOPInstanceUID));
+        instMatcher = ddr.compileInstanceRecordKeys(keys, recFact, ignoreCaseOfPN, matchNoValue);
         wrappedFindNextInstance();
     }
 
@@ -89,18 +93,27 @@ class InstanceQueryTask extends SeriesQueryTask {
     }
 
     protected boolean findNextInstance() throws IOException {
+        if (indexedType == RecordType.IMAGE) {
+            while ((instRec = nextIndexedRecord(instMatcher)) != null)
+                if ((seriesRec = parentRecord(instRec, seriesMatcher)) != null
+                        && (studyRec = parentRecord(seriesRec, studyMatcher)) != null
+                        && (patRec = parentRecord(studyRec, patMatcher)) != null)
+                    return true;
+            return false;
+        }
+
         if (seriesRec == null)
             return false;
 
         if (instRec == null)
-            instRec = ddr.findLowerInstanceRecord(seriesRec, keys, recFact, ignoreCaseOfPN, matchNoValue);
+            instRec = ddr.findLowerDirectoryRecord(seriesRec, false, instMatcher);
         else if (sopIUIDs.length == 1)
             instRec = null;
         else
-            instRec = ddr.findNextInstanceRecord(instRec, keys, recFact, ignoreCaseOfPN, matchNoValue);
+            instRec = ddr.findNextDirectoryRecord(instRec, false, instMatcher);
 
         while (instRec == null && super.findNextSeries())
-            instRec = ddr.findLowerInstanceRecord(seriesRec, keys, recFact, ignoreCaseOfPN, matchNoValue);
+            instRec = ddr.findLowerDirectoryRecord(seriesRec, false, instMatcher);
 
         return instRec != null;
     }
@@ -42,9 +42,12 @@ import java.io.IOException;
 
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.QueryMatcher;
 import org.dcm4che3.data.VR;
+import org.dcm4che3.media.DicomDirIndex;
 import org.dcm4che3.media.DicomDirReader;
 import org.dcm4che3.media.RecordFactory;
+import org.dcm4che3.media.RecordType;
 import org.dcm4che3.net.Association;
 import org.dcm4che3.net.Status;
 import org.dcm4che3.net.pdu.PresentationContext;
@@ -61,6 +64,10 @@ class PatientQueryTask extends BasicQueryTask {
     protected final boolean ignoreCaseOfPN;
     protected final boolean matchNoValue;
     protected final int delayCFind;
+    protected final QueryMatcher patMatcher;
+    protected final RecordType indexedType;
+    protected final int[] indexedOffsets;
+    protected int indexedPos;
     protected Attributes patRec;
 
     public PatientQueryTask(Association as, PresentationContext pc, Attributes rq, Attributes keys, DcmQRSCP qrscp)
@@ -73,7 +80,97 @@ class PatientQueryTask extends BasicQueryTask {
         this.ignoreCaseOfPN = qrscp.isIgnoreCaseOfPN();
         this.matchNoValue = qrscp.isMatchNoValue();
         this.delayCFind = qrscp.getDelayCFind();
-        wrappedFindNextPatient();
+        this.patMatcher = ddr.compileRecordKeys(RecordType.PATIENT, keys, recFact, ignoreCaseOfPN, matchNoValue);
+        DicomDirIndex index = ddr.getIndex();
+        this.indexedType = index != null ? indexedType(keys) : null;
+        this.indexedOffsets = indexedType != null ? indexedOffsets(index, indexedType, keys) : null;
+        if (!isIndexedBelow(RecordType.PATIENT))
+            wrappedFindNextPatient();
+    }
+
+    /**
+     * Returns the deepest level up to the Query/Retrieve Level, for which candidate records can be selected by
+     * the index of the DICOMDIR, or {@code null} if the directory records have to be scanned.
+     */
+    private RecordType indexedType(Attributes keys) {
+        switch (keys.getString(Tag.QueryRetrieveLevel, "")) {
+            case "IMAGE":
+                if (isIndexed(keys, Tag.SOPInstanceUID))
+                    return RecordType.IMAGE;
+            case "SERIES":
+                if (isIndexed(keys, Tag.SeriesInstanceUID) || !matchNoValue && isIndexed(keys, Tag.Modality))
+                    return RecordType.SERIES;
+            case "STUDY":
+                if (isIndexed(keys, Tag.StudyInstanceUID) || studyDateRange(keys) != null)
+                    return RecordType.STUDY;
+            case "PATIENT":
+                if (!matchNoValue && isIndexed(keys, Tag.PatientID))
+                    return RecordType.PATIENT;
+        }
+        return null;
+    }
+
+    private int[] indexedOffsets(DicomDirIndex index, RecordType type, Attributes keys) {
+        switch (type) {
+            case IMAGE:
+                return index.findInstanceRecords(keys.getStrings(Tag.SOPInstanceUID));
+            case SERIES:
+                return isIndexed(keys, Tag.SeriesInstanceUID)
+                        ? index.findSeriesRecords(keys.getStrings(Tag.SeriesInstanceUID))
+                        : index.findSeriesRecordsByModality(keys.getStrings(Tag.Modality));
+            case STUDY:
+                if (isIndexed(keys, Tag.StudyInstanceUID))
+                    return index.findStudyRecords(keys.getStrings(Tag.StudyInstanceUID));
+                String[] range = studyDateRange(keys);
+                return index.findStudyRecordsByDate(range[0], range[1], matchNoValue);
+        }
+        return index.findPatientRecords(patIDs);
+    }
+
+    private static boolean isIndexed(Attributes keys, int tag) {
+        String[] values = keys.getStrings(tag);
+        if (values == null || values.length == 0)
+            return false;
+
+        for (String value : values)
+            if (value.isEmpty() || StringUtils.containsWildCard(value))
+                return false;
+        return true;
+    }
+
+    private static String[] studyDateRange(Attributes keys) {
+        String value = keys.getString(Tag.StudyDate);
+        if (value == null)
+            return null;
+
+        int index = value.indexOf('-');
+        String[] range = index < 0
+                ? new String[]{ value, value }
+                : new String[]{ value.substring(0, index), value.substring(index + 1) };
+        for (int i = 0; i < range.length; i++)
+            if (range[i].isEmpty())
+                range[i] = null;
+            else if (!DicomDirIndex.isDate(range[i]))
+                return null;
+        return range[0] != null || range[1] != null ? range : null;
+    }
+
+    protected boolean isIndexedBelow(RecordType type) {
+        return indexedType != null && indexedType.compareTo(type) > 0;
+    }
+
+    protected Attributes nextIndexedRecord(QueryMatcher matcher) throws IOException {
+        while (indexedPos < indexedOffsets.length) {
+            Attributes rec = ddr.readDirectoryRecord(indexedOffsets[indexedPos++]);
+            if (rec != null && DicomDirReader.inUse(rec) && matcher.matches(rec))
+                return rec;
+        }
+        return null;
+    }
+
+    protected Attributes parentRecord(Attributes rec, QueryMatcher matcher) throws IOException {
+        Attributes parent = ddr.readParentDirectoryRecord(rec);
+        return parent != null && DicomDirReader.inUse(parent) && matcher.matches(parent) ? parent : null;
     }
 
     @Override
@@ -125,12 +222,15 @@ class PatientQueryTask extends BasicQueryTask {
     }
 
     protected boolean findNextPatient() throws IOException {
+        if (indexedType == RecordType.PATIENT)
+            return (patRec = nextIndexedRecord(patMatcher)) != null;
+
         if (patRec == null)
-            patRec = ddr.findPatientRecord(keys, recFact, ignoreCaseOfPN, matchNoValue);
+            patRec = ddr.findRootDirectoryRecord(patMatcher, false);
         else if (patIDs.length == 1)
             patRec = null;
         else
-            patRec = ddr.findNextPatientRecord(patRec, keys, recFact, ignoreCaseOfPN, matchNoValue);
+            patRec = ddr.findNextDirectoryRecord(patRec, false, patMatcher);
 
         return patRec != null;
     }
@@ -42,8 +42,10 @@ import java.io.IOException;
 
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.QueryMatcher;
 import org.dcm4che3.media.DicomDirReader;
 import org.dcm4che3.media.RecordFactory;
+import org.dcm4che3.media.RecordType;
 import org.dcm4che3.net.Association;
 import org.dcm4che3.net.Status;
 import org.dcm4che3.net.pdu.PresentationContext;
@@ -53,6 +55,7 @@ import org.dcm4che3.util.StringUtils;
 class SeriesQueryTask extends StudyQueryTask {
 
     protected final String[] seriesIUIDs;
+    protected final QueryMatcher seriesMatcher;
     protected Attributes seriesRec;
 
     public SeriesQueryTask(Association as, PresentationContext pc, Attributes rq, Attributes keys, DcmQRSCP qrscp)
@@ -60,7 +63,9 @@ class SeriesQueryTask extends StudyQueryTask {
         super(as, pc, rq, keys, qrscp);
         seriesIUIDs = StringUtils.maskNull(
                 keys.getStrings(Tag.SeriesInstanceUID));
-        wrappedFindNextSeries();
+        seriesMatcher = ddr.compileRecordKeys(RecordType.SERIES, keys, recFact, ignoreCaseOfPN, matchNoValue);
+        if (!isIndexedBelow(RecordType.SERIES))
+            wrappedFindNextSeries();
    }
 
     @Override
@@ -90,18 +95,26 @@ class SeriesQueryTask extends StudyQueryTask {
     }
 
     protected boolean findNextSeries() throws IOException {
+        if (indexedType == RecordType.SERIES) {
+            while ((seriesRec = nextIndexedRecord(seriesMatcher)) != null)
+                if ((studyRec = parentRecord(seriesRec, studyMatcher)) != null
+                        && (patRec = parentRecord(studyRec, patMatcher)) != null)
+                    return true;
+            return false;
+        }
+
         if (studyRec == null)
             return false;
 
         if (seriesRec == null)
-            seriesRec = ddr.findSeriesRecord(studyRec, keys, recFact, ignoreCaseOfPN, matchNoValue);
+            seriesRec = ddr.findLowerDirectoryRecord(studyRec, false, seriesMatcher);
         else if (seriesIUIDs.length == 1)
             seriesRec = null;
         else
-            seriesRec = ddr.findNextSeriesRecord(seriesRec, keys, recFact, ignoreCaseOfPN, matchNoValue);
+            seriesRec = ddr.findNextDirectoryRecord(seriesRec, false, seriesMatcher);
 
         while (seriesRec == null && super.findNextStudy())
-            seriesRec = ddr.findSeriesRecord(studyRec, keys, recFact, ignoreCaseOfPN, matchNoValue);
+            seriesRec = ddr.findLowerDirectoryRecord(studyRec, false, seriesMatcher);
 
         return seriesRec != null;
     }
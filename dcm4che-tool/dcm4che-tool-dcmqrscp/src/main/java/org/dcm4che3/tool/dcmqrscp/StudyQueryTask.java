@@ -42,8 +42,10 @@ import java.io.IOException;
 
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.QueryMatcher;
 import org.dcm4che3.media.DicomDirReader;
 import org.dcm4che3.media.RecordFactory;
+import org.dcm4che3.media.RecordType;
 import org.dcm4che3.net.Association;
 import org.dcm4che3.net.Status;
 import org.dcm4che3.net.pdu.PresentationContext;
@@ -53,13 +55,16 @@ import org.dcm4che3.util.StringUtils;
 class StudyQueryTask extends PatientQueryTask {
 
     protected final String[] studyIUIDs;
+    protected final QueryMatcher studyMatcher;
     protected Attributes studyRec;
 
     public StudyQueryTask(Association as, PresentationContext pc, Attributes rq, Attributes keys, DcmQRSCP qrscp)
             throws DicomServiceException {
         super(as, pc, rq, keys, qrscp);
         studyIUIDs = StringUtils.maskNull(keys.getStrings(Tag.StudyInstanceUID));
-        wrappedFindNextStudy();
+        studyMatcher = ddr.compileRecordKeys(RecordType.STUDY, keys, recFact, ignoreCaseOfPN, matchNoValue);
+        if (!isIndexedBelow(RecordType.STUDY))
+            wrappedFindNextStudy();
     }
 
     @Override
@@ -86,18 +91,25 @@ class StudyQueryTask extends PatientQueryTask {
     }
 
     protected boolean findNextStudy() throws IOException {
+        if (indexedType == RecordType.STUDY) {
+            while ((studyRec = nextIndexedRecord(studyMatcher)) != null)
+                if ((patRec = parentRecord(studyRec, patMatcher)) != null)
+                    return true;
+            return false;
+        }
+
         if (patRec == null)
             return false;
 
         if (studyRec == null)
-            studyRec = ddr.findStudyRecord(patRec, keys, recFact, ignoreCaseOfPN, matchNoValue);
+            studyRec = ddr.findLowerDirectoryRecord(patRec, false, studyMatcher);
         else if (studyIUIDs.length == 1)
             studyRec = null;
         else
-            studyRec = ddr.findNextStudyRecord(studyRec, keys, recFact, ignoreCaseOfPN, matchNoValue);
+            studyRec = ddr.findNextDirectoryRecord(studyRec, false, studyMatcher);
 
         while (studyRec == null && super.findNextPatient())
-            studyRec = ddr.findStudyRecord(patRec, keys, recFact, ignoreCaseOfPN, matchNoValue);
+            studyRec = ddr.findLowerDirectoryRecord(patRec, false, studyMatcher);
 
         return studyRec != null;
     }
@@ -44,6 +44,7 @@ package org.dcm4che3.tool.deidentify;
 import org.apache.commons.cli.*;
 import org.dcm4che3.data.*;
 import org.dcm4che3.deident.DeIdentifier;
+import org.dcm4che3.deident.StreamingDeIdentifier;
 import org.dcm4che3.io.DicomEncodingOptions;
 import org.dcm4che3.io.DicomInputStream;
 import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
@@ -51,9 +52,13 @@ import org.dcm4che3.io.DicomOutputStream;
 import org.dcm4che3.tool.common.CLIUtils;
 import org.dcm4che3.util.StringUtils;
 import org.dcm4che3.util.TagUtils;
+import org.dcm4che3.util.UIDRemapper;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.text.MessageFormat;
 import java.util.*;
 
@@ -64,15 +69,24 @@ public class Deidentify {
 
     private static ResourceBundle rb = ResourceBundle.getBundle("org.dcm4che3.tool.deidentify.messages");
 
+    private static final int UID_CACHE_SIZE = 10000;
+
     private final DeIdentifier deidentifier;
+    private final StreamingDeIdentifier streamingDeidentifier;
     private DicomEncodingOptions encOpts = DicomEncodingOptions.DEFAULT;
 
     public Deidentify(DeIdentifier.Option... options) {
         deidentifier = new DeIdentifier(options);
+        // remapped Study, Series and Frame of Reference UIDs are shared by the files of one invocation
+        deidentifier.setUIDRemapper(new UIDRemapper(UID_CACHE_SIZE));
+        streamingDeidentifier = new StreamingDeIdentifier(deidentifier);
     }
 
     public void setEncodingOptions(DicomEncodingOptions encOpts) {
         this.encOpts = encOpts;
+        // Group Length attributes cannot be calculated while streaming
+        if (!encOpts.groupLength)
+            streamingDeidentifier.setEncodingOptions(encOpts);
     }
 
     @SuppressWarnings("static-access")
@@ -183,6 +197,17 @@ public class Deidentify {
      }
 
     public void transcode(File src, File dest) throws IOException {
+        if (encOpts.groupLength) {
+            transcodeDataset(src, dest);
+            return;
+        }
+        try (DicomInputStream dis = new DicomInputStream(src);
+             OutputStream out = new BufferedOutputStream(new FileOutputStream(dest))) {
+            streamingDeidentifier.deidentify(dis, out);
+        }
+    }
+
+    private void transcodeDataset(File src, File dest) throws IOException {
         Attributes fmi;
         Attributes dataset;
         try (DicomInputStream dis = new DicomInputStream(src)) {
@@ -59,7 +59,9 @@ import org.dcm4che3.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.text.MessageFormat;
@@ -182,12 +184,12 @@ public class GetSCU {
             PDVInputStream data, File file) throws IOException  {
         LOG.info("{}: M-WRITE {}", as, file);
         file.getParentFile().mkdirs();
-        DicomOutputStream out = new DicomOutputStream(file);
-        try {
+        try (FileOutputStream fout = new FileOutputStream(file)) {
+            DicomOutputStream out = new DicomOutputStream(
+                    new BufferedOutputStream(fout), UID.ExplicitVRLittleEndian);
             out.writeFileMetaInformation(fmi);
-            data.copyTo(out);
-        } finally {
-            SafeClose.close(out);
+            out.flush();
+            data.copyTo(fout.getChannel());
         }
     }
 
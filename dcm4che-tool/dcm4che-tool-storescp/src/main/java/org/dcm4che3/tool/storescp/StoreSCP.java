@@ -38,7 +38,9 @@
 
 package org.dcm4che3.tool.storescp;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
@@ -54,6 +56,7 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
 import org.dcm4che3.data.VR;
 import org.dcm4che3.io.DicomInputStream;
 import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
@@ -156,12 +159,12 @@ public class StoreSCP {
             PDVInputStream data, File file) throws IOException  {
         LOG.info("{}: M-WRITE {}", as, file);
         file.getParentFile().mkdirs();
-        DicomOutputStream out = new DicomOutputStream(file);
-        try {
+        try (FileOutputStream fout = new FileOutputStream(file)) {
+            DicomOutputStream out = new DicomOutputStream(
+                    new BufferedOutputStream(fout), UID.ExplicitVRLittleEndian);
             out.writeFileMetaInformation(fmi);
-            data.copyTo(out);
-        } finally {
-            SafeClose.close(out);
+            out.flush();
+            data.copyTo(fout.getChannel());
         }
     }
 
@@ -510,15 +510,9 @@ public class StoreSCU {
                     rspHandlerFactory.createDimseRSPHandler(f));
         } else {
             if (uidSuffix == null && attrs.isEmpty() && ts.equals(filets)) {
-                FileInputStream in = new FileInputStream(f);
-                try {
-                    in.skip(fmiEndPos);
-                    InputStreamDataWriter data = new InputStreamDataWriter(in);
-                    as.cstore(cuid, iuid, priority, data, ts,
-                            rspHandlerFactory.createDimseRSPHandler(f));
-                } finally {
-                    SafeClose.close(in);
-                }
+                as.cstore(cuid, iuid, priority,
+                        new FileRegionDataWriter(f.toPath(), fmiEndPos), ts,
+                        rspHandlerFactory.createDimseRSPHandler(f));
             } else {
                 DicomInputStream in = new DicomInputStream(f);
                 try {